@@ -1,7 +1,11 @@
 package com.lifecontrol.api.activity.aspect;
 
 import com.lifecontrol.api.activity.annotation.ActivityLog;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Mode;
 import com.lifecontrol.api.activity.event.ActivityLogEvent;
+import com.lifecontrol.api.activity.service.ActivityAccessAggregator;
+import com.lifecontrol.api.activity.service.ActivityLogPolicy;
+import com.lifecontrol.api.activity.util.PayloadSanitizer;
 import com.lifecontrol.api.common.auth.CurrentUserContext;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -17,10 +21,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -35,6 +40,9 @@ import java.util.List;
  * Runs at {@link Ordered#HIGHEST_PRECEDENCE} so it fires before security
  * and other concerns — but only captures data after the controller method
  * returns successfully. Actuator and swagger endpoints are skipped.
+ * <p>
+ * READ events pass through {@link ActivityLogPolicy}, which may sample them, fold
+ * them into per-route counts ({@link ActivityAccessAggregator}) or drop them.
  */
 @Aspect
 @Component
@@ -55,11 +63,17 @@ public class ActivityLogAspect {
 
     private final ApplicationEventPublisher eventPublisher;
     private final CurrentUserContext currentUserContext;
+    private final ActivityLogPolicy activityLogPolicy;
+    private final ActivityAccessAggregator accessAggregator;
 
     public ActivityLogAspect(ApplicationEventPublisher eventPublisher,
-                             CurrentUserContext currentUserContext) {
+                             CurrentUserContext currentUserContext,
+                             ActivityLogPolicy activityLogPolicy,
+                             ActivityAccessAggregator accessAggregator) {
         this.eventPublisher = eventPublisher;
         this.currentUserContext = currentUserContext;
+        this.activityLogPolicy = activityLogPolicy;
+        this.accessAggregator = accessAggregator;
     }
 
     /**
@@ -77,7 +91,7 @@ public class ActivityLogAspect {
         var path = request.getRequestURI();
 
         // Skip non-API endpoints early (actuator, swagger, etc.)
-        if (shouldSkip(path)) {
+        if (isSkippedPath(path)) {
             return joinPoint.proceed();
         }
 
@@ -102,6 +116,11 @@ public class ActivityLogAspect {
             throw e;
         }
 
+        var mode = activityLogPolicy.decide(processName, eventName, path);
+        if (mode == Mode.NEVER) {
+            return result;
+        }
+
         // Capture response status
         var httpStatus = resolveHttpStatus(result);
 
@@ -109,6 +128,12 @@ public class ActivityLogAspect {
         var userId = currentUserContext.getUserId();
         var username = currentUserContext.getUsername();
 
+        if (mode == Mode.AGGREGATED) {
+            accessAggregator.record(userId, username, processName, httpMethod,
+                    resolvePathTemplate(request, path), httpStatus);
+            return result;
+        }
+
         // Capture request metadata
         var ipAddress = resolveIpAddress(request);
         var userAgent = request.getHeader("User-Agent");
@@ -117,7 +142,8 @@ public class ActivityLogAspect {
         try {
             var event = new ActivityLogEvent(
                     this, userId, username, processName, eventName,
-                    httpMethod, httpStatus, path, ipAddress, userAgent, payloadJson
+                    httpMethod, httpStatus, path, ipAddress, userAgent, payloadJson,
+                    LocalDateTime.now()
             );
             eventPublisher.publishEvent(event);
         } catch (Exception e) {
@@ -128,12 +154,17 @@ public class ActivityLogAspect {
         return result;
     }
 
-    // ── Private helpers ──────────────────────────────────────
-
-    private boolean shouldSkip(String path) {
+    /**
+     * Returns whether requests to this path are never audited (actuator, swagger, etc.).
+     * Also consulted by {@link com.lifecontrol.api.config.filter.ContentCachingFilter} so
+     * bodies of unaudited requests are not cached.
+     */
+    public static boolean isSkippedPath(String path) {
         return SKIP_PATHS.stream().anyMatch(path::startsWith);
     }
 
+    // ── Private helpers ──────────────────────────────────────
+
     /**
      * Resolves the process and event names for this controller invocation.
      * <p>
@@ -212,6 +243,15 @@ public class ActivityLogAspect {
         return 200;
     }
 
+    /**
+     * Returns the route pattern Spring MVC matched (e.g. {@code /api/products/{id}}),
+     * falling back to the raw path when no pattern is available.
+     */
+    private static String resolvePathTemplate(HttpServletRequest request, String path) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String template ? template : path;
+    }
+
     /**
      * Resolves the client IP from the {@code X-Forwarded-For} header or
      * falls back to {@link HttpServletRequest#getRemoteAddr()}.
@@ -226,18 +266,15 @@ public class ActivityLogAspect {
     }
 
     /**
-     * Reads the cached request body from {@link ContentCachingRequestWrapper}.
+     * Redacts the cached request body from {@link ContentCachingRequestWrapper} straight from
+     * its bytes, so the raw body is never held as a {@code String} or queued for the writer.
      * Returns {@code null} if no body was cached (GET requests, empty bodies).
      */
     private static String getPayload(HttpServletRequest request) {
         if (!(request instanceof ContentCachingRequestWrapper wrapper)) {
             return null;
         }
-        var buf = wrapper.getContentAsByteArray();
-        if (buf == null || buf.length == 0) {
-            return null;
-        }
-        return new String(buf, StandardCharsets.UTF_8);
+        return PayloadSanitizer.sanitize(wrapper.getContentAsByteArray());
     }
 
     /**
@@ -4,6 +4,7 @@ import com.lifecontrol.api.activity.model.ActivityEvent;
 import com.lifecontrol.api.activity.model.ActivityProcess;
 import com.lifecontrol.api.activity.repository.ActivityEventRepository;
 import com.lifecontrol.api.activity.repository.ActivityProcessRepository;
+import com.lifecontrol.api.activity.service.ActivityCatalog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
@@ -15,7 +16,8 @@ import java.util.List;
 
 /**
  * Seeds the reference tables {@code activity_processes} and {@code activity_events}
- * on application startup. Idempotent — skips rows that already exist.
+ * on application startup and then warms the {@link ActivityCatalog}.
+ * Idempotent — skips rows that already exist.
  */
 @Component
 public class ActivityLogInitializer implements ApplicationRunner {
@@ -32,11 +34,14 @@ public class ActivityLogInitializer implements ApplicationRunner {
 
     private final ActivityProcessRepository processRepository;
     private final ActivityEventRepository eventRepository;
+    private final ActivityCatalog activityCatalog;
 
     public ActivityLogInitializer(ActivityProcessRepository processRepository,
-                                  ActivityEventRepository eventRepository) {
+                                  ActivityEventRepository eventRepository,
+                                  ActivityCatalog activityCatalog) {
         this.processRepository = processRepository;
         this.eventRepository = eventRepository;
+        this.activityCatalog = activityCatalog;
     }
 
     @Override
@@ -44,6 +49,7 @@ public class ActivityLogInitializer implements ApplicationRunner {
     public void run(ApplicationArguments args) {
         seedProcesses();
         seedEvents();
+        activityCatalog.refresh();
     }
 
     private void seedProcesses() {
@@ -0,0 +1,12 @@
+package com.lifecontrol.api.activity.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link ActivityLogPolicyProperties} binding for the activity log policy.
+ */
+@Configuration
+@EnableConfigurationProperties(ActivityLogPolicyProperties.class)
+public class ActivityLogPolicyConfig {
+}
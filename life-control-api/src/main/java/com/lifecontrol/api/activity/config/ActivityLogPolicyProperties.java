@@ -0,0 +1,96 @@
+package com.lifecontrol.api.activity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties deciding which READ requests reach the activity audit trail.
+ * <p>
+ * Rules are evaluated in order and the first one whose process, event and path all match
+ * wins; unset fields match anything. Requests no rule matches use {@code default-mode}.
+ * Mutations (CREATE, UPDATE, DELETE) are always recorded, whatever the rules say.
+ * Prefix: {@code app.activity-log.policy}
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.activity-log.policy.default-mode=ALWAYS
+ * app.activity-log.policy.aggregation-interval=1m
+ * app.activity-log.policy.rules[0].path=/api/product-variants/**
+ * app.activity-log.policy.rules[0].mode=AGGREGATED
+ * app.activity-log.policy.rules[1].process=PRODUCT
+ * app.activity-log.policy.rules[1].event=READ
+ * app.activity-log.policy.rules[1].mode=SAMPLED
+ * app.activity-log.policy.rules[1].sample-percent=10
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.activity-log.policy")
+public class ActivityLogPolicyProperties {
+
+    /**
+     * How a matching request is recorded.
+     */
+    public enum Mode {
+        /** One activity log entry per request. */
+        ALWAYS,
+        /** One entry for roughly {@code sample-percent} of the requests. */
+        SAMPLED,
+        /** Counted; one rollup row per user, route and status per aggregation interval. */
+        AGGREGATED,
+        /** Not recorded. */
+        NEVER
+    }
+
+    private Mode defaultMode = Mode.ALWAYS;
+
+    private Duration aggregationInterval = Duration.ofMinutes(1);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public Mode getDefaultMode() {
+        return defaultMode;
+    }
+
+    public void setDefaultMode(Mode defaultMode) {
+        this.defaultMode = defaultMode;
+    }
+
+    public Duration getAggregationInterval() {
+        return aggregationInterval;
+    }
+
+    public void setAggregationInterval(Duration aggregationInterval) {
+        this.aggregationInterval = aggregationInterval;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * A single policy rule.
+     *
+     * @param process       process name to match (e.g. {@code PRODUCT}), or {@code null} for any
+     * @param event         event name to match (e.g. {@code READ}), or {@code null} for any
+     * @param path          Ant-style request path pattern (e.g. {@code /api/products/**}), or {@code null} for any
+     * @param mode          how matching requests are recorded
+     * @param samplePercent share of requests recorded in {@link Mode#SAMPLED} mode, 0–100
+     */
+    public record Rule(String process, String event, String path, Mode mode, Integer samplePercent) {
+
+        public Rule {
+            if (mode == null) {
+                throw new IllegalArgumentException("mode is required");
+            }
+            if (mode == Mode.SAMPLED && (samplePercent == null || samplePercent < 0 || samplePercent > 100)) {
+                throw new IllegalArgumentException("samplePercent must be between 0 and 100 for SAMPLED rules");
+            }
+        }
+    }
+}
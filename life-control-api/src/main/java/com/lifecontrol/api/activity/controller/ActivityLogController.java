@@ -1,12 +1,16 @@
 package com.lifecontrol.api.activity.controller;
 
+import com.lifecontrol.api.activity.dto.ActivityAccessRollupFilter;
+import com.lifecontrol.api.activity.dto.ActivityAccessRollupResponse;
 import com.lifecontrol.api.activity.dto.ActivityLogFilter;
 import com.lifecontrol.api.activity.dto.ActivityLogResponse;
+import com.lifecontrol.api.activity.dto.ActivityLogScrollResponse;
 import com.lifecontrol.api.activity.service.ActivityLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -49,4 +53,34 @@ public class ActivityLogController {
         var filter = new ActivityLogFilter(from, to, process, event, userId, httpMethod);
         return ResponseEntity.ok(activityLogService.findAll(filter, pageable));
     }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll activity logs", description = "Returns activity log entries newest first using an opaque cursor instead of page numbers; pass the returned nextCursor to fetch the following entries. No total count is computed, so every page costs the same")
+    public ResponseEntity<ActivityLogScrollResponse> scrollActivityLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String process,
+            @RequestParam(required = false) String event,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String httpMethod) {
+
+        var filter = new ActivityLogFilter(from, to, process, event, userId, httpMethod);
+        return ResponseEntity.ok(activityLogService.scroll(filter, cursor, size));
+    }
+
+    @GetMapping("/access-rollups")
+    @Operation(summary = "Query access rollups", description = "Returns per-minute read counts by user, route and response status for requests recorded in aggregated mode, optionally filtered by date range, process, user, or path template")
+    public ResponseEntity<Page<ActivityAccessRollupResponse>> getAccessRollups(
+            @PageableDefault(size = 20, sort = "bucketStart", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String process,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String pathTemplate) {
+
+        var filter = new ActivityAccessRollupFilter(from, to, process, userId, pathTemplate);
+        return ResponseEntity.ok(activityLogService.findAccessRollups(filter, pageable));
+    }
 }
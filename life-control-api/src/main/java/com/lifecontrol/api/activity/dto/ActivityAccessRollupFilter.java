@@ -0,0 +1,16 @@
+package com.lifecontrol.api.activity.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria for querying access rollups.
+ * <p>
+ * All fields are optional — only non-null values are applied as query filters.
+ */
+public record ActivityAccessRollupFilter(
+    LocalDate from,
+    LocalDate to,
+    String process,
+    String userId,
+    String pathTemplate
+) {}
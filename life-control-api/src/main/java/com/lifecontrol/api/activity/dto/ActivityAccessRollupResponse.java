@@ -0,0 +1,21 @@
+package com.lifecontrol.api.activity.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO returned by the access rollup query endpoint: one user's request count
+ * for one route during one aggregation interval.
+ */
+public record ActivityAccessRollupResponse(
+    UUID id,
+    LocalDateTime bucketStart,
+    LocalDateTime bucketEnd,
+    String userId,
+    String username,
+    String process,
+    String httpMethod,
+    String pathTemplate,
+    Integer httpStatus,
+    Long requestCount
+) {}
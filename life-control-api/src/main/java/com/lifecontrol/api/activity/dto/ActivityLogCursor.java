@@ -0,0 +1,51 @@
+package com.lifecontrol.api.activity.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the activity log, ordered newest first by {@code (createdAt, id)}.
+ * <p>
+ * Clients only ever see the opaque {@link #encode() encoded} form returned as
+ * {@code nextCursor} and send it back unchanged to fetch the following page.
+ */
+public record ActivityLogCursor(LocalDateTime createdAt, UUID id) {
+
+    /** Sorts after every real id, so a cursor at {@code createdAt} includes all rows with that timestamp. */
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    /**
+     * Cursor positioned just after {@code createdAt}, i.e. the first page of a range ending there.
+     */
+    public static ActivityLogCursor startingBefore(LocalDateTime createdAt) {
+        return new ActivityLogCursor(createdAt, MAX_ID);
+    }
+
+    public String encode() {
+        var raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor previously returned by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static ActivityLogCursor decode(String value) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            var separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid activity log cursor");
+            }
+            return new ActivityLogCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid activity log cursor", e);
+        }
+    }
+}
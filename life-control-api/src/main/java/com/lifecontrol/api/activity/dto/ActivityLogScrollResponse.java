@@ -0,0 +1,14 @@
+package com.lifecontrol.api.activity.dto;
+
+import java.util.List;
+
+/**
+ * One page of the activity log in cursor (keyset) mode.
+ *
+ * @param content    entries, newest first
+ * @param nextCursor opaque cursor for the following page, or {@code null} when there are no more entries
+ */
+public record ActivityLogScrollResponse(
+    List<ActivityLogResponse> content,
+    String nextCursor
+) {}
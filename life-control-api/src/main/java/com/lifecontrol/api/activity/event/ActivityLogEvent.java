@@ -2,13 +2,17 @@ package com.lifecontrol.api.activity.event;
 
 import org.springframework.context.ApplicationEvent;
 
+import java.time.LocalDateTime;
+
 /**
  * Event published by {@link com.lifecontrol.api.activity.aspect.ActivityLogAspect}
  * after a controller method completes successfully.
  * <p>
- * Carries all fields required to persist an entry in {@code activity_logs}.
- * The {@link com.lifecontrol.api.activity.listener.ActivityLogEventListener}
- * sanitizes the payload and delegates to the service layer.
+ * Carries all fields required to persist an entry in {@code activity_logs}; the
+ * payload is already redacted and size-capped. The {@link com.lifecontrol.api.activity.listener.ActivityLogEventListener}
+ * queues it for {@link com.lifecontrol.api.activity.service.ActivityLogWriter},
+ * which persists it in batches. {@code occurredAt} is taken on the request thread, so the
+ * entry keeps the time of the request however long it waits in the writer's queue.
  */
 public class ActivityLogEvent extends ApplicationEvent {
 
@@ -22,13 +26,15 @@ public class ActivityLogEvent extends ApplicationEvent {
     private final String ipAddress;
     private final String userAgent;
     private final String payloadJson;
+    private final LocalDateTime occurredAt;
 
     public ActivityLogEvent(Object source,
                             String userId, String username,
                             String processName, String eventName,
                             String httpMethod, int httpStatus,
                             String requestPath, String ipAddress,
-                            String userAgent, String payloadJson) {
+                            String userAgent, String payloadJson,
+                            LocalDateTime occurredAt) {
         super(source);
         this.userId = userId;
         this.username = username;
@@ -40,6 +46,7 @@ public class ActivityLogEvent extends ApplicationEvent {
         this.ipAddress = ipAddress;
         this.userAgent = userAgent;
         this.payloadJson = payloadJson;
+        this.occurredAt = occurredAt;
     }
 
     public String getUserId() {
@@ -81,4 +88,8 @@ public class ActivityLogEvent extends ApplicationEvent {
     public String getPayloadJson() {
         return payloadJson;
     }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
 }
@@ -0,0 +1,196 @@
+package com.lifecontrol.api.activity.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Summary of read traffic recorded in {@code AGGREGATED} mode: how many times a user hit
+ * one route (path template and response status) during one aggregation interval.
+ * <p>
+ * Like {@link ActivityLog}, rows are write-once with only {@code created_at}.
+ */
+@Entity
+@Table(name = "activity_access_rollups")
+public class ActivityAccessRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "bucket_end", nullable = false)
+    private LocalDateTime bucketEnd;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "username")
+    private String username;
+
+    @Column(name = "process_name", nullable = false, length = 100)
+    private String processName;
+
+    @Column(name = "http_method", nullable = false, length = 10)
+    private String httpMethod;
+
+    @Column(name = "path_template", nullable = false, length = 500)
+    private String pathTemplate;
+
+    @Column(name = "http_status", nullable = false)
+    private Integer httpStatus;
+
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor for JPA
+    protected ActivityAccessRollup() {}
+
+    // Private constructor — instances created only through the Builder
+    private ActivityAccessRollup(UUID id, LocalDateTime bucketStart, LocalDateTime bucketEnd,
+                                 String userId, String username, String processName,
+                                 String httpMethod, String pathTemplate, Integer httpStatus,
+                                 Long requestCount) {
+        this.id = id;
+        this.bucketStart = bucketStart;
+        this.bucketEnd = bucketEnd;
+        this.userId = userId;
+        this.username = username;
+        this.processName = processName;
+        this.httpMethod = httpMethod;
+        this.pathTemplate = pathTemplate;
+        this.httpStatus = httpStatus;
+        this.requestCount = requestCount;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // ── Getters (no setters — immutable) ─────────────────────
+
+    public UUID getId() {
+        return id;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public LocalDateTime getBucketEnd() {
+        return bucketEnd;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getProcessName() {
+        return processName;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPathTemplate() {
+        return pathTemplate;
+    }
+
+    public Integer getHttpStatus() {
+        return httpStatus;
+    }
+
+    public Long getRequestCount() {
+        return requestCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // ── Builder ──────────────────────────────────────────────
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private UUID id;
+        private LocalDateTime bucketStart;
+        private LocalDateTime bucketEnd;
+        private String userId;
+        private String username;
+        private String processName;
+        private String httpMethod;
+        private String pathTemplate;
+        private Integer httpStatus;
+        private Long requestCount;
+
+        public Builder id(UUID id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder bucketStart(LocalDateTime bucketStart) {
+            this.bucketStart = bucketStart;
+            return this;
+        }
+
+        public Builder bucketEnd(LocalDateTime bucketEnd) {
+            this.bucketEnd = bucketEnd;
+            return this;
+        }
+
+        public Builder userId(String userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public Builder username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        public Builder processName(String processName) {
+            this.processName = processName;
+            return this;
+        }
+
+        public Builder httpMethod(String httpMethod) {
+            this.httpMethod = httpMethod;
+            return this;
+        }
+
+        public Builder pathTemplate(String pathTemplate) {
+            this.pathTemplate = pathTemplate;
+            return this;
+        }
+
+        public Builder httpStatus(Integer httpStatus) {
+            this.httpStatus = httpStatus;
+            return this;
+        }
+
+        public Builder requestCount(Long requestCount) {
+            this.requestCount = requestCount;
+            return this;
+        }
+
+        public ActivityAccessRollup build() {
+            return new ActivityAccessRollup(id, bucketStart, bucketEnd, userId, username, processName,
+                    httpMethod, pathTemplate, httpStatus, requestCount);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import java.util.UUID;
  * <p>
  * Does NOT extend {@link com.lifecontrol.api.common.model.Auditable} — logs are
  * write-once with only {@code created_at}. No updated_at, no lifecycle beyond creation.
+ * {@code created_at} is the time of the request when the builder is given one, not the time
+ * the batch containing the entry was written.
  */
 @Entity
 @Table(name = "activity_logs")
@@ -61,7 +63,8 @@ public class ActivityLog {
     private ActivityLog(UUID id, String userId, String username,
                         ActivityProcess activityProcess, ActivityEvent activityEvent,
                         String httpMethod, Integer httpStatus, String requestPath,
-                        String ipAddress, String userAgent, String payloadJson) {
+                        String ipAddress, String userAgent, String payloadJson,
+                        LocalDateTime createdAt) {
         this.id = id;
         this.userId = userId;
         this.username = username;
@@ -73,11 +76,14 @@ public class ActivityLog {
         this.ipAddress = ipAddress;
         this.userAgent = userAgent;
         this.payloadJson = payloadJson;
+        this.createdAt = createdAt;
     }
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 
     // ── Getters (no setters — immutable) ─────────────────────
@@ -148,6 +154,7 @@ public class ActivityLog {
         private String ipAddress;
         private String userAgent;
         private String payloadJson;
+        private LocalDateTime createdAt;
 
         public Builder id(UUID id) {
             this.id = id;
@@ -204,9 +211,14 @@ public class ActivityLog {
             return this;
         }
 
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
         public ActivityLog build() {
             return new ActivityLog(id, userId, username, activityProcess, activityEvent,
-                    httpMethod, httpStatus, requestPath, ipAddress, userAgent, payloadJson);
+                    httpMethod, httpStatus, requestPath, ipAddress, userAgent, payloadJson, createdAt);
         }
     }
 }
@@ -0,0 +1,45 @@
+package com.lifecontrol.api.activity.repository;
+
+import com.lifecontrol.api.activity.model.ActivityAccessRollup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ActivityAccessRollupRepository extends JpaRepository<ActivityAccessRollup, UUID> {
+
+    /**
+     * Paginated query over rollup buckets starting in a date range, with optional filters
+     * for process name, user ID, and path template.
+     *
+     * @param from         start of date range (inclusive), compared to the bucket start
+     * @param to           end of date range (exclusive), compared to the bucket start
+     * @param process      optional process name (exact match)
+     * @param userId       optional user ID (exact match)
+     * @param pathTemplate optional path template (exact match, e.g. {@code /api/products/{id}})
+     * @param pageable     pagination parameters
+     * @return a page of matching rollups
+     */
+    @Query("""
+            SELECT r FROM ActivityAccessRollup r
+            WHERE r.bucketStart >= :from
+              AND r.bucketStart < :to
+              AND (:process IS NULL OR r.processName = :process)
+              AND (:userId IS NULL OR r.userId = :userId)
+              AND (:pathTemplate IS NULL OR r.pathTemplate = :pathTemplate)
+            """)
+    Page<ActivityAccessRollup> findByFilters(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("process") String process,
+            @Param("userId") String userId,
+            @Param("pathTemplate") String pathTemplate,
+            Pageable pageable
+    );
+}
@@ -1,6 +1,7 @@
 package com.lifecontrol.api.activity.repository;
 
 import com.lifecontrol.api.activity.model.ActivityLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,17 +10,21 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, UUID> {
 
     /**
-     * Paginated query with optional filters for date range, process name,
+     * Paginated query over a date range with optional filters for process name,
      * event name, user ID, and HTTP method.
+     * <p>
+     * The range bounds are always bound (never {@code NULL}) so PostgreSQL can prune
+     * the monthly {@code activity_logs} partitions outside the range.
      *
-     * @param from       optional start of date range (inclusive)
-     * @param to         optional end of date range (inclusive)
+     * @param from       start of date range (inclusive)
+     * @param to         end of date range (exclusive)
      * @param process    optional process name (exact match)
      * @param event      optional event name (exact match)
      * @param userId     optional user ID (exact match)
@@ -31,8 +36,8 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, UUID>
             SELECT l FROM ActivityLog l
             JOIN l.activityProcess p
             JOIN l.activityEvent e
-            WHERE (:from IS NULL OR l.createdAt >= :from)
-              AND (:to IS NULL OR l.createdAt <= :to)
+            WHERE l.createdAt >= :from
+              AND l.createdAt < :to
               AND (:process IS NULL OR p.name = :process)
               AND (:event IS NULL OR e.name = :event)
               AND (:userId IS NULL OR l.userId = :userId)
@@ -47,4 +52,42 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, UUID>
             @Param("httpMethod") String httpMethod,
             Pageable pageable
     );
+
+    /**
+     * Keyset variant of {@link #findByFilters}: returns up to {@code limit} entries strictly
+     * older than the {@code (beforeCreatedAt, beforeId)} position, newest first, without a count
+     * query. Cost per page is independent of how far the caller has scrolled.
+     *
+     * @param from            start of date range (inclusive)
+     * @param to              end of date range (exclusive)
+     * @param beforeCreatedAt timestamp of the last entry already returned
+     * @param beforeId        id of the last entry already returned (tie-breaker)
+     * @param limit           maximum number of entries to return
+     * @return matching activity logs ordered by {@code createdAt} and {@code id}, descending
+     */
+    @Query("""
+            SELECT l FROM ActivityLog l
+            JOIN FETCH l.activityProcess p
+            JOIN FETCH l.activityEvent e
+            WHERE l.createdAt >= :from
+              AND l.createdAt < :to
+              AND (l.createdAt < :beforeCreatedAt
+                   OR (l.createdAt = :beforeCreatedAt AND l.id < :beforeId))
+              AND (:process IS NULL OR p.name = :process)
+              AND (:event IS NULL OR e.name = :event)
+              AND (:userId IS NULL OR l.userId = :userId)
+              AND (:httpMethod IS NULL OR l.httpMethod = :httpMethod)
+            ORDER BY l.createdAt DESC, l.id DESC
+            """)
+    List<ActivityLog> findSliceByFilters(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+            @Param("beforeId") UUID beforeId,
+            @Param("process") String process,
+            @Param("event") String event,
+            @Param("userId") String userId,
+            @Param("httpMethod") String httpMethod,
+            Limit limit
+    );
 }
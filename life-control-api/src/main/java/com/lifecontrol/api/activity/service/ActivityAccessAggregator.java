@@ -0,0 +1,118 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.model.ActivityAccessRollup;
+import com.lifecontrol.api.activity.repository.ActivityAccessRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts READ requests recorded in {@code AGGREGATED} mode and writes one
+ * {@link ActivityAccessRollup} row per user, process, path template and response status
+ * every {@code app.activity-log.policy.aggregation-interval}.
+ * <p>
+ * Request threads add to their key's count with an atomic {@code merge}, which only locks that
+ * key's bin of the map, and a flush takes each count with an atomic {@code remove}, so no
+ * request is lost between the two and idle keys leave the map by themselves. Keying by path
+ * template (e.g. {@code /api/product-variants/{id}}) keeps the number of keys bounded by users
+ * times routes. Counts still pending at shutdown are flushed before the application stops.
+ */
+@Component
+public class ActivityAccessAggregator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityAccessAggregator.class);
+
+    record Key(String userId, String username, String processName, String httpMethod,
+               String pathTemplate, int httpStatus) {}
+
+    private final ActivityAccessRollupRepository rollupRepository;
+    private final Map<Key, Long> counters = new ConcurrentHashMap<>();
+
+    private LocalDateTime windowStart = LocalDateTime.now();
+    private volatile boolean running;
+
+    public ActivityAccessAggregator(ActivityAccessRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    public void record(String userId, String username, String processName, String httpMethod,
+                       String pathTemplate, int httpStatus) {
+        counters.merge(new Key(userId, username, processName, httpMethod, pathTemplate, httpStatus),
+                1L, Long::sum);
+    }
+
+    /**
+     * Writes one rollup per key counted since the previous flush, covering the interval between
+     * the two flushes. Every key is removed as its count is taken, so the map only holds keys
+     * counted since. Rollups that fail to save are logged and discarded.
+     */
+    @Scheduled(fixedDelayString = "${app.activity-log.policy.aggregation-interval:PT1M}",
+               initialDelayString = "${app.activity-log.policy.aggregation-interval:PT1M}")
+    public synchronized void flush() {
+        var bucketStart = windowStart;
+        var bucketEnd = LocalDateTime.now();
+        windowStart = bucketEnd;
+
+        var rollups = new ArrayList<ActivityAccessRollup>();
+        for (var key : counters.keySet()) {
+            // A request counted after the removal starts a new count for the next flush
+            var count = counters.remove(key);
+            if (count == null) {
+                continue;
+            }
+            rollups.add(ActivityAccessRollup.builder()
+                    .bucketStart(bucketStart)
+                    .bucketEnd(bucketEnd)
+                    .userId(key.userId())
+                    .username(key.username())
+                    .processName(key.processName())
+                    .httpMethod(key.httpMethod())
+                    .pathTemplate(key.pathTemplate())
+                    .httpStatus(key.httpStatus())
+                    .requestCount(count)
+                    .build());
+        }
+        if (rollups.isEmpty()) {
+            return;
+        }
+
+        try {
+            rollupRepository.saveAll(rollups);
+            log.debug("Flushed {} activity access rollups", rollups.size());
+        } catch (Exception e) {
+            // Access counting is best-effort — never let a failed flush break the scheduler
+            log.warn("Failed to save {} activity access rollups: {}", rollups.size(), e.getMessage());
+        }
+    }
+
+    // ─── Lifecycle ────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops after the web server has drained requests. */
+    @Override
+    public int getPhase() {
+        return ActivityLogWriter.PHASE + 1;
+    }
+}
@@ -0,0 +1,111 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.model.ActivityEvent;
+import com.lifecontrol.api.activity.model.ActivityProcess;
+import com.lifecontrol.api.activity.repository.ActivityEventRepository;
+import com.lifecontrol.api.activity.repository.ActivityProcessRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process registry of the activity processes and events, keyed by name.
+ * <p>
+ * Both tables are a tiny, fixed catalog seeded by
+ * {@link com.lifecontrol.api.activity.config.ActivityLogInitializer}, which refreshes the
+ * catalog once it has seeded them. Lookups are then served from memory, so writing an
+ * activity log entry costs only the insert. The entities held here are detached and only
+ * used as foreign-key references.
+ * <p>
+ * A lookup miss triggers one reload before giving up, so rows added after startup are picked
+ * up without a restart; misses only reload a snapshot older than
+ * {@code app.activity-catalog.miss-reload-interval}, so unknown names cost at most one reload
+ * per interval. Snapshots older than {@code app.activity-catalog.ttl} are reloaded on next
+ * use, once: threads that queued behind that reload reuse its result.
+ */
+@Component
+public class ActivityCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityCatalog.class);
+
+    private record Snapshot(Map<String, ActivityProcess> processes,
+                            Map<String, ActivityEvent> events,
+                            long loadedAtNanos) {}
+
+    private final ActivityProcessRepository processRepository;
+    private final ActivityEventRepository eventRepository;
+    private final long ttlNanos;
+    private final long missReloadIntervalNanos;
+
+    private volatile Snapshot snapshot;
+
+    public ActivityCatalog(ActivityProcessRepository processRepository,
+                           ActivityEventRepository eventRepository,
+                           @Value("${app.activity-catalog.ttl:PT30M}") Duration ttl,
+                           @Value("${app.activity-catalog.miss-reload-interval:PT1S}") Duration missReloadInterval) {
+        this.processRepository = processRepository;
+        this.eventRepository = eventRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.missReloadIntervalNanos = missReloadInterval.toNanos();
+    }
+
+    public Optional<ActivityProcess> findProcess(String name) {
+        var process = currentSnapshot().processes().get(name);
+        if (process == null) {
+            process = reload(missReloadIntervalNanos).processes().get(name);
+        }
+        return Optional.ofNullable(process);
+    }
+
+    public Optional<ActivityEvent> findEvent(String name) {
+        var event = currentSnapshot().events().get(name);
+        if (event == null) {
+            event = reload(missReloadIntervalNanos).events().get(name);
+        }
+        return Optional.ofNullable(event);
+    }
+
+    /**
+     * Reloads both reference tables and atomically swaps the snapshot.
+     */
+    public void refresh() {
+        reload(0);
+    }
+
+    /**
+     * Reloads the catalog unless the snapshot, possibly loaded by another thread while this one
+     * waited for the lock, is younger than {@code maxAgeNanos}.
+     */
+    private synchronized Snapshot reload(long maxAgeNanos) {
+        var current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAtNanos() < maxAgeNanos) {
+            return current;
+        }
+        var processes = new HashMap<String, ActivityProcess>();
+        for (var process : processRepository.findAll()) {
+            processes.put(process.getName(), process);
+        }
+        var events = new HashMap<String, ActivityEvent>();
+        for (var event : eventRepository.findAll()) {
+            events.put(event.getName(), event);
+        }
+        var loaded = new Snapshot(Map.copyOf(processes), Map.copyOf(events), System.nanoTime());
+        snapshot = loaded;
+        log.debug("Activity catalog loaded: {} processes, {} events", processes.size(), events.size());
+        return loaded;
+    }
+
+    private Snapshot currentSnapshot() {
+        var current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAtNanos() >= ttlNanos) {
+            return reload(ttlNanos);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,453 @@
+package com.lifecontrol.api.activity.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly range partitions of {@code activity_logs} (PostgreSQL).
+ * <p>
+ * On startup and then daily ({@code app.activity-log.partitioning.cron}) it:
+ * <ol>
+ *   <li>converts a pre-partitioning {@code activity_logs} table in place — the old table becomes
+ *       a single partition covering everything up to the end of the current month;</li>
+ *   <li>creates the default partition and one partition per month from the current month up to
+ *       {@code app.activity-log.partitioning.months-ahead} months ahead;</li>
+ *   <li>builds missing parent indexes partition by partition, without blocking writes;</li>
+ *   <li>archives partitions that lie entirely before the retention window
+ *       ({@code app.activity-log.retention.months}) to a gzip-compressed CSV file under
+ *       {@code app.activity-log.archive.directory}, then detaches them and, unless
+ *       {@code app.activity-log.retention.action=DETACH}, drops them.</li>
+ * </ol>
+ * A partition that fails to archive is kept and retried on the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.activity-log.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class ActivityLogPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogPartitionManager.class);
+
+    static final String PARENT_TABLE = "activity_logs";
+    static final String DEFAULT_PARTITION = "activity_logs_default";
+
+    /** Monthly partition, e.g. {@code activity_logs_y2026m03} holds March 2026. */
+    private static final Pattern MONTHLY = Pattern.compile("activity_logs_y(\\d{4})m(\\d{2})");
+
+    /** Converted legacy table, e.g. {@code activity_logs_upto_y2026m04} holds everything before April 2026. */
+    private static final Pattern LEGACY = Pattern.compile("activity_logs_upto_y(\\d{4})m(\\d{2})");
+
+    /**
+     * Secondary indexes of the parent, named {@code idx_activity_logs_<suffix>}. schema.sql declares all
+     * but {@code created_at_id}, which was added later and is only ever built here, without blocking writes.
+     */
+    private static final List<IndexDefinition> INDEXES = List.of(
+            new IndexDefinition("user_id", "user_id"),
+            new IndexDefinition("created_at", "created_at"),
+            new IndexDefinition("process", "activity_process_id"),
+            new IndexDefinition("event", "activity_event_id"),
+            new IndexDefinition("created_at_id", "created_at DESC, id DESC"));
+
+    /** Unique index on the live legacy table that becomes its {@code (id, created_at)} primary key. */
+    private static final String LEGACY_KEY_INDEX = "activity_logs_id_created_at_key";
+
+    /** Check proving the legacy rows fit the partition bound, so attaching them needs no scan. */
+    private static final String BOUND_CHECK = "activity_logs_partition_bound";
+
+    private static final String SWAP_LOCK_TIMEOUT = "5s";
+
+    /** Rows per round trip while archiving; PgJDBC only honours it inside a transaction. */
+    private static final int ARCHIVE_FETCH_SIZE = 1000;
+
+    private static final String ARCHIVE_HEADER =
+            "id,user_id,username,process,event,http_method,http_status,request_path,ip_address,user_agent,payload_json,created_at";
+
+    private record IndexDefinition(String suffix, String columns) {
+    }
+
+    public enum RetentionAction {
+        DROP,
+        DETACH
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate archiveTransactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+    private final boolean archiveEnabled;
+    private final Path archiveDirectory;
+
+    public ActivityLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.activity-log.partitioning.months-ahead:2}") int monthsAhead,
+                                       @Value("${app.activity-log.retention.months:12}") int retentionMonths,
+                                       @Value("${app.activity-log.retention.action:DROP}") RetentionAction retentionAction,
+                                       @Value("${app.activity-log.archive.enabled:true}") boolean archiveEnabled,
+                                       @Value("${app.activity-log.archive.directory:activity-archive}") Path archiveDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveTransactionTemplate.setReadOnly(true);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.activity-log.partitioning.cron:0 30 2 * * *}")
+    public void maintain() {
+        try {
+            maintain(YearMonth.now());
+        } catch (Exception e) {
+            // Maintenance is retried on the next run; the default partition keeps inserts working meanwhile
+            log.error("Activity log partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void maintain(YearMonth currentMonth) {
+        convertLegacyTable(currentMonth);
+        ensurePartitions(currentMonth);
+        ensureIndexes();
+        applyRetention(currentMonth);
+    }
+
+    // ─── Conversion ───────────────────────────────────────────
+
+    /**
+     * Turns an unpartitioned {@code activity_logs} into the first partition of a partitioned one,
+     * so no rows move. Everything that scans the table runs first, while it is still live and
+     * without blocking writes: the primary-key and secondary indexes are built {@code CONCURRENTLY}
+     * and the partition bound is proven by a {@code NOT VALID} check that is then validated.
+     * The swap itself only takes catalog locks — the attach trusts the validated check instead of
+     * scanning, and the parent indexes are created {@code ON ONLY} and adopt the prebuilt ones.
+     */
+    private void convertLegacyTable(YearMonth currentMonth) {
+        var kind = jdbcTemplate.queryForList(
+                "SELECT relkind FROM pg_class WHERE oid = to_regclass(?)", String.class, PARENT_TABLE);
+        if (kind.isEmpty() || !"r".equals(kind.get(0))) {
+            return;
+        }
+
+        var upTo = currentMonth.plusMonths(1);
+        var legacy = "activity_logs_upto_" + suffix(upTo);
+        log.info("Converting {} to a partitioned table; existing rows become partition {}", PARENT_TABLE, legacy);
+
+        prepareLegacyTable(upTo);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Give up rather than queue every insert behind us; the next run retries
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + SWAP_LOCK_TIMEOUT + "'");
+            jdbcTemplate.execute("ALTER TABLE activity_logs RENAME TO " + legacy);
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT activity_logs_pkey");
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " ADD CONSTRAINT " + legacy
+                    + "_pkey PRIMARY KEY USING INDEX " + LEGACY_KEY_INDEX);
+            for (var index : INDEXES) {
+                jdbcTemplate.execute("ALTER INDEX idx_activity_logs_" + index.suffix()
+                        + " RENAME TO idx_" + legacy + "_" + index.suffix());
+            }
+            jdbcTemplate.execute("""
+                    CREATE TABLE activity_logs (
+                        LIKE %s INCLUDING DEFAULTS,
+                        PRIMARY KEY (id, created_at),
+                        FOREIGN KEY (activity_process_id) REFERENCES activity_processes(id),
+                        FOREIGN KEY (activity_event_id) REFERENCES activity_events(id)
+                    ) PARTITION BY RANGE (created_at)""".formatted(legacy));
+            for (var index : INDEXES) {
+                jdbcTemplate.execute("CREATE INDEX idx_activity_logs_" + index.suffix()
+                        + " ON ONLY activity_logs(" + index.columns() + ")");
+            }
+            jdbcTemplate.execute("ALTER TABLE activity_logs ATTACH PARTITION " + legacy
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + upTo.atDay(1) + "')");
+            for (var index : INDEXES) {
+                jdbcTemplate.execute("ALTER INDEX idx_activity_logs_" + index.suffix()
+                        + " ATTACH PARTITION idx_" + legacy + "_" + index.suffix());
+            }
+            // The partition bound now enforces the same thing
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT " + BOUND_CHECK);
+        });
+    }
+
+    /**
+     * Builds what the swap needs on the live table. Each statement runs in its own short
+     * transaction, and every step is idempotent so an interrupted run simply resumes.
+     */
+    private void prepareLegacyTable(YearMonth upTo) {
+        dropInvalidIndexes(PARENT_TABLE);
+
+        jdbcTemplate.execute("CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + LEGACY_KEY_INDEX
+                + " ON activity_logs(id, created_at)");
+        for (var index : INDEXES) {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activity_logs_" + index.suffix()
+                    + " ON activity_logs(" + index.columns() + ")");
+        }
+
+        // The bound may have moved on since an earlier attempt
+        jdbcTemplate.execute("ALTER TABLE activity_logs DROP CONSTRAINT IF EXISTS " + BOUND_CHECK);
+        jdbcTemplate.execute("ALTER TABLE activity_logs ADD CONSTRAINT " + BOUND_CHECK
+                + " CHECK (created_at < '" + upTo.atDay(1) + "') NOT VALID");
+        jdbcTemplate.execute("ALTER TABLE activity_logs VALIDATE CONSTRAINT " + BOUND_CHECK);
+    }
+
+    // ─── Creation ─────────────────────────────────────────────
+
+    private void ensurePartitions(YearMonth currentMonth) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF activity_logs DEFAULT");
+
+        var existing = listPartitions();
+        var coveredUntil = existing.stream()
+                .map(name -> matchMonth(LEGACY, name))
+                .filter(Objects::nonNull)
+                .max(YearMonth::compareTo)
+                .orElse(null);
+
+        for (var month = currentMonth; !month.isAfter(currentMonth.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            var name = "activity_logs_" + suffix(month);
+            if (existing.contains(name) || (coveredUntil != null && month.isBefore(coveredUntil))) {
+                continue;
+            }
+            try {
+                createMonthlyPartition(month, name);
+                log.info("Created activity log partition {}", name);
+            } catch (DataAccessException | TransactionException e) {
+                // Keep maintaining the other months, indexes and retention; retried on the next run
+                log.error("Failed to create activity log partition {}: {}", name, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Creates the partition of {@code month}. Rows of that month that already landed in the default
+     * partition, e.g. because maintenance missed the month boundary, would make a plain
+     * {@code PARTITION OF} fail, so they are moved in one transaction: the default partition is
+     * detached, the month's partition created and filled from it, and the default reattached.
+     * Writes to {@code activity_logs} wait for that transaction, so its length grows with the
+     * number of stray rows.
+     */
+    private void createMonthlyPartition(YearMonth month, String name) {
+        var bounds = "FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        var create = "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF activity_logs FOR VALUES " + bounds;
+        var inMonth = "created_at >= '" + month.atDay(1) + "' AND created_at < '" + month.plusMonths(1).atDay(1) + "'";
+        var stray = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE " + inMonth + ")", Boolean.class));
+        if (!stray) {
+            jdbcTemplate.execute(create);
+            return;
+        }
+        log.warn("Moving rows of {} out of the default activity log partition", month);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + SWAP_LOCK_TIMEOUT + "'");
+            jdbcTemplate.execute("ALTER TABLE activity_logs DETACH PARTITION " + DEFAULT_PARTITION);
+            jdbcTemplate.execute(create);
+            jdbcTemplate.execute("INSERT INTO activity_logs SELECT * FROM " + DEFAULT_PARTITION + " WHERE " + inMonth);
+            jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION + " WHERE " + inMonth);
+            jdbcTemplate.execute("ALTER TABLE activity_logs ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        });
+    }
+
+    // ─── Indexes ──────────────────────────────────────────────
+
+    /**
+     * Builds parent indexes that are missing or not yet valid, e.g. one added after the table was
+     * partitioned. A plain {@code CREATE INDEX} on the parent would block writes to every partition
+     * while it scans them, so the parent index is created {@code ON ONLY} and each partition's index
+     * is built {@code CONCURRENTLY} and attached; the parent index turns valid with the last attach.
+     */
+    private void ensureIndexes() {
+        var valid = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE i.indrelid = to_regclass(?) AND i.indisvalid""", String.class, PARENT_TABLE);
+        for (var index : INDEXES) {
+            var parentIndex = "idx_activity_logs_" + index.suffix();
+            if (valid.contains(parentIndex)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + parentIndex
+                    + " ON ONLY activity_logs(" + index.columns() + ")");
+            var indexed = jdbcTemplate.queryForList("""
+                    SELECT t.relname FROM pg_inherits h
+                    JOIN pg_index i ON i.indexrelid = h.inhrelid
+                    JOIN pg_class t ON t.oid = i.indrelid
+                    WHERE h.inhparent = to_regclass(?)""", String.class, parentIndex);
+            for (var partition : listPartitions()) {
+                if (indexed.contains(partition)) {
+                    continue;
+                }
+                var partitionIndex = "idx_" + partition + "_" + index.suffix();
+                dropInvalidIndexes(partition);
+                jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndex
+                        + " ON " + partition + "(" + index.columns() + ")");
+                jdbcTemplate.execute("ALTER INDEX " + parentIndex + " ATTACH PARTITION " + partitionIndex);
+            }
+            log.info("Built activity log index {} on all partitions", parentIndex);
+        }
+    }
+
+    /** An interrupted concurrent build leaves an invalid index that IF NOT EXISTS would keep. */
+    private void dropInvalidIndexes(String table) {
+        var invalid = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE i.indrelid = to_regclass(?) AND NOT i.indisvalid""", String.class, table);
+        for (var index : invalid) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+        }
+    }
+
+    // ─── Retention ────────────────────────────────────────────
+
+    private void applyRetention(YearMonth currentMonth) {
+        var oldestKept = currentMonth.minusMonths(retentionMonths);
+        for (var name : listPartitions()) {
+            var monthly = matchMonth(MONTHLY, name);
+            var legacyUpTo = matchMonth(LEGACY, name);
+            var expired = (monthly != null && monthly.isBefore(oldestKept))
+                    || (legacyUpTo != null && !legacyUpTo.isAfter(oldestKept));
+            if (!expired) {
+                continue;
+            }
+            if (archiveEnabled && !archive(name)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE activity_logs DETACH PARTITION " + name);
+            if (retentionAction == RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+            }
+            log.info("Activity log partition {} past retention: {}", name,
+                    retentionAction == RetentionAction.DROP ? "dropped" : "detached");
+        }
+    }
+
+    /**
+     * Streams the partition to {@code <archive-directory>/<partition>.csv.gz}, writing to a temporary
+     * file first so a crash never leaves a truncated archive behind. The query runs in a read-only
+     * transaction with a fetch size, so PgJDBC reads it through a cursor instead of loading the whole
+     * month into memory. Any failure, in the file system or the database, keeps the partition and
+     * removes the temporary file.
+     */
+    private boolean archive(String partition) {
+        var target = archiveDirectory.resolve(partition + ".csv.gz");
+        Path temp = null;
+        try {
+            Files.createDirectories(archiveDirectory);
+            temp = Files.createTempFile(archiveDirectory, partition, ".tmp");
+            try (var writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                writer.write(ARCHIVE_HEADER);
+                writer.newLine();
+                archiveTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query("""
+                        SELECT l.id, l.user_id, l.username, p.name AS process, e.name AS event,
+                               l.http_method, l.http_status, l.request_path, l.ip_address,
+                               l.user_agent, l.payload_json, l.created_at
+                        FROM %s l
+                        JOIN activity_processes p ON p.id = l.activity_process_id
+                        JOIN activity_events e ON e.id = l.activity_event_id
+                        ORDER BY l.created_at""".formatted(partition),
+                        (PreparedStatementSetter) ps -> ps.setFetchSize(ARCHIVE_FETCH_SIZE),
+                        (RowCallbackHandler) rs -> writeRow(writer, rs)));
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Archived activity log partition {} to {}", partition, target);
+            return true;
+        } catch (IOException | UncheckedIOException | DataAccessException | TransactionException e) {
+            log.error("Failed to archive activity log partition {} — keeping it: {}", partition, e.getMessage());
+            return false;
+        } finally {
+            deleteTemp(temp);
+        }
+    }
+
+    /** No-op after a successful archive, where the file was already moved into place. */
+    private static void deleteTemp(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary archive file {}: {}", temp, e.getMessage());
+        }
+    }
+
+    private static void writeRow(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            var columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writer.write(csv(rs.getString(i)));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────
+
+    private List<String> listPartitions() {
+        return new ArrayList<>(jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname""", String.class, PARENT_TABLE));
+    }
+
+    private static YearMonth matchMonth(Pattern pattern, String name) {
+        var matcher = pattern.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private static String suffix(YearMonth month) {
+        return "y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,60 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Mode;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Rule;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how a successful controller invocation is recorded in the activity audit trail,
+ * based on the rules in {@link ActivityLogPolicyProperties}.
+ * <p>
+ * Only READ events are subject to the rules; every other event is always recorded so
+ * mutations stay fully audited. {@link Mode#SAMPLED} is resolved here, so callers only
+ * ever see {@link Mode#ALWAYS}, {@link Mode#AGGREGATED} or {@link Mode#NEVER}.
+ */
+@Component
+public class ActivityLogPolicy {
+
+    static final String READ_EVENT = "READ";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Rule> rules;
+    private final Mode defaultMode;
+
+    public ActivityLogPolicy(ActivityLogPolicyProperties properties) {
+        this.rules = List.copyOf(properties.getRules());
+        this.defaultMode = properties.getDefaultMode();
+    }
+
+    /**
+     * Returns the recording mode for the given request.
+     */
+    public Mode decide(String processName, String eventName, String path) {
+        if (!READ_EVENT.equals(eventName)) {
+            return Mode.ALWAYS;
+        }
+        var rule = findRule(processName, eventName, path);
+        var mode = rule != null ? rule.mode() : defaultMode;
+        if (mode != Mode.SAMPLED) {
+            return mode;
+        }
+        var percent = rule != null ? rule.samplePercent() : 100;
+        return ThreadLocalRandom.current().nextInt(100) < percent ? Mode.ALWAYS : Mode.NEVER;
+    }
+
+    private Rule findRule(String processName, String eventName, String path) {
+        for (var rule : rules) {
+            if ((rule.process() == null || rule.process().equalsIgnoreCase(processName))
+                    && (rule.event() == null || rule.event().equalsIgnoreCase(eventName))
+                    && (rule.path() == null || pathMatcher.match(rule.path(), path))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
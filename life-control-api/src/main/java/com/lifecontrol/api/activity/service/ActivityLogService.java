@@ -1,86 +1,104 @@
 package com.lifecontrol.api.activity.service;
 
+import com.lifecontrol.api.activity.dto.ActivityAccessRollupFilter;
+import com.lifecontrol.api.activity.dto.ActivityAccessRollupResponse;
+import com.lifecontrol.api.activity.dto.ActivityLogCursor;
 import com.lifecontrol.api.activity.dto.ActivityLogFilter;
 import com.lifecontrol.api.activity.dto.ActivityLogResponse;
+import com.lifecontrol.api.activity.dto.ActivityLogScrollResponse;
 import com.lifecontrol.api.activity.event.ActivityLogEvent;
 import com.lifecontrol.api.activity.model.ActivityLog;
-import com.lifecontrol.api.activity.repository.ActivityEventRepository;
+import com.lifecontrol.api.activity.repository.ActivityAccessRollupRepository;
 import com.lifecontrol.api.activity.repository.ActivityLogRepository;
-import com.lifecontrol.api.activity.repository.ActivityProcessRepository;
-import com.lifecontrol.api.activity.util.PayloadSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Service for the activity audit trail.
  * <p>
- * Handles persisting log entries published by the aspect and querying
- * the activity log with flexible filters.
+ * Handles persisting batches of log entries queued by {@link ActivityLogWriter} and querying
+ * the activity log and the aggregated access rollups with flexible filters.
  */
 @Service
 public class ActivityLogService {
 
     private static final Logger log = LoggerFactory.getLogger(ActivityLogService.class);
 
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    static final int MAX_SCROLL_SIZE = 100;
+
     private final ActivityLogRepository activityLogRepository;
-    private final ActivityProcessRepository processRepository;
-    private final ActivityEventRepository eventRepository;
+    private final ActivityAccessRollupRepository rollupRepository;
+    private final ActivityCatalog activityCatalog;
 
     public ActivityLogService(ActivityLogRepository activityLogRepository,
-                              ActivityProcessRepository processRepository,
-                              ActivityEventRepository eventRepository) {
+                              ActivityAccessRollupRepository rollupRepository,
+                              ActivityCatalog activityCatalog) {
         this.activityLogRepository = activityLogRepository;
-        this.processRepository = processRepository;
-        this.eventRepository = eventRepository;
+        this.rollupRepository = rollupRepository;
+        this.activityCatalog = activityCatalog;
     }
 
     /**
-     * Persists an activity log entry from the given event.
+     * Persists a batch of activity log entries drained by {@link ActivityLogWriter}.
      * <p>
-     * The payload is sanitized (sensitive fields redacted) before storage.
-     * The process and event entities are looked up by name from the reference
-     * tables; if either is not found, the entry is logged as a warning and skipped.
+     * Payloads arrive already redacted by the aspect. The process and event entities
+     * are resolved by name from the in-memory {@link ActivityCatalog}; entries whose
+     * process or event is not found are logged as a warning and skipped. The remaining
+     * rows go out in a single {@code saveAll}, which Hibernate sends as JDBC batch
+     * inserts.
+     *
+     * @return the number of rows written
      */
     @Transactional
-    public void save(ActivityLogEvent event) {
-        var processOpt = processRepository.findByName(event.getProcessName());
-        if (processOpt.isEmpty()) {
-            log.warn("Activity process not found: {} — skipping log entry", event.getProcessName());
-            return;
+    public int saveAll(List<ActivityLogEvent> events) {
+        var entries = new ArrayList<ActivityLog>(events.size());
+
+        for (var event : events) {
+            var processOpt = activityCatalog.findProcess(event.getProcessName());
+            if (processOpt.isEmpty()) {
+                log.warn("Activity process not found: {} — skipping log entry", event.getProcessName());
+                continue;
+            }
+            var eventOpt = activityCatalog.findEvent(event.getEventName());
+            if (eventOpt.isEmpty()) {
+                log.warn("Activity event not found: {} — skipping log entry", event.getEventName());
+                continue;
+            }
+
+            entries.add(ActivityLog.builder()
+                    .userId(event.getUserId())
+                    .username(event.getUsername())
+                    .activityProcess(processOpt.get())
+                    .activityEvent(eventOpt.get())
+                    .httpMethod(event.getHttpMethod())
+                    .httpStatus(event.getHttpStatus())
+                    .requestPath(event.getRequestPath())
+                    .ipAddress(event.getIpAddress())
+                    .userAgent(event.getUserAgent())
+                    .payloadJson(event.getPayloadJson())
+                    .createdAt(event.getOccurredAt())
+                    .build());
         }
-        var eventOpt = eventRepository.findByName(event.getEventName());
-        if (eventOpt.isEmpty()) {
-            log.warn("Activity event not found: {} — skipping log entry", event.getEventName());
-            return;
+
+        if (!entries.isEmpty()) {
+            activityLogRepository.saveAll(entries);
         }
 
-        var sanitizedPayload = PayloadSanitizer.sanitize(event.getPayloadJson());
-
-        var logEntry = ActivityLog.builder()
-                .userId(event.getUserId())
-                .username(event.getUsername())
-                .activityProcess(processOpt.get())
-                .activityEvent(eventOpt.get())
-                .httpMethod(event.getHttpMethod())
-                .httpStatus(event.getHttpStatus())
-                .requestPath(event.getRequestPath())
-                .ipAddress(event.getIpAddress())
-                .userAgent(event.getUserAgent())
-                .payloadJson(sanitizedPayload)
-                .build();
-
-        activityLogRepository.save(logEntry);
-
-        log.debug("Activity log saved: {} {} {} -> {}",
-                event.getHttpMethod(), event.getRequestPath(),
-                event.getProcessName(), event.getEventName());
+        log.debug("Activity log batch saved: {} of {} entries", entries.size(), events.size());
+        return entries.size();
     }
 
     /**
@@ -92,12 +110,8 @@ public class ActivityLogService {
      */
     @Transactional(readOnly = true)
     public Page<ActivityLogResponse> findAll(ActivityLogFilter filter, Pageable pageable) {
-        var from = filter.from() != null
-                ? filter.from().atStartOfDay()
-                : null;
-        var to = filter.to() != null
-                ? filter.to().atTime(LocalTime.MAX)
-                : null;
+        var from = rangeStart(filter.from());
+        var to = rangeEnd(filter.to());
 
         var page = activityLogRepository.findByFilters(
                 from, to,
@@ -111,6 +125,90 @@ public class ActivityLogService {
         return page.map(this::toResponse);
     }
 
+    /**
+     * Queries the activity log in cursor (keyset) mode, newest first.
+     * <p>
+     * Unlike {@link #findAll}, no count query runs and the cost of a page does not grow
+     * with its depth. Pass the {@code nextCursor} of the previous page to continue.
+     *
+     * @param filter the filter criteria (date range, process, event, user, method)
+     * @param cursor opaque cursor from a previous page, or {@code null} for the first page
+     * @param size   maximum number of entries to return (capped at {@value #MAX_SCROLL_SIZE})
+     * @return the page of entries and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public ActivityLogScrollResponse scroll(ActivityLogFilter filter, String cursor, int size) {
+        var limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        var from = rangeStart(filter.from());
+        var to = rangeEnd(filter.to());
+        var position = cursor != null && !cursor.isBlank()
+                ? ActivityLogCursor.decode(cursor)
+                : ActivityLogCursor.startingBefore(to);
+
+        // Fetch one extra row to learn whether another page exists
+        var rows = activityLogRepository.findSliceByFilters(
+                from, to,
+                position.createdAt(), position.id(),
+                filter.process(),
+                filter.event(),
+                filter.userId(),
+                filter.httpMethod(),
+                Limit.of(limit + 1)
+        );
+
+        String nextCursor = null;
+        var pageRows = rows;
+        if (rows.size() > limit) {
+            pageRows = rows.subList(0, limit);
+            var last = pageRows.get(limit - 1);
+            nextCursor = new ActivityLogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new ActivityLogScrollResponse(pageRows.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    /**
+     * Queries the aggregated read counters written by {@link ActivityAccessAggregator}.
+     *
+     * @param filter   the filter criteria (date range of the bucket start, process, user, path template)
+     * @param pageable pagination parameters
+     * @return a page of access rollups
+     */
+    @Transactional(readOnly = true)
+    public Page<ActivityAccessRollupResponse> findAccessRollups(ActivityAccessRollupFilter filter, Pageable pageable) {
+        var from = rangeStart(filter.from());
+        var to = rangeEnd(filter.to());
+
+        return rollupRepository.findByFilters(
+                from, to,
+                filter.process(),
+                filter.userId(),
+                filter.pathTemplate(),
+                pageable
+        ).map(rollup -> new ActivityAccessRollupResponse(
+                rollup.getId(),
+                rollup.getBucketStart(),
+                rollup.getBucketEnd(),
+                rollup.getUserId(),
+                rollup.getUsername(),
+                rollup.getProcessName(),
+                rollup.getHttpMethod(),
+                rollup.getPathTemplate(),
+                rollup.getHttpStatus(),
+                rollup.getRequestCount()
+        ));
+    }
+
+    // Open-ended filters still get concrete bounds so the query can prune partitions
+    private static LocalDateTime rangeStart(LocalDate from) {
+        return from != null ? from.atStartOfDay() : EARLIEST;
+    }
+
+    private static LocalDateTime rangeEnd(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : LATEST;
+    }
+
     private ActivityLogResponse toResponse(ActivityLog logEntry) {
         return new ActivityLogResponse(
                 logEntry.getId(),
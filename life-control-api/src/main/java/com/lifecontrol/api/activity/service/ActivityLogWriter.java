@@ -0,0 +1,235 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.event.ActivityLogEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues activity log entries in memory and writes them in batches on a background thread,
+ * so the audit trail adds no database work to the request thread.
+ * <p>
+ * The queue holds at most {@code app.activity-log.queue-capacity} entries. When it is full,
+ * {@link OverflowPolicy#DROP} discards the new entry immediately, while
+ * {@link OverflowPolicy#BLOCK} makes the caller wait up to {@code app.activity-log.block-timeout}
+ * for space before discarding it. Entries still queued at shutdown are written before the
+ * writer stops. Queue depth, dropped, written and failed entries are exported as
+ * {@code activity.log.*} meters; drops are also logged, at most one warning a minute with the
+ * number of entries dropped since the previous one.
+ */
+@Component
+public class ActivityLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final long POLL_INTERVAL_MS = 500;
+
+    /** Overflow happens under overload, so a warning per dropped entry would flood the logs. */
+    private static final long DROP_WARN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /** Below the web server's lifecycle phases, so requests still in flight at shutdown get written. */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final ActivityLogService activityLogService;
+    private final BlockingQueue<ActivityLogEvent> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+
+    /** Entries accepted but not yet written (or given up on); used by {@link #flush}. */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Counter droppedCounter;
+    /** Drops not yet reported in a warning. */
+    private final AtomicLong unreportedDrops = new AtomicLong();
+    private final AtomicLong nextDropWarnNanos = new AtomicLong(System.nanoTime());
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ActivityLogWriter(ActivityLogService activityLogService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.activity-log.queue-capacity:10000}") int queueCapacity,
+                             @Value("${app.activity-log.batch-size:100}") int batchSize,
+                             @Value("${app.activity-log.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                             @Value("${app.activity-log.block-timeout:PT0.1S}") Duration blockTimeout) {
+        this.activityLogService = activityLogService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+
+        Gauge.builder("activity.log.queue.size", queue, BlockingQueue::size)
+                .description("Activity log entries waiting to be written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("activity.log.dropped")
+                .description("Activity log entries discarded because the queue was full")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("activity.log.written")
+                .description("Activity log entries written to the database")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("activity.log.failed")
+                .description("Activity log entries lost because their batch failed to write")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an entry for writing. Never throws; returns {@code false} if the entry was dropped.
+     */
+    public boolean submit(ActivityLogEvent event) {
+        pending.incrementAndGet();
+        boolean accepted;
+        try {
+            accepted = overflowPolicy == OverflowPolicy.BLOCK
+                    ? queue.offer(event, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    : queue.offer(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            pending.decrementAndGet();
+            droppedCounter.increment();
+            unreportedDrops.incrementAndGet();
+            warnAboutDrops(false);
+        }
+        return accepted;
+    }
+
+    /**
+     * Waits until every entry submitted so far has been written, or the timeout elapses.
+     *
+     * @return {@code true} if the queue was fully drained
+     */
+    public boolean flush(Duration timeout) {
+        var deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ─── Lifecycle ────────────────────────────────────────────
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "activity-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // No interrupt: the worker notices within one poll interval, so an in-flight batch is not cut short
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+        warnAboutDrops(true);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // ─── Private helpers ─────────────────────────────────────
+
+    /**
+     * Logs the drops since the previous warning, unless one was logged less than
+     * {@link #DROP_WARN_INTERVAL_NANOS} ago and {@code force} is not set.
+     */
+    private void warnAboutDrops(boolean force) {
+        var now = System.nanoTime();
+        var next = nextDropWarnNanos.get();
+        if (!force && (now - next < 0 || !nextDropWarnNanos.compareAndSet(next, now + DROP_WARN_INTERVAL_NANOS))) {
+            return;
+        }
+        var dropped = unreportedDrops.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Activity log queue full — dropped {} entries since the last warning", dropped);
+        }
+    }
+
+    // ─── Worker ───────────────────────────────────────────────
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                var first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                var batch = new ArrayList<ActivityLogEvent>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Write whatever is still queued before the application shuts down
+        while (!queue.isEmpty()) {
+            var batch = new ArrayList<ActivityLogEvent>(batchSize);
+            queue.drainTo(batch, batchSize);
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<ActivityLogEvent> batch) {
+        try {
+            writtenCounter.increment(activityLogService.saveAll(batch));
+        } catch (Exception e) {
+            // Activity logging is best-effort — a failed batch is counted and discarded
+            failedCounter.increment(batch.size());
+            log.warn("Failed to save {} activity log entries: {}", batch.size(), e.getMessage());
+        } finally {
+            pending.addAndGet(-batch.size());
+        }
+    }
+}
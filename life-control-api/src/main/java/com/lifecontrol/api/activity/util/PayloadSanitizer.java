@@ -1,63 +1,195 @@
 package com.lifecontrol.api.activity.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 /**
- * Simple utility that redacts sensitive JSON string field values before
- * persisting them in the activity log.
+ * Redacts sensitive field values from JSON payloads in a single streaming pass.
+ * <p>
+ * This is the one redaction engine for request bodies: the activity audit trail feeds it the
+ * cached request bytes directly, and
+ * {@link com.lifecontrol.api.config.logbook.SensitiveDataSanitizer} uses it as Logbook's body
+ * filter, so both see the same field set and the same output.
  * <p>
- * The set of sensitive field names mirrors
- * {@link com.lifecontrol.api.config.logbook.SensitiveDataSanitizer}'s private
- * constant so that the same fields are protected in both request/response
- * logging (Logbook) and the activity audit trail.
+ * Tokens are copied from a Jackson parser to a generator as they are read. The value of a
+ * sensitive field is replaced with {@code "[REDACTED]"} whatever its type and nesting depth —
+ * an object or array under a sensitive name is skipped as a whole. Output stops at
+ * {@link #MAX_PAYLOAD_LENGTH} characters, the size of the audit column, and ends with
+ * {@link #TRUNCATED_MARKER}; callers without that constraint pass their own limit. Content that
+ * is not JSON is returned as text, capped the same way.
  */
 public final class PayloadSanitizer {
 
-    private static final Set<String> SENSITIVE_BODY_FIELDS = Set.of(
-            "password",
-            "secret",
-            "token",
-            "access_token",
-            "refresh_token",
-            "client_secret",
-            "api_key",
-            "secret_key",
-            "private_key"
-    );
+    public static final String REDACTED = "[REDACTED]";
+    public static final String TRUNCATED_MARKER = "...[TRUNCATED]";
+    public static final int MAX_PAYLOAD_LENGTH = 16 * 1024;
 
-    private static final Pattern SENSITIVE_FIELD_PATTERN;
+    private static final Set<String> SENSITIVE_BODY_FIELDS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 
     static {
-        var fieldPattern = SENSITIVE_BODY_FIELDS.stream()
-                .map(Pattern::quote)
-                .collect(Collectors.joining("|"));
-        SENSITIVE_FIELD_PATTERN = Pattern.compile(
-                "\"(" + fieldPattern + ")\"\\s*:\\s*\"([^\"]*)\"",
-                Pattern.CASE_INSENSITIVE
-        );
+        SENSITIVE_BODY_FIELDS.addAll(Set.of(
+                "password",
+                "secret",
+                "token",
+                "access_token",
+                "refresh_token",
+                "client_secret",
+                "api_key",
+                "secret_key",
+                "private_key"
+        ));
     }
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private PayloadSanitizer() {
         // utility class
     }
 
     /**
-     * Redacts sensitive field values from a JSON string.
-     * <p>
-     * Each known sensitive field whose value is a JSON string is replaced with
-     * {@code "[REDACTED]"}. Non-string values (numbers, booleans, nested
-     * objects) are not affected by the current pattern.
+     * Returns whether a JSON field name (case-insensitive) holds a value that must be redacted.
+     */
+    public static boolean isSensitiveField(String name) {
+        return SENSITIVE_BODY_FIELDS.contains(name);
+    }
+
+    /**
+     * Redacts sensitive field values from a raw request body without decoding it to a
+     * {@code String} first. The encoding is detected by the JSON parser (UTF-8 by default).
+     *
+     * @param content the raw body, may be {@code null} or empty
+     * @return the sanitized payload, or {@code null} if there is no content
+     */
+    public static String sanitize(byte[] content) {
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        var out = new CappedWriter(MAX_PAYLOAD_LENGTH);
+        try (var parser = JSON_FACTORY.createParser(content)) {
+            return redact(parser, out);
+        } catch (IOException e) {
+            return fallback(out, MAX_PAYLOAD_LENGTH, () -> new String(content, 0,
+                    Math.min(content.length, MAX_PAYLOAD_LENGTH + 1), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Redacts sensitive field values from a JSON string, capped at {@link #MAX_PAYLOAD_LENGTH}.
      *
-     * @param payload the raw JSON payload, may be {@code null} or blank
-     * @return the sanitized JSON string, or the original if nothing to redact
+     * @param payload the JSON payload, may be {@code null} or blank
+     * @return the sanitized payload, or the original if {@code null} or blank
      */
     public static String sanitize(String payload) {
+        return sanitize(payload, MAX_PAYLOAD_LENGTH);
+    }
+
+    /**
+     * Redacts sensitive field values from a JSON string, capped at {@code maxLength} characters.
+     *
+     * @param payload   the JSON payload, may be {@code null} or blank
+     * @param maxLength the longest output before {@link #TRUNCATED_MARKER}; {@link Integer#MAX_VALUE}
+     *                  for no limit
+     * @return the sanitized payload, or the original if {@code null} or blank
+     */
+    public static String sanitize(String payload, int maxLength) {
         if (payload == null || payload.isBlank()) {
             return payload;
         }
-        return SENSITIVE_FIELD_PATTERN.matcher(payload)
-                .replaceAll(mr -> "\"" + mr.group(1) + "\": \"[REDACTED]\"");
+        var out = new CappedWriter(maxLength);
+        try (var parser = JSON_FACTORY.createParser(payload)) {
+            return redact(parser, out);
+        } catch (IOException e) {
+            return fallback(out, maxLength, () -> payload);
+        }
+    }
+
+    private static String redact(JsonParser parser, CappedWriter out) throws IOException {
+        try (var generator = JSON_FACTORY.createGenerator(out)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && isSensitiveField(parser.currentName())) {
+                    generator.writeFieldName(parser.currentName());
+                    parser.nextToken();
+                    parser.skipChildren();
+                    generator.writeString(REDACTED);
+                } else {
+                    generator.copyCurrentEventExact(parser);
+                }
+            }
+        } catch (CappedWriter.LimitReachedException e) {
+            return out.toString() + TRUNCATED_MARKER;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Content that is not JSON from the first token is returned as text. If parsing failed
+     * part-way through, only the already-redacted prefix is kept so no secret it had seen leaks.
+     */
+    private static String fallback(CappedWriter out, int maxLength, Supplier<String> text) {
+        if (!out.isEmpty()) {
+            return out.toString() + TRUNCATED_MARKER;
+        }
+        var raw = text.get();
+        return raw.length() > maxLength
+                ? raw.substring(0, maxLength) + TRUNCATED_MARKER
+                : raw;
+    }
+
+    /**
+     * {@link Writer} that buffers at most {@code limit} characters and aborts the generator once
+     * the limit is exceeded.
+     */
+    private static final class CappedWriter extends Writer {
+
+        static final class LimitReachedException extends IOException {
+            LimitReachedException() {
+                super("payload length limit reached");
+            }
+        }
+
+        private final StringBuilder buffer = new StringBuilder();
+        private final int limit;
+
+        CappedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            var remaining = limit - buffer.length();
+            if (length > remaining) {
+                buffer.append(chars, offset, remaining);
+                throw new LimitReachedException();
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // buffered in memory
+        }
+
+        @Override
+        public void close() {
+            // buffered in memory
+        }
+
+        boolean isEmpty() {
+            return buffer.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
     }
 }
@@ -6,21 +6,18 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
- * Request-scoped component that extracts and caches the current user's
- * company IDs and roles from the JWT token in the SecurityContext.
+ * Request-scoped component that exposes the current user's company IDs and
+ * roles from the JWT token in the SecurityContext.
+ *
+ * <p>The claims and authorities are compiled once per request into an immutable
+ * {@link UserScope} (UUID sets plus a role bitmask); every getter and access check
+ * afterwards is an in-memory lookup on that snapshot.
  *
  * <p>The bean uses a scoped proxy so it can be safely injected into
  * singleton-scoped services. Each HTTP request gets its own instance
@@ -36,11 +33,6 @@ public class CurrentUserContext {
 
     private static final Logger log = LoggerFactory.getLogger(CurrentUserContext.class);
 
-    private static final String CLAIM_COMPANY_ID = "company_id";
-    private static final String CLAIM_COMPANY_COUNTRY_ID = "company_country_id";
-    private static final String CLAIM_COMPANY_REGION_ID = "company_region_id";
-    private static final String CLAIM_COMPANY_ZONE_ID = "company_zone_id";
-    private static final String CLAIM_COMPANY_STORE_ID = "company_store_id";
     static final String ROLE_LC_COMPANY = "ROLE_lc-company";
     static final String ROLE_LC_COMPANY_COUNTRY = "ROLE_lc-company-country";
     static final String ROLE_LC_COMPANY_COUNTRY_READ = "ROLE_lc-company-country-read";
@@ -51,24 +43,25 @@ public class CurrentUserContext {
     static final String ROLE_LC_COMPANY_STORE = "ROLE_lc-company-store";
     static final String ROLE_LC_COMPANY_STORE_READ = "ROLE_lc-company-store-read";
 
-    private Set<UUID> companyIds;
-    private Set<UUID> companyCountryIds;
-    private Set<UUID> companyRegionIds;
-    private Set<UUID> companyZoneIds;
-    private Set<UUID> companyStoreIds;
-    private Boolean admin;
-    private Boolean countryRole;
-    private Boolean companyRole;
-    private Boolean companyCountryRole;
-    private Boolean companyCountryReadRole;
-    private Boolean companyRegionRole;
-    private Boolean companyRegionReadRole;
-    private Boolean companyZoneRole;
-    private Boolean companyZoneReadRole;
-    private Boolean companyStoreRole;
-    private Boolean companyStoreReadRole;
-    private String userId;
-    private String username;
+    private final UserScopeCache userScopeCache;
+
+    private UserScope scope;
+
+    public CurrentUserContext(UserScopeCache userScopeCache) {
+        this.userScopeCache = userScopeCache;
+    }
+
+    /**
+     * Returns the immutable scope snapshot of the current user, resolved from the
+     * SecurityContext on first use and reused for the rest of the request. Scopes are
+     * shared across requests carrying the same token via {@link UserScopeCache}.
+     */
+    public UserScope getScope() {
+        if (scope == null) {
+            scope = userScopeCache.resolve(SecurityContextHolder.getContext().getAuthentication());
+        }
+        return scope;
+    }
 
     /**
      * Returns the set of company IDs extracted from the JWT {@code company_id} claim.
@@ -78,10 +71,7 @@ public class CurrentUserContext {
      * @return an immutable set of parsed UUIDs; empty if none found
      */
     public Set<UUID> getCompanyIds() {
-        if (companyIds == null) {
-            companyIds = extractUuidSetFromClaim(CLAIM_COMPANY_ID);
-        }
-        return companyIds;
+        return getScope().companyIds();
     }
 
     /**
@@ -92,10 +82,7 @@ public class CurrentUserContext {
      * @return an immutable set of parsed UUIDs; empty if none found
      */
     public Set<UUID> getCompanyCountryIds() {
-        if (companyCountryIds == null) {
-            companyCountryIds = extractUuidSetFromClaim(CLAIM_COMPANY_COUNTRY_ID);
-        }
-        return companyCountryIds;
+        return getScope().companyCountryIds();
     }
 
     /**
@@ -106,10 +93,7 @@ public class CurrentUserContext {
      * @return an immutable set of parsed UUIDs; empty if none found
      */
     public Set<UUID> getCompanyRegionIds() {
-        if (companyRegionIds == null) {
-            companyRegionIds = extractUuidSetFromClaim(CLAIM_COMPANY_REGION_ID);
-        }
-        return companyRegionIds;
+        return getScope().companyRegionIds();
     }
 
     /**
@@ -120,10 +104,7 @@ public class CurrentUserContext {
      * @return an immutable set of parsed UUIDs; empty if none found
      */
     public Set<UUID> getCompanyZoneIds() {
-        if (companyZoneIds == null) {
-            companyZoneIds = extractUuidSetFromClaim(CLAIM_COMPANY_ZONE_ID);
-        }
-        return companyZoneIds;
+        return getScope().companyZoneIds();
     }
 
     /**
@@ -134,120 +115,84 @@ public class CurrentUserContext {
      * @return an immutable set of parsed UUIDs; empty if none found
      */
     public Set<UUID> getCompanyStoreIds() {
-        if (companyStoreIds == null) {
-            companyStoreIds = extractUuidSetFromClaim(CLAIM_COMPANY_STORE_ID);
-        }
-        return companyStoreIds;
+        return getScope().companyStoreIds();
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_life-control-admin} or {@code ROLE_lc-admin} authority.
      */
     public boolean isAdmin() {
-        if (admin == null) {
-            admin = hasAuthority("ROLE_life-control-admin") || hasAuthority("ROLE_lc-admin");
-        }
-        return admin;
+        return getScope().hasAnyRole(UserScope.ADMIN);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_life-control-country} authority.
      */
     public boolean isCountryRole() {
-        if (countryRole == null) {
-            countryRole = hasAuthority("ROLE_life-control-country");
-        }
-        return countryRole;
+        return getScope().hasAnyRole(UserScope.COUNTRY);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company} authority.
      */
     public boolean hasCompanyRole() {
-        if (companyRole == null) {
-            companyRole = hasAuthority(ROLE_LC_COMPANY);
-        }
-        return companyRole;
+        return getScope().hasAnyRole(UserScope.COMPANY);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-country} authority.
      */
     public boolean hasCompanyCountryRole() {
-        if (companyCountryRole == null) {
-            companyCountryRole = hasAuthority(ROLE_LC_COMPANY_COUNTRY);
-        }
-        return companyCountryRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_COUNTRY);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-region} authority.
      */
     public boolean hasCompanyRegionRole() {
-        if (companyRegionRole == null) {
-            companyRegionRole = hasAuthority(ROLE_LC_COMPANY_REGION);
-        }
-        return companyRegionRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_REGION);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-zone} authority.
      */
     public boolean hasCompanyZoneRole() {
-        if (companyZoneRole == null) {
-            companyZoneRole = hasAuthority(ROLE_LC_COMPANY_ZONE);
-        }
-        return companyZoneRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_ZONE);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-store} authority.
      */
     public boolean hasCompanyStoreRole() {
-        if (companyStoreRole == null) {
-            companyStoreRole = hasAuthority(ROLE_LC_COMPANY_STORE);
-        }
-        return companyStoreRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_STORE);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-country-read} authority.
      */
     public boolean hasCompanyCountryReadRole() {
-        if (companyCountryReadRole == null) {
-            companyCountryReadRole = hasAuthority(ROLE_LC_COMPANY_COUNTRY_READ);
-        }
-        return companyCountryReadRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_COUNTRY_READ);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-region-read} authority.
      */
     public boolean hasCompanyRegionReadRole() {
-        if (companyRegionReadRole == null) {
-            companyRegionReadRole = hasAuthority(ROLE_LC_COMPANY_REGION_READ);
-        }
-        return companyRegionReadRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_REGION_READ);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-zone-read} authority.
      */
     public boolean hasCompanyZoneReadRole() {
-        if (companyZoneReadRole == null) {
-            companyZoneReadRole = hasAuthority(ROLE_LC_COMPANY_ZONE_READ);
-        }
-        return companyZoneReadRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_ZONE_READ);
     }
 
     /**
      * Returns {@code true} if the current user has the {@code ROLE_lc-company-store-read} authority.
      */
     public boolean hasCompanyStoreReadRole() {
-        if (companyStoreReadRole == null) {
-            companyStoreReadRole = hasAuthority(ROLE_LC_COMPANY_STORE_READ);
-        }
-        return companyStoreReadRole;
+        return getScope().hasAnyRole(UserScope.COMPANY_STORE_READ);
     }
 
     /**
@@ -483,110 +428,19 @@ public class CurrentUserContext {
 
     /**
      * Returns the JWT {@code sub} claim — the unique user identifier.
-     * Lazily extracted and cached per request.
      *
      * @return the subject claim, or {@code null} if no valid JWT is present
      */
     public String getUserId() {
-        if (userId == null) {
-            userId = extractClaim("sub");
-        }
-        return userId;
+        return getScope().userId();
     }
 
     /**
      * Returns the JWT {@code preferred_username} claim — the human-readable username.
-     * Lazily extracted and cached per request.
      *
      * @return the preferred username, or {@code null} if no valid JWT is present
      */
     public String getUsername() {
-        if (username == null) {
-            username = extractClaim("preferred_username");
-        }
-        return username;
-    }
-
-    // ── Private helpers ──────────────────────────────────────
-
-    /**
-     * Extracts a set of UUIDs from a JWT claim that may be a single UUID string,
-     * a comma-separated string, or a JSON array (List).
-     * <p>
-     * Returns an empty immutable set when the claim is absent, blank, or contains
-     * no parseable UUIDs.
-     */
-    private Set<UUID> extractUuidSetFromClaim(String claimName) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
-            return Collections.emptySet();
-        }
-
-        var claim = jwt.getClaim(claimName);
-        if (claim == null) {
-            return Collections.emptySet();
-        }
-
-        Stream<String> rawValues;
-        if (claim instanceof List<?> list) {
-            // JWT claim is a JSON array — e.g. ["id1", "id2"]
-            rawValues = list.stream()
-                    .map(Object::toString)
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty());
-        } else {
-            // String format: single UUID or comma-separated — e.g. "id1,id2"
-            String claimStr = claim.toString().trim();
-            if (claimStr.isBlank()) {
-                return Collections.emptySet();
-            }
-            rawValues = Stream.of(claimStr.split(","))
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty());
-        }
-
-        Set<UUID> ids = rawValues
-                .map(this::tryParseUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(HashSet::new));
-
-        if (ids.isEmpty()) {
-            log.warn("JWT contains {} claim but no valid UUIDs could be parsed: '{}'",
-                    claimName, claim);
-        }
-
-        return Collections.unmodifiableSet(ids);
-    }
-
-    private UUID tryParseUuid(String value) {
-        try {
-            return UUID.fromString(value);
-        } catch (IllegalArgumentException e) {
-            log.debug("Ignoring malformed UUID in company_id claim: '{}'", value);
-            return null;
-        }
-    }
-
-    private boolean hasAuthority(String authority) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
-            return false;
-        }
-        return authentication.getAuthorities().stream()
-                .anyMatch(a -> authority.equals(a.getAuthority()));
-    }
-
-    /**
-     * Extracts a claim value from the JWT principal in the current security context.
-     *
-     * @param claimName the JWT claim name to extract
-     * @return the claim string value, or {@code null} if not available
-     */
-    private String extractClaim(String claimName) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            return jwt.getClaimAsString(claimName);
-        }
-        return null;
+        return getScope().username();
     }
 }
@@ -0,0 +1,178 @@
+package com.lifecontrol.api.common.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the current user's identity, roles and company scope, compiled
+ * once from the JWT claims and granted authorities.
+ * <p>
+ * Roles are held as a bitmask ({@link #ADMIN}, {@link #COMPANY}, ...) so a role check is a
+ * single bit test, and each scope claim is parsed into an immutable UUID set exactly once.
+ * All access checks in {@link CurrentUserContext} are answered from this snapshot.
+ */
+public record UserScope(String userId,
+                        String username,
+                        int roles,
+                        Set<UUID> companyIds,
+                        Set<UUID> companyCountryIds,
+                        Set<UUID> companyRegionIds,
+                        Set<UUID> companyZoneIds,
+                        Set<UUID> companyStoreIds) {
+
+    private static final Logger log = LoggerFactory.getLogger(UserScope.class);
+
+    static final String CLAIM_COMPANY_ID = "company_id";
+    static final String CLAIM_COMPANY_COUNTRY_ID = "company_country_id";
+    static final String CLAIM_COMPANY_REGION_ID = "company_region_id";
+    static final String CLAIM_COMPANY_ZONE_ID = "company_zone_id";
+    static final String CLAIM_COMPANY_STORE_ID = "company_store_id";
+
+    // ─── Role bits ───────────────────────────────────────────
+
+    public static final int ADMIN = 1;
+    public static final int COUNTRY = 1 << 1;
+    public static final int COMPANY = 1 << 2;
+    public static final int COMPANY_COUNTRY = 1 << 3;
+    public static final int COMPANY_COUNTRY_READ = 1 << 4;
+    public static final int COMPANY_REGION = 1 << 5;
+    public static final int COMPANY_REGION_READ = 1 << 6;
+    public static final int COMPANY_ZONE = 1 << 7;
+    public static final int COMPANY_ZONE_READ = 1 << 8;
+    public static final int COMPANY_STORE = 1 << 9;
+    public static final int COMPANY_STORE_READ = 1 << 10;
+
+    private static final Map<String, Integer> AUTHORITY_BITS = Map.ofEntries(
+            Map.entry("ROLE_life-control-admin", ADMIN),
+            Map.entry("ROLE_lc-admin", ADMIN),
+            Map.entry("ROLE_life-control-country", COUNTRY),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY, COMPANY),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_COUNTRY, COMPANY_COUNTRY),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_COUNTRY_READ, COMPANY_COUNTRY_READ),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_REGION, COMPANY_REGION),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_REGION_READ, COMPANY_REGION_READ),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_ZONE, COMPANY_ZONE),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_ZONE_READ, COMPANY_ZONE_READ),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_STORE, COMPANY_STORE),
+            Map.entry(CurrentUserContext.ROLE_LC_COMPANY_STORE_READ, COMPANY_STORE_READ)
+    );
+
+    /** Scope of a request without an authenticated user: no identity, no roles, no ids. */
+    public static final UserScope ANONYMOUS =
+            new UserScope(null, null, 0, Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+
+    /**
+     * Returns {@code true} if any of the given role bits is set.
+     */
+    public boolean hasAnyRole(int roleBits) {
+        return (roles & roleBits) != 0;
+    }
+
+    /**
+     * Compiles the scope of an authentication. Roles are taken from the granted authorities;
+     * identity and scope sets from the JWT claims when the principal is a {@link Jwt}.
+     *
+     * @param authentication the current authentication, may be {@code null}
+     */
+    public static UserScope from(Authentication authentication) {
+        if (authentication == null) {
+            return ANONYMOUS;
+        }
+        var roles = rolesOf(authentication.getAuthorities());
+        if (!(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return new UserScope(null, null, roles, Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+        }
+        return from(jwt.getClaims(), roles);
+    }
+
+    static UserScope from(Map<String, Object> claims, int roles) {
+        return new UserScope(
+                stringClaim(claims, "sub"),
+                stringClaim(claims, "preferred_username"),
+                roles,
+                uuidSetClaim(claims, CLAIM_COMPANY_ID),
+                uuidSetClaim(claims, CLAIM_COMPANY_COUNTRY_ID),
+                uuidSetClaim(claims, CLAIM_COMPANY_REGION_ID),
+                uuidSetClaim(claims, CLAIM_COMPANY_ZONE_ID),
+                uuidSetClaim(claims, CLAIM_COMPANY_STORE_ID));
+    }
+
+    private static int rolesOf(Collection<? extends GrantedAuthority> authorities) {
+        var roles = 0;
+        if (authorities == null) {
+            return roles;
+        }
+        for (var authority : authorities) {
+            var bit = AUTHORITY_BITS.get(authority.getAuthority());
+            if (bit != null) {
+                roles |= bit;
+            }
+        }
+        return roles;
+    }
+
+    private static String stringClaim(Map<String, Object> claims, String claimName) {
+        var value = claims.get(claimName);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Extracts a set of UUIDs from a JWT claim that may be a single UUID string,
+     * a comma-separated string, or a JSON array (List).
+     * <p>
+     * Returns an empty immutable set when the claim is absent, blank, or contains
+     * no parseable UUIDs.
+     */
+    private static Set<UUID> uuidSetClaim(Map<String, Object> claims, String claimName) {
+        var claim = claims.get(claimName);
+        if (claim == null) {
+            return Set.of();
+        }
+
+        var ids = new HashSet<UUID>();
+        if (claim instanceof List<?> list) {
+            // JWT claim is a JSON array — e.g. ["id1", "id2"]
+            for (var value : list) {
+                addUuid(ids, Objects.toString(value));
+            }
+        } else {
+            // String format: single UUID or comma-separated — e.g. "id1,id2"
+            var claimStr = claim.toString();
+            if (claimStr.isBlank()) {
+                return Set.of();
+            }
+            for (var value : claimStr.split(",")) {
+                addUuid(ids, value);
+            }
+        }
+
+        if (ids.isEmpty()) {
+            log.warn("JWT contains {} claim but no valid UUIDs could be parsed: '{}'",
+                    claimName, claim);
+        }
+        return Set.copyOf(ids);
+    }
+
+    private static void addUuid(Set<UUID> ids, String value) {
+        var trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return;
+        }
+        try {
+            ids.add(UUID.fromString(trimmed));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed UUID in scope claim: '{}'", trimmed);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.lifecontrol.api.common.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of compiled {@link UserScope}s keyed by token.
+ * <p>
+ * POS terminals send the same bearer token for its whole lifetime, so the scope compiled for
+ * the first request is reused until the token's {@code exp} (capped at {@code max-ttl}).
+ * Entries are keyed by the JWT {@code jti}, or by a SHA-256 of the token when it has none;
+ * everything in a scope is derived from the token, so a cached scope can never outlive or
+ * differ from it. Authentications without a JWT principal are compiled on every call.
+ * <p>
+ * Lookups are lock-free, as in the rate limiter's bucket map. Expired entries are swept every
+ * 30 seconds and, once the cache grows past {@code max-size}, the least recently used entries
+ * are evicted down to nine tenths of it; one caller sweeps at a time while the others carry on.
+ * <p>
+ * Hits and misses are published as {@code auth.scope.cache.requests} tagged
+ * {@code result=hit|miss}, and the entry count as {@code auth.scope.cache.size}.
+ */
+@Component
+public class UserScopeCache {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final class Entry {
+        private final UserScope scope;
+        private final Instant expiresAt;
+        private volatile long lastAccessNanos;
+
+        private Entry(UserScope scope, Instant expiresAt, long lastAccessNanos) {
+            this.scope = scope;
+            this.expiresAt = expiresAt;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+
+    private record Candidate(String key, Entry entry, long accessedAt) {}
+
+    private final int maxSize;
+    private final Duration maxTtl;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserScopeCache(MeterRegistry meterRegistry,
+                          @Value("${app.auth.scope-cache.max-size:10000}") int maxSize,
+                          @Value("${app.auth.scope-cache.max-ttl:PT15M}") Duration maxTtl) {
+        this.maxSize = maxSize;
+        this.maxTtl = maxTtl;
+
+        Gauge.builder("auth.scope.cache.size", this, UserScopeCache::size)
+                .description("Compiled user scopes held in memory")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("auth.scope.cache.requests")
+                .tag("result", "hit")
+                .description("User scope lookups served from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("auth.scope.cache.requests")
+                .tag("result", "miss")
+                .description("User scope lookups that compiled the token claims")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the scope of the given authentication, compiling and caching it on first use
+     * of its token.
+     *
+     * @param authentication the current authentication, may be {@code null}
+     */
+    public UserScope resolve(Authentication authentication) {
+        if (maxSize <= 0 || authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return UserScope.from(authentication);
+        }
+        var key = keyOf(jwt);
+        if (key == null) {
+            return UserScope.from(authentication);
+        }
+
+        var now = Instant.now();
+        var nowNanos = System.nanoTime();
+        var entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(now)) {
+                entry.lastAccessNanos = nowNanos;
+                hitCounter.increment();
+                return entry.scope;
+            }
+            entries.remove(key, entry);
+        }
+
+        missCounter.increment();
+        var scope = UserScope.from(authentication);
+        var expiresAt = now.plus(maxTtl);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        if (now.isBefore(expiresAt)) {
+            entries.put(key, new Entry(scope, expiresAt, nowNanos));
+            if (entries.size() > maxSize || nowNanos - nextSweepNanos.get() >= 0) {
+                sweep(now, nowNanos);
+            }
+        }
+        return scope;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries, then evicts the least recently used ones if the cache is still over
+     * {@code max-size}. Skipped if another caller is already sweeping.
+     */
+    private void sweep(Instant now, long nowNanos) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            nextSweepNanos.set(nowNanos + SWEEP_INTERVAL_NANOS);
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            var excess = entries.size() - (maxSize - maxSize / 10);
+            if (entries.size() <= maxSize || excess <= 0) {
+                return;
+            }
+            // Snapshot access times; they keep changing under concurrent lookups
+            entries.entrySet().stream()
+                    .map(e -> new Candidate(e.getKey(), e.getValue(), e.getValue().lastAccessNanos - nowNanos))
+                    .sorted(Comparator.comparingLong(Candidate::accessedAt))
+                    .limit(excess)
+                    .forEach(c -> entries.remove(c.key(), c.entry()));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static String keyOf(Jwt jwt) {
+        if (jwt.getId() != null) {
+            return "jti:" + jwt.getId();
+        }
+        if (jwt.getTokenValue() == null) {
+            return null;
+        }
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(jwt.getTokenValue().getBytes(StandardCharsets.US_ASCII));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
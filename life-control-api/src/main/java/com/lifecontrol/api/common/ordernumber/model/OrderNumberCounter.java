@@ -0,0 +1,38 @@
+package com.lifecontrol.api.common.ordernumber.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Next unreserved sequence value for one order number prefix (e.g. {@code SO-20260610-}).
+ */
+@Entity
+@Table(name = "order_number_counters")
+public class OrderNumberCounter {
+
+    @Id
+    @Column(name = "prefix", length = 30)
+    private String prefix;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    protected OrderNumberCounter() {
+    }
+
+    public OrderNumberCounter(String prefix, Long nextValue) {
+        this.prefix = prefix;
+        this.nextValue = nextValue;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,36 @@
+package com.lifecontrol.api.common.ordernumber.repository;
+
+import com.lifecontrol.api.common.ordernumber.model.OrderNumberCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrderNumberCounterRepository extends JpaRepository<OrderNumberCounter, String> {
+
+    /**
+     * Advances the counter in one statement; the row lock is held only until the calling
+     * transaction commits.
+     *
+     * @return the number of rows updated, {@code 0} if the prefix has no counter yet
+     */
+    @Modifying
+    @Query("UPDATE OrderNumberCounter c SET c.nextValue = c.nextValue + :count WHERE c.prefix = :prefix")
+    int advance(@Param("prefix") String prefix, @Param("count") long count);
+
+    @Query("SELECT c.nextValue FROM OrderNumberCounter c WHERE c.prefix = :prefix")
+    Optional<Long> findNextValue(@Param("prefix") String prefix);
+
+    /**
+     * Plain INSERT (never an upsert) so that two nodes creating the same prefix fail loudly
+     * instead of one overwriting the other's reservation.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_number_counters (prefix, next_value) VALUES (:prefix, :nextValue)",
+            nativeQuery = true)
+    void insert(@Param("prefix") String prefix, @Param("nextValue") long nextValue);
+}
@@ -0,0 +1,149 @@
+package com.lifecontrol.api.common.ordernumber.service;
+
+import com.lifecontrol.api.common.ordernumber.repository.OrderNumberCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out order sequence numbers per prefix (e.g. {@code SO-20260610-}) from a counter row.
+ * <p>
+ * Each node reserves a block of {@code app.order-number.block-size} values by advancing the
+ * counter in a short, separate transaction and then serves numbers from memory, so creating an
+ * order costs no query in the common case and two nodes never receive the same number.
+ * Values left in a block when the node stops (or when the order transaction rolls back) are
+ * skipped, so sequences may have gaps and are only ordered per node.
+ * <p>
+ * No lock is held while a block is reserved: numbers are taken from a block with an atomic
+ * increment, and a thread that finds its block used up reserves a new one on its own. Callers
+ * already hold a connection for the order transaction, so waiting behind another thread's
+ * reservation could leave the pool without the second connection that reservation needs.
+ * Threads racing on an exhausted block may each reserve one; the block with more numbers left
+ * is kept and the rest of the other becomes a gap.
+ */
+@Component
+public class OrderNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNumberAllocator.class);
+
+    /** Prefixes carry the date, so only the most recent few are worth keeping. */
+    private static final int MAX_CACHED_PREFIXES = 8;
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /** Returns the next value of the block, or {@code -1} once it is used up. */
+        private long take() {
+            var value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+
+        private long remaining() {
+            return Math.max(0, end - next.get());
+        }
+    }
+
+    private final OrderNumberCounterRepository counterRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+
+    /** Guarded by itself; only held for map access, never while talking to the database. */
+    private final Map<String, Block> blocks = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Block> eldest) {
+            return size() > MAX_CACHED_PREFIXES;
+        }
+    };
+
+    public OrderNumberAllocator(OrderNumberCounterRepository counterRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.order-number.block-size:20}") int blockSize) {
+        this.counterRepository = counterRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next sequence value for the given prefix.
+     *
+     * @param prefix         order number prefix, including the date
+     * @param highestIssued  highest sequence already used for the prefix; only consulted the first
+     *                       time the prefix is seen, to continue numbering issued before the counter
+     */
+    public long next(String prefix, LongSupplier highestIssued) {
+        Block block;
+        synchronized (blocks) {
+            block = blocks.get(prefix);
+        }
+        var value = block != null ? block.take() : -1;
+        if (value >= 0) {
+            return value;
+        }
+
+        var reserved = reserveBlock(prefix, highestIssued);
+        value = reserved.take();
+        synchronized (blocks) {
+            var current = blocks.get(prefix);
+            if (current == null || current.remaining() < reserved.remaining()) {
+                blocks.put(prefix, reserved);
+            }
+        }
+        return value;
+    }
+
+    private Block reserveBlock(String prefix, LongSupplier highestIssued) {
+        var start = advanceCounter(prefix);
+        if (start == null) {
+            start = createCounter(prefix, highestIssued.getAsLong() + 1);
+        }
+        if (start == null) {
+            start = advanceCounter(prefix);
+            if (start == null) {
+                throw new IllegalStateException("Order number counter missing for prefix " + prefix);
+            }
+        }
+        logger.debug("Reserved order numbers {}{}..{}", prefix, start, start + blockSize - 1);
+        return new Block(start, start + blockSize);
+    }
+
+    /**
+     * Moves the counter forward by one block and returns the first reserved value,
+     * or {@code null} if the prefix has no counter yet.
+     */
+    private Long advanceCounter(String prefix) {
+        return requiresNew.execute(status -> counterRepository.advance(prefix, blockSize) == 0
+                ? null
+                : counterRepository.findNextValue(prefix).orElseThrow() - blockSize);
+    }
+
+    /**
+     * Creates the counter with its first block already reserved and returns {@code seed},
+     * or {@code null} if another node created it first.
+     */
+    private Long createCounter(String prefix, long seed) {
+        try {
+            requiresNew.executeWithoutResult(status -> counterRepository.insert(prefix, seed + blockSize));
+            return seed;
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Order number counter for {} created concurrently", prefix);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.lifecontrol.api.company.dto;
+
+import java.util.UUID;
+
+/**
+ * An edge of the company hierarchy: a node's ID and its parent's ID.
+ */
+public record HierarchyLink(UUID id, UUID parentId) {}
@@ -0,0 +1,13 @@
+package com.lifecontrol.api.company.listener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Keycloak group to create for a company hierarchy node.
+ *
+ * @param name       the group name
+ * @param attributes the group attributes (e.g. company_store_id)
+ * @param parentName the name of the parent group, or {@code null} for a top-level group
+ */
+public record GroupProvisioningRequest(String name, Map<String, List<String>> attributes, String parentName) {}
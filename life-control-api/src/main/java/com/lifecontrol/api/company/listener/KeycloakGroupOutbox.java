@@ -0,0 +1,155 @@
+package com.lifecontrol.api.company.listener;
+
+import com.lifecontrol.api.company.model.KeycloakGroupOutboxEntry;
+import com.lifecontrol.api.company.model.KeycloakGroupOutboxEntry.Status;
+import com.lifecontrol.api.company.repository.KeycloakGroupOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for Keycloak groups of new company hierarchy nodes.
+ * <p>
+ * {@link #enqueue} writes an outbox entry in the transaction that creates the node, so a group
+ * is recorded if and only if the node commits. {@link #relay} runs every
+ * {@code app.keycloak.group-outbox.poll-interval} and relays due entries in batches of
+ * {@code batch-size}, at most {@code max-batches-per-poll} per run so a backlog or a slow
+ * Keycloak never holds a scheduler thread for long: it claims them, creates their groups through
+ * {@link KeycloakGroupProvisioner}, deletes the entries that succeeded and reschedules the rest
+ * with exponential backoff ({@code retry-backoff}, doubling, capped at {@code max-backoff}).
+ * After {@code max-attempts} an entry is kept as {@code FAILED} and counted in
+ * {@code keycloak.group.outbox.dead}.
+ * <p>
+ * Relaying is idempotent: a group that already exists counts as created, so an entry replayed
+ * after a crash, or claimed again once its lease ran out, does no harm.
+ */
+@Component
+public class KeycloakGroupOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakGroupOutbox.class);
+
+    private final KeycloakGroupOutboxRepository repository;
+    private final KeycloakGroupProvisioner provisioner;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Counter deadCounter;
+
+    public KeycloakGroupOutbox(KeycloakGroupOutboxRepository repository,
+                               KeycloakGroupProvisioner provisioner,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.keycloak.group-outbox.batch-size:500}") int batchSize,
+                               @Value("${app.keycloak.group-outbox.max-batches-per-poll:4}") int maxBatchesPerPoll,
+                               @Value("${app.keycloak.group-outbox.max-attempts:10}") int maxAttempts,
+                               @Value("${app.keycloak.group-outbox.retry-backoff:PT5S}") Duration retryBackoff,
+                               @Value("${app.keycloak.group-outbox.max-backoff:PT15M}") Duration maxBackoff,
+                               @Value("${app.keycloak.group-outbox.claim-timeout:PT5M}") Duration claimTimeout) {
+        this.repository = repository;
+        this.provisioner = provisioner;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.deadCounter = Counter.builder("keycloak.group.outbox.dead")
+                .description("Keycloak group outbox entries given up on after all attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a group to create. Must run inside the transaction that creates the hierarchy node.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(GroupProvisioningRequest request) {
+        repository.save(new KeycloakGroupOutboxEntry(request));
+    }
+
+    /**
+     * Relays due entries until a batch comes back short or {@code max-batches-per-poll} batches
+     * were relayed. Never throws; entries of a batch that failed unexpectedly become due again
+     * once their claim expires.
+     */
+    @Scheduled(fixedDelayString = "${app.keycloak.group-outbox.poll-interval:PT5S}",
+               initialDelayString = "${app.keycloak.group-outbox.poll-interval:PT5S}")
+    public void relay() {
+        try {
+            for (var batch = 0; batch < maxBatchesPerPoll; batch++) {
+                // A full batch means a backlog, e.g. while a company is being onboarded
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Keycloak group outbox relay failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Claims and relays one batch of due entries.
+     *
+     * @return the number of due entries found
+     */
+    int relayBatch() {
+        var now = LocalDateTime.now();
+        var dueIds = repository.findDueIds(Status.PENDING, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+        var claimToken = UUID.randomUUID();
+        if (repository.claim(dueIds, Status.PENDING, now, claimToken, now.plus(claimTimeout)) == 0) {
+            return 0;
+        }
+        var entries = repository.findByClaimTokenOrderByCreatedAtAsc(claimToken);
+
+        var failures = provisioner.provisionBatch(entries.stream()
+                .map(KeycloakGroupOutboxEntry::toRequest)
+                .toList());
+
+        var done = new ArrayList<UUID>();
+        var retry = new ArrayList<KeycloakGroupOutboxEntry>();
+        for (var entry : entries) {
+            var error = failures.get(entry.getGroupName());
+            if (error == null) {
+                done.add(entry.getId());
+                continue;
+            }
+            entry.recordFailure(error, LocalDateTime.now().plus(backoff(entry.getAttempts() + 1)), maxAttempts);
+            retry.add(entry);
+            if (entry.getStatus() == Status.FAILED) {
+                deadCounter.increment();
+                logger.error("Giving up on Keycloak group after {} attempts: name={}, attributes={}, error={}",
+                        entry.getAttempts(), entry.getGroupName(), entry.getAttributes(), error);
+            }
+        }
+        repository.deleteAllByIdInBatch(done);
+        repository.saveAll(retry);
+        logger.debug("Relayed {} Keycloak group outbox entries: {} created, {} rescheduled",
+                entries.size(), done.size(), retry.size());
+        return dueIds.size();
+    }
+
+    /**
+     * Delay before attempt {@code attempt + 1}: {@code retry-backoff} doubled per failed attempt,
+     * capped at {@code max-backoff}.
+     */
+    private Duration backoff(int attempt) {
+        var delay = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
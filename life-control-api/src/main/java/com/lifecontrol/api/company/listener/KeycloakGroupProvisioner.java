@@ -0,0 +1,210 @@
+package com.lifecontrol.api.company.listener;
+
+import com.lifecontrol.api.usersadmin.identity.IdentityProvider;
+import com.lifecontrol.api.usersadmin.identity.IdentityProviderConflictException;
+import com.lifecontrol.api.usersadmin.identity.IdentityProviderException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates batches of Keycloak groups for company hierarchy nodes; fed by
+ * {@link KeycloakGroupOutbox}.
+ * <p>
+ * A batch is created level by level, parents first. A parent outside the batch is looked up
+ * once per batch, and a parent created in the same batch is taken from the id its creation
+ * returned, so onboarding a company with hundreds of stores searches the group tree only
+ * once per distinct parent. Groups of a level are created concurrently on a dedicated pool
+ * of {@code app.keycloak.group-provisioning.parallelism} threads. A group that already exists
+ * counts as created, which makes replaying a request harmless. Retrying failures is left to
+ * the caller. Created and failed groups are exported as {@code keycloak.group.provisioning.*}
+ * meters.
+ */
+@Component
+public class KeycloakGroupProvisioner implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakGroupProvisioner.class);
+
+    private final IdentityProvider identityProvider;
+    private final int parallelism;
+
+    private final Counter createdCounter;
+    private final Counter failedCounter;
+
+    private volatile ExecutorService executor;
+
+    public KeycloakGroupProvisioner(IdentityProvider identityProvider,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.keycloak.group-provisioning.parallelism:4}") int parallelism) {
+        this.identityProvider = identityProvider;
+        this.parallelism = Math.max(1, parallelism);
+
+        this.createdCounter = Counter.builder("keycloak.group.provisioning.created")
+                .description("Keycloak groups created for company hierarchy nodes")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("keycloak.group.provisioning.failed")
+                .description("Keycloak group creation attempts that failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the groups of a batch, parents first.
+     *
+     * @return the error of every group that could not be created, keyed by group name;
+     *         empty if all groups exist now
+     */
+    public Map<String, String> provisionBatch(List<GroupProvisioningRequest> batch) {
+        var pool = executor;
+        if (pool == null) {
+            throw new IllegalStateException("Keycloak group provisioner is not running");
+        }
+        // Group name -> id, for parents looked up or created in this batch
+        var groupIds = new HashMap<String, String>();
+        var failures = new HashMap<String, String>();
+        var remaining = new ArrayList<>(batch);
+
+        while (!remaining.isEmpty()) {
+            var waiting = remaining.stream()
+                    .map(GroupProvisioningRequest::name)
+                    .collect(Collectors.toSet());
+            var level = remaining.stream()
+                    .filter(r -> r.parentName() == null || !waiting.contains(r.parentName()))
+                    .toList();
+            if (level.isEmpty()) {
+                // Only possible with a naming cycle; create the rest without ordering
+                level = List.copyOf(remaining);
+            }
+            remaining.removeAll(level);
+            provisionLevel(pool, level, groupIds, failures);
+        }
+        return failures;
+    }
+
+    // ─── Lifecycle ────────────────────────────────────────────
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        var threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "keycloak-group-provisioner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        var pool = executor;
+        executor = null;
+        pool.shutdown();
+        try {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    // ─── Private helpers ─────────────────────────────────────
+
+    private void provisionLevel(ExecutorService pool, List<GroupProvisioningRequest> level,
+                                Map<String, String> groupIds, Map<String, String> failures) {
+        // Parents outside the batch that could not be resolved; their children fail with them
+        var parentErrors = new HashMap<String, String>();
+        for (var request : level) {
+            var parentName = request.parentName();
+            if (parentName == null || groupIds.containsKey(parentName)
+                    || failures.containsKey(parentName) || parentErrors.containsKey(parentName)) {
+                continue;
+            }
+            try {
+                identityProvider.findGroupIdByName(parentName).ifPresentOrElse(
+                        id -> groupIds.put(parentName, id),
+                        () -> parentErrors.put(parentName, "parent group " + parentName + " not found"));
+            } catch (IdentityProviderException e) {
+                parentErrors.put(parentName, e.getMessage());
+            }
+        }
+
+        var futures = new ArrayList<CompletableFuture<String>>(level.size());
+        for (var request : level) {
+            var parentName = request.parentName();
+            var parentError = parentName == null ? null
+                    : Optional.ofNullable(failures.get(parentName)).orElse(parentErrors.get(parentName));
+            if (parentError != null) {
+                futures.add(CompletableFuture.failedFuture(new IllegalStateException(
+                        "parent group " + parentName + " is not available: " + parentError)));
+                continue;
+            }
+            var parentId = Optional.ofNullable(parentName == null ? null : groupIds.get(parentName));
+            futures.add(CompletableFuture.supplyAsync(() -> create(request, parentId), pool));
+        }
+
+        for (var i = 0; i < level.size(); i++) {
+            var request = level.get(i);
+            try {
+                groupIds.put(request.name(), futures.get(i).join());
+            } catch (CompletionException e) {
+                fail(failures, request, e.getCause());
+            }
+        }
+    }
+
+    private void fail(Map<String, String> failures, GroupProvisioningRequest request, Throwable cause) {
+        failures.put(request.name(), cause.getMessage());
+        failedCounter.increment();
+        logger.warn("Failed to create Keycloak group: name={}, attributes={}, error={}",
+                request.name(), request.attributes(), cause.getMessage());
+    }
+
+    /**
+     * Creates the group of {@code request}, or finds it if it already exists.
+     *
+     * @return the id of the group
+     * @throws IllegalStateException if the group cannot be found after creating it
+     */
+    private String create(GroupProvisioningRequest request, Optional<String> parentId) {
+        try {
+            var id = identityProvider.createGroup(request.name(), request.attributes(), parentId)
+                    .or(() -> identityProvider.findGroupIdByName(request.name()))
+                    .orElseThrow(() -> new IllegalStateException(
+                            "group " + request.name() + " not found after creating it"));
+            createdCounter.increment();
+            logger.info("Keycloak group created: name={}, attributes={}", request.name(), request.attributes());
+            return id;
+        } catch (IdentityProviderConflictException e) {
+            // Created by an earlier attempt or another node; its children still attach to it
+            logger.info("Keycloak group already exists: name={}", request.name());
+            return identityProvider.findGroupIdByName(request.name())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "group " + request.name() + " already exists but was not found"));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.lifecontrol.api.company.model;
+
+import com.lifecontrol.api.company.listener.GroupProvisioningRequest;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A Keycloak group still to be created, written in the same transaction as the hierarchy node
+ * it belongs to and deleted once the group exists.
+ * <p>
+ * {@code next_attempt_at} doubles as the claim lease: a relay claiming the entry pushes it
+ * forward, so an entry left behind by a crashed node becomes due again once the lease ends.
+ * Entries that exhaust their attempts stay behind with status {@link Status#FAILED}.
+ */
+@Entity
+@Table(name = "keycloak_group_outbox")
+public class KeycloakGroupOutboxEntry {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "group_name", nullable = false)
+    private String groupName;
+
+    @Column(name = "parent_group_name")
+    private String parentGroupName;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "attributes", nullable = false, columnDefinition = "jsonb")
+    private Map<String, List<String>> attributes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor for JPA
+    protected KeycloakGroupOutboxEntry() {}
+
+    public KeycloakGroupOutboxEntry(GroupProvisioningRequest request) {
+        this.groupName = request.name();
+        this.parentGroupName = request.parentName();
+        this.attributes = request.attributes();
+        this.status = Status.PENDING;
+        this.attempts = 0;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public GroupProvisioningRequest toRequest() {
+        return new GroupProvisioningRequest(groupName, attributes, parentGroupName);
+    }
+
+    /**
+     * Records a failed attempt: schedules the next one, or marks the entry {@link Status#FAILED}
+     * once {@code maxAttempts} is reached.
+     */
+    public void recordFailure(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        this.claimToken = null;
+        this.nextAttemptAt = nextAttemptAt;
+        if (attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+        }
+    }
+
+    // ── Getters ──────────────────────────────────────────────
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public String getParentGroupName() {
+        return parentGroupName;
+    }
+
+    public Map<String, List<String>> getAttributes() {
+        return attributes;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
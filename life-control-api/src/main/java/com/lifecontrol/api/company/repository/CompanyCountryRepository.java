@@ -1,7 +1,9 @@
 package com.lifecontrol.api.company.repository;
 
+import com.lifecontrol.api.company.dto.HierarchyLink;
 import com.lifecontrol.api.company.model.CompanyCountry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,4 +29,10 @@ public interface CompanyCountryRepository extends JpaRepository<CompanyCountry,
      * Used for lc-company-country filtered GET to scope results to the user's allowed country IDs.
      */
     List<CompanyCountry> findByIdInAndCompanyId(Set<UUID> ids, UUID companyId);
+
+    /**
+     * Returns every company country ID with its company ID, for the in-memory company hierarchy index.
+     */
+    @Query("SELECT new com.lifecontrol.api.company.dto.HierarchyLink(c.id, c.company.id) FROM CompanyCountry c")
+    List<HierarchyLink> findAllHierarchyLinks();
 }
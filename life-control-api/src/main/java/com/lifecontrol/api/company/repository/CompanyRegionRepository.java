@@ -1,7 +1,9 @@
 package com.lifecontrol.api.company.repository;
 
+import com.lifecontrol.api.company.dto.HierarchyLink;
 import com.lifecontrol.api.company.model.CompanyRegion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +27,10 @@ public interface CompanyRegionRepository extends JpaRepository<CompanyRegion, UU
      * Used for lc-company-region filtered GET to scope results to the user's allowed region IDs.
      */
     List<CompanyRegion> findByIdInAndCompanyCountryId(Set<UUID> regionIds, UUID companyCountryId);
+
+    /**
+     * Returns every company region ID with its company country ID, for the in-memory company hierarchy index.
+     */
+    @Query("SELECT new com.lifecontrol.api.company.dto.HierarchyLink(r.id, r.companyCountry.id) FROM CompanyRegion r")
+    List<HierarchyLink> findAllHierarchyLinks();
 }
@@ -1,7 +1,9 @@
 package com.lifecontrol.api.company.repository;
 
+import com.lifecontrol.api.company.dto.HierarchyLink;
 import com.lifecontrol.api.company.model.CompanyZone;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +27,10 @@ public interface CompanyZoneRepository extends JpaRepository<CompanyZone, UUID>
      * Used for lc-company-zone filtered GET to scope results to the user's allowed zone IDs.
      */
     List<CompanyZone> findByIdInAndCompanyRegionId(Set<UUID> zoneIds, UUID regionId);
+
+    /**
+     * Returns every company zone ID with its company region ID, for the in-memory company hierarchy index.
+     */
+    @Query("SELECT new com.lifecontrol.api.company.dto.HierarchyLink(z.id, z.companyRegion.id) FROM CompanyZone z")
+    List<HierarchyLink> findAllHierarchyLinks();
 }
@@ -0,0 +1,48 @@
+package com.lifecontrol.api.company.repository;
+
+import com.lifecontrol.api.company.model.KeycloakGroupOutboxEntry;
+import com.lifecontrol.api.company.model.KeycloakGroupOutboxEntry.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface KeycloakGroupOutboxRepository extends JpaRepository<KeycloakGroupOutboxEntry, UUID> {
+
+    /**
+     * Returns the IDs of entries due for an attempt, oldest first.
+     */
+    @Query("SELECT e.id FROM KeycloakGroupOutboxEntry e " +
+           "WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.createdAt, e.id")
+    List<UUID> findDueIds(@Param("status") Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims the given entries that are still due by stamping them with {@code claimToken}
+     * and pushing their next attempt to {@code leaseUntil}. An entry another node claimed
+     * first is no longer due and is skipped.
+     *
+     * @return the number of entries claimed
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE KeycloakGroupOutboxEntry e " +
+           "SET e.claimToken = :claimToken, e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id IN :ids AND e.status = :status AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<UUID> ids,
+              @Param("status") Status status,
+              @Param("now") LocalDateTime now,
+              @Param("claimToken") UUID claimToken,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<KeycloakGroupOutboxEntry> findByClaimTokenOrderByCreatedAtAsc(UUID claimToken);
+}
@@ -0,0 +1,219 @@
+package com.lifecontrol.api.company.service;
+
+import com.lifecontrol.api.company.dto.HierarchyLink;
+import com.lifecontrol.api.company.event.CompanyCountryCreatedEvent;
+import com.lifecontrol.api.company.event.CompanyRegionCreatedEvent;
+import com.lifecontrol.api.company.event.CompanyZoneCreatedEvent;
+import com.lifecontrol.api.company.repository.CompanyCountryRepository;
+import com.lifecontrol.api.company.repository.CompanyRegionRepository;
+import com.lifecontrol.api.company.repository.CompanyZoneRepository;
+import com.lifecontrol.api.store.event.CompanyStoreCreatedEvent;
+import com.lifecontrol.api.store.repository.CompanyStoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-process index of the company hierarchy: store &rarr; zone &rarr; region &rarr; country
+ * &rarr; company, held as child-to-parent ID maps.
+ * <p>
+ * List endpoints use it to validate the parent path of a request and to narrow a user's
+ * allowed IDs to the children of one parent with map lookups instead of a chain of
+ * repository calls. The index is loaded with one ID-only query per level on first use,
+ * dropped whenever a hierarchy node is created on this node, and reloaded once older than
+ * {@code app.company-hierarchy.ttl}.
+ * <p>
+ * The index is only ever a fast path. A path or ID it does not know — a bad request, or a
+ * node created elsewhere since the last load — is reported as unknown, and callers fall back
+ * to the repositories, which also produce the precise not-found error.
+ */
+@Component
+public class CompanyHierarchyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompanyHierarchyIndex.class);
+
+    private record Snapshot(Map<UUID, UUID> companyByCountry,
+                            Map<UUID, UUID> countryByRegion,
+                            Map<UUID, UUID> regionByZone,
+                            Map<UUID, UUID> zoneByStore,
+                            long loadedAtNanos) {}
+
+    private final CompanyCountryRepository companyCountryRepository;
+    private final CompanyRegionRepository companyRegionRepository;
+    private final CompanyZoneRepository companyZoneRepository;
+    private final CompanyStoreRepository companyStoreRepository;
+    private final long ttlNanos;
+
+    private volatile Snapshot snapshot;
+
+    public CompanyHierarchyIndex(CompanyCountryRepository companyCountryRepository,
+                                 CompanyRegionRepository companyRegionRepository,
+                                 CompanyZoneRepository companyZoneRepository,
+                                 CompanyStoreRepository companyStoreRepository,
+                                 @Value("${app.company-hierarchy.ttl:PT10M}") Duration ttl) {
+        this.companyCountryRepository = companyCountryRepository;
+        this.companyRegionRepository = companyRegionRepository;
+        this.companyZoneRepository = companyZoneRepository;
+        this.companyStoreRepository = companyStoreRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    // ─── Parent path validation ──────────────────────────────
+
+    /**
+     * Returns {@code true} if the company country is known to belong to the company.
+     */
+    public boolean containsCountry(UUID companyId, UUID companyCountryId) {
+        return containsCountry(currentSnapshot(), companyId, companyCountryId);
+    }
+
+    /**
+     * Returns {@code true} if the region is known to sit under the given company country and company.
+     */
+    public boolean containsRegion(UUID companyId, UUID companyCountryId, UUID regionId) {
+        return containsRegion(currentSnapshot(), companyId, companyCountryId, regionId);
+    }
+
+    /**
+     * Returns {@code true} if the zone is known to sit under the given region, company country and company.
+     */
+    public boolean containsZone(UUID companyId, UUID companyCountryId, UUID regionId, UUID zoneId) {
+        var current = currentSnapshot();
+        return isParent(current.regionByZone(), zoneId, regionId)
+                && containsRegion(current, companyId, companyCountryId, regionId);
+    }
+
+    // ─── Allowed descendants ─────────────────────────────────
+
+    /**
+     * Narrows the allowed region IDs to those under the given company country.
+     *
+     * @return the matching IDs, or empty if any allowed ID is unknown to the index
+     */
+    public Optional<Set<UUID>> allowedRegions(Set<UUID> allowedRegionIds, UUID companyCountryId) {
+        return childrenOf(currentSnapshot().countryByRegion(), allowedRegionIds, companyCountryId);
+    }
+
+    /**
+     * Narrows the allowed zone IDs to those under the given region.
+     *
+     * @return the matching IDs, or empty if any allowed ID is unknown to the index
+     */
+    public Optional<Set<UUID>> allowedZones(Set<UUID> allowedZoneIds, UUID regionId) {
+        return childrenOf(currentSnapshot().regionByZone(), allowedZoneIds, regionId);
+    }
+
+    /**
+     * Narrows the allowed store IDs to those under the given zone.
+     *
+     * @return the matching IDs, or empty if any allowed ID is unknown to the index
+     */
+    public Optional<Set<UUID>> allowedStores(Set<UUID> allowedStoreIds, UUID zoneId) {
+        return childrenOf(currentSnapshot().zoneByStore(), allowedStoreIds, zoneId);
+    }
+
+    // ─── Invalidation ────────────────────────────────────────
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyCountryCreated(CompanyCountryCreatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyRegionCreated(CompanyRegionCreatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyZoneCreated(CompanyZoneCreatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyStoreCreated(CompanyStoreCreatedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Drops the current snapshot; the next lookup reloads it.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    // ─── Private helpers ─────────────────────────────────────
+
+    private static boolean containsCountry(Snapshot current, UUID companyId, UUID companyCountryId) {
+        return isParent(current.companyByCountry(), companyCountryId, companyId);
+    }
+
+    private static boolean containsRegion(Snapshot current, UUID companyId, UUID companyCountryId, UUID regionId) {
+        return isParent(current.countryByRegion(), regionId, companyCountryId)
+                && containsCountry(current, companyId, companyCountryId);
+    }
+
+    private static boolean isParent(Map<UUID, UUID> parentByChild, UUID childId, UUID parentId) {
+        return childId != null && parentId != null && parentId.equals(parentByChild.get(childId));
+    }
+
+    private static Optional<Set<UUID>> childrenOf(Map<UUID, UUID> parentByChild, Set<UUID> allowedIds, UUID parentId) {
+        var children = new HashSet<UUID>();
+        for (var id : allowedIds) {
+            var parent = parentByChild.get(id);
+            if (parent == null) {
+                return Optional.empty();
+            }
+            if (parent.equals(parentId)) {
+                children.add(id);
+            }
+        }
+        return Optional.of(Set.copyOf(children));
+    }
+
+    private Snapshot currentSnapshot() {
+        var current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAtNanos() >= ttlNanos) {
+            return reload();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot reload() {
+        var current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAtNanos() < ttlNanos) {
+            return current;
+        }
+        var loaded = new Snapshot(
+                toParentMap(companyCountryRepository.findAllHierarchyLinks()),
+                toParentMap(companyRegionRepository.findAllHierarchyLinks()),
+                toParentMap(companyZoneRepository.findAllHierarchyLinks()),
+                toParentMap(companyStoreRepository.findAllHierarchyLinks()),
+                System.nanoTime());
+        snapshot = loaded;
+        logger.debug("Company hierarchy loaded: {} countries, {} regions, {} zones, {} stores",
+                loaded.companyByCountry().size(), loaded.countryByRegion().size(),
+                loaded.regionByZone().size(), loaded.zoneByStore().size());
+        return loaded;
+    }
+
+    private static Map<UUID, UUID> toParentMap(List<HierarchyLink> links) {
+        var parents = new HashMap<UUID, UUID>(links.size() * 2);
+        for (var link : links) {
+            parents.put(link.id(), Objects.requireNonNull(link.parentId()));
+        }
+        return Map.copyOf(parents);
+    }
+}
@@ -35,17 +35,20 @@ public class CompanyRegionService {
     private final CompanyRepository companyRepository;
     private final CompanyCountryRepository companyCountryRepository;
     private final CurrentUserContext currentUserContext;
+    private final CompanyHierarchyIndex hierarchyIndex;
     private final ApplicationEventPublisher eventPublisher;
 
     public CompanyRegionService(CompanyRegionRepository companyRegionRepository,
                                  CompanyRepository companyRepository,
                                  CompanyCountryRepository companyCountryRepository,
                                  CurrentUserContext currentUserContext,
+                                 CompanyHierarchyIndex hierarchyIndex,
                                  ApplicationEventPublisher eventPublisher) {
         this.companyRegionRepository = companyRegionRepository;
         this.companyRepository = companyRepository;
         this.companyCountryRepository = companyCountryRepository;
         this.currentUserContext = currentUserContext;
+        this.hierarchyIndex = hierarchyIndex;
         this.eventPublisher = eventPublisher;
     }
 
@@ -58,15 +61,18 @@ public class CompanyRegionService {
     @Transactional(readOnly = true)
     public List<CompanyRegionResponse> getAllRegions(UUID companyId, UUID companyCountryId, boolean includeDisabled) {
         currentUserContext.verifyCompanyRegionAccess(companyId, companyCountryId, null);
-        var companyCountry = resolveCompanyCountry(companyId, companyCountryId);
+        var resolvedCountryId = hierarchyIndex.containsCountry(companyId, companyCountryId)
+                ? companyCountryId
+                : resolveCompanyCountry(companyId, companyCountryId).getId();
 
         if (currentUserContext.hasCompanyRegionRole() || currentUserContext.hasCompanyRegionReadRole()) {
-            var regionIds = currentUserContext.getCompanyRegionIds();
+            var allowedRegionIds = currentUserContext.getCompanyRegionIds();
+            var regionIds = hierarchyIndex.allowedRegions(allowedRegionIds, resolvedCountryId).orElse(allowedRegionIds);
             if (regionIds.isEmpty()) {
                 return List.of();
             }
             List<CompanyRegion> regions = companyRegionRepository
-                    .findByIdInAndCompanyCountryId(regionIds, companyCountry.getId());
+                    .findByIdInAndCompanyCountryId(regionIds, resolvedCountryId);
             return regions.stream()
                     .filter(r -> includeDisabled || r.getEnabled())
                     .map(this::toResponse)
@@ -74,7 +80,7 @@ public class CompanyRegionService {
         }
 
         List<CompanyRegion> regions = companyRegionRepository
-                .findByCompanyCountryIdOrderByRegionNameAsc(companyCountry.getId());
+                .findByCompanyCountryIdOrderByRegionNameAsc(resolvedCountryId);
         return regions.stream()
                 .filter(r -> includeDisabled || r.getEnabled())
                 .map(this::toResponse)
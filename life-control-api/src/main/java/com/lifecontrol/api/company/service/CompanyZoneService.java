@@ -38,6 +38,7 @@ public class CompanyZoneService {
     private final CompanyRepository companyRepository;
     private final CompanyCountryRepository companyCountryRepository;
     private final CurrentUserContext currentUserContext;
+    private final CompanyHierarchyIndex hierarchyIndex;
     private final ApplicationEventPublisher eventPublisher;
 
     public CompanyZoneService(CompanyZoneRepository companyZoneRepository,
@@ -45,12 +46,14 @@ public class CompanyZoneService {
                               CompanyRepository companyRepository,
                               CompanyCountryRepository companyCountryRepository,
                               CurrentUserContext currentUserContext,
+                              CompanyHierarchyIndex hierarchyIndex,
                               ApplicationEventPublisher eventPublisher) {
         this.companyZoneRepository = companyZoneRepository;
         this.companyRegionRepository = companyRegionRepository;
         this.companyRepository = companyRepository;
         this.companyCountryRepository = companyCountryRepository;
         this.currentUserContext = currentUserContext;
+        this.hierarchyIndex = hierarchyIndex;
         this.eventPublisher = eventPublisher;
     }
 
@@ -65,22 +68,25 @@ public class CompanyZoneService {
     @Transactional(readOnly = true)
     public List<CompanyZoneResponse> getAllZones(UUID companyId, UUID companyCountryId, UUID regionId, boolean includeDisabled) {
         currentUserContext.verifyCompanyZoneAccess(companyId, companyCountryId, regionId, null);
-        var region = resolveCompanyRegion(companyId, companyCountryId, regionId);
+        var companyRegionId = hierarchyIndex.containsRegion(companyId, companyCountryId, regionId)
+                ? regionId
+                : resolveCompanyRegion(companyId, companyCountryId, regionId).getId();
 
         if (currentUserContext.hasCompanyZoneRole() || currentUserContext.hasCompanyZoneReadRole()) {
-            var zoneIds = currentUserContext.getCompanyZoneIds();
+            var allowedZoneIds = currentUserContext.getCompanyZoneIds();
+            var zoneIds = hierarchyIndex.allowedZones(allowedZoneIds, companyRegionId).orElse(allowedZoneIds);
             if (zoneIds.isEmpty()) {
                 return List.of();
             }
             List<CompanyZone> zones = companyZoneRepository
-                    .findByIdInAndCompanyRegionId(zoneIds, region.getId());
+                    .findByIdInAndCompanyRegionId(zoneIds, companyRegionId);
             return zones.stream()
                     .filter(z -> includeDisabled || z.getEnabled())
                     .map(this::toResponse)
                     .toList();
         }
 
-        List<CompanyZone> zones = companyZoneRepository.findByCompanyRegionIdOrderByZoneNameAsc(region.getId());
+        List<CompanyZone> zones = companyZoneRepository.findByCompanyRegionIdOrderByZoneNameAsc(companyRegionId);
         return zones.stream()
                 .filter(z -> includeDisabled || z.getEnabled())
                 .map(this::toResponse)
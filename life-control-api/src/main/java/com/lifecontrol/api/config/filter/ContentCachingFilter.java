@@ -1,32 +1,75 @@
 package com.lifecontrol.api.config.filter;
 
+import com.lifecontrol.api.activity.aspect.ActivityLogAspect;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
- * Wraps every request in a {@link ContentCachingRequestWrapper} so that the
+ * Wraps audited requests in a {@link ContentCachingRequestWrapper} so that the
  * request body can be read multiple times (once by the controller, once by the
  * activity-log aspect).
  * <p>
+ * Only requests whose body the aspect can record are wrapped: GET, HEAD and OPTIONS,
+ * paths the aspect skips and non-JSON bodies (multipart uploads, file imports) pass
+ * through untouched. The cached copy is capped at {@code app.activity-log.payload-cache-limit};
+ * the controller still reads the full body, only the audit copy is truncated.
+ * <p>
  * Must be registered early in the filter chain — see {@link ContentCachingConfig}.
  */
 @Component
 public class ContentCachingFilter extends OncePerRequestFilter {
 
+    private static final Set<String> BODYLESS_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final int cacheLimit;
+
+    public ContentCachingFilter(@Value("${app.activity-log.payload-cache-limit:16KB}") DataSize cacheLimit) {
+        this.cacheLimit = (int) Math.min(cacheLimit.toBytes(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return BODYLESS_METHODS.contains(request.getMethod())
+                || ActivityLogAspect.isSkippedPath(request.getRequestURI())
+                || !isJson(request.getContentType());
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        var wrappedRequest = new ContentCachingRequestWrapper(request);
+        var wrappedRequest = new ContentCachingRequestWrapper(request, cacheLimit);
         filterChain.doFilter(wrappedRequest, response);
     }
+
+    /**
+     * Accepts {@code application/json} and structured-syntax variants such as
+     * {@code application/merge-patch+json}.
+     */
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            var mediaType = MediaType.parseMediaType(contentType);
+            return "json".equalsIgnoreCase(mediaType.getSubtype())
+                    || "json".equalsIgnoreCase(mediaType.getSubtypeSuffix());
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
 }
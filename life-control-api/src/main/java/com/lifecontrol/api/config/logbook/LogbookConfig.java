@@ -18,7 +18,8 @@ import java.util.List;
  * Applies:
  * <ul>
  *   <li>Header filtering — redacts Authorization, cookies, API keys</li>
- *   <li>Body filtering — redacts password, secret, token field values in JSON</li>
+ *   <li>Body filtering — redacts password, secret, token field values at any depth in JSON,
+ *       using the same engine as the activity audit trail</li>
  * </ul>
  */
 @Configuration
@@ -1,12 +1,13 @@
 package com.lifecontrol.api.config.logbook;
 
+import com.lifecontrol.api.activity.util.PayloadSanitizer;
 import org.springframework.stereotype.Component;
 import org.zalando.logbook.BodyFilter;
+import org.zalando.logbook.ContentType;
 import org.zalando.logbook.HeaderFilter;
 import org.zalando.logbook.RequestFilter;
 import org.zalando.logbook.ResponseFilter;
 import org.zalando.logbook.core.HeaderFilters;
-import org.zalando.logbook.json.JsonBodyFilters;
 
 import java.util.Set;
 
@@ -31,21 +32,6 @@ public class SensitiveDataSanitizer {
             "x-api-key"
     );
 
-    /**
-     * JSON body field names (case-insensitive) whose string values MUST be redacted.
-     */
-    private static final Set<String> SENSITIVE_BODY_FIELDS = Set.of(
-            "password",
-            "secret",
-            "token",
-            "access_token",
-            "refresh_token",
-            "client_secret",
-            "api_key",
-            "secret_key",
-            "private_key"
-    );
-
     /**
      * Returns the default built-in {@link HeaderFilter} that redacts the
      * {@code Authorization} header via Logbook's standard rule.
@@ -66,12 +52,15 @@ public class SensitiveDataSanitizer {
 
     /**
      * Returns a {@link BodyFilter} that redacts the values of known sensitive JSON
-     * string properties. Non-sensitive fields and non-JSON content pass through unchanged.
+     * properties at any depth, using the same streaming engine as the activity audit
+     * trail ({@link PayloadSanitizer}). Unlike the audit trail, bodies are not truncated: the
+     * 16 KiB cap exists for the audit column, not for HTTP logs. Non-JSON content passes through
+     * unchanged.
      */
     public BodyFilter bodyFilter() {
-        return JsonBodyFilters.replaceJsonStringProperty(
-                name -> SENSITIVE_BODY_FIELDS.contains(name.toLowerCase()),
-                "[REDACTED]");
+        return (contentType, body) -> ContentType.isJsonMediaType(contentType)
+                ? PayloadSanitizer.sanitize(body, Integer.MAX_VALUE)
+                : body;
     }
 
     /**
@@ -0,0 +1,133 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring map of buckets keyed by rate limit key.
+ * <p>
+ * An entry expires once it has been idle long enough for its bucket to refill completely:
+ * a fresh bucket would be in the same state, so expiry never relaxes a limit. On top of that
+ * the map holds about {@code maxKeys} entries, so per-user and per-IP keys cannot grow without
+ * bound. Evicting a live entry does reset that key's limit, so {@code maxKeys} should comfortably
+ * exceed the number of callers active within a refill period; the least recently used keys go
+ * first.
+ * <p>
+ * Lookups of live keys are lock-free. Expired entries are swept every 30 seconds and, once the
+ * map grows past {@code maxKeys}, the least recently used entries are evicted down to nine tenths
+ * of it; both run on one caller at a time while the others carry on, so the bound may be
+ * overshot briefly by concurrent inserts.
+ *
+ * @param <B> the bucket type
+ */
+final class BoundedBucketMap<B> {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final class Entry<B> {
+        private final B bucket;
+        private final long idleTimeoutNanos;
+        private volatile long lastAccessNanos;
+
+        private Entry(B bucket, long idleTimeoutNanos, long lastAccessNanos) {
+            this.bucket = bucket;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - lastAccessNanos >= idleTimeoutNanos;
+        }
+    }
+
+    private record Candidate<B>(String key, Entry<B> entry, long accessedAt) {
+    }
+
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, Entry<B>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+    BoundedBucketMap(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Returns the live bucket for {@code key}, creating it with {@code factory} if it is
+     * missing or has expired.
+     */
+    B getOrCreate(String key, BucketConfiguration configuration, Supplier<B> factory) {
+        var now = System.nanoTime();
+        var entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            entry.lastAccessNanos = now;
+            return entry.bucket;
+        }
+        // Only this key's bin is locked while the bucket is created
+        entry = entries.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired(now)) {
+                current.lastAccessNanos = now;
+                return current;
+            }
+            return new Entry<>(factory.get(), refillNanos(configuration), now);
+        });
+        if (entries.size() > maxKeys || now - nextSweepNanos.get() >= 0) {
+            sweep(now);
+        }
+        return entry.bucket;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries, then evicts the least recently used ones if the map is still over
+     * {@code maxKeys}. Skipped if another caller is already sweeping.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            nextSweepNanos.set(now + SWEEP_INTERVAL_NANOS);
+            for (var key : entries.keySet()) {
+                entries.computeIfPresent(key, (k, entry) -> entry.isExpired(now) ? null : entry);
+            }
+            var excess = entries.size() - (maxKeys - maxKeys / 10);
+            if (entries.size() <= maxKeys || excess <= 0) {
+                return;
+            }
+            // Snapshot access times; they keep changing under concurrent lookups
+            entries.entrySet().stream()
+                    .map(e -> new Candidate<>(e.getKey(), e.getValue(), e.getValue().lastAccessNanos - now))
+                    .sorted(Comparator.comparingLong(Candidate::accessedAt))
+                    .limit(excess)
+                    .forEach(c -> entries.remove(c.key(), c.entry()));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Time for the slowest bandwidth of the configuration to refill from empty to full.
+     */
+    private static long refillNanos(BucketConfiguration configuration) {
+        var longest = 0L;
+        for (var bandwidth : configuration.getBandwidths()) {
+            var refills = (bandwidth.getCapacity() + bandwidth.getRefillTokens() - 1) / bandwidth.getRefillTokens();
+            longest = Math.max(longest, refills * bandwidth.getRefillPeriodNanos());
+        }
+        return longest;
+    }
+}
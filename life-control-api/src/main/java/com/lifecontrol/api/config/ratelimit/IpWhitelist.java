@@ -0,0 +1,194 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Internal IP whitelist compiled once into network/mask pairs.
+ * <p>
+ * Entries are single addresses or CIDR blocks, IPv4 or IPv6. IPv4 clients — the common case —
+ * are parsed straight from the request string and tested with one AND and compare per rule,
+ * without allocating or resolving anything. IPv6 clients are parsed as literals only; a
+ * lookup never triggers DNS. Invalid entries are logged once when compiling and ignored.
+ */
+final class IpWhitelist {
+
+    private static final Logger log = LoggerFactory.getLogger(IpWhitelist.class);
+
+    private final int[] ipv4Networks;
+    private final int[] ipv4Masks;
+    /** IPv6 rules as {high, low, maskHigh, maskLow} quadruples. */
+    private final long[] ipv6Rules;
+
+    private IpWhitelist(int[] ipv4Networks, int[] ipv4Masks, long[] ipv6Rules) {
+        this.ipv4Networks = ipv4Networks;
+        this.ipv4Masks = ipv4Masks;
+        this.ipv6Rules = ipv6Rules;
+    }
+
+    /**
+     * Compiles whitelist entries such as {@code 127.0.0.1}, {@code 10.0.0.0/8} or {@code ::1}.
+     */
+    static IpWhitelist compile(List<String> entries) {
+        var ipv4 = new ArrayList<int[]>();
+        var ipv6 = new ArrayList<long[]>();
+        for (var entry : entries) {
+            try {
+                addRule(entry.trim(), ipv4, ipv6);
+            } catch (IllegalArgumentException | UnknownHostException e) {
+                log.warn("Ignoring invalid rate limit whitelist entry [{}]: {}", entry, e.getMessage());
+            }
+        }
+        var networks = new int[ipv4.size()];
+        var masks = new int[ipv4.size()];
+        for (var i = 0; i < ipv4.size(); i++) {
+            networks[i] = ipv4.get(i)[0];
+            masks[i] = ipv4.get(i)[1];
+        }
+        var rules = new long[ipv6.size() * 4];
+        for (var i = 0; i < ipv6.size(); i++) {
+            System.arraycopy(ipv6.get(i), 0, rules, i * 4, 4);
+        }
+        return new IpWhitelist(networks, masks, rules);
+    }
+
+    boolean isEmpty() {
+        return ipv4Networks.length == 0 && ipv6Rules.length == 0;
+    }
+
+    /**
+     * Returns {@code true} if the address is covered by a whitelist entry.
+     */
+    boolean contains(String ip) {
+        return ip != null && contains(ip, 0, ip.length());
+    }
+
+    /**
+     * Returns {@code true} if the address in {@code text[start, end)} is covered by a
+     * whitelist entry.
+     */
+    boolean contains(CharSequence text, int start, int end) {
+        var ipv4 = parseIpv4(text, start, end);
+        if (ipv4 >= 0) {
+            return containsIpv4((int) ipv4);
+        }
+        if (ipv6Rules.length == 0 && ipv4Networks.length == 0) {
+            return false;
+        }
+        var address = parseIpv6Literal(text.subSequence(start, end).toString());
+        if (address instanceof Inet4Address) {
+            // IPv4-mapped IPv6 address
+            return containsIpv4(ByteBuffer.wrap(address.getAddress()).getInt());
+        }
+        if (address == null) {
+            return false;
+        }
+        var buffer = ByteBuffer.wrap(address.getAddress());
+        var high = buffer.getLong();
+        var low = buffer.getLong();
+        for (var i = 0; i < ipv6Rules.length; i += 4) {
+            if ((high & ipv6Rules[i + 2]) == ipv6Rules[i] && (low & ipv6Rules[i + 3]) == ipv6Rules[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ─── Private helpers ─────────────────────────────────────
+
+    private boolean containsIpv4(int address) {
+        for (var i = 0; i < ipv4Networks.length; i++) {
+            if ((address & ipv4Masks[i]) == ipv4Networks[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addRule(String entry, List<int[]> ipv4, List<long[]> ipv6) throws UnknownHostException {
+        var slash = entry.indexOf('/');
+        var address = slash < 0 ? entry : entry.substring(0, slash);
+
+        var parsedIpv4 = parseIpv4(address, 0, address.length());
+        if (parsedIpv4 >= 0) {
+            var prefixLength = slash < 0 ? 32 : prefixLength(entry.substring(slash + 1), 32);
+            var mask = prefixLength == 0 ? 0 : -1 << (32 - prefixLength);
+            ipv4.add(new int[]{(int) parsedIpv4 & mask, mask});
+            return;
+        }
+
+        var parsedIpv6 = parseIpv6Literal(address);
+        if (parsedIpv6 == null || parsedIpv6 instanceof Inet4Address) {
+            throw new IllegalArgumentException("not an IP address");
+        }
+        var prefixLength = slash < 0 ? 128 : prefixLength(entry.substring(slash + 1), 128);
+        var maskHigh = mask64(Math.min(prefixLength, 64));
+        var maskLow = mask64(Math.max(prefixLength - 64, 0));
+        var buffer = ByteBuffer.wrap(parsedIpv6.getAddress());
+        ipv6.add(new long[]{buffer.getLong() & maskHigh, buffer.getLong() & maskLow, maskHigh, maskLow});
+    }
+
+    private static int prefixLength(String text, int max) {
+        var length = Integer.parseInt(text.trim());
+        if (length < 0 || length > max) {
+            throw new IllegalArgumentException("prefix length out of range");
+        }
+        return length;
+    }
+
+    private static long mask64(int bits) {
+        return bits == 0 ? 0L : -1L << (64 - bits);
+    }
+
+    /**
+     * Parses a dotted-quad IPv4 address without allocating.
+     *
+     * @return the address as an unsigned 32-bit value, or {@code -1} if the text is not one
+     */
+    private static long parseIpv4(CharSequence text, int start, int end) {
+        long address = 0;
+        var octets = 0;
+        var value = -1;
+        for (var i = start; i < end; i++) {
+            var c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && value >= 0 && octets < 3) {
+                address = (address << 8) | value;
+                octets++;
+                value = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (value < 0 || octets != 3) {
+            return -1;
+        }
+        return (address << 8) | value;
+    }
+
+    /**
+     * Parses an IPv6 literal. The text is bracketed so {@link InetAddress} never falls back
+     * to a DNS lookup.
+     */
+    private static InetAddress parseIpv6Literal(String text) {
+        if (text.indexOf(':') < 0) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName("[" + text + "]");
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
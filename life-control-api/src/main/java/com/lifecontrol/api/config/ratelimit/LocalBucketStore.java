@@ -0,0 +1,39 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Keeps token buckets in this JVM's memory.
+ * <p>
+ * Limits are enforced per node and reset on restart. This is the default backend and the
+ * fallback of {@link RedisBucketStore} while Redis is unreachable. At most {@code maxKeys}
+ * buckets are held; see {@link BoundedBucketMap}.
+ */
+public class LocalBucketStore implements RateLimitBucketStore {
+
+    private final BoundedBucketMap<Bucket> buckets;
+
+    public LocalBucketStore() {
+        this(RateLimitProperties.DEFAULT_MAX_KEYS);
+    }
+
+    public LocalBucketStore(int maxKeys) {
+        this.buckets = new BoundedBucketMap<>(maxKeys);
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+        return buckets.getOrCreate(key, configuration, () -> newBucket(configuration))
+                .tryConsumeAndReturnRemaining(1);
+    }
+
+    private static Bucket newBucket(BucketConfiguration configuration) {
+        var builder = Bucket.builder();
+        for (var bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+}
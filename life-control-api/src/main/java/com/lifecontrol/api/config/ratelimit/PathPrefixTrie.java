@@ -0,0 +1,95 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable character trie answering "which configured prefix is the longest prefix of this
+ * path" in one pass over the path.
+ * <p>
+ * Each node keeps its child labels in a sorted {@code char[]} searched with binary search, so
+ * a lookup costs one array probe per path character and allocates nothing. Matching is by
+ * plain string prefix, the same as {@link String#startsWith(String)}.
+ *
+ * @param <V> the value stored for each prefix
+ */
+final class PathPrefixTrie<V> {
+
+    private static final class Node<V> {
+        private final char[] labels;
+        private final Node<V>[] children;
+        private final V value;
+
+        private Node(char[] labels, Node<V>[] children, V value) {
+            this.labels = labels;
+            this.children = children;
+            this.value = value;
+        }
+
+        private Node<V> child(char c) {
+            var index = Arrays.binarySearch(labels, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    /** Mutable node used only while building. */
+    private static final class Builder<V> {
+        private final TreeMap<Character, Builder<V>> children = new TreeMap<>();
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        private Node<V> build() {
+            var labels = new char[children.size()];
+            var nodes = (Node<V>[]) new Node[children.size()];
+            var i = 0;
+            for (var entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node<>(labels, nodes, value);
+        }
+    }
+
+    private final Node<V> root;
+
+    private PathPrefixTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles a trie from prefixes to values.
+     */
+    static <V> PathPrefixTrie<V> of(Map<String, V> valuesByPrefix) {
+        var root = new Builder<V>();
+        for (var entry : valuesByPrefix.entrySet()) {
+            var node = root;
+            var prefix = entry.getKey();
+            for (var i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Builder<>());
+            }
+            node.value = entry.getValue();
+        }
+        return new PathPrefixTrie<>(root.build());
+    }
+
+    /**
+     * Returns the value of the longest configured prefix of {@code path}, or {@code null} if
+     * no prefix matches.
+     */
+    V longestPrefixMatch(String path) {
+        var node = root;
+        var match = node.value;
+        for (var i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+}
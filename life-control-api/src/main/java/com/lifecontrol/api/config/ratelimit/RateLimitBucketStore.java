@@ -0,0 +1,25 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Storage backend for the token buckets used by {@link RateLimitFilter}.
+ * <p>
+ * Implementations create the bucket for a key on first use from the given configuration
+ * and consume one token from it.
+ *
+ * @see LocalBucketStore
+ * @see RedisBucketStore
+ */
+public interface RateLimitBucketStore {
+
+    /**
+     * Tries to consume one token from the bucket identified by {@code key}.
+     *
+     * @param key           the bucket key
+     * @param configuration the bucket configuration, used when the bucket does not exist yet
+     * @return the consumption result, including remaining tokens and wait times
+     */
+    ConsumptionProbe tryConsume(String key, BucketConfiguration configuration);
+}
@@ -1,28 +1,72 @@
 package com.lifecontrol.api.config.ratelimit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
 /**
  * Registers the rate limiting infrastructure:
  * <ul>
  *   <li>Enables {@link RateLimitProperties} binding</li>
- *   <li>Registers {@link RateLimitFilter} at {@link Ordered#HIGHEST_PRECEDENCE}
- *       so rate limits are enforced before authentication</li>
+ *   <li>Selects the {@link RateLimitBucketStore}: {@link RedisBucketStore} when
+ *       {@code app.rate-limit.backend=redis} and a Lettuce connection factory is configured,
+ *       {@link LocalBucketStore} otherwise</li>
+ *   <li>Registers {@link RateLimitFilter} twice: at {@link Ordered#HIGHEST_PRECEDENCE} for
+ *       endpoints keyed globally or by IP, so they are enforced before authentication, and
+ *       right after the Spring Security chain for endpoints keyed by the validated JWT</li>
  * </ul>
  */
 @Configuration
 @EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(RateLimitConfig.class);
+
     @Bean
-    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
-        var registration = new FilterRegistrationBean<>(rateLimitFilter);
-        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
-        registration.addUrlPatterns("/api/users-admin/*");
+    public RateLimitBucketStore rateLimitBucketStore(RateLimitProperties properties,
+                                                     ObjectProvider<LettuceConnectionFactory> connectionFactory) {
+        if (properties.getBackend() == RateLimitProperties.Backend.REDIS) {
+            var factory = connectionFactory.getIfAvailable();
+            if (factory != null) {
+                var redis = properties.getRedis();
+                log.info("Rate limit buckets stored in Redis (key prefix '{}')", redis.getKeyPrefix());
+                return new RedisBucketStore(
+                        () -> RedisBucketStore.connect(factory.getRequiredNativeClient(), redis),
+                        redis, properties.getMaxKeys(), new LocalBucketStore(properties.getMaxKeys()));
+            }
+            log.warn("app.rate-limit.backend=redis but Redis is not configured — using in-memory buckets");
+        }
+        return new LocalBucketStore(properties.getMaxKeys());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitProperties properties,
+                                                                               RateLimitBucketStore bucketStore) {
+        return registration(new RateLimitFilter(properties, bucketStore, RateLimitFilter.Stage.PRE_AUTHENTICATION),
+                "rateLimitFilter", Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> authenticatedRateLimitFilterRegistration(
+            RateLimitProperties properties, RateLimitBucketStore bucketStore) {
+        return registration(new RateLimitFilter(properties, bucketStore, RateLimitFilter.Stage.POST_AUTHENTICATION),
+                "authenticatedRateLimitFilter", SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+    }
+
+    private static FilterRegistrationBean<RateLimitFilter> registration(RateLimitFilter filter, String name, int order) {
+        var registration = new FilterRegistrationBean<>(filter);
+        // Distinct names keep OncePerRequestFilter from treating the two stages as one filter
+        registration.setName(name);
+        registration.setOrder(order);
+        // The filter itself skips everything outside app.rate-limit.path-prefix
+        registration.addUrlPatterns("/api/*");
         return registration;
     }
 }
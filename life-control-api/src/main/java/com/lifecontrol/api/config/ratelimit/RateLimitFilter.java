@@ -1,36 +1,41 @@
 package com.lifecontrol.api.config.ratelimit;
 
 import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.BucketConfiguration;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.net.InetAddress;
-import java.net.UnknownHostException;
-import java.time.Duration;
 import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
 
 /**
  * Once-per-request filter that enforces rate limits on {@code /api/users-admin/**} endpoints.
  * <p>
- * Uses Bucket4j token-bucket algorithm with in-memory storage. Each endpoint has an
- * independent bucket configured via {@link RateLimitProperties}. Internal IP whitelist
- * bypasses rate limiting entirely.
+ * Uses Bucket4j token-bucket algorithm. Each endpoint is configured via
+ * {@link RateLimitProperties}; its {@code key-by} dimension decides whether all callers share
+ * one bucket or each user, API client or IP gets its own (see {@link RateLimitKeyResolver}).
+ * The filter is registered twice, once per {@link Stage}: endpoints keyed globally or by IP are
+ * limited before authentication, endpoints keyed by user or API client after it, once the JWT
+ * their bucket is named after has been validated.
+ * Buckets are held by the configured {@link RateLimitBucketStore} (in memory, or in Redis to
+ * share limits across nodes). Internal IP whitelist bypasses rate limiting entirely. Client IPs
+ * are the container's remote address, never a raw forwarding header.
+ * <p>
+ * Endpoint prefixes are compiled into a {@link PathPrefixTrie} and the whitelist into
+ * {@link IpWhitelist} masks when the filter is created, so matching a request costs one pass
+ * over its path and a few integer compares. Requests outside {@code app.rate-limit.path-prefix}
+ * are skipped with a single {@code startsWith}.
  * <p>
  * Adds {@code X-RateLimit-*} headers to every response from the matched endpoints.
  * Returns HTTP 429 with {@code Retry-After} when the limit is exceeded.
  */
-@Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
@@ -43,15 +48,22 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private static final String APPLICATION_JSON = "application/json";
 
     private final RateLimitProperties properties;
+    private final RateLimitBucketStore bucketStore;
+    private final Stage stage;
 
     /**
-     * Holds a Bucket4j bucket along with its configured maximum request count
-     * so we can report it in the {@code X-RateLimit-Limit} header.
+     * Configured endpoints by path prefix, each with its bucket configuration and maximum
+     * request count so we can report it in the {@code X-RateLimit-Limit} header.
      */
-    private final Map<String, RateLimitedEndpoint> endpoints = new ConcurrentHashMap<>();
+    private final PathPrefixTrie<RateLimitedEndpoint> endpoints;
+    private final IpWhitelist whitelist;
 
-    public RateLimitFilter(RateLimitProperties properties) {
+    public RateLimitFilter(RateLimitProperties properties, RateLimitBucketStore bucketStore, Stage stage) {
         this.properties = properties;
+        this.bucketStore = bucketStore;
+        this.stage = stage;
+        this.endpoints = compileEndpoints(properties);
+        this.whitelist = IpWhitelist.compile(properties.getInternalIpWhitelist());
     }
 
     @Override
@@ -60,7 +72,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return true;
         }
         var path = request.getRequestURI();
-        return !path.startsWith("/api/users-admin/");
+        return !path.startsWith(properties.getPathPrefix());
     }
 
     @Override
@@ -74,16 +86,19 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return;
         }
 
-        var endpointKey = resolveEndpointKey(request);
-        var endpoint = resolveEndpoint(endpointKey);
+        var endpoint = endpoints.longestPrefixMatch(request.getRequestURI());
 
-        if (endpoint == null) {
-            // No rate limit configured for this path — allow through
+        if (endpoint == null || !stage.handles(endpoint.keyBy())) {
+            // No rate limit configured for this path, or it is limited in the other stage
             filterChain.doFilter(request, response);
             return;
         }
 
-        var probe = endpoint.bucket().tryConsumeAndReturnRemaining(1);
+        var bucketKey = endpoint.keyBy() == RateLimitProperties.KeyDimension.GLOBAL
+                ? endpoint.key()
+                : RateLimitKeyResolver.resolve(SecurityContextHolder.getContext().getAuthentication(),
+                        endpoint.key(), endpoint.keyBy(), getClientIp(request));
+        var probe = bucketStore.tryConsume(bucketKey, endpoint.configuration());
         var nowEpochSecond = Instant.now().getEpochSecond();
 
         response.setHeader(HEADER_LIMIT, String.valueOf(endpoint.maxRequests()));
@@ -102,8 +117,8 @@ public class RateLimitFilter extends OncePerRequestFilter {
             response.setStatus(429);
             response.setContentType(APPLICATION_JSON);
             response.getWriter().write(buildRateLimitExceededBody(retryAfterSeconds));
-            log.warn("Rate limit exceeded for endpoint [{}] from IP [{}]",
-                    endpointKey, getClientIp(request));
+            log.warn("Rate limit exceeded for [{}] (key-by {}) from IP [{}]",
+                    endpoint.key(), endpoint.keyBy(), getClientIp(request));
         }
     }
 
@@ -111,112 +126,62 @@ public class RateLimitFilter extends OncePerRequestFilter {
      * Returns {@code true} if the request originates from a whitelisted internal IP.
      */
     private boolean isWhitelisted(HttpServletRequest request) {
-        var clientIp = getClientIp(request);
-        if (clientIp == null) {
-            return false;
-        }
-        for (var whitelisted : properties.getInternalIpWhitelist()) {
-            if (whitelisted.contains("/")) {
-                if (matchesCidr(clientIp, whitelisted)) {
-                    return true;
-                }
-            } else if (whitelisted.equals(clientIp)) {
-                return true;
-            }
-        }
-        return false;
+        return !whitelist.isEmpty() && whitelist.contains(getClientIp(request));
     }
 
     /**
-     * Resolves the request to a configured endpoint key by longest-prefix matching.
+     * Builds the bucket configuration of every configured endpoint and indexes them by prefix.
      */
-    private String resolveEndpointKey(HttpServletRequest request) {
-        var path = request.getRequestURI();
-        String bestMatch = path;
-        int bestLength = 0;
-        for (var key : properties.getEndpoints().keySet()) {
-            if (path.startsWith(key) && key.length() > bestLength) {
-                bestMatch = key;
-                bestLength = key.length();
-            }
-        }
-        return bestMatch;
-    }
-
-    /**
-     * Returns the {@link RateLimitedEndpoint} for the given key, creating it
-     * lazily from configuration if necessary.
-     */
-    private RateLimitedEndpoint resolveEndpoint(String endpointKey) {
-        return endpoints.computeIfAbsent(endpointKey, key -> {
-            var limit = properties.getEndpoints().get(key);
-            if (limit == null) {
-                return null;
-            }
+    private static PathPrefixTrie<RateLimitedEndpoint> compileEndpoints(RateLimitProperties properties) {
+        var compiled = new HashMap<String, RateLimitedEndpoint>();
+        properties.getEndpoints().forEach((key, limit) -> {
             var bandwidth = Bandwidth.builder()
                     .capacity(limit.maxRequests())
                     .refillIntervally(limit.maxRequests(), limit.duration())
                     .build();
-            var bucket = Bucket.builder()
+            var configuration = BucketConfiguration.builder()
                     .addLimit(bandwidth)
                     .build();
-            return new RateLimitedEndpoint(bucket, limit.maxRequests());
+            compiled.put(key, new RateLimitedEndpoint(key, configuration, limit.maxRequests(), properties.keyByFor(limit)));
         });
+        return PathPrefixTrie.of(compiled);
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        var forwarded = request.getHeader("X-Forwarded-For");
-        if (forwarded != null && !forwarded.isBlank()) {
-            return forwarded.split(",")[0].trim();
-        }
+    /**
+     * Returns the address of the connected client. {@code X-Forwarded-For} is never read here:
+     * the client sets it, so trusting it would let a caller pick a fresh bucket per request.
+     * Behind a proxy the container resolves it instead, and only from trusted proxies
+     * ({@code server.forward-headers-strategy}).
+     */
+    private static String getClientIp(HttpServletRequest request) {
         return request.getRemoteAddr();
     }
 
-    private boolean matchesCidr(String ip, String cidr) {
-        try {
-            var addr = InetAddress.getByName(ip);
-            var addrBytes = addr.getAddress();
-
-            var parts = cidr.split("/");
-            var cidrAddr = InetAddress.getByName(parts[0]);
-            var cidrBytes = cidrAddr.getAddress();
-            var prefixLen = Integer.parseInt(parts[1]);
-
-            if (addrBytes.length != cidrBytes.length) {
-                return false;
-            }
-
-            var fullBytes = prefixLen / 8;
-            var remainingBits = prefixLen % 8;
-
-            for (var i = 0; i < fullBytes; i++) {
-                if (addrBytes[i] != cidrBytes[i]) {
-                    return false;
-                }
-            }
-
-            if (remainingBits > 0) {
-                var mask = (byte) (0xFF << (8 - remainingBits));
-                if ((addrBytes[fullBytes] & mask) != (cidrBytes[fullBytes] & mask)) {
-                    return false;
-                }
-            }
-
-            return true;
-        } catch (UnknownHostException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            log.warn("Failed to parse CIDR rule [{}] for IP [{}]", cidr, ip, e);
-            return false;
-        }
-    }
-
     private String buildRateLimitExceededBody(long retryAfterSeconds) {
         return "{\"status\":429,\"error\":\"Too Many Requests\","
                 + "\"message\":\"Rate limit exceeded. Please retry in " + retryAfterSeconds + " seconds.\"}";
     }
 
     /**
-     * Associates a Bucket4j {@link Bucket} with its configured max-request limit
-     * for use in response headers.
+     * Where in the servlet filter chain an instance runs, relative to Spring Security.
+     */
+    public enum Stage {
+        /** Before authentication: endpoints keyed {@code global} or {@code ip}. */
+        PRE_AUTHENTICATION,
+        /** After authentication: endpoints keyed {@code subject} or {@code client}. */
+        POST_AUTHENTICATION;
+
+        boolean handles(RateLimitProperties.KeyDimension keyBy) {
+            var needsIdentity = keyBy == RateLimitProperties.KeyDimension.SUBJECT
+                    || keyBy == RateLimitProperties.KeyDimension.CLIENT;
+            return needsIdentity == (this == POST_AUTHENTICATION);
+        }
+    }
+
+    /**
+     * Associates a configured endpoint key with its Bucket4j {@link BucketConfiguration}, its
+     * max-request limit for use in response headers, and the dimension its buckets are keyed by.
      */
-    private record RateLimitedEndpoint(Bucket bucket, int maxRequests) {}
+    private record RateLimitedEndpoint(String key, BucketConfiguration configuration, int maxRequests,
+                                       RateLimitProperties.KeyDimension keyBy) {}
 }
@@ -0,0 +1,58 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import com.lifecontrol.api.config.ratelimit.RateLimitProperties.KeyDimension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+
+/**
+ * Builds the bucket key of a request: the endpoint key, plus the caller identity selected by
+ * the endpoint's {@link KeyDimension}.
+ * <p>
+ * The {@code sub} and {@code azp} claims are only taken from a JWT that Spring Security has
+ * already validated, which is why subject and client endpoints are limited after the security
+ * chain ({@link RateLimitFilter.Stage#POST_AUTHENTICATION}). A token the caller made up never
+ * names a bucket. Requests without a validated token are keyed by client IP.
+ */
+final class RateLimitKeyResolver {
+
+    static final String CLAIM_AUTHORIZED_PARTY = "azp";
+
+    private RateLimitKeyResolver() {
+        // utility class
+    }
+
+    /**
+     * Returns the bucket key for the request, e.g. {@code /api/users-admin/users|sub:1b2c...}.
+     */
+    static String resolve(Authentication authentication, String endpointKey, KeyDimension dimension,
+                          String clientIp) {
+        return switch (dimension) {
+            case GLOBAL -> endpointKey;
+            case IP -> endpointKey + "|ip:" + clientIp;
+            case SUBJECT -> claimKey(authentication, endpointKey, JwtClaimNames.SUB, "|sub:", clientIp);
+            case CLIENT -> claimKey(authentication, endpointKey, CLAIM_AUTHORIZED_PARTY, "|client:", clientIp);
+        };
+    }
+
+    private static String claimKey(Authentication authentication, String endpointKey,
+                                   String claimName, String label, String clientIp) {
+        var value = validatedClaim(authentication, claimName);
+        return value != null
+                ? endpointKey + label + value
+                : endpointKey + "|ip:" + clientIp;
+    }
+
+    /**
+     * Reads a string claim from the authenticated JWT, or returns {@code null} if the request
+     * is not authenticated with one.
+     */
+    private static String validatedClaim(Authentication authentication, String claimName) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return null;
+        }
+        var value = jwt.getClaimAsString(claimName);
+        return value != null && !value.isBlank() ? value : null;
+    }
+}
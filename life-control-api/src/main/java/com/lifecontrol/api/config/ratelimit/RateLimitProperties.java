@@ -1,6 +1,7 @@
 package com.lifecontrol.api.config.ratelimit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
 
 import java.time.Duration;
 import java.util.HashMap;
@@ -10,28 +11,48 @@ import java.util.Map;
 /**
  * Configuration properties for API rate limiting.
  * <p>
- * Controls rate limits per endpoint, internal IP whitelist, and global enabled flag.
+ * Controls rate limits per endpoint, how callers are keyed within an endpoint, internal IP
+ * whitelist, bucket storage backend, and global enabled flag.
  * Prefix: {@code app.rate-limit}
  * <p>
  * Example configuration:
  * <pre>
  * app.rate-limit.enabled=true
+ * app.rate-limit.path-prefix=/api/users-admin/
  * app.rate-limit.internal-ip-whitelist=127.0.0.1,10.0.0.0/8
  * app.rate-limit.endpoints./api/users-admin/users.max-requests=60
  * app.rate-limit.endpoints./api/users-admin/users.duration=1m
  * app.rate-limit.endpoints./api/users-admin/login.max-requests=10
  * app.rate-limit.endpoints./api/users-admin/login.duration=1m
+ * app.rate-limit.endpoints./api/users-admin/login.key-by=ip
+ * app.rate-limit.key-by=subject
+ * app.rate-limit.max-keys=10000
+ * app.rate-limit.backend=redis
+ * app.rate-limit.redis.max-unsynchronized-tokens=5
+ * app.rate-limit.redis.request-timeout=100ms
  * </pre>
  */
 @ConfigurationProperties(prefix = "app.rate-limit")
 public class RateLimitProperties {
 
+    public static final int DEFAULT_MAX_KEYS = 10_000;
+
     private boolean enabled = true;
 
+    private String pathPrefix = "/api/users-admin/";
+
     private List<String> internalIpWhitelist = List.of();
 
     private Map<String, EndpointLimit> endpoints = new HashMap<>();
 
+    private KeyDimension keyBy = KeyDimension.GLOBAL;
+
+    private int maxKeys = DEFAULT_MAX_KEYS;
+
+    private Backend backend = Backend.LOCAL;
+
+    private final Redis redis = new Redis();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -40,6 +61,14 @@ public class RateLimitProperties {
         this.enabled = enabled;
     }
 
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+    public void setPathPrefix(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
     public List<String> getInternalIpWhitelist() {
         return internalIpWhitelist;
     }
@@ -56,14 +85,131 @@ public class RateLimitProperties {
         this.endpoints = endpoints;
     }
 
+    public KeyDimension getKeyBy() {
+        return keyBy;
+    }
+
+    public void setKeyBy(KeyDimension keyBy) {
+        this.keyBy = keyBy;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Returns the key dimension of an endpoint: its own {@code key-by}, or the global one.
+     */
+    public KeyDimension keyByFor(EndpointLimit limit) {
+        return limit.keyBy() != null ? limit.keyBy() : keyBy;
+    }
+
+    public Backend getBackend() {
+        return backend;
+    }
+
+    public void setBackend(Backend backend) {
+        this.backend = backend;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    /**
+     * Who shares a bucket within one endpoint.
+     */
+    public enum KeyDimension {
+        /** One bucket per endpoint for all callers. */
+        GLOBAL,
+        /** One bucket per client IP. */
+        IP,
+        /** One bucket per validated JWT subject (user); callers without a token are keyed by IP. */
+        SUBJECT,
+        /** One bucket per API client (validated JWT {@code azp}); callers without a token are keyed by IP. */
+        CLIENT
+    }
+
+    /**
+     * Where token buckets are stored.
+     */
+    public enum Backend {
+        /** In this JVM's memory; limits apply per node. */
+        LOCAL,
+        /** In Redis, shared by all nodes; falls back to {@link #LOCAL} while Redis is unreachable. */
+        REDIS
+    }
+
+    /**
+     * Settings of the {@link Backend#REDIS} backend.
+     */
+    public static class Redis {
+
+        private String keyPrefix = "rate-limit:";
+
+        private long maxUnsynchronizedTokens = 5;
+
+        private Duration maxUnsynchronizedTimeout = Duration.ofMillis(500);
+
+        private Duration fallbackRetryInterval = Duration.ofSeconds(30);
+
+        private Duration requestTimeout = Duration.ofMillis(100);
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public long getMaxUnsynchronizedTokens() {
+            return maxUnsynchronizedTokens;
+        }
+
+        public void setMaxUnsynchronizedTokens(long maxUnsynchronizedTokens) {
+            this.maxUnsynchronizedTokens = maxUnsynchronizedTokens;
+        }
+
+        public Duration getMaxUnsynchronizedTimeout() {
+            return maxUnsynchronizedTimeout;
+        }
+
+        public void setMaxUnsynchronizedTimeout(Duration maxUnsynchronizedTimeout) {
+            this.maxUnsynchronizedTimeout = maxUnsynchronizedTimeout;
+        }
+
+        public Duration getFallbackRetryInterval() {
+            return fallbackRetryInterval;
+        }
+
+        public void setFallbackRetryInterval(Duration fallbackRetryInterval) {
+            this.fallbackRetryInterval = fallbackRetryInterval;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+
     /**
      * Represents the rate limit configuration for a single endpoint.
      *
      * @param maxRequests maximum number of requests allowed within the duration
      * @param duration    the time window for the limit
+     * @param keyBy       who shares a bucket on this endpoint, or {@code null} to use the global {@code key-by}
      */
-    public record EndpointLimit(int maxRequests, Duration duration) {
+    public record EndpointLimit(int maxRequests, Duration duration, KeyDimension keyBy) {
 
+        @ConstructorBinding
         public EndpointLimit {
             if (maxRequests < 1) {
                 throw new IllegalArgumentException("maxRequests must be >= 1");
@@ -72,5 +218,9 @@ public class RateLimitProperties {
                 throw new IllegalArgumentException("duration must be positive");
             }
         }
+
+        public EndpointLimit(int maxRequests, Duration duration) {
+            this(maxRequests, duration, null);
+        }
     }
 }
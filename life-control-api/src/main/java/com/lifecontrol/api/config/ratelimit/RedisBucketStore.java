@@ -0,0 +1,162 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.cluster.RedisClusterClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps token buckets in Redis so a limit is shared by every node of the cluster.
+ * <p>
+ * Each bucket proxy uses Bucket4j's delaying optimization: up to
+ * {@code app.rate-limit.redis.max-unsynchronized-tokens} tokens (never more than a tenth of
+ * the bucket's capacity) are consumed locally and written back in one round trip, or after
+ * {@code max-unsynchronized-timeout} at the latest. Under normal load most requests therefore
+ * never wait on Redis, at the cost of a small, bounded overshoot across nodes. Buckets with a
+ * capacity of 10 or less, such as login, sync every token and so still make one Redis round trip
+ * per request.
+ * <p>
+ * Every Redis command gives up after {@code request-timeout}, so a Redis that hangs rather than
+ * refusing connections costs a request at most that long. When Redis cannot be reached the store
+ * falls back to per-node in-memory buckets. One request per {@code fallback-retry-interval}
+ * probes Redis again; all others stay on the fallback, so an outage never adds a timeout to
+ * every request.
+ */
+public class RedisBucketStore implements RateLimitBucketStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisBucketStore.class);
+
+    /** Keys live in Redis only until their bucket would have refilled, plus this margin. */
+    private static final Duration KEY_EXPIRY_MARGIN = Duration.ofSeconds(10);
+
+    private final Supplier<ProxyManager<String>> connector;
+    private final RateLimitProperties.Redis settings;
+    private final RateLimitBucketStore fallback;
+    private final BoundedBucketMap<BucketProxy> buckets;
+    private final AtomicLong retryAtNanos = new AtomicLong();
+
+    private volatile ProxyManager<String> proxyManager;
+    private volatile boolean degraded;
+
+    /**
+     * @param connector creates the proxy manager; called on first use and again after a failed connect
+     * @param settings  Redis backend settings
+     * @param maxKeys   maximum number of bucket proxies held on this node
+     * @param fallback  store used while Redis is unreachable
+     */
+    public RedisBucketStore(Supplier<ProxyManager<String>> connector,
+                            RateLimitProperties.Redis settings,
+                            int maxKeys,
+                            RateLimitBucketStore fallback) {
+        this.connector = connector;
+        this.settings = settings;
+        this.buckets = new BoundedBucketMap<>(maxKeys);
+        this.fallback = fallback;
+    }
+
+    /**
+     * Builds a proxy manager on the given Lettuce client. Bucket keys are prefixed with
+     * {@code key-prefix} and expire once the bucket would be full again; requests time out after
+     * {@code request-timeout}.
+     */
+    public static ProxyManager<String> connect(AbstractRedisClient client, RateLimitProperties.Redis settings) {
+        var keyPrefix = settings.getKeyPrefix();
+        var clientSideConfig = ClientSideConfig.getDefault()
+                .withExpirationAfterWriteStrategy(
+                        ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(KEY_EXPIRY_MARGIN))
+                .withRequestTimeout(settings.getRequestTimeout());
+        LettuceBasedProxyManager<byte[]> proxyManager = client instanceof RedisClusterClient clusterClient
+                ? LettuceBasedProxyManager.builderFor(clusterClient).withClientSideConfig(clientSideConfig).build()
+                : LettuceBasedProxyManager.builderFor((RedisClient) client).withClientSideConfig(clientSideConfig).build();
+        return proxyManager.<String>withMapper(key -> (keyPrefix + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+        if (useFallback()) {
+            return fallback.tryConsume(key, configuration);
+        }
+        try {
+            var probe = remoteBucket(key, configuration).tryConsumeAndReturnRemaining(1);
+            if (degraded) {
+                degraded = false;
+                log.info("Redis rate limit backend is reachable again; limits are shared across nodes");
+            }
+            return probe;
+        } catch (RuntimeException e) {
+            markUnavailable(e);
+            return fallback.tryConsume(key, configuration);
+        }
+    }
+
+    // ─── Private helpers ─────────────────────────────────────
+
+    /**
+     * While degraded, returns {@code true} until the retry time; then lets exactly one caller
+     * through to probe Redis and pushes the retry time back for everyone else.
+     */
+    private boolean useFallback() {
+        if (!degraded) {
+            return false;
+        }
+        var retryAt = retryAtNanos.get();
+        var now = System.nanoTime();
+        return now - retryAt < 0
+                || !retryAtNanos.compareAndSet(retryAt, now + settings.getFallbackRetryInterval().toNanos());
+    }
+
+    private BucketProxy remoteBucket(String key, BucketConfiguration configuration) {
+        var manager = proxyManager();
+        return buckets.getOrCreate(key, configuration, () -> manager.builder()
+                .withOptimization(Optimizations.delaying(delayParameters(configuration)))
+                .build(key, () -> configuration));
+    }
+
+    private ProxyManager<String> proxyManager() {
+        var manager = proxyManager;
+        if (manager == null) {
+            synchronized (this) {
+                manager = proxyManager;
+                if (manager == null) {
+                    manager = connector.get();
+                    proxyManager = manager;
+                }
+            }
+        }
+        return manager;
+    }
+
+    private DelayParameters delayParameters(BucketConfiguration configuration) {
+        var capacity = configuration.getBandwidths()[0].getCapacity();
+        var tokens = Math.max(1, Math.min(settings.getMaxUnsynchronizedTokens(), capacity / 10));
+        return new DelayParameters(tokens, settings.getMaxUnsynchronizedTimeout());
+    }
+
+    private void markUnavailable(RuntimeException e) {
+        retryAtNanos.set(System.nanoTime() + settings.getFallbackRetryInterval().toNanos());
+        // Drop proxies so unsynchronized local state from before the outage is not replayed
+        buckets.clear();
+        if (!degraded) {
+            degraded = true;
+            log.warn("Redis rate limit backend unavailable, using per-node in-memory buckets; retrying every {}",
+                    settings.getFallbackRetryInterval(), e);
+        } else {
+            log.debug("Redis rate limit backend still unavailable: {}", e.getMessage());
+        }
+    }
+}
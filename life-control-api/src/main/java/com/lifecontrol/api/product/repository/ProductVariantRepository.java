@@ -7,10 +7,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +35,40 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
     @Query("SELECT pv FROM ProductVariant pv WHERE pv.id = :id AND pv.enabled = true")
     Optional<ProductVariant> findByIdForUpdate(@Param("id") UUID id);
 
+    /**
+     * Locks all given variants in one statement. Rows are ordered by ID so concurrent callers
+     * acquire their row locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pv FROM ProductVariant pv WHERE pv.id IN :ids AND pv.enabled = true ORDER BY pv.id")
+    List<ProductVariant> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deducts stock in one conditional statement, without a prior row lock.
+     *
+     * @return 1 if the stock was deducted, 0 if the variant is missing, disabled or short on stock
+     */
+    @Modifying
+    @Query("""
+            UPDATE ProductVariant pv
+            SET pv.stock = pv.stock - :quantity, pv.updatedAt = LOCAL DATETIME
+            WHERE pv.id = :id AND pv.enabled = true AND pv.stock >= :quantity
+            """)
+    int decrementStockIfAvailable(@Param("id") UUID id, @Param("quantity") BigDecimal quantity);
+
+    /**
+     * Returns stock in one statement, without a prior row lock.
+     *
+     * @return 1 if the stock was restored, 0 if the variant is missing or disabled
+     */
+    @Modifying
+    @Query("""
+            UPDATE ProductVariant pv
+            SET pv.stock = pv.stock + :quantity, pv.updatedAt = LOCAL DATETIME
+            WHERE pv.id = :id AND pv.enabled = true
+            """)
+    int incrementStock(@Param("id") UUID id, @Param("quantity") BigDecimal quantity);
+
     @Query("""
             SELECT new com.lifecontrol.api.product.dto.ProductVariantSearchResponse(
                 pv.id, pv.productId, pv.companyStoreId, pv.barCode, pv.sku,
@@ -1,5 +1,6 @@
 package com.lifecontrol.api.purchaseorder.service;
 
+import com.lifecontrol.api.common.ordernumber.service.OrderNumberAllocator;
 import com.lifecontrol.api.paymentmethod.exception.PaymentMethodNotFoundException;
 import com.lifecontrol.api.paymentmethod.model.PaymentMethod;
 import com.lifecontrol.api.paymentmethod.repository.PaymentMethodRepository;
@@ -25,6 +26,7 @@ import com.lifecontrol.api.purchaseorder.repository.PurchaseOrderRepository;
 import com.lifecontrol.api.status.exception.StatusNotFoundException;
 import com.lifecontrol.api.status.model.Status;
 import com.lifecontrol.api.status.repository.StatusRepository;
+import com.lifecontrol.api.status.service.StatusCatalog;
 import com.lifecontrol.api.store.exception.CompanyStoreNotFoundException;
 import com.lifecontrol.api.store.model.CompanyStore;
 import com.lifecontrol.api.store.repository.CompanyStoreRepository;
@@ -83,6 +85,8 @@ public class PurchaseOrderService {
     private final ProductRepository productRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final StatusRepository statusRepository;
+    private final StatusCatalog statusCatalog;
+    private final OrderNumberAllocator orderNumberAllocator;
 
     public PurchaseOrderService(PurchaseOrderRepository purchaseOrderRepository,
                                 PurchaseOrderDetailRepository detailRepository,
@@ -90,7 +94,9 @@ public class PurchaseOrderService {
                                 CompanyStoreRepository companyStoreRepository,
                                 ProductRepository productRepository,
                                 PaymentMethodRepository paymentMethodRepository,
-                                StatusRepository statusRepository) {
+                                StatusRepository statusRepository,
+                                StatusCatalog statusCatalog,
+                                OrderNumberAllocator orderNumberAllocator) {
         this.purchaseOrderRepository = purchaseOrderRepository;
         this.detailRepository = detailRepository;
         this.supplierRepository = supplierRepository;
@@ -98,6 +104,8 @@ public class PurchaseOrderService {
         this.productRepository = productRepository;
         this.paymentMethodRepository = paymentMethodRepository;
         this.statusRepository = statusRepository;
+        this.statusCatalog = statusCatalog;
+        this.orderNumberAllocator = orderNumberAllocator;
     }
 
     // ─── Purchase Order CRUD ────────────────────────────────────────────
@@ -131,9 +139,9 @@ public class PurchaseOrderService {
         var paymentMethod = validatePaymentMethodExists(request.paymentMethodId());
         var status = request.statusId() != null
                 ? validateStatusExistsAndType(request.statusId(), "PURCHASE_ORDER")
-                : statusRepository.findByTypeNameAndStatusName("PURCHASE_ORDER", "Draft")
+                : toStatusReference(statusCatalog.findByTypeNameAndStatusName("PURCHASE_ORDER", "Draft")
                         .orElseThrow(() -> new StatusNotFoundException(
-                                "Default status 'Draft' not found for PURCHASE_ORDER type"));
+                                "Default status 'Draft' not found for PURCHASE_ORDER type")));
 
         var orderNumber = generateOrderNumber();
 
@@ -205,10 +213,10 @@ public class PurchaseOrderService {
             po.getDetails().clear();
 
             if (!request.details().isEmpty()) {
-                var defaultDetailStatus = statusRepository
+                var defaultDetailStatus = toStatusReference(statusCatalog
                         .findByTypeNameAndStatusName("PURCHASE_ORDER_DETAIL", "Pending")
                         .orElseThrow(() -> new StatusNotFoundException(
-                                "Default status 'Pending' not found for PURCHASE_ORDER_DETAIL type"));
+                                "Default status 'Pending' not found for PURCHASE_ORDER_DETAIL type")));
 
                 for (var detailReq : request.details()) {
                     var product = validateProductExists(detailReq.productId());
@@ -379,7 +387,8 @@ public class PurchaseOrderService {
         validateDetailTransition(detail.getStatus(), newStatus);
 
         // Update received_quantity for Partial Received or Received transitions
-        if ("Partial Received".equals(newStatus.getStatusName()) || "Received".equals(newStatus.getStatusName())) {
+        var newStatusName = statusNameOf(newStatus);
+        if ("Partial Received".equals(newStatusName) || "Received".equals(newStatusName)) {
             detail.setReceivedQuantity(detail.getQuantity());
         }
 
@@ -395,9 +404,9 @@ public class PurchaseOrderService {
         var po = purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new PurchaseOrderNotFoundException(id));
 
-        if (!"Draft".equals(po.getStatus().getStatusName())) {
-            throw new InvalidStatusTransitionException(
-                    po.getStatus().getStatusName(), "mutación de detalles");
+        var statusName = statusNameOf(po.getStatus());
+        if (!"Draft".equals(statusName)) {
+            throw new InvalidStatusTransitionException(statusName, "mutación de detalles");
         }
         return po;
     }
@@ -427,23 +436,36 @@ public class PurchaseOrderService {
     }
 
     private Status validateStatusExistsAndType(UUID id, String expectedTypeName) {
-        var status = statusRepository.findById(id)
-                .orElseThrow(() -> new StatusNotFoundException(id));
+        var status = statusCatalog.getById(id);
 
-        var statusType = status.getStatusType();
-        if (!expectedTypeName.equalsIgnoreCase(statusType.getStatusTypeName())) {
+        if (!expectedTypeName.equalsIgnoreCase(status.statusTypeName())) {
             throw new IllegalArgumentException(
                     "El status proporcionado no corresponde al tipo " + expectedTypeName);
         }
 
-        return status;
+        return toStatusReference(status);
+    }
+
+    /**
+     * Returns a lazy reference for a catalog status so it can be assigned to an association
+     * without loading the row.
+     */
+    private Status toStatusReference(StatusCatalog.Entry entry) {
+        return statusRepository.getReferenceById(entry.id());
+    }
+
+    /**
+     * Resolves the status name from the catalog by ID, which never initializes a lazy proxy.
+     */
+    private String statusNameOf(Status status) {
+        return statusCatalog.getById(status.getId()).statusName();
     }
 
     // ─── Status Transition Validation ───────────────────────────────────
 
     private void validatePOTransition(Status current, Status target) {
-        var currentName = current.getStatusName();
-        var targetName = target.getStatusName();
+        var currentName = statusNameOf(current);
+        var targetName = statusNameOf(target);
 
         var allowed = PO_TRANSITIONS.get(currentName);
         if (allowed == null || !allowed.contains(targetName)) {
@@ -452,8 +474,8 @@ public class PurchaseOrderService {
     }
 
     private void validateDetailTransition(Status current, Status target) {
-        var currentName = current.getStatusName();
-        var targetName = target.getStatusName();
+        var currentName = statusNameOf(current);
+        var targetName = statusNameOf(target);
 
         var allowed = DETAIL_TRANSITIONS.get(currentName);
         if (allowed == null || !allowed.contains(targetName)) {
@@ -468,21 +490,29 @@ public class PurchaseOrderService {
         var dateStr = today.format(DATE_FORMAT);
         var prefix = "PO-" + dateStr + "-";
 
+        var nextSeq = orderNumberAllocator.next(prefix, () -> highestIssuedSequence(prefix));
+
+        return prefix + String.format("%05d", nextSeq);
+    }
+
+    /**
+     * Highest sequence already used for the prefix. Only consulted when the allocator first
+     * sees the prefix, so numbers issued before the counter existed are not reused.
+     */
+    private long highestIssuedSequence(String prefix) {
         var maxOrder = purchaseOrderRepository
                 .findTopByOrderNumberStartingWithOrderByOrderNumberDesc(prefix);
 
-        var nextSeq = 1;
         if (maxOrder.isPresent()) {
             var lastOrderNumber = maxOrder.get().getOrderNumber();
             var seqPart = lastOrderNumber.substring(prefix.length());
             try {
-                nextSeq = Integer.parseInt(seqPart) + 1;
+                return Long.parseLong(seqPart);
             } catch (NumberFormatException e) {
                 logger.warn("Failed to parse sequence from order number: {}", lastOrderNumber);
             }
         }
-
-        return prefix + String.format("%05d", nextSeq);
+        return 0;
     }
 
     // ─── Response Mappers ───────────────────────────────────────────────
@@ -538,7 +568,7 @@ public class PurchaseOrderService {
                 po.getPaymentMethod().getId(),
                 po.getPaymentMethod().getPaymentMethodName(),
                 po.getStatus().getId(),
-                po.getStatus().getStatusName(),
+                statusNameOf(po.getStatus()),
                 po.getComments(),
                 po.getEnabled(),
                 po.getCreatedAt(),
@@ -559,7 +589,7 @@ public class PurchaseOrderService {
                 detail.getReceivedQuantity(),
                 detail.getComments(),
                 detail.getStatus().getId(),
-                detail.getStatus().getStatusName(),
+                statusNameOf(detail.getStatus()),
                 detail.getCreatedAt(),
                 detail.getUpdatedAt()
         );
@@ -2,8 +2,12 @@ package com.lifecontrol.api.salesorder.repository;
 
 import com.lifecontrol.api.salesorder.model.SalesOrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,5 +18,13 @@ public interface SalesOrderItemRepository extends JpaRepository<SalesOrderItem,
 
     List<SalesOrderItem> findBySalesOrderIdAndEnabledTrue(UUID salesOrderId);
 
+    List<SalesOrderItem> findBySalesOrderIdInAndEnabledTrue(Collection<UUID> salesOrderIds);
+
     List<SalesOrderItem> findByProductVariantId(UUID productVariantId);
+
+    @Query("""
+            SELECT COALESCE(SUM(i.finalPrice), 0) FROM SalesOrderItem i
+            WHERE i.salesOrderId = :salesOrderId AND i.enabled = true
+            """)
+    BigDecimal sumFinalPriceBySalesOrderId(@Param("salesOrderId") UUID salesOrderId);
 }
@@ -1,9 +1,11 @@
 package com.lifecontrol.api.salesorder.repository;
 
 import com.lifecontrol.api.salesorder.model.SalesOrder;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +17,14 @@ import java.util.UUID;
 @Repository
 public interface SalesOrderRepository extends JpaRepository<SalesOrder, UUID> {
 
+    /**
+     * Locks the order row for the rest of the transaction. Every change to an order header or
+     * its items goes through this, so concurrent changes to the running total apply in turn.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT so FROM SalesOrder so WHERE so.id = :id")
+    Optional<SalesOrder> findByIdForUpdate(@Param("id") UUID id);
+
     Optional<SalesOrder> findByOrderNumber(String orderNumber);
 
     List<SalesOrder> findByCustomerId(UUID customerId);
@@ -1,5 +1,6 @@
 package com.lifecontrol.api.salesorder.service;
 
+import com.lifecontrol.api.common.ordernumber.service.OrderNumberAllocator;
 import com.lifecontrol.api.customer.exception.CustomerNotFoundException;
 import com.lifecontrol.api.customer.repository.CustomerRepository;
 import com.lifecontrol.api.product.exception.ProductVariantNotFoundException;
@@ -26,12 +27,12 @@ import com.lifecontrol.api.salesorder.repository.SalesOrderRepository;
 import com.lifecontrol.api.shift.exception.ShiftNotFoundException;
 import com.lifecontrol.api.shift.repository.ShiftRepository;
 import com.lifecontrol.api.status.exception.StatusNotFoundException;
-import com.lifecontrol.api.status.model.Status;
-import com.lifecontrol.api.status.repository.StatusRepository;
+import com.lifecontrol.api.status.service.StatusCatalog;
 import com.lifecontrol.api.store.exception.CompanyStoreNotFoundException;
 import com.lifecontrol.api.store.repository.CompanyStoreRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -42,6 +43,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -78,8 +80,10 @@ public class SalesOrderService {
     private final CompanyStoreRepository companyStoreRepository;
     private final ShiftRepository shiftRepository;
     private final ProductVariantRepository productVariantRepository;
-    private final StatusRepository statusRepository;
+    private final StatusCatalog statusCatalog;
     private final PaymentMethodRepository paymentMethodRepository;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final boolean conditionalStockUpdates;
 
     public SalesOrderService(SalesOrderRepository salesOrderRepository,
                               SalesOrderItemRepository itemRepository,
@@ -87,16 +91,20 @@ public class SalesOrderService {
                               CompanyStoreRepository companyStoreRepository,
                               ShiftRepository shiftRepository,
                               ProductVariantRepository productVariantRepository,
-                              StatusRepository statusRepository,
-                              PaymentMethodRepository paymentMethodRepository) {
+                              StatusCatalog statusCatalog,
+                              PaymentMethodRepository paymentMethodRepository,
+                              OrderNumberAllocator orderNumberAllocator,
+                              @Value("${app.stock.conditional-updates:false}") boolean conditionalStockUpdates) {
         this.salesOrderRepository = salesOrderRepository;
         this.itemRepository = itemRepository;
         this.customerRepository = customerRepository;
         this.companyStoreRepository = companyStoreRepository;
         this.shiftRepository = shiftRepository;
         this.productVariantRepository = productVariantRepository;
-        this.statusRepository = statusRepository;
+        this.statusCatalog = statusCatalog;
         this.paymentMethodRepository = paymentMethodRepository;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.conditionalStockUpdates = conditionalStockUpdates;
     }
 
     // ─── Sales Order CRUD ────────────────────────────────────────────────
@@ -111,7 +119,14 @@ public class SalesOrderService {
             orders = salesOrderRepository.findByEnabledTrueOrderByCreatedAtDesc(pageable);
         }
 
-        return orders.map(this::toResponse);
+        // Load the items for the whole page in one query instead of one per row
+        var orderIds = orders.getContent().stream().map(SalesOrder::getId).toList();
+        var itemsByOrder = orderIds.isEmpty()
+                ? Map.<UUID, List<SalesOrderItem>>of()
+                : itemRepository.findBySalesOrderIdInAndEnabledTrue(orderIds).stream()
+                        .collect(Collectors.groupingBy(SalesOrderItem::getSalesOrderId));
+
+        return orders.map(so -> toResponse(so, itemsByOrder.getOrDefault(so.getId(), List.of())));
     }
 
     @Transactional(readOnly = true)
@@ -131,7 +146,7 @@ public class SalesOrderService {
             validateShiftExists(request.shiftId());
         }
 
-        var status = statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Draft")
+        var status = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER", "Draft")
                 .orElseThrow(() -> new StatusNotFoundException(
                         "Default status 'Draft' not found for SALES_ORDER type"));
 
@@ -144,7 +159,7 @@ public class SalesOrderService {
                 .shiftId(request.shiftId())
                 .userId(request.userId())
                 .orderDate(LocalDateTime.now())
-                .statusId(status.getId())
+                .statusId(status.id())
                 .totalAmount(BigDecimal.ZERO)
                 .enabled(true)
                 .build();
@@ -156,11 +171,12 @@ public class SalesOrderService {
         if (request.items() != null && !request.items().isEmpty()) {
             applyStockChanges(request.items(), Map.of(), Set.of(), Map.of());
 
-            var defaultItemStatus = statusRepository
-                    .findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending")
+            var defaultItemStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending")
                     .orElseThrow(() -> new StatusNotFoundException(
                             "Default status 'Pending' not found for SALES_ORDER_ITEM type"));
 
+            var newItems = new ArrayList<SalesOrderItem>();
+            var total = BigDecimal.ZERO;
             for (var reqItem : request.items()) {
                 var discount = reqItem.discountApplied() != null ? reqItem.discountApplied() : BigDecimal.ZERO;
                 var newItem = SalesOrderItem.builder()
@@ -171,16 +187,17 @@ public class SalesOrderService {
                         .discountApplied(discount)
                         .finalPrice(reqItem.listPrice().subtract(discount))
                         .promotionId(reqItem.promotionId())
-                        .statusId(defaultItemStatus.getId())
+                        .statusId(defaultItemStatus.id())
                         .enabled(true)
                         .build();
-                itemRepository.save(newItem);
+                newItems.add(newItem);
+                total = total.add(newItem.getFinalPrice());
             }
+            itemRepository.saveAll(newItems);
 
-            recalculateTotalAmount(saved.getId());
-            var orderIdForReload = saved.getId();
-            saved = salesOrderRepository.findById(orderIdForReload)
-                    .orElseThrow(() -> new SalesOrderNotFoundException(orderIdForReload));
+            // The new items are the only enabled items, so their sum is the order total
+            saved.setTotalAmount(total);
+            saved = salesOrderRepository.save(saved);
         }
 
         return toResponse(saved);
@@ -190,7 +207,7 @@ public class SalesOrderService {
     public SalesOrderResponse updateSalesOrder(UUID id, SalesOrderRequest request) {
         logger.info("Updating sales order: id={}", id);
 
-        var so = salesOrderRepository.findById(id)
+        var so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new SalesOrderNotFoundException(id));
 
         validateCustomerExists(request.customerId());
@@ -211,9 +228,11 @@ public class SalesOrderService {
             var existingItems = itemRepository.findBySalesOrderId(id);
 
             // Build maps for stock change computation BEFORE any item mutations
+            var existingById = new HashMap<UUID, SalesOrderItem>();
             var oldQuantities = new HashMap<UUID, BigDecimal>();
             var itemIdToVariantId = new HashMap<UUID, UUID>();
             for (var existing : existingItems) {
+                existingById.put(existing.getId(), existing);
                 oldQuantities.put(existing.getId(), existing.getQuantity());
                 itemIdToVariantId.put(existing.getId(), existing.getProductVariantId());
             }
@@ -223,6 +242,13 @@ public class SalesOrderService {
                     .filter(Objects::nonNull)
                     .collect(Collectors.toSet());
 
+            // Every referenced item must belong to this order
+            for (var requestId : requestIds) {
+                if (!existingById.containsKey(requestId)) {
+                    throw new SalesOrderItemNotFoundException(requestId);
+                }
+            }
+
             // Collect items being deleted (in DB but not in request)
             var deletedItemIds = new HashSet<UUID>();
             for (var existing : existingItems) {
@@ -234,37 +260,38 @@ public class SalesOrderService {
             // Apply stock changes BEFORE saving any item mutations
             applyStockChanges(request.items(), oldQuantities, deletedItemIds, itemIdToVariantId);
 
+            // Diff in memory, then write soft-deletes, updates and inserts in one saveAll (JDBC batches)
+            var changedItems = new ArrayList<SalesOrderItem>();
+
             // DELETE: items in DB but not in request → soft-delete
-            for (var existing : existingItems) {
-                if (!requestIds.contains(existing.getId())) {
-                    existing.setEnabled(false);
-                    itemRepository.save(existing);
-                }
+            for (var deletedId : deletedItemIds) {
+                var existing = existingById.get(deletedId);
+                existing.setEnabled(false);
+                changedItems.add(existing);
             }
 
             // UPDATE (existing) or INSERT (new)
-            var defaultItemStatus = statusRepository
-                    .findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending")
+            var defaultItemStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending")
                     .orElseThrow(() -> new StatusNotFoundException(
                             "Default status 'Pending' not found for SALES_ORDER_ITEM type"));
 
+            var total = BigDecimal.ZERO;
             for (var reqItem : request.items()) {
+                var discount = reqItem.discountApplied() != null ? reqItem.discountApplied() : BigDecimal.ZERO;
                 if (reqItem.id() != null) {
-                    // UPDATE: find by id, update fields, re-enable
-                    var item = itemRepository.findById(reqItem.id())
-                            .orElseThrow(() -> new SalesOrderItemNotFoundException(reqItem.id()));
+                    // UPDATE: update fields, re-enable
+                    var item = existingById.get(reqItem.id());
                     item.setProductVariantId(reqItem.productVariantId());
                     item.setQuantity(reqItem.quantity());
                     item.setListPrice(reqItem.listPrice());
-                    var discount = reqItem.discountApplied() != null ? reqItem.discountApplied() : BigDecimal.ZERO;
                     item.setDiscountApplied(discount);
                     item.setFinalPrice(reqItem.listPrice().subtract(discount));
                     item.setPromotionId(reqItem.promotionId());
                     item.setEnabled(true);
-                    itemRepository.save(item);
+                    changedItems.add(item);
+                    total = total.add(item.getFinalPrice());
                 } else {
                     // INSERT: new item with default "Pending" status
-                    var discount = reqItem.discountApplied() != null ? reqItem.discountApplied() : BigDecimal.ZERO;
                     var newItem = SalesOrderItem.builder()
                             .salesOrderId(id)
                             .productVariantId(reqItem.productVariantId())
@@ -273,19 +300,19 @@ public class SalesOrderService {
                             .discountApplied(discount)
                             .finalPrice(reqItem.listPrice().subtract(discount))
                             .promotionId(reqItem.promotionId())
-                            .statusId(defaultItemStatus.getId())
+                            .statusId(defaultItemStatus.id())
                             .enabled(true)
                             .build();
-                    itemRepository.save(newItem);
+                    changedItems.add(newItem);
+                    total = total.add(newItem.getFinalPrice());
                 }
             }
 
-            // Recalculate order total after item mutations
-            recalculateTotalAmount(id);
+            itemRepository.saveAll(changedItems);
 
-            // Reload to include updated items in response
-            updated = salesOrderRepository.findById(id)
-                    .orElseThrow(() -> new SalesOrderNotFoundException(id));
+            // After the diff the request items are exactly the enabled items
+            updated.setTotalAmount(total);
+            updated = salesOrderRepository.save(updated);
         }
 
         return toResponse(updated);
@@ -295,7 +322,7 @@ public class SalesOrderService {
     public SalesOrderResponse chargeSalesOrder(UUID id, ChargeSalesOrderRequest request) {
         logger.info("Charging sales order: id={}", id);
 
-        var so = salesOrderRepository.findById(id)
+        var so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new SalesOrderNotFoundException(id));
 
         // Ensure order is Pending (auto-promotes Active → Pending)
@@ -307,29 +334,29 @@ public class SalesOrderService {
         }
 
         // Look up target statuses
-        var completedStatus = statusRepository
-                .findByTypeNameAndStatusName("SALES_ORDER", "Completed")
+        var completedStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER", "Completed")
                 .orElseThrow(() -> new StatusNotFoundException("Completed status not found for SALES_ORDER"));
 
-        var addedStatus = statusRepository
-                .findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Added")
+        var addedStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Added")
                 .orElseThrow(() -> new StatusNotFoundException("Added status not found for SALES_ORDER_ITEM"));
 
+        // Charge the exact item sum even if the running total drifted
+        reconcileTotalAmount(so);
+
         // Set payment method on the order
         so.setPaymentMethodId(request.paymentMethodId());
 
         // Transition header to Completed
-        so.setStatusId(completedStatus.getId());
+        so.setStatusId(completedStatus.id());
         salesOrderRepository.save(so);
 
         // Transition non-Cancelled items to Added
         var items = itemRepository.findBySalesOrderId(id);
         for (var item : items) {
             if (item.getEnabled()) {
-                var itemStatus = statusRepository.findById(item.getStatusId())
-                        .orElseThrow(() -> new StatusNotFoundException(item.getStatusId()));
-                if (!"Cancelled".equals(itemStatus.getStatusName())) {
-                    item.setStatusId(addedStatus.getId());
+                var itemStatus = statusCatalog.getById(item.getStatusId());
+                if (!"Cancelled".equals(itemStatus.statusName())) {
+                    item.setStatusId(addedStatus.id());
                     itemRepository.save(item);
                 }
             }
@@ -350,15 +377,13 @@ public class SalesOrderService {
      * Any other status throws InvalidSalesOrderChargeException.
      */
     private void ensureOrderIsPending(SalesOrder so) {
-        var currentStatus = statusRepository.findById(so.getStatusId())
-                .orElseThrow(() -> new StatusNotFoundException(so.getStatusId()));
-        var name = currentStatus.getStatusName();
+        var currentStatus = statusCatalog.getById(so.getStatusId());
+        var name = currentStatus.statusName();
         if ("Pending".equals(name)) return;
         if ("Active".equals(name)) {
-            var pendingStatus = statusRepository
-                    .findByTypeNameAndStatusName("SALES_ORDER", "Pending")
+            var pendingStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER", "Pending")
                     .orElseThrow(() -> new StatusNotFoundException("Status 'Pending' not found for SALES_ORDER type"));
-            var pendingStatusId = pendingStatus.getId();
+            var pendingStatusId = pendingStatus.id();
             validateSOTransition(currentStatus, pendingStatus);
             so.setStatusId(pendingStatusId);
             salesOrderRepository.save(so);
@@ -372,41 +397,20 @@ public class SalesOrderService {
     public SalesOrderResponse updateSalesOrderStatus(UUID id, UpdateSalesOrderStatusRequest request) {
         logger.info("Updating sales order status: id={}", id);
 
-        var so = salesOrderRepository.findById(id)
+        var so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new SalesOrderNotFoundException(id));
 
-        var currentStatus = statusRepository.findById(so.getStatusId())
-                .orElseThrow(() -> new StatusNotFoundException(so.getStatusId()));
+        var currentStatus = statusCatalog.getById(so.getStatusId());
 
         var newStatus = validateStatusExistsAndType(request.statusId(), "SALES_ORDER");
         validateSOTransition(currentStatus, newStatus);
 
         // Restore stock when transitioning to Cancelled
-        if ("Cancelled".equals(newStatus.getStatusName())) {
-            var allItems = itemRepository.findBySalesOrderId(id);
-
-            // Group items by variantId and sort to prevent deadlocks
-            var itemsByVariant = new HashMap<UUID, List<SalesOrderItem>>();
-            for (var item : allItems) {
-                itemsByVariant.computeIfAbsent(item.getProductVariantId(), k -> new java.util.ArrayList<>())
-                        .add(item);
-            }
-
-            var sortedVariantIds = itemsByVariant.keySet().stream().sorted().toList();
-            for (var variantId : sortedVariantIds) {
-                var variant = productVariantRepository.findByIdForUpdate(variantId)
-                        .orElseThrow(() -> new ProductVariantNotFoundException(variantId));
-
-                var totalQty = itemsByVariant.get(variantId).stream()
-                        .map(SalesOrderItem::getQuantity)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                variant.setStock(variant.getStock().add(totalQty));
-                productVariantRepository.save(variant);
-            }
+        if ("Cancelled".equals(newStatus.statusName())) {
+            restoreStock(itemRepository.findBySalesOrderId(id));
         }
 
-        so.setStatusId(newStatus.getId());
+        so.setStatusId(newStatus.id());
         var updated = salesOrderRepository.save(so);
 
         return toResponse(updated);
@@ -416,32 +420,12 @@ public class SalesOrderService {
     public void deleteSalesOrder(UUID id) {
         logger.info("Soft-deleting sales order: id={}", id);
 
-        var so = salesOrderRepository.findById(id)
+        var so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new SalesOrderNotFoundException(id));
 
         // Restore stock for all items BEFORE soft-deleting
         var items = itemRepository.findBySalesOrderId(id);
-        if (!items.isEmpty()) {
-            // Group items by variantId and sort to prevent deadlocks
-            var itemsByVariant = new HashMap<UUID, List<SalesOrderItem>>();
-            for (var item : items) {
-                itemsByVariant.computeIfAbsent(item.getProductVariantId(), k -> new java.util.ArrayList<>())
-                        .add(item);
-            }
-
-            var sortedVariantIds = itemsByVariant.keySet().stream().sorted().toList();
-            for (var variantId : sortedVariantIds) {
-                var variant = productVariantRepository.findByIdForUpdate(variantId)
-                        .orElseThrow(() -> new ProductVariantNotFoundException(variantId));
-
-                var totalQty = itemsByVariant.get(variantId).stream()
-                        .map(SalesOrderItem::getQuantity)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                variant.setStock(variant.getStock().add(totalQty));
-                productVariantRepository.save(variant);
-            }
-        }
+        restoreStock(items);
 
         so.setEnabled(false);
         salesOrderRepository.save(so);
@@ -459,7 +443,7 @@ public class SalesOrderService {
     public SalesOrderResponse enableSalesOrder(UUID id) {
         logger.info("Re-enabling sales order: id={}", id);
 
-        var so = salesOrderRepository.findById(id)
+        var so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new SalesOrderNotFoundException(id));
 
         so.setEnabled(true);
@@ -491,8 +475,7 @@ public class SalesOrderService {
         var existingItems = itemRepository.findBySalesOrderIdAndEnabledTrue(salesOrderId);
         var isFirstItem = existingItems.isEmpty();
 
-        var defaultItemStatus = statusRepository
-                .findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending")
+        var defaultItemStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending")
                 .orElseThrow(() -> new StatusNotFoundException(
                         "Default status 'Pending' not found for SALES_ORDER_ITEM type"));
 
@@ -507,7 +490,7 @@ public class SalesOrderService {
                 .discountApplied(discountApplied)
                 .finalPrice(finalPrice)
                 .promotionId(request.promotionId())
-                .statusId(defaultItemStatus.getId())
+                .statusId(defaultItemStatus.id())
                 .enabled(true)
                 .build();
 
@@ -515,22 +498,23 @@ public class SalesOrderService {
         logger.info("Item added: id={}, soId={}", saved.getId(), salesOrderId);
 
         // Deduct stock for the new item
-        applyStockChanges(List.of(request), Map.of(), Set.of(), Map.of());
+        if (conditionalStockUpdates) {
+            adjustStockConditionally(request.productVariantId(), request.quantity());
+        } else {
+            applyStockChanges(List.of(request), Map.of(), Set.of(), Map.of());
+        }
 
-        // Recalculate order total
-        recalculateTotalAmount(salesOrderId);
+        adjustTotalAmount(so, finalPrice);
 
         // Auto-transition from Draft → Active when the first item is added
         if (isFirstItem) {
-            var activeStatus = statusRepository
-                    .findByTypeNameAndStatusName("SALES_ORDER", "Active")
+            var activeStatus = statusCatalog.findByTypeNameAndStatusName("SALES_ORDER", "Active")
                     .orElseThrow(() -> new StatusNotFoundException(
                             "Status 'Active' not found for SALES_ORDER type"));
-            var currentStatus = statusRepository.findById(so.getStatusId())
-                    .orElseThrow(() -> new StatusNotFoundException(so.getStatusId()));
+            var currentStatus = statusCatalog.getById(so.getStatusId());
             validateSOTransition(currentStatus, activeStatus);
 
-            so.setStatusId(activeStatus.getId());
+            so.setStatusId(activeStatus.id());
             salesOrderRepository.save(so);
             logger.info("Order {} auto-transitioned from Draft to Active", salesOrderId);
         }
@@ -543,7 +527,7 @@ public class SalesOrderService {
                                                         SalesOrderItemRequest request) {
         logger.info("Updating item: soId={}, itemId={}", salesOrderId, itemId);
 
-        loadAndValidateModifiableSO(salesOrderId);
+        var so = loadAndValidateModifiableSO(salesOrderId);
 
         var item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new SalesOrderItemNotFoundException(itemId));
@@ -559,7 +543,9 @@ public class SalesOrderService {
         var newQty = request.quantity();
         var diff = newQty.subtract(oldQty);
 
-        if (diff.compareTo(BigDecimal.ZERO) != 0) {
+        if (diff.compareTo(BigDecimal.ZERO) != 0 && conditionalStockUpdates) {
+            adjustStockConditionally(request.productVariantId(), diff);
+        } else if (diff.compareTo(BigDecimal.ZERO) != 0) {
             var variant = productVariantRepository.findByIdForUpdate(request.productVariantId())
                     .orElseThrow(() -> new ProductVariantNotFoundException(request.productVariantId()));
 
@@ -578,6 +564,7 @@ public class SalesOrderService {
 
         var discountApplied = request.discountApplied() != null ? request.discountApplied() : BigDecimal.ZERO;
         var finalPrice = request.listPrice().subtract(discountApplied);
+        var oldFinalPrice = item.getFinalPrice();
 
         item.setProductVariantId(request.productVariantId());
         item.setQuantity(request.quantity());
@@ -588,8 +575,9 @@ public class SalesOrderService {
 
         var updated = itemRepository.save(item);
 
-        // Recalculate order total
-        recalculateTotalAmount(salesOrderId);
+        if (Boolean.TRUE.equals(item.getEnabled())) {
+            adjustTotalAmount(so, finalPrice.subtract(oldFinalPrice));
+        }
 
         return toItemResponse(updated);
     }
@@ -598,7 +586,7 @@ public class SalesOrderService {
     public void deleteSalesOrderItem(UUID salesOrderId, UUID itemId) {
         logger.info("Soft-deleting item: soId={}, itemId={}", salesOrderId, itemId);
 
-        loadAndValidateModifiableSO(salesOrderId);
+        var so = loadAndValidateModifiableSO(salesOrderId);
 
         var item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new SalesOrderItemNotFoundException(itemId));
@@ -608,16 +596,22 @@ public class SalesOrderService {
         }
 
         // Restore stock BEFORE soft-deleting the item
-        var variant = productVariantRepository.findByIdForUpdate(item.getProductVariantId())
-                .orElseThrow(() -> new ProductVariantNotFoundException(item.getProductVariantId()));
-        variant.setStock(variant.getStock().add(item.getQuantity()));
-        productVariantRepository.save(variant);
+        if (conditionalStockUpdates) {
+            adjustStockConditionally(item.getProductVariantId(), item.getQuantity().negate());
+        } else {
+            var variant = productVariantRepository.findByIdForUpdate(item.getProductVariantId())
+                    .orElseThrow(() -> new ProductVariantNotFoundException(item.getProductVariantId()));
+            variant.setStock(variant.getStock().add(item.getQuantity()));
+            productVariantRepository.save(variant);
+        }
 
+        var wasEnabled = Boolean.TRUE.equals(item.getEnabled());
         item.setEnabled(false);
         itemRepository.save(item);
 
-        // Recalculate order total
-        recalculateTotalAmount(salesOrderId);
+        if (wasEnabled) {
+            adjustTotalAmount(so, item.getFinalPrice().negate());
+        }
 
         logger.info("Item soft-deleted: id={}", itemId);
     }
@@ -637,13 +631,12 @@ public class SalesOrderService {
             throw new SalesOrderItemNotFoundException(itemId);
         }
 
-        var currentStatus = statusRepository.findById(item.getStatusId())
-                .orElseThrow(() -> new StatusNotFoundException(item.getStatusId()));
+        var currentStatus = statusCatalog.getById(item.getStatusId());
 
         var newStatus = validateStatusExistsAndType(request.statusId(), "SALES_ORDER_ITEM");
         validateSOItemTransition(currentStatus, newStatus);
 
-        item.setStatusId(newStatus.getId());
+        item.setStatusId(newStatus.id());
         var updated = itemRepository.save(item);
 
         return toItemResponse(updated);
@@ -652,13 +645,12 @@ public class SalesOrderService {
     // ─── FK Validation Helpers ──────────────────────────────────────────
 
     private SalesOrder loadAndValidateModifiableSO(UUID id) {
-        var so = salesOrderRepository.findById(id)
+        var so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new SalesOrderNotFoundException(id));
 
-        var status = statusRepository.findById(so.getStatusId())
-                .orElseThrow(() -> new StatusNotFoundException(so.getStatusId()));
+        var status = statusCatalog.getById(so.getStatusId());
 
-        var name = status.getStatusName();
+        var name = status.statusName();
         if (!"Draft".equals(name) && !"Active".equals(name)) {
             throw new SalesOrderAlreadyFinalizedException(id, name);
         }
@@ -689,12 +681,10 @@ public class SalesOrderService {
         }
     }
 
-    private Status validateStatusExistsAndType(UUID id, String expectedTypeName) {
-        var status = statusRepository.findById(id)
-                .orElseThrow(() -> new StatusNotFoundException(id));
+    private StatusCatalog.Entry validateStatusExistsAndType(UUID id, String expectedTypeName) {
+        var status = statusCatalog.getById(id);
 
-        var statusType = status.getStatusType();
-        if (!expectedTypeName.equalsIgnoreCase(statusType.getStatusTypeName())) {
+        if (!expectedTypeName.equalsIgnoreCase(status.statusTypeName())) {
             throw new IllegalArgumentException(
                     "El status proporcionado no corresponde al tipo " + expectedTypeName);
         }
@@ -704,9 +694,9 @@ public class SalesOrderService {
 
     // ─── Status Transition Validation ───────────────────────────────────
 
-    private void validateSOTransition(Status current, Status target) {
-        var currentName = current.getStatusName();
-        var targetName = target.getStatusName();
+    private void validateSOTransition(StatusCatalog.Entry current, StatusCatalog.Entry target) {
+        var currentName = current.statusName();
+        var targetName = target.statusName();
 
         var allowed = SO_TRANSITIONS.get(currentName);
         if (allowed == null || !allowed.contains(targetName)) {
@@ -714,9 +704,9 @@ public class SalesOrderService {
         }
     }
 
-    private void validateSOItemTransition(Status current, Status target) {
-        var currentName = current.getStatusName();
-        var targetName = target.getStatusName();
+    private void validateSOItemTransition(StatusCatalog.Entry current, StatusCatalog.Entry target) {
+        var currentName = current.statusName();
+        var targetName = target.statusName();
 
         var allowed = SO_ITEM_TRANSITIONS.get(currentName);
         if (allowed == null || !allowed.contains(targetName)) {
@@ -731,28 +721,38 @@ public class SalesOrderService {
         var dateStr = today.format(DATE_FORMAT);
         var prefix = "SO-" + dateStr + "-";
 
+        var nextSeq = orderNumberAllocator.next(prefix, () -> highestIssuedSequence(prefix));
+
+        return prefix + String.format("%05d", nextSeq);
+    }
+
+    /**
+     * Highest sequence already used for the prefix. Only consulted when the allocator first
+     * sees the prefix, so numbers issued before the counter existed are not reused.
+     */
+    private long highestIssuedSequence(String prefix) {
         var maxOrder = salesOrderRepository
                 .findTopByOrderNumberStartingWithOrderByOrderNumberDesc(prefix);
 
-        var nextSeq = 1;
         if (maxOrder.isPresent()) {
             var lastOrderNumber = maxOrder.get().getOrderNumber();
             var seqPart = lastOrderNumber.substring(prefix.length());
             try {
-                nextSeq = Integer.parseInt(seqPart) + 1;
+                return Long.parseLong(seqPart);
             } catch (NumberFormatException e) {
                 logger.warn("Failed to parse sequence from order number: {}", lastOrderNumber);
             }
         }
-
-        return prefix + String.format("%05d", nextSeq);
+        return 0;
     }
 
     // ─── Stock Deduction ───────────────────────────────────────────────
 
     /**
      * Applies stock mutations for a set of items atomically within the caller's transaction.
-     * Acquires pessimistic write locks on all affected variants, sorted by ID to prevent deadlocks.
+     * Locks all affected variants with a single {@code SELECT ... FOR UPDATE} (rows ordered by ID
+     * to prevent deadlocks), validates every delta in memory and writes the changed variants
+     * back as one JDBC batch.
      *
      * @param newItems            items from the request (with variantId + quantity)
      * @param oldQuantities       map of existing item ID → quantity (empty for create/add)
@@ -781,18 +781,10 @@ public class SalesOrderService {
             return;
         }
 
-        // 2. Sort to prevent deadlocks
-        var sortedIds = variantIds.stream().sorted().toList();
-
-        // 3. Acquire pessimistic write locks in sorted order
-        var lockedVariants = new HashMap<UUID, ProductVariant>();
-        for (var vid : sortedIds) {
-            var variant = productVariantRepository.findByIdForUpdate(vid)
-                    .orElseThrow(() -> new ProductVariantNotFoundException(vid));
-            lockedVariants.put(vid, variant);
-        }
+        // 2. Acquire pessimistic write locks on all variants in one statement
+        var lockedVariants = lockVariants(variantIds);
 
-        // 4. Compute net stock delta per variant
+        // 3. Compute net stock delta per variant
         var stockDelta = new HashMap<UUID, BigDecimal>();
         for (var item : newItems) {
             var vid = item.productVariantId();
@@ -802,7 +794,7 @@ public class SalesOrderService {
             stockDelta.merge(vid, delta, BigDecimal::add);
         }
 
-        // 5. Add restoration for deleted items
+        // 4. Add restoration for deleted items
         for (var deletedId : deletedItemIds) {
             var vid = itemIdToVariantId.get(deletedId);
             if (vid != null) {
@@ -812,54 +804,140 @@ public class SalesOrderService {
             }
         }
 
-        // 6. Validate and apply
+        // 5. Validate every deduction before touching any row
         for (var entry : stockDelta.entrySet()) {
             var vid = entry.getKey();
             var delta = entry.getValue();
-            var variant = lockedVariants.get(vid);
+            var stock = lockedVariants.get(vid).getStock();
+            if (delta.compareTo(BigDecimal.ZERO) > 0 && stock.compareTo(delta) < 0) {
+                throw new InsufficientStockException(vid, delta, stock);
+            }
+        }
 
-            if (delta.compareTo(BigDecimal.ZERO) > 0) {
-                // Deduction needed — validate sufficient stock
-                if (variant.getStock().compareTo(delta) < 0) {
-                    throw new InsufficientStockException(vid, delta, variant.getStock());
-                }
-                variant.setStock(variant.getStock().subtract(delta));
-                productVariantRepository.save(variant);
-            } else if (delta.compareTo(BigDecimal.ZERO) < 0) {
-                // Restoration (delta is negative)
-                variant.setStock(variant.getStock().add(delta.negate()));
-                productVariantRepository.save(variant);
+        // 6. Apply (positive = deduct, negative = restore) and write back in one batch
+        var changed = new ArrayList<ProductVariant>();
+        for (var entry : stockDelta.entrySet()) {
+            var delta = entry.getValue();
+            if (delta.compareTo(BigDecimal.ZERO) == 0) {
+                continue;
+            }
+            var variant = lockedVariants.get(entry.getKey());
+            variant.setStock(variant.getStock().subtract(delta));
+            changed.add(variant);
+        }
+        if (!changed.isEmpty()) {
+            productVariantRepository.saveAll(changed);
+        }
+    }
+
+    /**
+     * Adjusts one variant's stock with a single conditional UPDATE instead of lock-then-save,
+     * used when {@code app.stock.conditional-updates} is enabled.
+     *
+     * @param delta positive = deduct (fails if stock is short), negative = restore
+     */
+    private void adjustStockConditionally(UUID variantId, BigDecimal delta) {
+        if (delta.compareTo(BigDecimal.ZERO) > 0) {
+            if (productVariantRepository.decrementStockIfAvailable(variantId, delta) == 0) {
+                // Zero rows: tell a missing variant apart from insufficient stock
+                var variant = productVariantRepository.findById(variantId)
+                        .filter(v -> Boolean.TRUE.equals(v.getEnabled()))
+                        .orElseThrow(() -> new ProductVariantNotFoundException(variantId));
+                throw new InsufficientStockException(variantId, delta, variant.getStock());
+            }
+        } else if (delta.compareTo(BigDecimal.ZERO) < 0) {
+            if (productVariantRepository.incrementStock(variantId, delta.negate()) == 0) {
+                throw new ProductVariantNotFoundException(variantId);
             }
-            // delta == 0: no change, skip save
         }
     }
 
-    // ─── Total Amount Recalculation ────────────────────────────────────
+    /**
+     * Returns the full quantity of each item to its variant's stock, locking every affected
+     * variant in a single statement.
+     */
+    private void restoreStock(List<SalesOrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
 
-    private void recalculateTotalAmount(UUID salesOrderId) {
-        var items = itemRepository.findBySalesOrderIdAndEnabledTrue(salesOrderId);
-        var total = items.stream()
-                .map(SalesOrderItem::getFinalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        var restoreQty = new HashMap<UUID, BigDecimal>();
+        for (var item : items) {
+            restoreQty.merge(item.getProductVariantId(), item.getQuantity(), BigDecimal::add);
+        }
 
-        var so = salesOrderRepository.findById(salesOrderId)
-                .orElseThrow(() -> new SalesOrderNotFoundException(salesOrderId));
-        so.setTotalAmount(total);
+        var lockedVariants = lockVariants(restoreQty.keySet());
+        var changed = new ArrayList<ProductVariant>();
+        for (var entry : restoreQty.entrySet()) {
+            var variant = lockedVariants.get(entry.getKey());
+            variant.setStock(variant.getStock().add(entry.getValue()));
+            changed.add(variant);
+        }
+        productVariantRepository.saveAll(changed);
+    }
+
+    /**
+     * Acquires pessimistic write locks on the given variants with one {@code SELECT ... FOR UPDATE}.
+     *
+     * @throws ProductVariantNotFoundException if any variant is missing or disabled
+     */
+    private Map<UUID, ProductVariant> lockVariants(Set<UUID> variantIds) {
+        var lockedVariants = new HashMap<UUID, ProductVariant>();
+        for (var variant : productVariantRepository.findAllByIdForUpdate(variantIds)) {
+            lockedVariants.put(variant.getId(), variant);
+        }
+        if (lockedVariants.size() < variantIds.size()) {
+            var missingId = variantIds.stream()
+                    .filter(vid -> !lockedVariants.containsKey(vid))
+                    .sorted()
+                    .findFirst()
+                    .orElseThrow();
+            throw new ProductVariantNotFoundException(missingId);
+        }
+        return lockedVariants;
+    }
+
+    // ─── Total Amount Maintenance ──────────────────────────────────────
+
+    /**
+     * Applies an item change to the order total as a running delta instead of re-summing
+     * every item. The caller holds the order row lock ({@link #loadAndValidateModifiableSO}),
+     * so concurrent item changes never read the same total. {@link #reconcileTotalAmount}
+     * checks it against the item sum at charge time.
+     */
+    private void adjustTotalAmount(SalesOrder so, BigDecimal delta) {
+        if (delta.compareTo(BigDecimal.ZERO) == 0) {
+            return;
+        }
+        var current = so.getTotalAmount() != null ? so.getTotalAmount() : BigDecimal.ZERO;
+        so.setTotalAmount(current.add(delta));
         salesOrderRepository.save(so);
     }
 
+    /**
+     * Recomputes the total from the enabled items with one aggregate query and corrects
+     * the stored value if concurrent item changes left it out of step.
+     */
+    private void reconcileTotalAmount(SalesOrder so) {
+        var total = itemRepository.sumFinalPriceBySalesOrderId(so.getId());
+        if (so.getTotalAmount() == null || so.getTotalAmount().compareTo(total) != 0) {
+            logger.warn("Sales order {} total out of step: stored={}, items={}; correcting",
+                    so.getId(), so.getTotalAmount(), total);
+            so.setTotalAmount(total);
+        }
+    }
+
     // ─── Response Mappers ───────────────────────────────────────────────
 
     private SalesOrderResponse toResponse(SalesOrder so) {
-        var items = itemRepository.findBySalesOrderIdAndEnabledTrue(so.getId())
-                .stream()
+        return toResponse(so, itemRepository.findBySalesOrderIdAndEnabledTrue(so.getId()));
+    }
+
+    private SalesOrderResponse toResponse(SalesOrder so, List<SalesOrderItem> items) {
+        var itemResponses = items.stream()
                 .map(this::toItemResponse)
                 .toList();
 
-        var statusName = statusRepository.findById(so.getStatusId())
-                .map(Status::getStatusName)
-                .orElse(null);
-
         return new SalesOrderResponse(
                 so.getId(),
                 so.getOrderNumber(),
@@ -869,21 +947,17 @@ public class SalesOrderService {
                 so.getUserId(),
                 so.getOrderDate(),
                 so.getStatusId(),
-                statusName,
+                statusCatalog.getStatusName(so.getStatusId()),
                 so.getTotalAmount(),
                 so.getPaymentMethodId(),
                 so.getEnabled(),
                 so.getCreatedAt(),
                 so.getUpdatedAt(),
-                items
+                itemResponses
         );
     }
 
     private SalesOrderItemResponse toItemResponse(SalesOrderItem item) {
-        var statusName = statusRepository.findById(item.getStatusId())
-                .map(Status::getStatusName)
-                .orElse(null);
-
         return new SalesOrderItemResponse(
                 item.getId(),
                 item.getSalesOrderId(),
@@ -894,7 +968,7 @@ public class SalesOrderService {
                 item.getFinalPrice(),
                 item.getPromotionId(),
                 item.getStatusId(),
-                statusName,
+                statusCatalog.getStatusName(item.getStatusId()),
                 item.getCreatedAt(),
                 item.getUpdatedAt()
         );
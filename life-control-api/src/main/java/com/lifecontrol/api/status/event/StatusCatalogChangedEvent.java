@@ -0,0 +1,14 @@
+package com.lifecontrol.api.status.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published whenever a status or status type is created, updated, disabled or re-enabled.
+ * Signals the in-process {@code StatusCatalog} to reload its snapshot once the change commits.
+ */
+public class StatusCatalogChangedEvent extends ApplicationEvent {
+
+    public StatusCatalogChangedEvent(Object source) {
+        super(source);
+    }
+}
@@ -26,4 +26,7 @@ public interface StatusRepository extends JpaRepository<Status, UUID> {
           AND LOWER(s.statusName) = LOWER(:statusName)
         """)
     Optional<Status> findByTypeNameAndStatusName(@Param("typeName") String typeName, @Param("statusName") String statusName);
+
+    @Query("SELECT s FROM Status s JOIN FETCH s.statusType")
+    List<Status> findAllWithStatusType();
 }
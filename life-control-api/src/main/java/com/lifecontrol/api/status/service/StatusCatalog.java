@@ -0,0 +1,163 @@
+package com.lifecontrol.api.status.service;
+
+import com.lifecontrol.api.status.event.StatusCatalogChangedEvent;
+import com.lifecontrol.api.status.exception.StatusNotFoundException;
+import com.lifecontrol.api.status.model.Status;
+import com.lifecontrol.api.status.repository.StatusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable, in-process registry of all statuses keyed by ID and by (type name, status name).
+ * <p>
+ * Statuses are a small, almost static catalog that order state machines consult several times
+ * per request. The catalog is loaded with a single query on first use, reloaded once the
+ * application is ready (after the status initializers have seeded and migrated rows) and
+ * whenever {@link StatusService} or {@link StatusTypeService} commit a change.
+ * <p>
+ * A lookup miss triggers one reload before giving up, so statuses created by another
+ * node are picked up without a restart. Misses only reload a snapshot older than
+ * {@code app.status-catalog.miss-reload-interval}, so a stream of unknown IDs in requests
+ * costs at most one reload per interval. Snapshots older than {@code app.status-catalog.ttl}
+ * are reloaded on next use to bound staleness for renames and deletions made elsewhere;
+ * threads that queued behind that reload reuse its result.
+ */
+@Component
+public class StatusCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusCatalog.class);
+
+    /**
+     * Read-only view of a status, detached from the persistence context.
+     */
+    public record Entry(UUID id, String statusName, UUID statusTypeId, String statusTypeName, boolean enabled) {}
+
+    private record Snapshot(Map<UUID, Entry> byId, Map<String, Entry> byTypeAndName, long loadedAtNanos) {}
+
+    private final StatusRepository statusRepository;
+    private final long ttlNanos;
+    private final long missReloadIntervalNanos;
+
+    private volatile Snapshot snapshot;
+
+    public StatusCatalog(StatusRepository statusRepository,
+                         @Value("${app.status-catalog.ttl:PT5M}") Duration ttl,
+                         @Value("${app.status-catalog.miss-reload-interval:PT1S}") Duration missReloadInterval) {
+        this.statusRepository = statusRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.missReloadIntervalNanos = missReloadInterval.toNanos();
+    }
+
+    public Optional<Entry> findById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        var entry = currentSnapshot().byId().get(id);
+        if (entry == null) {
+            entry = reload(missReloadIntervalNanos).byId().get(id);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public Optional<Entry> findByTypeNameAndStatusName(String typeName, String statusName) {
+        var key = key(typeName, statusName);
+        var entry = currentSnapshot().byTypeAndName().get(key);
+        if (entry == null) {
+            entry = reload(missReloadIntervalNanos).byTypeAndName().get(key);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public Entry getById(UUID id) {
+        return findById(id).orElseThrow(() -> new StatusNotFoundException(id));
+    }
+
+    public Entry getByTypeNameAndStatusName(String typeName, String statusName) {
+        return findByTypeNameAndStatusName(typeName, statusName)
+                .orElseThrow(() -> new StatusNotFoundException(
+                        "Status '" + statusName + "' not found for " + typeName + " type"));
+    }
+
+    /**
+     * Returns the status name for the given ID, or {@code null} when it is unknown.
+     */
+    public String getStatusName(UUID id) {
+        return findById(id).map(Entry::statusName).orElse(null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusCatalogChanged(StatusCatalogChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Reloads every status (with its type) in a single query and atomically swaps the snapshot.
+     */
+    public void refresh() {
+        reload(0);
+    }
+
+    /**
+     * Reloads the catalog unless the snapshot, possibly loaded by another thread while this one
+     * waited for the lock, is younger than {@code maxAgeNanos}.
+     */
+    private synchronized Snapshot reload(long maxAgeNanos) {
+        var current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAtNanos() < maxAgeNanos) {
+            return current;
+        }
+        var statuses = statusRepository.findAllWithStatusType();
+        var loaded = toSnapshot(statuses);
+        snapshot = loaded;
+        logger.debug("Status catalog loaded: {} statuses", loaded.byId().size());
+        return loaded;
+    }
+
+    private Snapshot currentSnapshot() {
+        var current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAtNanos() >= ttlNanos) {
+            return reload(ttlNanos);
+        }
+        return current;
+    }
+
+    private static Snapshot toSnapshot(List<Status> statuses) {
+        var byId = new HashMap<UUID, Entry>();
+        var byTypeAndName = new HashMap<String, Entry>();
+        for (var status : statuses) {
+            var type = status.getStatusType();
+            var entry = new Entry(
+                    status.getId(),
+                    status.getStatusName(),
+                    type.getId(),
+                    type.getStatusTypeName(),
+                    Boolean.TRUE.equals(status.getEnabled()));
+            byId.put(entry.id(), entry);
+            byTypeAndName.put(key(entry.statusTypeName(), entry.statusName()), entry);
+        }
+        return new Snapshot(Map.copyOf(byId), Map.copyOf(byTypeAndName), System.nanoTime());
+    }
+
+    private static String key(String typeName, String statusName) {
+        return typeName.toLowerCase(Locale.ROOT) + '\u0000' + statusName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,6 +2,7 @@ package com.lifecontrol.api.status.service;
 
 import com.lifecontrol.api.status.dto.StatusRequest;
 import com.lifecontrol.api.status.dto.StatusResponse;
+import com.lifecontrol.api.status.event.StatusCatalogChangedEvent;
 import com.lifecontrol.api.status.exception.DuplicateStatusException;
 import com.lifecontrol.api.status.exception.StatusNotFoundException;
 import com.lifecontrol.api.status.exception.StatusTypeNotFoundException;
@@ -12,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,11 +27,14 @@ public class StatusService {
 
     private final StatusRepository statusRepository;
     private final StatusTypeRepository statusTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public StatusService(StatusRepository statusRepository,
-                         StatusTypeRepository statusTypeRepository) {
+                         StatusTypeRepository statusTypeRepository,
+                         ApplicationEventPublisher eventPublisher) {
         this.statusRepository = statusRepository;
         this.statusTypeRepository = statusTypeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Cacheable(value = "statuses")
@@ -80,6 +85,7 @@ public class StatusService {
 
         var saved = statusRepository.save(status);
         logger.info("Status created successfully with id: {}", saved.getId());
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         return toResponse(saved);
     }
@@ -113,6 +119,7 @@ public class StatusService {
 
         var updated = statusRepository.save(status);
         logger.info("Status updated successfully with id: {}", updated.getId());
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         return toResponse(updated);
     }
@@ -127,6 +134,7 @@ public class StatusService {
 
         status.setEnabled(false);
         statusRepository.save(status);
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         logger.info("Status soft-deleted: id={}, name={}", id, status.getStatusName());
     }
@@ -141,6 +149,7 @@ public class StatusService {
 
         status.setEnabled(true);
         var saved = statusRepository.save(status);
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         return toResponse(saved);
     }
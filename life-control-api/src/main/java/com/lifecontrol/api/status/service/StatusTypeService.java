@@ -2,6 +2,7 @@ package com.lifecontrol.api.status.service;
 
 import com.lifecontrol.api.status.dto.StatusTypeRequest;
 import com.lifecontrol.api.status.dto.StatusTypeResponse;
+import com.lifecontrol.api.status.event.StatusCatalogChangedEvent;
 import com.lifecontrol.api.status.exception.DuplicateStatusTypeException;
 import com.lifecontrol.api.status.exception.StatusTypeNotFoundException;
 import com.lifecontrol.api.status.model.StatusType;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,9 +25,12 @@ public class StatusTypeService {
     private static final Logger logger = LoggerFactory.getLogger(StatusTypeService.class);
 
     private final StatusTypeRepository statusTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public StatusTypeService(StatusTypeRepository statusTypeRepository) {
+    public StatusTypeService(StatusTypeRepository statusTypeRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.statusTypeRepository = statusTypeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Cacheable(value = "statusTypes")
@@ -63,6 +68,7 @@ public class StatusTypeService {
 
         var saved = statusTypeRepository.save(statusType);
         logger.info("Status type created successfully with id: {}", saved.getId());
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         return toResponse(saved);
     }
@@ -85,6 +91,7 @@ public class StatusTypeService {
 
         var updated = statusTypeRepository.save(statusType);
         logger.info("Status type updated successfully with id: {}", updated.getId());
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         return toResponse(updated);
     }
@@ -99,6 +106,7 @@ public class StatusTypeService {
 
         statusType.setEnabled(false);
         statusTypeRepository.save(statusType);
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         logger.info("Status type soft-deleted: id={}, name={}", id, statusType.getStatusTypeName());
     }
@@ -113,6 +121,7 @@ public class StatusTypeService {
 
         statusType.setEnabled(true);
         var saved = statusTypeRepository.save(statusType);
+        eventPublisher.publishEvent(new StatusCatalogChangedEvent(this));
 
         return toResponse(saved);
     }
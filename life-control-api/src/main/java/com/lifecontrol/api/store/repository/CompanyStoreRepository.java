@@ -1,7 +1,9 @@
 package com.lifecontrol.api.store.repository;
 
+import com.lifecontrol.api.company.dto.HierarchyLink;
 import com.lifecontrol.api.store.model.CompanyStore;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,4 +25,10 @@ public interface CompanyStoreRepository extends JpaRepository<CompanyStore, UUID
     boolean existsByStoreNameAndCompanyZoneId(String storeName, UUID companyZoneId);
 
     List<CompanyStore> findByIdInAndCompanyZoneId(Set<UUID> storeIds, UUID companyZoneId);
+
+    /**
+     * Returns every company store ID with its company zone ID, for the in-memory company hierarchy index.
+     */
+    @Query("SELECT new com.lifecontrol.api.company.dto.HierarchyLink(s.id, s.companyZone.id) FROM CompanyStore s")
+    List<HierarchyLink> findAllHierarchyLinks();
 }
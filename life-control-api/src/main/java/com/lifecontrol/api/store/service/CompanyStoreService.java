@@ -13,6 +13,7 @@ import com.lifecontrol.api.company.repository.CompanyCountryRepository;
 import com.lifecontrol.api.company.repository.CompanyRegionRepository;
 import com.lifecontrol.api.company.repository.CompanyRepository;
 import com.lifecontrol.api.company.repository.CompanyZoneRepository;
+import com.lifecontrol.api.company.service.CompanyHierarchyIndex;
 import com.lifecontrol.api.country.exception.CountryNotFoundException;
 import com.lifecontrol.api.country.model.Country;
 import com.lifecontrol.api.country.repository.CountryRepository;
@@ -47,6 +48,7 @@ public class CompanyStoreService {
     private final CompanyRepository companyRepository;
     private final CountryRepository countryRepository;
     private final CurrentUserContext currentUserContext;
+    private final CompanyHierarchyIndex hierarchyIndex;
     private final ApplicationEventPublisher eventPublisher;
 
     public CompanyStoreService(CompanyStoreRepository companyStoreRepository,
@@ -56,6 +58,7 @@ public class CompanyStoreService {
                                CompanyRepository companyRepository,
                                CountryRepository countryRepository,
                                CurrentUserContext currentUserContext,
+                               CompanyHierarchyIndex hierarchyIndex,
                                ApplicationEventPublisher eventPublisher) {
         this.companyStoreRepository = companyStoreRepository;
         this.companyZoneRepository = companyZoneRepository;
@@ -64,12 +67,28 @@ public class CompanyStoreService {
         this.companyRepository = companyRepository;
         this.countryRepository = countryRepository;
         this.currentUserContext = currentUserContext;
+        this.hierarchyIndex = hierarchyIndex;
         this.eventPublisher = eventPublisher;
     }
 
     private CompanyZone resolveCompanyZone(UUID companyId, UUID companyCountryId, UUID regionId, UUID zoneId) {
         currentUserContext.verifyCompanyStoreAccess(companyId, companyCountryId, regionId, zoneId, null);
+        return findCompanyZone(companyId, companyCountryId, regionId, zoneId);
+    }
+
+    /**
+     * Read-path variant of {@link #resolveCompanyZone} that only needs the zone ID: a path
+     * known to the {@link CompanyHierarchyIndex} is validated without touching the database.
+     */
+    private UUID resolveCompanyZoneId(UUID companyId, UUID companyCountryId, UUID regionId, UUID zoneId) {
+        currentUserContext.verifyCompanyStoreAccess(companyId, companyCountryId, regionId, zoneId, null);
+        if (hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId)) {
+            return zoneId;
+        }
+        return findCompanyZone(companyId, companyCountryId, regionId, zoneId).getId();
+    }
 
+    private CompanyZone findCompanyZone(UUID companyId, UUID companyCountryId, UUID regionId, UUID zoneId) {
         companyRepository.findById(companyId)
                 .orElseThrow(() -> new CompanyNotFoundException(companyId));
 
@@ -85,20 +104,23 @@ public class CompanyStoreService {
 
     @Transactional(readOnly = true)
     public List<CompanyStoreResponse> getAllStores(UUID companyId, UUID companyCountryId, UUID regionId, UUID zoneId, boolean includeDisabled) {
-        var zone = resolveCompanyZone(companyId, companyCountryId, regionId, zoneId);
+        var companyZoneId = resolveCompanyZoneId(companyId, companyCountryId, regionId, zoneId);
 
         List<CompanyStore> stores;
         if (currentUserContext.hasCompanyStoreRole() || currentUserContext.hasCompanyStoreReadRole()) {
-            var storeIds = currentUserContext.getCompanyStoreIds();
-            stores = companyStoreRepository.findByIdInAndCompanyZoneId(storeIds, zone.getId());
+            var allowedStoreIds = currentUserContext.getCompanyStoreIds();
+            var storeIds = hierarchyIndex.allowedStores(allowedStoreIds, companyZoneId).orElse(allowedStoreIds);
+            stores = storeIds.isEmpty()
+                    ? List.of()
+                    : companyStoreRepository.findByIdInAndCompanyZoneId(storeIds, companyZoneId);
         } else if (currentUserContext.hasCompanyZoneRole()) {
             stores = includeDisabled
-                    ? companyStoreRepository.findByCompanyZoneId(zone.getId())
-                    : companyStoreRepository.findByCompanyZoneIdAndEnabledTrue(zone.getId());
+                    ? companyStoreRepository.findByCompanyZoneId(companyZoneId)
+                    : companyStoreRepository.findByCompanyZoneIdAndEnabledTrue(companyZoneId);
         } else {
             stores = includeDisabled
-                    ? companyStoreRepository.findByCompanyZoneId(zone.getId())
-                    : companyStoreRepository.findByCompanyZoneIdAndEnabledTrue(zone.getId());
+                    ? companyStoreRepository.findByCompanyZoneId(companyZoneId)
+                    : companyStoreRepository.findByCompanyZoneIdAndEnabledTrue(companyZoneId);
         }
 
         return stores.stream()
@@ -108,9 +130,9 @@ public class CompanyStoreService {
 
     @Transactional(readOnly = true)
     public CompanyStoreResponse getStoreById(UUID companyId, UUID companyCountryId, UUID regionId, UUID zoneId, UUID storeId) {
-        var zone = resolveCompanyZone(companyId, companyCountryId, regionId, zoneId);
+        var companyZoneId = resolveCompanyZoneId(companyId, companyCountryId, regionId, zoneId);
 
-        var store = companyStoreRepository.findByIdAndCompanyZoneId(storeId, zone.getId())
+        var store = companyStoreRepository.findByIdAndCompanyZoneId(storeId, companyZoneId)
                 .orElseThrow(() -> new CompanyStoreNotFoundException(storeId));
 
         return toResponse(store);
@@ -101,8 +101,9 @@ public interface IdentityProvider {
      * @param attributes the group attributes (e.g. company_id, company_country_id)
      * @param parentId   if present the group is created as a child of that parent;
      *                   otherwise it is created at the top level
+     * @return the ID of the created group, if the identity provider reports it
      */
-    void createGroup(String name, Map<String, List<String>> attributes, Optional<String> parentId);
+    Optional<String> createGroup(String name, Map<String, List<String>> attributes, Optional<String> parentId);
 
     /**
      * Finds a group ID by its exact name in the identity provider.
@@ -35,10 +35,13 @@ public class KeycloakIdentityProvider implements IdentityProvider {
 
     private final Keycloak keycloak;
     private final KeycloakAdminProperties properties;
+    private final KeycloakLookupCache lookupCache;
 
-    public KeycloakIdentityProvider(Keycloak keycloak, KeycloakAdminProperties properties) {
+    public KeycloakIdentityProvider(Keycloak keycloak, KeycloakAdminProperties properties,
+                                    KeycloakLookupCache lookupCache) {
         this.keycloak = keycloak;
         this.properties = properties;
+        this.lookupCache = lookupCache;
     }
 
     private String realm() {
@@ -122,6 +125,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
         try {
             var rep = toRepresentation(request);
             keycloak.realm(realm()).roles().create(rep);
+            lookupCache.evictRole(RoleScope.REALM, null, request.name());
             return getRealmRole(request.name());
         } catch (ClientErrorException e) {
             if (e.getResponse().getStatus() == 409) {
@@ -142,6 +146,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             var rep = keycloak.realm(realm()).roles().get(name).toRepresentation();
             return toRoleDto(rep, RoleScope.REALM, null);
         } catch (NotFoundException e) {
+            lookupCache.evictRole(RoleScope.REALM, null, name);
             throw new IdentityProviderNotFoundException("Realm role not found: " + name, e);
         } catch (ProcessingException e) {
             throw new IdentityProviderConnectionException(
@@ -156,6 +161,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             var rep = roleResource.toRepresentation();
             rep.setDescription(request.description());
             roleResource.update(rep);
+            lookupCache.evictRole(RoleScope.REALM, null, name);
             return toRoleDto(roleResource.toRepresentation(), RoleScope.REALM, null);
         } catch (NotFoundException e) {
             throw new IdentityProviderNotFoundException("Realm role not found: " + name, e);
@@ -169,6 +175,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     public void deleteRealmRole(String name) {
         try {
             keycloak.realm(realm()).roles().deleteRole(name);
+            lookupCache.evictRole(RoleScope.REALM, null, name);
         } catch (NotFoundException e) {
             throw new IdentityProviderNotFoundException("Realm role not found: " + name, e);
         } catch (ClientErrorException e) {
@@ -197,6 +204,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
                     .map(r -> toRoleDto(r, RoleScope.CLIENT, clientId))
                     .toList();
         } catch (NotFoundException e) {
+            lookupCache.evictClient(clientId);
             throw new IdentityProviderNotFoundException("Client not found: " + clientId, e);
         } catch (ProcessingException e) {
             throw new IdentityProviderConnectionException(
@@ -210,8 +218,10 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             var clientUuid = resolveClientUuid(clientId);
             var rep = toRepresentation(request);
             keycloak.realm(realm()).clients().get(clientUuid).roles().create(rep);
+            lookupCache.evictRole(RoleScope.CLIENT, clientId, request.name());
             return getClientRoleByName(clientUuid, request.name(), clientId);
         } catch (NotFoundException e) {
+            lookupCache.evictClient(clientId);
             throw new IdentityProviderNotFoundException("Client not found: " + clientId, e);
         } catch (ClientErrorException e) {
             if (e.getResponse().getStatus() == 409) {
@@ -233,7 +243,10 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             var roleResource = keycloak.realm(realm()).clients().get(clientUuid).roles().get(roleName);
             roleResource.toRepresentation(); // verify exists
             roleResource.remove();
+            lookupCache.evictRole(RoleScope.CLIENT, clientId, roleName);
         } catch (NotFoundException e) {
+            lookupCache.evictRole(RoleScope.CLIENT, clientId, roleName);
+            lookupCache.evictClient(clientId);
             throw new IdentityProviderNotFoundException(
                     "Client role not found: " + roleName + " for client " + clientId, e);
         } catch (ClientErrorException e) {
@@ -260,7 +273,9 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             parentResource.toRepresentation(); // verify exists
             var childRep = findChildRoleRepresentation(childRole, scope, clientId);
             parentResource.addComposites(List.of(childRep));
+            lookupCache.evictRole(RoleScope.REALM, null, parentRole);
         } catch (NotFoundException e) {
+            evictRoleLookups(childRole, scope, clientId);
             throw new IdentityProviderNotFoundException(
                     "Parent or child role not found: parent=" + parentRole + ", child=" + childRole, e);
         } catch (ProcessingException e) {
@@ -276,7 +291,9 @@ public class KeycloakIdentityProvider implements IdentityProvider {
             parentResource.toRepresentation(); // verify exists
             var childRep = findChildRoleRepresentation(childRole, scope, clientId);
             parentResource.deleteComposites(List.of(childRep));
+            lookupCache.evictRole(RoleScope.REALM, null, parentRole);
         } catch (NotFoundException e) {
+            evictRoleLookups(childRole, scope, clientId);
             throw new IdentityProviderNotFoundException(
                     "Parent or child role not found: parent=" + parentRole + ", child=" + childRole, e);
         } catch (ProcessingException e) {
@@ -303,6 +320,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
                 user.roles().clientLevel(clientUuid).add(List.of(roleRep));
             }
         } catch (NotFoundException e) {
+            evictRoleLookups(roleName, scope, clientId);
             throw new IdentityProviderNotFoundException(
                     "User or role not found: user=" + userId + ", role=" + roleName, e);
         } catch (ProcessingException e) {
@@ -324,6 +342,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
                 user.roles().clientLevel(clientUuid).remove(List.of(roleRep));
             }
         } catch (NotFoundException e) {
+            evictRoleLookups(roleName, scope, clientId);
             throw new IdentityProviderNotFoundException(
                     "User or role not found: user=" + userId + ", role=" + roleName, e);
         } catch (ProcessingException e) {
@@ -364,6 +383,7 @@ public class KeycloakIdentityProvider implements IdentityProvider {
                     .map(r -> toRoleDto(r, RoleScope.CLIENT, clientId))
                     .toList();
         } catch (NotFoundException e) {
+            lookupCache.evictClient(clientId);
             throw new IdentityProviderNotFoundException(
                     "User or client not found: user=" + userId + ", client=" + clientId, e);
         } catch (ProcessingException e) {
@@ -432,19 +452,23 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     // User Search
     // ---------------------------------------------------------------
 
+    /**
+     * Pages on the Keycloak side: the total comes from the {@code count} endpoint and only the
+     * requested page is fetched, as brief representations, so the cost of a search does not
+     * grow with the size of the realm.
+     */
     @Override
     public PageResponse<UserSearchDto> searchUsers(String query, int page, int size) {
         try {
-            var allUsers = keycloak.realm(realm()).users().search(query, 0, 5000);
-            var total = allUsers.size();
+            var users = keycloak.realm(realm()).users();
+            long total = users.count(query);
 
-            var start = page * size;
-            if (start >= total) {
+            var first = (long) page * size;
+            if (first >= total) {
                 return new PageResponse<>(List.of(), page, size, total);
             }
 
-            var end = Math.min(start + size, total);
-            var content = allUsers.subList(start, end).stream()
+            var content = users.search(query, (int) first, size, true).stream()
                     .map(this::toUserSearchDto)
                     .toList();
 
@@ -460,19 +484,37 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     // ---------------------------------------------------------------
 
     @Override
-    public void createGroup(String name, Map<String, List<String>> attributes,
-                            Optional<String> parentId) {
+    public Optional<String> createGroup(String name, Map<String, List<String>> attributes,
+                                        Optional<String> parentId) {
         try {
             var groupRep = new GroupRepresentation();
             groupRep.setName(name);
             groupRep.setAttributes(new HashMap<>(attributes));
 
-            if (parentId.isPresent()) {
-                keycloak.realm(realm()).groups().group(parentId.get()).subGroup(groupRep);
-            } else {
-                keycloak.realm(realm()).groups().add(groupRep);
+            try (var response = parentId.isPresent()
+                    ? keycloak.realm(realm()).groups().group(parentId.get()).subGroup(groupRep)
+                    : keycloak.realm(realm()).groups().add(groupRep)) {
+                // The admin client hands error statuses back as a Response instead of throwing
+                var status = response.getStatus();
+                if (status == 409) {
+                    throw new IdentityProviderConflictException("Group already exists: " + name);
+                }
+                if (status < 200 || status >= 300) {
+                    if (status == 404 && parentId.isPresent()) {
+                        // Parent was deleted in Keycloak; do not hand out its id again
+                        lookupCache.evictGroupId(parentId.get());
+                    }
+                    lookupCache.evictGroup(name);
+                    throw new IdentityProviderConnectionException(
+                            "Unexpected response " + status + " creating group: " + name);
+                }
+                return cacheCreatedGroupId(name, response);
             }
         } catch (ClientErrorException e) {
+            if (e.getResponse().getStatus() == 404 && parentId.isPresent()) {
+                // Parent was deleted in Keycloak; do not hand out its id again
+                lookupCache.evictGroupId(parentId.get());
+            }
             if (e.getResponse().getStatus() == 409) {
                 throw new IdentityProviderConflictException(
                         "Group already exists: " + name, e);
@@ -500,19 +542,34 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     @Override
     public Optional<String> findGroupIdByName(String name) {
         try {
-            // Search returns top-level groups whose name or path matches
-            var candidates = keycloak.realm(realm()).groups().groups(name, 0, Integer.MAX_VALUE);
-            for (var group : candidates) {
-                var found = findInTree(group, name);
-                if (found.isPresent()) return found;
-            }
-            return Optional.empty();
+            return lookupCache.groupId(name, () -> searchGroupTree(name));
         } catch (ProcessingException e) {
             throw new IdentityProviderConnectionException(
                     "Failed to search group: " + name, e);
         }
     }
 
+    private Optional<String> searchGroupTree(String name) {
+        // Search returns top-level groups whose name or path matches
+        var candidates = keycloak.realm(realm()).groups().groups(name, 0, Integer.MAX_VALUE);
+        for (var group : candidates) {
+            var found = findInTree(group, name);
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> cacheCreatedGroupId(String name, Response response) {
+        if (response.getLocation() == null) {
+            lookupCache.evictGroup(name);
+            return Optional.empty();
+        }
+        var path = response.getLocation().getPath();
+        var id = path.substring(path.lastIndexOf('/') + 1);
+        lookupCache.putGroupId(name, id);
+        return Optional.of(id);
+    }
+
     private Optional<String> findInTree(GroupRepresentation group, String targetName) {
         if (targetName.equals(group.getName())) {
             return Optional.of(group.getId());
@@ -563,19 +620,30 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     // ---------------------------------------------------------------
 
     private String resolveClientUuid(String clientId) {
-        var clients = keycloak.realm(realm()).clients().findByClientId(clientId);
-        if (clients.isEmpty()) {
-            throw new IdentityProviderNotFoundException("Client not found: " + clientId);
-        }
-        return clients.getFirst().getId();
+        return lookupCache.clientUuid(clientId, () -> {
+            var clients = keycloak.realm(realm()).clients().findByClientId(clientId);
+            if (clients.isEmpty()) {
+                throw new IdentityProviderNotFoundException("Client not found: " + clientId);
+            }
+            return clients.getFirst().getId();
+        });
     }
 
     private RoleRepresentation findRoleRepresentation(String roleName, RoleScope scope, String clientId) {
-        if (scope == RoleScope.REALM) {
-            return keycloak.realm(realm()).roles().get(roleName).toRepresentation();
+        return lookupCache.role(scope, clientId, roleName, () -> {
+            if (scope == RoleScope.REALM) {
+                return keycloak.realm(realm()).roles().get(roleName).toRepresentation();
+            }
+            var clientUuid = resolveClientUuid(clientId);
+            return keycloak.realm(realm()).clients().get(clientUuid).roles().get(roleName).toRepresentation();
+        });
+    }
+
+    private void evictRoleLookups(String roleName, RoleScope scope, String clientId) {
+        lookupCache.evictRole(scope, clientId, roleName);
+        if (scope == RoleScope.CLIENT) {
+            lookupCache.evictClient(clientId);
         }
-        var clientUuid = resolveClientUuid(clientId);
-        return keycloak.realm(realm()).clients().get(clientUuid).roles().get(roleName).toRepresentation();
     }
 
     private RoleRepresentation findChildRoleRepresentation(String childRole, RoleScope scope, String clientId) {
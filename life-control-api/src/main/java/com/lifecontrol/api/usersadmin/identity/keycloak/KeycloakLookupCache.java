@@ -0,0 +1,146 @@
+package com.lifecontrol.api.usersadmin.identity.keycloak;
+
+import com.lifecontrol.api.usersadmin.identity.RoleScope;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of Keycloak lookups that {@link KeycloakIdentityProvider} repeats on
+ * almost every call: client-id to UUID, role name to representation and group name to id.
+ * <p>
+ * Each map is a bounded LRU whose entries expire {@code app.keycloak.lookup-cache.ttl} after
+ * they were loaded. The provider evicts entries it invalidates itself (creating, updating or
+ * deleting roles and groups) and entries that Keycloak answers with 404, so the TTL only
+ * bounds staleness from changes made outside this application. Missing groups are not cached,
+ * so a group created elsewhere is found on the next lookup. A TTL of zero disables caching.
+ */
+@Component
+public class KeycloakLookupCache {
+
+    private final Duration ttl;
+    private final TtlMap<String> clientUuids;
+    private final TtlMap<RoleRepresentation> roles;
+    private final TtlMap<String> groupIds;
+
+    public KeycloakLookupCache(@Value("${app.keycloak.lookup-cache.ttl:PT5M}") Duration ttl,
+                               @Value("${app.keycloak.lookup-cache.max-size:1000}") int maxSize) {
+        this.ttl = ttl;
+        this.clientUuids = new TtlMap<>(maxSize);
+        this.roles = new TtlMap<>(maxSize);
+        this.groupIds = new TtlMap<>(maxSize);
+    }
+
+    // ─── Clients ─────────────────────────────────────────────
+
+    String clientUuid(String clientId, Supplier<String> loader) {
+        return clientUuids.getOrLoad(clientId, loader);
+    }
+
+    void evictClient(String clientId) {
+        clientUuids.remove(clientId);
+    }
+
+    // ─── Roles ───────────────────────────────────────────────
+
+    RoleRepresentation role(RoleScope scope, String clientId, String roleName,
+                            Supplier<RoleRepresentation> loader) {
+        return roles.getOrLoad(roleKey(scope, clientId, roleName), loader);
+    }
+
+    void evictRole(RoleScope scope, String clientId, String roleName) {
+        roles.remove(roleKey(scope, clientId, roleName));
+    }
+
+    // ─── Groups ──────────────────────────────────────────────
+
+    Optional<String> groupId(String name, Supplier<Optional<String>> loader) {
+        var cached = groupIds.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var loaded = loader.get();
+        loaded.ifPresent(id -> groupIds.put(name, id));
+        return loaded;
+    }
+
+    void putGroupId(String name, String id) {
+        groupIds.put(name, id);
+    }
+
+    void evictGroup(String name) {
+        groupIds.remove(name);
+    }
+
+    /**
+     * Evicts every group name mapped to {@code id}, e.g. after Keycloak reports it missing.
+     */
+    void evictGroupId(String id) {
+        groupIds.removeValue(id);
+    }
+
+    // ─── Private helpers ─────────────────────────────────────
+
+    private static String roleKey(RoleScope scope, String clientId, String roleName) {
+        return scope == RoleScope.REALM ? "realm:" + roleName : "client:" + clientId + ":" + roleName;
+    }
+
+    private final class TtlMap<V> {
+
+        private record Entry<V>(V value, long expiresAtNanos) {}
+
+        private final Map<String, Entry<V>> entries;
+
+        private TtlMap(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private V getOrLoad(String key, Supplier<V> loader) {
+            var cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            // Load outside the lock; concurrent misses at worst load the same value twice
+            var loaded = loader.get();
+            put(key, loaded);
+            return loaded;
+        }
+
+        private synchronized V get(String key) {
+            var entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        private synchronized void put(String key, V value) {
+            if (value != null && ttl.isPositive()) {
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+            }
+        }
+
+        private synchronized void remove(String key) {
+            entries.remove(key);
+        }
+
+        private synchronized void removeValue(V value) {
+            entries.values().removeIf(entry -> entry.value().equals(value));
+        }
+    }
+}
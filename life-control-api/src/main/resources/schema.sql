@@ -189,9 +189,15 @@ CREATE TABLE IF NOT EXISTS activity_events (
 
 -- ============================================
 -- Activity Log Table (immutable audit trail)
+-- Range-partitioned by month on created_at. The default partition below keeps the table
+-- writable whether or not ActivityLogPartitionManager runs; the manager creates the
+-- monthly partitions, archives and drops expired ones, and converts an existing
+-- unpartitioned table on startup. It also builds idx_activity_logs_created_at_id
+-- (keyset pagination), which must not be created here: on an unconverted table a plain
+-- CREATE INDEX would block writes for the whole build.
 -- ============================================
 CREATE TABLE IF NOT EXISTS activity_logs (
-    id UUID PRIMARY KEY,
+    id UUID NOT NULL,
     user_id VARCHAR(255),
     username VARCHAR(255),
     activity_process_id UUID NOT NULL REFERENCES activity_processes(id),
@@ -202,14 +208,43 @@ CREATE TABLE IF NOT EXISTS activity_logs (
     ip_address VARCHAR(45),
     user_agent TEXT,
     payload_json TEXT,
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Skipped while activity_logs is still an unpartitioned legacy table awaiting conversion
+DO '
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(''activity_logs'')) = ''p'' THEN
+        CREATE TABLE IF NOT EXISTS activity_logs_default PARTITION OF activity_logs DEFAULT;
+    END IF;
+END';
 
 CREATE INDEX IF NOT EXISTS idx_activity_logs_user_id ON activity_logs(user_id);
 CREATE INDEX IF NOT EXISTS idx_activity_logs_created_at ON activity_logs(created_at);
 CREATE INDEX IF NOT EXISTS idx_activity_logs_process ON activity_logs(activity_process_id);
 CREATE INDEX IF NOT EXISTS idx_activity_logs_event ON activity_logs(activity_event_id);
 
+-- ============================================
+-- Activity Access Rollups Table (aggregated read counts per user, route and interval)
+-- ============================================
+CREATE TABLE IF NOT EXISTS activity_access_rollups (
+    id UUID PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    bucket_end TIMESTAMP NOT NULL,
+    user_id VARCHAR(255),
+    username VARCHAR(255),
+    process_name VARCHAR(100) NOT NULL,
+    http_method VARCHAR(10) NOT NULL,
+    path_template VARCHAR(500) NOT NULL,
+    http_status INTEGER NOT NULL,
+    request_count BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_activity_access_rollups_bucket ON activity_access_rollups(bucket_start);
+CREATE INDEX IF NOT EXISTS idx_activity_access_rollups_user ON activity_access_rollups(user_id, bucket_start);
+
 -- ============================================
 -- Status Types Table
 -- ============================================
@@ -475,6 +510,14 @@ CREATE INDEX IF NOT EXISTS idx_soi_promotion ON sales_order_items(promotion_id);
 CREATE INDEX IF NOT EXISTS idx_soi_status ON sales_order_items(status_id);
 CREATE INDEX IF NOT EXISTS idx_soi_enabled ON sales_order_items(enabled);
 
+-- ============================================
+-- Order Number Counters Table (per-prefix sequence, reserved in blocks)
+-- ============================================
+CREATE TABLE IF NOT EXISTS order_number_counters (
+    prefix VARCHAR(30) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
 -- ============================================
 -- Migration: Add payment_method_id to sales_orders
 -- ============================================
@@ -541,3 +584,22 @@ CREATE INDEX IF NOT EXISTS idx_suppliers_address_id ON suppliers(address_id);
 -- Migration: Drop FK on company_stores.address_id (now application-managed)
 -- ============================================
 ALTER TABLE company_stores DROP CONSTRAINT IF EXISTS company_stores_address_id_fkey;
+
+-- ============================================
+-- Keycloak group outbox (groups of new hierarchy nodes, relayed asynchronously)
+-- ============================================
+CREATE TABLE IF NOT EXISTS keycloak_group_outbox (
+    id UUID PRIMARY KEY,
+    group_name VARCHAR(255) NOT NULL,
+    parent_group_name VARCHAR(255),
+    attributes JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claim_token UUID,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_keycloak_group_outbox_due ON keycloak_group_outbox(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_keycloak_group_outbox_claim_token ON keycloak_group_outbox(claim_token);
@@ -1,7 +1,12 @@
 package com.lifecontrol.api.activity.aspect;
 
 import com.lifecontrol.api.activity.annotation.ActivityLog;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Mode;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Rule;
 import com.lifecontrol.api.activity.event.ActivityLogEvent;
+import com.lifecontrol.api.activity.service.ActivityAccessAggregator;
+import com.lifecontrol.api.activity.service.ActivityLogPolicy;
 import com.lifecontrol.api.common.auth.CurrentUserContext;
 import com.lifecontrol.api.company.controller.CompanyController;
 import com.lifecontrol.api.country.controller.CountryController;
@@ -20,11 +25,17 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.never;
@@ -46,6 +57,9 @@ class ActivityLogAspectTest {
     @Mock
     private MethodSignature methodSignature;
 
+    @Mock
+    private ActivityAccessAggregator accessAggregator;
+
     private ActivityLogAspect aspect;
 
     @Captor
@@ -53,7 +67,14 @@ class ActivityLogAspectTest {
 
     @BeforeEach
     void setUp() {
-        aspect = new ActivityLogAspect(eventPublisher, currentUserContext);
+        aspect = newAspect();
+    }
+
+    private ActivityLogAspect newAspect(Rule... rules) {
+        var properties = new ActivityLogPolicyProperties();
+        properties.setRules(List.of(rules));
+        return new ActivityLogAspect(eventPublisher, currentUserContext,
+                new ActivityLogPolicy(properties), accessAggregator);
     }
 
     private void mockRequest(String method, String path) {
@@ -85,11 +106,14 @@ class ActivityLogAspectTest {
             given(methodSignature.getMethod()).willReturn(
                     CompanyController.class.getMethod("getAllCompanies", Pageable.class, String.class));
 
+            var before = LocalDateTime.now();
             aspect.logActivity(joinPoint);
 
             verify(eventPublisher).publishEvent(eventCaptor.capture());
             assertThat(eventCaptor.getValue().getProcessName()).isEqualTo("COMPANY");
             assertThat(eventCaptor.getValue().getEventName()).isEqualTo("READ");
+            // Stamped on the request thread, before the entry is queued for writing
+            assertThat(eventCaptor.getValue().getOccurredAt()).isBetween(before, LocalDateTime.now());
         }
 
         @Test
@@ -258,6 +282,64 @@ class ActivityLogAspectTest {
         }
     }
 
+    // ── Recording policy ─────────────────────────────────────
+
+    @Nested
+    @DisplayName("Recording policy")
+    class RecordingPolicyTests {
+
+        @BeforeEach
+        void setUp() throws Throwable {
+            given(joinPoint.getSignature()).willReturn(methodSignature);
+            given(methodSignature.getDeclaringType()).willReturn(CompanyController.class);
+            given(methodSignature.getMethod()).willReturn(
+                    CompanyController.class.getMethod("getAllCompanies", Pageable.class, String.class));
+            willReturn(ResponseEntity.ok("OK")).given(joinPoint).proceed();
+        }
+
+        @Test
+        @DisplayName("NEVER rule should skip matching reads")
+        void neverRuleSkipsRead() throws Throwable {
+            mockRequest("GET", "/api/companies");
+            aspect = newAspect(new Rule("COMPANY", null, null, Mode.NEVER, null));
+
+            aspect.logActivity(joinPoint);
+
+            verify(eventPublisher, never()).publishEvent(any());
+            verify(accessAggregator, never()).record(any(), any(), any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("AGGREGATED rule should count reads instead of publishing them")
+        void aggregatedRuleCountsRead() throws Throwable {
+            mockRequest("GET", "/api/companies/42");
+            RequestContextHolder.currentRequestAttributes().setAttribute(
+                    HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/companies/{id}", RequestAttributes.SCOPE_REQUEST);
+            given(currentUserContext.getUserId()).willReturn("user-1");
+            given(currentUserContext.getUsername()).willReturn("testuser");
+            aspect = newAspect(new Rule(null, "READ", "/api/companies/**", Mode.AGGREGATED, null));
+
+            aspect.logActivity(joinPoint);
+
+            verify(accessAggregator).record("user-1", "testuser", "COMPANY", "GET", "/api/companies/{id}", 200);
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("mutations should be published even when a rule says NEVER")
+        void mutationsAlwaysPublished() throws Throwable {
+            mockRequest("POST", "/api/companies");
+            given(currentUserContext.getUserId()).willReturn("user-1");
+            given(currentUserContext.getUsername()).willReturn("testuser");
+            aspect = newAspect(new Rule("COMPANY", null, null, Mode.NEVER, null));
+
+            aspect.logActivity(joinPoint);
+
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getEventName()).isEqualTo("CREATE");
+        }
+    }
+
     // ── Custom controller for annotation override test ──
 
     static class CustomController {
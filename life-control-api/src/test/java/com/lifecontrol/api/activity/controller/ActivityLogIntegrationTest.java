@@ -1,10 +1,15 @@
 package com.lifecontrol.api.activity.controller;
 
+import com.lifecontrol.api.activity.model.ActivityAccessRollup;
 import com.lifecontrol.api.activity.model.ActivityEvent;
+import com.lifecontrol.api.activity.model.ActivityLog;
 import com.lifecontrol.api.activity.model.ActivityProcess;
+import com.lifecontrol.api.activity.repository.ActivityAccessRollupRepository;
 import com.lifecontrol.api.activity.repository.ActivityEventRepository;
 import com.lifecontrol.api.activity.repository.ActivityLogRepository;
 import com.lifecontrol.api.activity.repository.ActivityProcessRepository;
+import com.lifecontrol.api.activity.service.ActivityLogWriter;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +29,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -83,8 +92,15 @@ class ActivityLogIntegrationTest {
     @Autowired
     private ActivityEventRepository eventRepository;
 
+    @Autowired
+    private ActivityAccessRollupRepository rollupRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
     @BeforeEach
     void setUp() {
+        activityLogWriter.flush(Duration.ofSeconds(5));
         activityLogRepository.deleteAll();
 
         // Ensure reference data exists — the ApplicationRunner should have
@@ -116,8 +132,15 @@ class ActivityLogIntegrationTest {
         }
     }
 
+    /** Entries are written on a background thread; wait for the queue before reading them back. */
+    private List<ActivityLog> writtenLogs() {
+        assertThat(activityLogWriter.flush(Duration.ofSeconds(5))).isTrue();
+        return activityLogRepository.findAll();
+    }
+
     @AfterEach
     void tearDown() {
+        activityLogWriter.flush(Duration.ofSeconds(5));
         activityLogRepository.deleteAll();
     }
 
@@ -138,7 +161,7 @@ class ActivityLogIntegrationTest {
                                     .authorities(new SimpleGrantedAuthority("ROLE_life-control-admin"))))
                     .andExpect(status().isOk());
 
-            var logs = activityLogRepository.findAll();
+            var logs = writtenLogs();
             assertThat(logs).hasSize(1);
 
             var log = logs.get(0);
@@ -163,7 +186,7 @@ class ActivityLogIntegrationTest {
                                     .authorities(new SimpleGrantedAuthority("ROLE_life-control-admin"))))
                     .andExpect(status().isCreated());
 
-            var logs = activityLogRepository.findAll();
+            var logs = writtenLogs();
             assertThat(logs).hasSize(1);
 
             var log = logs.get(0);
@@ -217,7 +240,7 @@ class ActivityLogIntegrationTest {
                                     .authorities(new SimpleGrantedAuthority("ROLE_life-control-admin"))))
                     .andExpect(status().isOk());
 
-            var logs = activityLogRepository.findAll();
+            var logs = writtenLogs();
             assertThat(logs).hasSize(1);
 
             var log = logs.get(0);
@@ -245,8 +268,108 @@ class ActivityLogIntegrationTest {
                                     .authorities(new SimpleGrantedAuthority("ROLE_life-control-admin"))))
                     .andExpect(status().is5xxServerError());
 
-            var logs = activityLogRepository.findAll();
+            var logs = writtenLogs();
             assertThat(logs).isEmpty();
         }
     }
+
+    // ─── Cursor pagination ───────────────────────────────────
+
+    @Nested
+    @DisplayName("Cursor pagination on /api/activity-logs/scroll")
+    class CursorPaginationTests {
+
+        @Test
+        @DisplayName("follows nextCursor through every entry exactly once")
+        void scrollsThroughAllEntries() throws Exception {
+            var process = processRepository.findByName("COMPANY").orElseThrow();
+            var event = eventRepository.findByName("READ").orElseThrow();
+            for (int i = 0; i < 3; i++) {
+                activityLogRepository.save(ActivityLog.builder()
+                        .userId("scroll-user")
+                        .activityProcess(process)
+                        .activityEvent(event)
+                        .httpMethod("GET")
+                        .httpStatus(200)
+                        .requestPath("/api/companies/" + i)
+                        .build());
+            }
+
+            var first = scroll(null);
+            var firstIds = JsonPath.<List<String>>read(first, "$.content[*].id");
+            String cursor = JsonPath.read(first, "$.nextCursor");
+            assertThat(firstIds).hasSize(2);
+            assertThat(cursor).isNotNull();
+
+            var second = scroll(cursor);
+            var secondIds = JsonPath.<List<String>>read(second, "$.content[*].id");
+            assertThat(secondIds).hasSize(1).doesNotContainAnyElementsOf(firstIds);
+            assertThat((Object) JsonPath.read(second, "$.nextCursor")).isNull();
+        }
+
+        @Test
+        @DisplayName("malformed cursor returns 400 Bad Request")
+        void malformedCursorIsRejected() throws Exception {
+            mockMvc.perform(get("/api/activity-logs/scroll")
+                            .param("cursor", "%%%")
+                            .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_life-control-admin"))))
+                    .andExpect(status().isBadRequest());
+        }
+
+        private String scroll(String cursor) throws Exception {
+            var request = get("/api/activity-logs/scroll")
+                    .param("size", "2")
+                    .param("userId", "scroll-user")
+                    .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_life-control-admin")));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            return mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        }
+    }
+
+    @Nested
+    @DisplayName("Access rollups on /api/activity-logs/access-rollups")
+    class AccessRollupTests {
+
+        @AfterEach
+        void cleanUp() {
+            rollupRepository.deleteAll();
+        }
+
+        @Test
+        @DisplayName("returns rollups matching the filters")
+        void filtersRollups() throws Exception {
+            var now = LocalDateTime.now();
+            rollupRepository.saveAll(List.of(
+                    rollup("PRODUCT", "/api/product-variants/{id}", 37, now),
+                    rollup("COUNTRY", "/api/countries", 4, now)));
+
+            var body = mockMvc.perform(get("/api/activity-logs/access-rollups")
+                            .param("process", "PRODUCT")
+                            .param("from", now.toLocalDate().toString())
+                            .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_life-control-admin"))))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(JsonPath.<List<String>>read(body, "$.content[*].pathTemplate"))
+                    .containsExactly("/api/product-variants/{id}");
+            assertThat(JsonPath.<Integer>read(body, "$.content[0].requestCount")).isEqualTo(37);
+        }
+
+        private ActivityAccessRollup rollup(String process, String pathTemplate, long count, LocalDateTime end) {
+            return ActivityAccessRollup.builder()
+                    .bucketStart(end.minusMinutes(1))
+                    .bucketEnd(end)
+                    .userId("rollup-user")
+                    .processName(process)
+                    .httpMethod("GET")
+                    .pathTemplate(pathTemplate)
+                    .httpStatus(200)
+                    .requestCount(count)
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.model.ActivityAccessRollup;
+import com.lifecontrol.api.activity.repository.ActivityAccessRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivityAccessAggregator Tests")
+class ActivityAccessAggregatorTest {
+
+    private static final String TEMPLATE = "/api/product-variants/{id}";
+
+    @Mock
+    private ActivityAccessRollupRepository rollupRepository;
+
+    @Captor
+    private ArgumentCaptor<List<ActivityAccessRollup>> rollupsCaptor;
+
+    private ActivityAccessAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ActivityAccessAggregator(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("should write one rollup per user, route and status with the request count")
+    void flush_WritesOneRollupPerKey() {
+        for (int i = 0; i < 5; i++) {
+            aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+        }
+        aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 404);
+        aggregator.record("user-2", "manager", "PRODUCT", "GET", TEMPLATE, 200);
+
+        aggregator.flush();
+
+        verify(rollupRepository).saveAll(rollupsCaptor.capture());
+        var rollups = rollupsCaptor.getValue();
+        assertThat(rollups).hasSize(3);
+        var cashierOk = rollups.stream()
+                .filter(rollup -> "user-1".equals(rollup.getUserId()) && rollup.getHttpStatus() == 200)
+                .findFirst().orElseThrow();
+        assertThat(cashierOk.getProcessName()).isEqualTo("PRODUCT");
+        assertThat(cashierOk.getPathTemplate()).isEqualTo(TEMPLATE);
+        assertThat(cashierOk.getRequestCount()).isEqualTo(5L);
+        assertThat(cashierOk.getBucketStart()).isBeforeOrEqualTo(cashierOk.getBucketEnd());
+    }
+
+    @Test
+    @DisplayName("should start each bucket where the previous one ended")
+    void flush_BucketsAreContiguous() {
+        aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+        aggregator.flush();
+        aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+        aggregator.flush();
+
+        verify(rollupRepository, times(2)).saveAll(rollupsCaptor.capture());
+        var first = rollupsCaptor.getAllValues().get(0).get(0);
+        var second = rollupsCaptor.getAllValues().get(1).get(0);
+        assertThat(second.getBucketStart()).isEqualTo(first.getBucketEnd());
+        assertThat(second.getRequestCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("should not write anything for an interval without requests")
+    void flush_NoRequests_WritesNothing() {
+        aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+        aggregator.flush();
+
+        aggregator.flush();
+
+        verify(rollupRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should not lose requests counted while a flush runs")
+    void flush_ConcurrentRecords_LosesNothing() throws InterruptedException {
+        var recorders = new ArrayList<Thread>();
+        for (var i = 0; i < 4; i++) {
+            recorders.add(Thread.ofPlatform().start(() -> {
+                for (var j = 0; j < 10_000; j++) {
+                    aggregator.record("user-" + (j % 3), "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+                }
+            }));
+        }
+        while (recorders.stream().anyMatch(Thread::isAlive)) {
+            aggregator.flush();
+        }
+        for (var recorder : recorders) {
+            recorder.join();
+        }
+        aggregator.flush();
+
+        verify(rollupRepository, atLeastOnce()).saveAll(rollupsCaptor.capture());
+        var total = rollupsCaptor.getAllValues().stream()
+                .flatMap(List::stream)
+                .mapToLong(ActivityAccessRollup::getRequestCount)
+                .sum();
+        assertThat(total).isEqualTo(40_000);
+    }
+
+    @Test
+    @DisplayName("should swallow repository failures")
+    void flush_SaveFails_DoesNotThrow() {
+        willThrow(new RuntimeException("db down")).given(rollupRepository).saveAll(anyList());
+        aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+
+        aggregator.flush();
+
+        verify(rollupRepository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should flush pending counts when stopped")
+    void stop_FlushesPendingCounts() {
+        aggregator.start();
+        aggregator.record("user-1", "cashier", "PRODUCT", "GET", TEMPLATE, 200);
+        verify(rollupRepository, never()).saveAll(anyList());
+
+        aggregator.stop();
+
+        verify(rollupRepository).saveAll(anyList());
+    }
+}
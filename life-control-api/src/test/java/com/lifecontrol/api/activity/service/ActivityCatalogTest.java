@@ -0,0 +1,128 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.model.ActivityEvent;
+import com.lifecontrol.api.activity.model.ActivityProcess;
+import com.lifecontrol.api.activity.repository.ActivityEventRepository;
+import com.lifecontrol.api.activity.repository.ActivityProcessRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivityCatalog Tests")
+class ActivityCatalogTest {
+
+    @Mock
+    private ActivityProcessRepository processRepository;
+
+    @Mock
+    private ActivityEventRepository eventRepository;
+
+    private ActivityCatalog activityCatalog;
+    private ActivityProcess companyProcess;
+    private ActivityEvent readEvent;
+
+    @BeforeEach
+    void setUp() {
+        activityCatalog = new ActivityCatalog(processRepository, eventRepository, Duration.ofMinutes(30), Duration.ZERO);
+        companyProcess = ActivityProcess.builder().name("COMPANY").build();
+        readEvent = ActivityEvent.builder().name("READ").build();
+    }
+
+    @Test
+    @DisplayName("should serve repeated lookups from memory after refresh")
+    void lookups_AfterRefresh_HitNoRepository() {
+        when(processRepository.findAll()).thenReturn(List.of(companyProcess));
+        when(eventRepository.findAll()).thenReturn(List.of(readEvent));
+
+        activityCatalog.refresh();
+        for (int i = 0; i < 3; i++) {
+            assertThat(activityCatalog.findProcess("COMPANY")).contains(companyProcess);
+            assertThat(activityCatalog.findEvent("READ")).contains(readEvent);
+        }
+
+        verify(processRepository, times(1)).findAll();
+        verify(eventRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("should reload once on a miss to pick up rows added after startup")
+    void lookup_Miss_ReloadsOnce() {
+        var orderProcess = ActivityProcess.builder().name("ORDER").build();
+        when(processRepository.findAll())
+                .thenReturn(List.of(companyProcess))
+                .thenReturn(List.of(companyProcess, orderProcess));
+        when(eventRepository.findAll()).thenReturn(List.of(readEvent));
+
+        activityCatalog.refresh();
+        var result = activityCatalog.findProcess("ORDER");
+
+        assertThat(result).contains(orderProcess);
+        verify(processRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("should return empty when the name is unknown after reload")
+    void lookup_Unknown_ReturnsEmpty() {
+        when(processRepository.findAll()).thenReturn(List.of(companyProcess));
+        when(eventRepository.findAll()).thenReturn(List.of(readEvent));
+
+        assertThat(activityCatalog.findEvent("ARCHIVE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reload at most once per miss-reload interval for unknown names")
+    void lookup_RepeatedMisses_RateLimited() {
+        activityCatalog = new ActivityCatalog(processRepository, eventRepository,
+                Duration.ofMinutes(30), Duration.ofMinutes(1));
+        when(processRepository.findAll()).thenReturn(List.of(companyProcess));
+        when(eventRepository.findAll()).thenReturn(List.of(readEvent));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(activityCatalog.findEvent("UNKNOWN-" + i)).isEmpty();
+        }
+
+        verify(processRepository, times(1)).findAll();
+        verify(eventRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("should not reload again for threads that waited on a reload in progress")
+    void lookup_ConcurrentStale_ReloadsOnce() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(processRepository.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(companyProcess);
+        });
+        when(eventRepository.findAll()).thenReturn(List.of(readEvent));
+
+        var first = new Thread(() -> activityCatalog.findProcess("COMPANY"));
+        var second = new Thread(() -> activityCatalog.findProcess("COMPANY"));
+        first.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        verify(processRepository, times(1)).findAll();
+    }
+}
@@ -0,0 +1,347 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.service.ActivityLogPartitionManager.RetentionAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivityLogPartitionManager Tests")
+class ActivityLogPartitionManagerTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+
+    @Captor
+    private ArgumentCaptor<PreparedStatementSetter> setterCaptor;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    private ActivityLogPartitionManager newManager(boolean archiveEnabled) {
+        return new ActivityLogPartitionManager(jdbcTemplate, transactionManager,
+                2, 12, RetentionAction.DROP, archiveEnabled, archiveDirectory);
+    }
+
+    private void stubTableKind(String relkind) {
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("activity_logs")))
+                .thenReturn(List.of(relkind));
+    }
+
+    private void stubPartitions(String... names) {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("activity_logs")))
+                .thenReturn(List.of(names));
+    }
+
+    private void stubInvalidIndexes(String... names) {
+        when(jdbcTemplate.queryForList(contains("NOT i.indisvalid"), eq(String.class), eq("activity_logs")))
+                .thenReturn(List.of(names));
+    }
+
+    private void stubValidIndexes(String... names) {
+        when(jdbcTemplate.queryForList(contains("AND i.indisvalid"), eq(String.class), eq("activity_logs")))
+                .thenReturn(List.of(names));
+    }
+
+    /** Lets the parent indexes all be valid, as after schema.sql or a completed conversion. */
+    private void stubAllIndexesValid() {
+        stubValidIndexes("idx_activity_logs_user_id", "idx_activity_logs_created_at", "idx_activity_logs_process",
+                "idx_activity_logs_event", "idx_activity_logs_created_at_id");
+    }
+
+    private List<String> executedSql() {
+        verify(jdbcTemplate, atLeastOnce()).execute(sqlCaptor.capture());
+        return sqlCaptor.getAllValues();
+    }
+
+    @Nested
+    @DisplayName("partition creation")
+    class CreationTests {
+
+        @Test
+        @DisplayName("should create the default partition and the current and upcoming months")
+        void createsDefaultAndMonthlyPartitions() {
+            stubTableKind("p");
+            stubPartitions("activity_logs_default", "activity_logs_y2026m10");
+            stubAllIndexesValid();
+
+            newManager(false).maintain(CURRENT);
+
+            assertThat(executedSql()).containsExactly(
+                    "CREATE TABLE IF NOT EXISTS activity_logs_default PARTITION OF activity_logs DEFAULT",
+                    "CREATE TABLE IF NOT EXISTS activity_logs_y2026m11 PARTITION OF activity_logs"
+                            + " FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')",
+                    "CREATE TABLE IF NOT EXISTS activity_logs_y2026m12 PARTITION OF activity_logs"
+                            + " FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+        }
+
+        @Test
+        @DisplayName("should convert an unpartitioned table and skip months it already covers")
+        void convertsLegacyTable() {
+            stubTableKind("r");
+            stubInvalidIndexes();
+            stubPartitions("activity_logs_default", "activity_logs_upto_y2026m11");
+            stubAllIndexesValid();
+
+            newManager(false).maintain(CURRENT);
+
+            var sql = executedSql();
+            assertThat(sql).contains("ALTER TABLE activity_logs ATTACH PARTITION activity_logs_upto_y2026m11"
+                    + " FOR VALUES FROM (MINVALUE) TO ('2026-11-01')");
+            assertThat(sql).noneMatch(statement -> statement.contains("activity_logs_y2026m10"));
+            assertThat(sql).anyMatch(statement -> statement.contains("activity_logs_y2026m11 PARTITION OF"));
+        }
+
+        @Test
+        @DisplayName("should move a month's rows out of the default partition before creating its partition")
+        void movesStrayRowsOutOfDefaultPartition() {
+            stubTableKind("p");
+            stubPartitions("activity_logs_default", "activity_logs_y2026m10");
+            stubAllIndexesValid();
+            when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class)))
+                    .thenAnswer(invocation -> invocation.<String>getArgument(0).contains("'2026-11-01'"));
+
+            newManager(false).maintain(CURRENT);
+
+            var sql = executedSql();
+            var detach = sql.indexOf("ALTER TABLE activity_logs DETACH PARTITION activity_logs_default");
+            var create = sql.indexOf("CREATE TABLE IF NOT EXISTS activity_logs_y2026m11 PARTITION OF activity_logs"
+                    + " FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')");
+            var move = sql.indexOf("INSERT INTO activity_logs SELECT * FROM activity_logs_default"
+                    + " WHERE created_at >= '2026-11-01' AND created_at < '2026-12-01'");
+            var delete = sql.indexOf("DELETE FROM activity_logs_default"
+                    + " WHERE created_at >= '2026-11-01' AND created_at < '2026-12-01'");
+            var attach = sql.indexOf("ALTER TABLE activity_logs ATTACH PARTITION activity_logs_default DEFAULT");
+            assertThat(detach).isNotNegative().isLessThan(create);
+            assertThat(create).isLessThan(move);
+            assertThat(move).isLessThan(delete);
+            assertThat(delete).isLessThan(attach);
+            // December had no stray rows and is created directly
+            assertThat(sql.subList(attach, sql.size())).contains("CREATE TABLE IF NOT EXISTS activity_logs_y2026m12"
+                    + " PARTITION OF activity_logs FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+        }
+
+        @Test
+        @DisplayName("should go on with later months, indexes and retention when a partition cannot be created")
+        void partitionFailure_DoesNotAbortMaintenance() {
+            stubTableKind("p");
+            stubPartitions("activity_logs_default", "activity_logs_y2025m09", "activity_logs_y2026m10");
+            stubAllIndexesValid();
+            doAnswer(invocation -> {
+                if (invocation.<String>getArgument(0).contains("activity_logs_y2026m11 PARTITION OF")) {
+                    throw new DataIntegrityViolationException("default partition constraint would be violated");
+                }
+                return null;
+            }).when(jdbcTemplate).execute(anyString());
+
+            newManager(false).maintain(CURRENT);
+
+            assertThat(executedSql())
+                    .contains("CREATE TABLE IF NOT EXISTS activity_logs_y2026m12 PARTITION OF activity_logs"
+                            + " FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')")
+                    .contains("DROP TABLE activity_logs_y2025m09");
+        }
+
+        @Test
+        @DisplayName("should build a missing parent index per partition without blocking writes")
+        void buildsMissingIndexConcurrently() {
+            stubTableKind("p");
+            stubPartitions("activity_logs_default", "activity_logs_y2026m10", "activity_logs_y2026m11",
+                    "activity_logs_y2026m12");
+            stubValidIndexes("idx_activity_logs_user_id", "idx_activity_logs_created_at",
+                    "idx_activity_logs_process", "idx_activity_logs_event");
+            when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class),
+                    eq("idx_activity_logs_created_at_id"))).thenReturn(List.of("activity_logs_y2026m10"));
+            when(jdbcTemplate.queryForList(contains("NOT i.indisvalid"), eq(String.class), anyString()))
+                    .thenReturn(List.of());
+
+            newManager(false).maintain(CURRENT);
+
+            var sql = executedSql();
+            assertThat(sql)
+                    .contains("CREATE INDEX IF NOT EXISTS idx_activity_logs_created_at_id"
+                            + " ON ONLY activity_logs(created_at DESC, id DESC)")
+                    .contains("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activity_logs_y2026m11_created_at_id"
+                            + " ON activity_logs_y2026m11(created_at DESC, id DESC)")
+                    .contains("ALTER INDEX idx_activity_logs_created_at_id"
+                            + " ATTACH PARTITION idx_activity_logs_default_created_at_id")
+                    .noneMatch(statement -> statement.contains("activity_logs_y2026m10_created_at_id"))
+                    .noneMatch(statement -> statement.startsWith("CREATE INDEX")
+                            && !statement.contains(" ON ONLY ") && !statement.contains(" CONCURRENTLY "));
+        }
+
+        @Test
+        @DisplayName("should rebuild invalid indexes and validate the bound before taking the swap locks")
+        void preparesLegacyTableWithoutBlockingWrites() {
+            stubTableKind("r");
+            stubInvalidIndexes("idx_activity_logs_created_at_id");
+            stubPartitions("activity_logs_default", "activity_logs_upto_y2026m11");
+            stubAllIndexesValid();
+
+            newManager(false).maintain(CURRENT);
+
+            var sql = executedSql();
+            var rename = sql.indexOf("ALTER TABLE activity_logs RENAME TO activity_logs_upto_y2026m11");
+            var validate = sql.indexOf("ALTER TABLE activity_logs VALIDATE CONSTRAINT activity_logs_partition_bound");
+            assertThat(validate).isNotNegative().isLessThan(rename);
+            assertThat(sql.indexOf("DROP INDEX CONCURRENTLY IF EXISTS idx_activity_logs_created_at_id"))
+                    .isNotNegative()
+                    .isLessThan(sql.indexOf("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activity_logs_created_at_id"
+                            + " ON activity_logs(created_at DESC, id DESC)"));
+            assertThat(sql.subList(0, rename))
+                    .contains("ALTER TABLE activity_logs ADD CONSTRAINT activity_logs_partition_bound"
+                            + " CHECK (created_at < '2026-11-01') NOT VALID")
+                    .contains("CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS activity_logs_id_created_at_key"
+                            + " ON activity_logs(id, created_at)")
+                    .contains("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activity_logs_created_at_id"
+                            + " ON activity_logs(created_at DESC, id DESC)");
+            assertThat(sql)
+                    .contains("SET LOCAL lock_timeout = '5s'")
+                    .contains("CREATE INDEX idx_activity_logs_created_at_id ON ONLY activity_logs(created_at DESC, id DESC)")
+                    .contains("ALTER INDEX idx_activity_logs_created_at_id"
+                            + " ATTACH PARTITION idx_activity_logs_upto_y2026m11_created_at_id");
+            assertThat(sql.subList(rename, sql.size()))
+                    .noneMatch(statement -> statement.startsWith("CREATE INDEX") && !statement.contains(" ON ONLY "));
+        }
+    }
+
+    @Nested
+    @DisplayName("retention")
+    class RetentionTests {
+
+        @Test
+        @DisplayName("should detach and drop partitions older than the retention window")
+        void dropsExpiredPartitions() {
+            stubTableKind("p");
+            stubPartitions("activity_logs_default", "activity_logs_y2025m09", "activity_logs_y2025m10",
+                    "activity_logs_y2026m10", "activity_logs_y2026m11", "activity_logs_y2026m12");
+            stubAllIndexesValid();
+
+            newManager(false).maintain(CURRENT);
+
+            var sql = executedSql();
+            assertThat(sql).contains(
+                    "ALTER TABLE activity_logs DETACH PARTITION activity_logs_y2025m09",
+                    "DROP TABLE activity_logs_y2025m09");
+            assertThat(sql).noneMatch(statement -> statement.contains("activity_logs_y2025m10"));
+            assertThat(sql).noneMatch(statement -> statement.contains("activity_logs_default")
+                    && statement.startsWith("DROP"));
+        }
+
+        @Test
+        @DisplayName("should archive an expired partition to a compressed file before dropping it")
+        void archivesBeforeDrop() throws IOException, SQLException {
+            stubTableKind("p");
+            stubPartitions("activity_logs_y2025m01");
+            stubAllIndexesValid();
+
+            newManager(true).maintain(CURRENT);
+
+            verify(jdbcTemplate).query(contains("FROM activity_logs_y2025m01"), setterCaptor.capture(),
+                    any(RowCallbackHandler.class));
+            var statement = mock(PreparedStatement.class);
+            setterCaptor.getValue().setValues(statement);
+            verify(statement).setFetchSize(anyInt());
+            verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+            assertThat(executedSql()).contains("DROP TABLE activity_logs_y2025m01");
+            var archive = archiveDirectory.resolve("activity_logs_y2025m01.csv.gz");
+            try (var in = new GZIPInputStream(Files.newInputStream(archive))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).startsWith("id,user_id,username");
+            }
+        }
+
+        @Test
+        @DisplayName("should keep a partition whose archive query fails, clean up and go on with the next")
+        void archiveQueryFailure_KeepsPartitionAndContinues() throws IOException {
+            stubTableKind("p");
+            stubPartitions("activity_logs_y2025m01", "activity_logs_y2025m02");
+            stubAllIndexesValid();
+            doAnswer(invocation -> {
+                if (invocation.<String>getArgument(0).contains("activity_logs_y2025m01")) {
+                    throw new QueryTimeoutException("canceling statement due to statement timeout");
+                }
+                return null;
+            }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+            newManager(true).maintain(CURRENT);
+
+            var sql = executedSql();
+            assertThat(sql).noneMatch(statement -> statement.contains("activity_logs_y2025m01"));
+            assertThat(sql).contains("DROP TABLE activity_logs_y2025m02");
+            try (var files = Files.list(archiveDirectory)) {
+                assertThat(files.map(file -> file.getFileName().toString()))
+                        .containsExactly("activity_logs_y2025m02.csv.gz");
+            }
+        }
+
+        @Test
+        @DisplayName("should keep a partition whose archive cannot be written")
+        void archiveFailure_KeepsPartition() throws IOException {
+            stubTableKind("p");
+            stubPartitions("activity_logs_y2025m01");
+            stubAllIndexesValid();
+            var notADirectory = archiveDirectory.resolve("file");
+            Files.writeString(notADirectory, "x");
+
+            new ActivityLogPartitionManager(jdbcTemplate, transactionManager,
+                    2, 12, RetentionAction.DROP, true, notADirectory).maintain(CURRENT);
+
+            verify(jdbcTemplate, never()).execute(contains("DETACH"));
+            verify(jdbcTemplate, never()).query(anyString(), any(PreparedStatementSetter.class),
+                    any(RowCallbackHandler.class));
+        }
+    }
+
+    @Test
+    @DisplayName("should quote CSV values containing separators, quotes or newlines")
+    void csvQuoting() {
+        assertThat(ActivityLogPartitionManager.csv(null)).isEmpty();
+        assertThat(ActivityLogPartitionManager.csv("plain")).isEqualTo("plain");
+        assertThat(ActivityLogPartitionManager.csv("{\"a\":1,\"b\":2}")).isEqualTo("\"{\"\"a\"\":1,\"\"b\"\":2}\"");
+    }
+}
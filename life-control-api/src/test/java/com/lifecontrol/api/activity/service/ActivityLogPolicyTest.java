@@ -0,0 +1,71 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Mode;
+import com.lifecontrol.api.activity.config.ActivityLogPolicyProperties.Rule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ActivityLogPolicy Tests")
+class ActivityLogPolicyTest {
+
+    private ActivityLogPolicy policy(Mode defaultMode, Rule... rules) {
+        var properties = new ActivityLogPolicyProperties();
+        properties.setDefaultMode(defaultMode);
+        properties.setRules(List.of(rules));
+        return new ActivityLogPolicy(properties);
+    }
+
+    @Test
+    @DisplayName("should apply the first rule matching process, event and path")
+    void firstMatchingRuleWins() {
+        var policy = policy(Mode.ALWAYS,
+                new Rule(null, null, "/api/product-variants/**", Mode.AGGREGATED, null),
+                new Rule("PRODUCT", "READ", null, Mode.NEVER, null));
+
+        assertThat(policy.decide("PRODUCT", "READ", "/api/product-variants/search")).isEqualTo(Mode.AGGREGATED);
+        assertThat(policy.decide("PRODUCT", "READ", "/api/products/1")).isEqualTo(Mode.NEVER);
+        assertThat(policy.decide("COMPANY", "READ", "/api/companies")).isEqualTo(Mode.ALWAYS);
+    }
+
+    @Test
+    @DisplayName("should always record mutations regardless of rules and default")
+    void mutationsAlwaysRecorded() {
+        var policy = policy(Mode.NEVER, new Rule(null, null, null, Mode.NEVER, null));
+
+        assertThat(policy.decide("PRODUCT", "CREATE", "/api/products")).isEqualTo(Mode.ALWAYS);
+        assertThat(policy.decide("PRODUCT", "DELETE", "/api/products/1")).isEqualTo(Mode.ALWAYS);
+    }
+
+    @Test
+    @DisplayName("should resolve SAMPLED to ALWAYS or NEVER according to the sample rate")
+    void sampledResolvesByRate() {
+        var none = policy(Mode.ALWAYS, new Rule(null, null, null, Mode.SAMPLED, 0));
+        var all = policy(Mode.ALWAYS, new Rule(null, null, null, Mode.SAMPLED, 100));
+        var tenPercent = policy(Mode.ALWAYS, new Rule(null, null, null, Mode.SAMPLED, 10));
+
+        assertThat(none.decide("PRODUCT", "READ", "/api/products")).isEqualTo(Mode.NEVER);
+        assertThat(all.decide("PRODUCT", "READ", "/api/products")).isEqualTo(Mode.ALWAYS);
+        var recorded = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (tenPercent.decide("PRODUCT", "READ", "/api/products") == Mode.ALWAYS) {
+                recorded++;
+            }
+        }
+        assertThat(recorded).isBetween(700, 1300);
+    }
+
+    @Test
+    @DisplayName("should reject SAMPLED rules without a valid sample percent")
+    void sampledRequiresPercent() {
+        assertThatThrownBy(() -> new Rule(null, null, null, Mode.SAMPLED, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Rule(null, null, null, Mode.SAMPLED, 150))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
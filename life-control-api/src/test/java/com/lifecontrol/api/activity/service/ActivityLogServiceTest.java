@@ -1,14 +1,16 @@
 package com.lifecontrol.api.activity.service;
 
+import com.lifecontrol.api.activity.dto.ActivityAccessRollupFilter;
+import com.lifecontrol.api.activity.dto.ActivityLogCursor;
 import com.lifecontrol.api.activity.dto.ActivityLogFilter;
 import com.lifecontrol.api.activity.dto.ActivityLogResponse;
 import com.lifecontrol.api.activity.event.ActivityLogEvent;
+import com.lifecontrol.api.activity.model.ActivityAccessRollup;
 import com.lifecontrol.api.activity.model.ActivityEvent;
 import com.lifecontrol.api.activity.model.ActivityLog;
 import com.lifecontrol.api.activity.model.ActivityProcess;
-import com.lifecontrol.api.activity.repository.ActivityEventRepository;
+import com.lifecontrol.api.activity.repository.ActivityAccessRollupRepository;
 import com.lifecontrol.api.activity.repository.ActivityLogRepository;
-import com.lifecontrol.api.activity.repository.ActivityProcessRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,9 +20,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -29,6 +33,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -43,15 +48,15 @@ class ActivityLogServiceTest {
     private ActivityLogRepository activityLogRepository;
 
     @Mock
-    private ActivityProcessRepository processRepository;
+    private ActivityAccessRollupRepository rollupRepository;
 
     @Mock
-    private ActivityEventRepository eventRepository;
+    private ActivityCatalog activityCatalog;
 
     private ActivityLogService service;
 
     @Captor
-    private ArgumentCaptor<ActivityLog> logCaptor;
+    private ArgumentCaptor<List<ActivityLog>> logCaptor;
 
     private ActivityProcess testProcess;
     private ActivityEvent testEvent;
@@ -59,7 +64,7 @@ class ActivityLogServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new ActivityLogService(activityLogRepository, processRepository, eventRepository);
+        service = new ActivityLogService(activityLogRepository, rollupRepository, activityCatalog);
 
         testProcess = ActivityProcess.builder().name("COMPANY").build();
         testEvent = ActivityEvent.builder().name("READ").build();
@@ -69,24 +74,25 @@ class ActivityLogServiceTest {
                 "COMPANY", "READ",
                 "GET", 200,
                 "/api/companies", "127.0.0.1",
-                "TestAgent", "{\"name\": \"test\"}"
+                "TestAgent", "{\"name\": \"test\"}",
+                LocalDateTime.of(2026, 10, 18, 9, 30)
         );
     }
 
     @Nested
-    @DisplayName("save()")
-    class SaveTests {
+    @DisplayName("saveAll()")
+    class SaveAllTests {
 
         @Test
         @DisplayName("should persist a valid log entry")
         void persistsLogEntry() {
-            when(processRepository.findByName("COMPANY")).thenReturn(Optional.of(testProcess));
-            when(eventRepository.findByName("READ")).thenReturn(Optional.of(testEvent));
+            when(activityCatalog.findProcess("COMPANY")).thenReturn(Optional.of(testProcess));
+            when(activityCatalog.findEvent("READ")).thenReturn(Optional.of(testEvent));
 
-            service.save(testLogEvent);
+            service.saveAll(List.of(testLogEvent));
 
-            verify(activityLogRepository).save(logCaptor.capture());
-            var saved = logCaptor.getValue();
+            verify(activityLogRepository).saveAll(logCaptor.capture());
+            var saved = logCaptor.getValue().get(0);
             assertThat(saved.getUserId()).isEqualTo("user-1");
             assertThat(saved.getUsername()).isEqualTo("testuser");
             assertThat(saved.getActivityProcess().getName()).isEqualTo("COMPANY");
@@ -97,40 +103,31 @@ class ActivityLogServiceTest {
             assertThat(saved.getIpAddress()).isEqualTo("127.0.0.1");
             assertThat(saved.getUserAgent()).isEqualTo("TestAgent");
             assertThat(saved.getPayloadJson()).isEqualTo("{\"name\": \"test\"}");
+            // The time of the request, not the time the batch is written
+            assertThat(saved.getCreatedAt()).isEqualTo(LocalDateTime.of(2026, 10, 18, 9, 30));
         }
 
         @Test
-        @DisplayName("should sanitize sensitive fields in payload")
-        void sanitizesSensitiveFields() {
-            when(processRepository.findByName("COMPANY")).thenReturn(Optional.of(testProcess));
-            when(eventRepository.findByName("READ")).thenReturn(Optional.of(testEvent));
-
-            var sensitiveEvent = new ActivityLogEvent(
-                    this, "user-1", "testuser",
-                    "COMPANY", "READ",
-                    "POST", 201,
-                    "/api/login", "127.0.0.1",
-                    "TestAgent",
-                    "{\"username\": \"admin\", \"password\": \"secret123\"}"
-            );
+        @DisplayName("should skip when process is not found")
+        void skipsWhenProcessNotFound() {
+            when(activityCatalog.findProcess("COMPANY")).thenReturn(Optional.empty());
 
-            service.save(sensitiveEvent);
+            service.saveAll(List.of(testLogEvent));
 
-            verify(activityLogRepository).save(logCaptor.capture());
-            var saved = logCaptor.getValue();
-            assertThat(saved.getPayloadJson())
-                    .contains("\"password\": \"[REDACTED]\"")
-                    .contains("\"username\": \"admin\"");
+            verify(activityLogRepository, never()).saveAll(any());
         }
 
         @Test
-        @DisplayName("should skip when process is not found")
-        void skipsWhenProcessNotFound() {
-            when(processRepository.findByName("COMPANY")).thenReturn(Optional.empty());
+        @DisplayName("should write every entry of a batch in one saveAll call")
+        void writesBatchInOneCall() {
+            when(activityCatalog.findProcess("COMPANY")).thenReturn(Optional.of(testProcess));
+            when(activityCatalog.findEvent("READ")).thenReturn(Optional.of(testEvent));
 
-            service.save(testLogEvent);
+            var written = service.saveAll(List.of(testLogEvent, testLogEvent, testLogEvent));
 
-            verify(activityLogRepository, never()).save(any());
+            assertThat(written).isEqualTo(3);
+            verify(activityLogRepository).saveAll(logCaptor.capture());
+            assertThat(logCaptor.getValue()).hasSize(3);
         }
     }
 
@@ -175,4 +172,106 @@ class ActivityLogServiceTest {
             assertThat(response.httpMethod()).isEqualTo("GET");
         }
     }
+
+    @Nested
+    @DisplayName("scroll()")
+    class ScrollTests {
+
+        private final ActivityLogFilter noFilter = new ActivityLogFilter(null, null, null, null, null, null);
+
+        private ActivityLog logEntry(LocalDateTime createdAt) {
+            var entry = ActivityLog.builder()
+                    .id(UUID.randomUUID())
+                    .activityProcess(testProcess)
+                    .activityEvent(testEvent)
+                    .httpMethod("GET")
+                    .httpStatus(200)
+                    .requestPath("/api/companies")
+                    .build();
+            ReflectionTestUtils.setField(entry, "createdAt", createdAt);
+            return entry;
+        }
+
+        @Test
+        @DisplayName("should return a next cursor pointing at the last entry when more rows exist")
+        void moreRows_ReturnsNextCursor() {
+            var now = LocalDateTime.of(2026, 10, 18, 12, 0);
+            var newest = logEntry(now);
+            var middle = logEntry(now.minusMinutes(1));
+            var oldest = logEntry(now.minusMinutes(2));
+            when(activityLogRepository.findSliceByFilters(
+                    any(), any(), any(), any(), any(), any(), any(), any(), eq(Limit.of(3))))
+                    .thenReturn(List.of(newest, middle, oldest));
+
+            var result = service.scroll(noFilter, null, 2);
+
+            assertThat(result.content()).extracting(ActivityLogResponse::id)
+                    .containsExactly(newest.getId(), middle.getId());
+            var cursor = ActivityLogCursor.decode(result.nextCursor());
+            assertThat(cursor.createdAt()).isEqualTo(middle.getCreatedAt());
+            assertThat(cursor.id()).isEqualTo(middle.getId());
+        }
+
+        @Test
+        @DisplayName("should continue after the cursor position and end with a null cursor")
+        void lastPage_ReturnsNullCursor() {
+            var position = new ActivityLogCursor(LocalDateTime.of(2026, 10, 18, 12, 0), UUID.randomUUID());
+            var older = logEntry(position.createdAt().minusMinutes(5));
+            when(activityLogRepository.findSliceByFilters(
+                    any(), any(), eq(position.createdAt()), eq(position.id()),
+                    any(), any(), any(), any(), eq(Limit.of(21))))
+                    .thenReturn(List.of(older));
+
+            var result = service.scroll(noFilter, position.encode(), 20);
+
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void malformedCursor_ThrowsException() {
+            assertThatThrownBy(() -> service.scroll(noFilter, "not-a-cursor", 20))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(activityLogRepository, never()).findSliceByFilters(
+                    any(), any(), any(), any(), any(), any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("findAccessRollups()")
+    class FindAccessRollupsTests {
+
+        @Test
+        @DisplayName("should query whole days and map rollups to responses")
+        void returnsMappedRollups() {
+            var rollup = ActivityAccessRollup.builder()
+                    .bucketStart(LocalDateTime.of(2025, 3, 1, 10, 0))
+                    .bucketEnd(LocalDateTime.of(2025, 3, 1, 10, 1))
+                    .userId("user-1")
+                    .username("cashier")
+                    .processName("PRODUCT")
+                    .httpMethod("GET")
+                    .pathTemplate("/api/product-variants/{id}")
+                    .httpStatus(200)
+                    .requestCount(42L)
+                    .build();
+            var pageable = PageRequest.of(0, 20);
+            when(rollupRepository.findByFilters(
+                    eq(LocalDateTime.of(2025, 3, 1, 0, 0)), eq(LocalDateTime.of(2025, 3, 2, 0, 0)),
+                    eq("PRODUCT"), eq(null), eq(null), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(rollup), pageable, 1));
+
+            var filter = new ActivityAccessRollupFilter(
+                    LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1), "PRODUCT", null, null);
+            var result = service.findAccessRollups(filter, pageable);
+
+            assertThat(result).hasSize(1);
+            var response = result.getContent().get(0);
+            assertThat(response.process()).isEqualTo("PRODUCT");
+            assertThat(response.pathTemplate()).isEqualTo("/api/product-variants/{id}");
+            assertThat(response.httpStatus()).isEqualTo(200);
+            assertThat(response.requestCount()).isEqualTo(42L);
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package com.lifecontrol.api.activity.service;
+
+import com.lifecontrol.api.activity.event.ActivityLogEvent;
+import com.lifecontrol.api.activity.service.ActivityLogWriter.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivityLogWriter Tests")
+class ActivityLogWriterTest {
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private ActivityLogWriter newWriter(int capacity, OverflowPolicy policy) {
+        writer = new ActivityLogWriter(activityLogService, meterRegistry,
+                capacity, 50, policy, Duration.ofMillis(20));
+        return writer;
+    }
+
+    private ActivityLogEvent event(String path) {
+        return new ActivityLogEvent(this, "user-1", "testuser", "COMPANY", "READ",
+                "GET", 200, path, "127.0.0.1", "TestAgent", null, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("should write queued entries in one batch on the background thread")
+    void writesQueuedEntriesInBatch() {
+        newWriter(100, OverflowPolicy.DROP);
+        var first = event("/api/a");
+        var second = event("/api/b");
+        when(activityLogService.saveAll(List.of(first, second))).thenReturn(2);
+
+        writer.submit(first);
+        writer.submit(second);
+        writer.start();
+
+        assertThat(writer.flush(Duration.ofSeconds(5))).isTrue();
+        verify(activityLogService).saveAll(List.of(first, second));
+        assertThat(meterRegistry.get("activity.log.written").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("activity.log.queue.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("DROP policy should discard entries when the queue is full and count them")
+    void dropPolicy_QueueFull_DropsEntry() {
+        newWriter(1, OverflowPolicy.DROP);
+
+        assertThat(writer.submit(event("/api/a"))).isTrue();
+        assertThat(writer.submit(event("/api/b"))).isFalse();
+
+        assertThat(meterRegistry.get("activity.log.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("activity.log.queue.size").gauge().value()).isEqualTo(1);
+        verify(activityLogService, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("BLOCK policy should discard entries only after waiting for space")
+    void blockPolicy_QueueFull_DropsAfterTimeout() {
+        newWriter(1, OverflowPolicy.BLOCK);
+        writer.submit(event("/api/a"));
+
+        var startedAt = System.nanoTime();
+        var accepted = writer.submit(event("/api/b"));
+
+        assertThat(accepted).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+        assertThat(meterRegistry.get("activity.log.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should count a failed batch and keep writing later entries")
+    void failedBatch_IsCountedAndWriterContinues() {
+        newWriter(100, OverflowPolicy.DROP);
+        var failing = event("/api/a");
+        var next = event("/api/b");
+        when(activityLogService.saveAll(List.of(failing))).thenThrow(new RuntimeException("DB down"));
+        when(activityLogService.saveAll(List.of(next))).thenReturn(1);
+        writer.start();
+
+        writer.submit(failing);
+        assertThat(writer.flush(Duration.ofSeconds(5))).isTrue();
+        writer.submit(next);
+        assertThat(writer.flush(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(meterRegistry.get("activity.log.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("activity.log.written").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should write entries still queued when stopped")
+    void stop_DrainsRemainingEntries() {
+        newWriter(100, OverflowPolicy.DROP);
+        var pending = event("/api/a");
+        when(activityLogService.saveAll(List.of(pending))).thenReturn(1);
+        writer.start();
+
+        writer.submit(pending);
+        writer.stop();
+
+        verify(activityLogService).saveAll(List.of(pending));
+        assertThat(writer.flush(Duration.ZERO)).isTrue();
+    }
+}
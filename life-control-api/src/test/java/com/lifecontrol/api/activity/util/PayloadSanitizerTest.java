@@ -0,0 +1,107 @@
+package com.lifecontrol.api.activity.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PayloadSanitizer Tests")
+class PayloadSanitizerTest {
+
+    private static String sanitize(String json) {
+        return PayloadSanitizer.sanitize(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("redaction")
+    class RedactionTests {
+
+        @Test
+        @DisplayName("should redact sensitive string fields and keep the rest")
+        void redactsTopLevelFields() {
+            var result = sanitize("{\"username\": \"admin\", \"password\": \"secret123\"}");
+
+            assertThat(result).isEqualTo("{\"username\":\"admin\",\"password\":\"[REDACTED]\"}");
+        }
+
+        @Test
+        @DisplayName("should redact sensitive fields at any depth, including inside arrays")
+        void redactsNestedFields() {
+            var result = sanitize("{\"users\":[{\"name\":\"a\",\"api_key\":\"k1\"},{\"name\":\"b\",\"API_KEY\":\"k2\"}]}");
+
+            assertThat(result).isEqualTo(
+                    "{\"users\":[{\"name\":\"a\",\"api_key\":\"[REDACTED]\"},{\"name\":\"b\",\"API_KEY\":\"[REDACTED]\"}]}");
+        }
+
+        @Test
+        @DisplayName("should replace non-string and structured sensitive values as a whole")
+        void redactsNonStringValues() {
+            var result = sanitize("{\"secret\":{\"a\":[1,2,{\"b\":3}]},\"token\":42,\"private_key\":null,\"id\":7}");
+
+            assertThat(result).isEqualTo(
+                    "{\"secret\":\"[REDACTED]\",\"token\":\"[REDACTED]\",\"private_key\":\"[REDACTED]\",\"id\":7}");
+        }
+
+        @Test
+        @DisplayName("should keep numbers exactly as sent")
+        void keepsNumbersExact() {
+            var result = sanitize("{\"price\":12.50,\"big\":123456789012345678901234567890}");
+
+            assertThat(result).isEqualTo("{\"price\":12.50,\"big\":123456789012345678901234567890}");
+        }
+    }
+
+    @Nested
+    @DisplayName("size cap and non-JSON content")
+    class CapTests {
+
+        @Test
+        @DisplayName("should truncate output past the maximum length")
+        void truncatesLargePayloads() {
+            var large = "{\"notes\":\"" + "x".repeat(PayloadSanitizer.MAX_PAYLOAD_LENGTH * 2) + "\"}";
+
+            var result = sanitize(large);
+
+            assertThat(result)
+                    .hasSize(PayloadSanitizer.MAX_PAYLOAD_LENGTH + PayloadSanitizer.TRUNCATED_MARKER.length())
+                    .startsWith("{\"notes\":\"xxx")
+                    .endsWith(PayloadSanitizer.TRUNCATED_MARKER);
+        }
+
+        @Test
+        @DisplayName("should apply a caller-supplied limit instead of the audit cap")
+        void customLimit() {
+            var large = "{\"notes\":\"" + "x".repeat(PayloadSanitizer.MAX_PAYLOAD_LENGTH * 2) + "\"}";
+
+            assertThat(PayloadSanitizer.sanitize(large, Integer.MAX_VALUE)).isEqualTo(large);
+            assertThat(PayloadSanitizer.sanitize(large, 20))
+                    .isEqualTo("{\"notes\":\"" + "x".repeat(10) + PayloadSanitizer.TRUNCATED_MARKER);
+        }
+
+        @Test
+        @DisplayName("should return non-JSON content as text")
+        void passesThroughNonJson() {
+            assertThat(sanitize("plain text content")).isEqualTo("plain text content");
+        }
+
+        @Test
+        @DisplayName("should keep only the redacted prefix of malformed JSON")
+        void malformedJson_KeepsRedactedPrefix() {
+            var result = sanitize("{\"password\":\"p1\",\"name\":\"a\" oops \"token\":\"t1\"}");
+
+            assertThat(result)
+                    .doesNotContain("p1")
+                    .doesNotContain("t1")
+                    .endsWith(PayloadSanitizer.TRUNCATED_MARKER);
+        }
+
+        @Test
+        @DisplayName("should return null for an empty body")
+        void emptyBody_ReturnsNull() {
+            assertThat(PayloadSanitizer.sanitize(new byte[0])).isNull();
+        }
+    }
+}
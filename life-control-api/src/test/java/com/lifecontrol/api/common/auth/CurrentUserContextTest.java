@@ -1,5 +1,6 @@
 package com.lifecontrol.api.common.auth;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +15,11 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -23,6 +27,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.springframework.security.access.AccessDeniedException;
@@ -42,12 +48,16 @@ class CurrentUserContextTest {
     @Mock
     private Jwt jwt;
 
+    private final Map<String, Object> claims = new HashMap<>();
+
     @BeforeEach
     void setUp() {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         lenient().when(authentication.getPrincipal()).thenReturn(jwt);
+        lenient().when(jwt.getClaims()).thenReturn(claims);
         SecurityContextHolder.setContext(securityContext);
-        currentUserContext = new CurrentUserContext();
+        currentUserContext = new CurrentUserContext(
+                new UserScopeCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(15)));
     }
 
     @AfterEach
@@ -62,7 +72,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("getUserId should return the sub claim")
         void getUserIdReturnsSub() {
-            when(jwt.getClaimAsString("sub")).thenReturn("a1b2c3d4-e5f6-7890-abcd-ef1234567890");
+            claims.put("sub", "a1b2c3d4-e5f6-7890-abcd-ef1234567890");
 
             var result = currentUserContext.getUserId();
 
@@ -72,7 +82,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("getUserId should return null when JWT has no sub claim")
         void getUserIdReturnsNullWhenMissing() {
-            when(jwt.getClaimAsString("sub")).thenReturn(null);
+            claims.put("sub", null);
 
             var result = currentUserContext.getUserId();
 
@@ -82,7 +92,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("getUsername should return the preferred_username claim")
         void getUsernameReturnsPreferredUsername() {
-            when(jwt.getClaimAsString("preferred_username")).thenReturn("jdoe");
+            claims.put("preferred_username", "jdoe");
 
             var result = currentUserContext.getUsername();
 
@@ -92,7 +102,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("getUsername should return null when JWT has no preferred_username claim")
         void getUsernameReturnsNullWhenMissing() {
-            when(jwt.getClaimAsString("preferred_username")).thenReturn(null);
+            claims.put("preferred_username", null);
 
             var result = currentUserContext.getUsername();
 
@@ -100,6 +110,47 @@ class CurrentUserContextTest {
         }
     }
 
+    @Nested
+    @DisplayName("getScope — per-request snapshot")
+    class ScopeSnapshotTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("should read the security context once and answer later checks from the snapshot")
+        void compilesScopeOnce() {
+            var companyId = UUID.randomUUID();
+            var storeId = UUID.randomUUID();
+            claims.put("sub", "user-1");
+            claims.put("company_id", companyId.toString());
+            claims.put("company_store_id", List.of(storeId.toString()));
+            when(authentication.getAuthorities()).thenReturn((Collection) List.of(
+                    (GrantedAuthority) () -> CurrentUserContext.ROLE_LC_COMPANY_STORE_READ));
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(currentUserContext.getUserId()).isEqualTo("user-1");
+                assertThat(currentUserContext.hasCompanyStoreReadRole()).isTrue();
+                assertThat(currentUserContext.getCompanyStoreIds()).containsExactly(storeId);
+            }
+
+            var scope = currentUserContext.getScope();
+            assertThat(scope.companyIds()).containsExactly(companyId);
+            assertThat(scope.hasAnyRole(UserScope.COMPANY_STORE | UserScope.COMPANY_STORE_READ)).isTrue();
+            assertThat(scope.hasAnyRole(UserScope.ADMIN)).isFalse();
+            verify(securityContext, times(1)).getAuthentication();
+            verify(jwt, times(1)).getClaims();
+        }
+
+        @Test
+        @DisplayName("should return the anonymous scope when there is no authentication")
+        void noAuthentication_AnonymousScope() {
+            when(securityContext.getAuthentication()).thenReturn(null);
+
+            assertThat(currentUserContext.getScope()).isSameAs(UserScope.ANONYMOUS);
+            assertThat(currentUserContext.isAdmin()).isFalse();
+            assertThat(currentUserContext.getCompanyIds()).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("getCompanyIds")
     class GetCompanyIdsTests {
@@ -108,7 +159,7 @@ class CurrentUserContextTest {
         @DisplayName("should extract single UUID from company_id claim")
         void singleUuid() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(id.toString());
+            claims.put("company_id", id.toString());
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -120,7 +171,7 @@ class CurrentUserContextTest {
         void multipleUuids() {
             UUID id1 = UUID.randomUUID();
             UUID id2 = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(id1 + "," + id2);
+            claims.put("company_id", id1 + "," + id2);
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -131,7 +182,7 @@ class CurrentUserContextTest {
         @DisplayName("should deduplicate repeated UUIDs")
         void deduplicates() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(id + "," + id);
+            claims.put("company_id", id + "," + id);
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -143,7 +194,7 @@ class CurrentUserContextTest {
         @DisplayName("should handle whitespace-padded UUIDs")
         void whitespacePadded() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(" " + id + " , " + id);
+            claims.put("company_id", " " + id + " , " + id);
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -154,7 +205,7 @@ class CurrentUserContextTest {
         @DisplayName("should silently skip malformed UUIDs")
         void malformedUuids() {
             UUID validId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn("not-a-uuid," + validId);
+            claims.put("company_id", "not-a-uuid," + validId);
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -164,7 +215,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("all-malformed returns empty set")
         void allMalformed() {
-            when(jwt.getClaim("company_id")).thenReturn("not-a-uuid,also-bad");
+            claims.put("company_id", "not-a-uuid,also-bad");
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -174,7 +225,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is missing")
         void missingClaim() {
-            when(jwt.getClaim("company_id")).thenReturn(null);
+            claims.put("company_id", null);
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -184,7 +235,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is blank")
         void blankClaim() {
-            when(jwt.getClaim("company_id")).thenReturn("   ");
+            claims.put("company_id", "   ");
 
             Set<UUID> result = currentUserContext.getCompanyIds();
 
@@ -200,7 +251,7 @@ class CurrentUserContextTest {
         @DisplayName("should extract single UUID from company_region_id claim")
         void singleUuid() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_region_id")).thenReturn(id.toString());
+            claims.put("company_region_id", id.toString());
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -212,7 +263,7 @@ class CurrentUserContextTest {
         void multipleUuids() {
             UUID id1 = UUID.randomUUID();
             UUID id2 = UUID.randomUUID();
-            when(jwt.getClaim("company_region_id")).thenReturn(id1 + "," + id2);
+            claims.put("company_region_id", id1 + "," + id2);
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -223,7 +274,7 @@ class CurrentUserContextTest {
         @DisplayName("should deduplicate repeated UUIDs")
         void deduplicates() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_region_id")).thenReturn(id + "," + id);
+            claims.put("company_region_id", id + "," + id);
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -235,7 +286,7 @@ class CurrentUserContextTest {
         @DisplayName("should handle whitespace-padded UUIDs")
         void whitespacePadded() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_region_id")).thenReturn(" " + id + " , " + id);
+            claims.put("company_region_id", " " + id + " , " + id);
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -246,7 +297,7 @@ class CurrentUserContextTest {
         @DisplayName("should silently skip malformed UUIDs")
         void malformedUuids() {
             UUID validId = UUID.randomUUID();
-            when(jwt.getClaim("company_region_id")).thenReturn("not-a-uuid," + validId);
+            claims.put("company_region_id", "not-a-uuid," + validId);
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -256,7 +307,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("all-malformed returns empty set")
         void allMalformed() {
-            when(jwt.getClaim("company_region_id")).thenReturn("not-a-uuid,also-bad");
+            claims.put("company_region_id", "not-a-uuid,also-bad");
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -266,7 +317,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is missing")
         void missingClaim() {
-            when(jwt.getClaim("company_region_id")).thenReturn(null);
+            claims.put("company_region_id", null);
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -276,7 +327,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is blank")
         void blankClaim() {
-            when(jwt.getClaim("company_region_id")).thenReturn("   ");
+            claims.put("company_region_id", "   ");
 
             Set<UUID> result = currentUserContext.getCompanyRegionIds();
 
@@ -292,7 +343,7 @@ class CurrentUserContextTest {
         @DisplayName("should extract single UUID from company_country_id claim")
         void singleUuid() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_country_id")).thenReturn(id.toString());
+            claims.put("company_country_id", id.toString());
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -304,7 +355,7 @@ class CurrentUserContextTest {
         void multipleUuids() {
             UUID id1 = UUID.randomUUID();
             UUID id2 = UUID.randomUUID();
-            when(jwt.getClaim("company_country_id")).thenReturn(id1 + "," + id2);
+            claims.put("company_country_id", id1 + "," + id2);
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -315,7 +366,7 @@ class CurrentUserContextTest {
         @DisplayName("should deduplicate repeated UUIDs")
         void deduplicates() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_country_id")).thenReturn(id + "," + id);
+            claims.put("company_country_id", id + "," + id);
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -327,7 +378,7 @@ class CurrentUserContextTest {
         @DisplayName("should handle whitespace-padded UUIDs")
         void whitespacePadded() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_country_id")).thenReturn(" " + id + " , " + id);
+            claims.put("company_country_id", " " + id + " , " + id);
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -338,7 +389,7 @@ class CurrentUserContextTest {
         @DisplayName("should silently skip malformed UUIDs")
         void malformedUuids() {
             UUID validId = UUID.randomUUID();
-            when(jwt.getClaim("company_country_id")).thenReturn("not-a-uuid," + validId);
+            claims.put("company_country_id", "not-a-uuid," + validId);
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -348,7 +399,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("all-malformed returns empty set")
         void allMalformed() {
-            when(jwt.getClaim("company_country_id")).thenReturn("not-a-uuid,also-bad");
+            claims.put("company_country_id", "not-a-uuid,also-bad");
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -358,7 +409,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is missing")
         void missingClaim() {
-            when(jwt.getClaim("company_country_id")).thenReturn(null);
+            claims.put("company_country_id", null);
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -368,7 +419,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is blank")
         void blankClaim() {
-            when(jwt.getClaim("company_country_id")).thenReturn("   ");
+            claims.put("company_country_id", "   ");
 
             Set<UUID> result = currentUserContext.getCompanyCountryIds();
 
@@ -384,7 +435,7 @@ class CurrentUserContextTest {
         @DisplayName("should extract single UUID from company_zone_id claim")
         void singleUuid() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_zone_id")).thenReturn(id.toString());
+            claims.put("company_zone_id", id.toString());
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -396,7 +447,7 @@ class CurrentUserContextTest {
         void multipleUuids() {
             UUID id1 = UUID.randomUUID();
             UUID id2 = UUID.randomUUID();
-            when(jwt.getClaim("company_zone_id")).thenReturn(id1 + "," + id2);
+            claims.put("company_zone_id", id1 + "," + id2);
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -407,7 +458,7 @@ class CurrentUserContextTest {
         @DisplayName("should deduplicate repeated UUIDs")
         void deduplicates() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_zone_id")).thenReturn(id + "," + id);
+            claims.put("company_zone_id", id + "," + id);
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -419,7 +470,7 @@ class CurrentUserContextTest {
         @DisplayName("should handle whitespace-padded UUIDs")
         void whitespacePadded() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_zone_id")).thenReturn(" " + id + " , " + id);
+            claims.put("company_zone_id", " " + id + " , " + id);
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -430,7 +481,7 @@ class CurrentUserContextTest {
         @DisplayName("should silently skip malformed UUIDs")
         void malformedUuids() {
             UUID validId = UUID.randomUUID();
-            when(jwt.getClaim("company_zone_id")).thenReturn("not-a-uuid," + validId);
+            claims.put("company_zone_id", "not-a-uuid," + validId);
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -440,7 +491,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("all-malformed returns empty set")
         void allMalformed() {
-            when(jwt.getClaim("company_zone_id")).thenReturn("not-a-uuid,also-bad");
+            claims.put("company_zone_id", "not-a-uuid,also-bad");
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -450,7 +501,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is missing")
         void missingClaim() {
-            when(jwt.getClaim("company_zone_id")).thenReturn(null);
+            claims.put("company_zone_id", null);
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -460,7 +511,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is blank")
         void blankClaim() {
-            when(jwt.getClaim("company_zone_id")).thenReturn("   ");
+            claims.put("company_zone_id", "   ");
 
             Set<UUID> result = currentUserContext.getCompanyZoneIds();
 
@@ -634,7 +685,7 @@ class CurrentUserContextTest {
         void countryRoleCanAccessAssignedCompany() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_life-control-country"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
 
             currentUserContext.verifyCompanyAccess(companyId);
         }
@@ -645,7 +696,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_life-control-country"));
             UUID assignedId = UUID.randomUUID();
             UUID otherId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedId.toString());
+            claims.put("company_id", assignedId.toString());
 
             org.junit.jupiter.api.Assertions.assertThrows(
                     org.springframework.security.access.AccessDeniedException.class,
@@ -658,7 +709,7 @@ class CurrentUserContextTest {
         void lcCompanyRoleCanAccessAssignedCompany() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
 
             // Should not throw — lc-company user has matching company_id
             currentUserContext.verifyCompanyAccess(companyId);
@@ -670,7 +721,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID assignedId = UUID.randomUUID();
             UUID otherId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedId.toString());
+            claims.put("company_id", assignedId.toString());
 
             org.junit.jupiter.api.Assertions.assertThrows(
                     org.springframework.security.access.AccessDeniedException.class,
@@ -702,7 +753,7 @@ class CurrentUserContextTest {
         void lcCompanyCanAccessAssignedCompany() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyCountryAccess(companyId, UUID.randomUUID()));
@@ -714,7 +765,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID assignedId = UUID.randomUUID();
             UUID otherId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedId.toString());
+            claims.put("company_id", assignedId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyCountryAccess(otherId, UUID.randomUUID()));
@@ -726,8 +777,8 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyCountryAccess(companyId, countryId));
@@ -740,8 +791,8 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID assignedCountryId = UUID.randomUUID();
             UUID otherCountryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(assignedCountryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", assignedCountryId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyCountryAccess(companyId, otherCountryId));
@@ -754,7 +805,7 @@ class CurrentUserContextTest {
             UUID assignedCompanyId = UUID.randomUUID();
             UUID wrongCompanyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedCompanyId.toString());
+            claims.put("company_id", assignedCompanyId.toString());
             // company_country_id claim not needed — verifyCompanyAccess throws first
 
             assertThrows(AccessDeniedException.class,
@@ -766,7 +817,7 @@ class CurrentUserContextTest {
         void countryUserThrowsForNullCompanyCountryId() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
             // company_country_id claim not needed — null check fires before claim parsing
 
             assertThrows(AccessDeniedException.class,
@@ -779,8 +830,8 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(null);
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", null);
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyCountryAccess(companyId, countryId));
@@ -824,7 +875,7 @@ class CurrentUserContextTest {
         void lcCompanyCanAccessAssignedCompany() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyRegionAccess(companyId, UUID.randomUUID(), UUID.randomUUID()));
@@ -836,7 +887,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID assignedId = UUID.randomUUID();
             UUID otherId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedId.toString());
+            claims.put("company_id", assignedId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyRegionAccess(otherId, UUID.randomUUID(), UUID.randomUUID()));
@@ -850,8 +901,8 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyRegionAccess(companyId, countryId, UUID.randomUUID()));
@@ -864,8 +915,8 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID assignedCountryId = UUID.randomUUID();
             UUID otherCountryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(assignedCountryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", assignedCountryId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyRegionAccess(companyId, otherCountryId, UUID.randomUUID()));
@@ -877,7 +928,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID assignedCompanyId = UUID.randomUUID();
             UUID wrongCompanyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedCompanyId.toString());
+            claims.put("company_id", assignedCompanyId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyRegionAccess(wrongCompanyId, UUID.randomUUID(), UUID.randomUUID()));
@@ -892,9 +943,9 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyRegionAccess(companyId, countryId, regionId));
@@ -908,9 +959,9 @@ class CurrentUserContextTest {
             UUID countryId = UUID.randomUUID();
             UUID assignedRegionId = UUID.randomUUID();
             UUID otherRegionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(assignedRegionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", assignedRegionId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyRegionAccess(companyId, countryId, otherRegionId));
@@ -923,8 +974,8 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID assignedCountryId = UUID.randomUUID();
             UUID otherCountryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(assignedCountryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", assignedCountryId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyRegionAccess(companyId, otherCountryId, UUID.randomUUID()));
@@ -936,7 +987,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-region"));
             UUID assignedCompanyId = UUID.randomUUID();
             UUID wrongCompanyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedCompanyId.toString());
+            claims.put("company_id", assignedCompanyId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyRegionAccess(wrongCompanyId, UUID.randomUUID(), UUID.randomUUID()));
@@ -983,7 +1034,7 @@ class CurrentUserContextTest {
         void lcCompanyCanAccessAssignedCompany() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyZoneAccess(companyId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -995,7 +1046,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID assignedId = UUID.randomUUID();
             UUID otherId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedId.toString());
+            claims.put("company_id", assignedId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyZoneAccess(otherId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1009,8 +1060,8 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyZoneAccess(companyId, countryId, UUID.randomUUID(), UUID.randomUUID()));
@@ -1023,8 +1074,8 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID assignedCountryId = UUID.randomUUID();
             UUID otherCountryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(assignedCountryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", assignedCountryId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyZoneAccess(companyId, otherCountryId, UUID.randomUUID(), UUID.randomUUID()));
@@ -1039,9 +1090,9 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyZoneAccess(companyId, countryId, regionId, UUID.randomUUID()));
@@ -1055,9 +1106,9 @@ class CurrentUserContextTest {
             UUID countryId = UUID.randomUUID();
             UUID assignedRegionId = UUID.randomUUID();
             UUID otherRegionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(assignedRegionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", assignedRegionId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyZoneAccess(companyId, countryId, otherRegionId, UUID.randomUUID()));
@@ -1073,10 +1124,10 @@ class CurrentUserContextTest {
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
             UUID zoneId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(zoneId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", zoneId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyZoneAccess(companyId, countryId, regionId, zoneId));
@@ -1091,10 +1142,10 @@ class CurrentUserContextTest {
             UUID regionId = UUID.randomUUID();
             UUID assignedZoneId = UUID.randomUUID();
             UUID otherZoneId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(assignedZoneId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", assignedZoneId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyZoneAccess(companyId, countryId, regionId, otherZoneId));
@@ -1107,9 +1158,9 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
             // company_zone_id claim is not stubbed — it won't be read when zoneId is null
 
             assertDoesNotThrow(() ->
@@ -1137,7 +1188,7 @@ class CurrentUserContextTest {
         @DisplayName("should extract single UUID from company_store_id claim")
         void singleUuid() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_store_id")).thenReturn(id.toString());
+            claims.put("company_store_id", id.toString());
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1149,7 +1200,7 @@ class CurrentUserContextTest {
         void multipleUuids() {
             UUID id1 = UUID.randomUUID();
             UUID id2 = UUID.randomUUID();
-            when(jwt.getClaim("company_store_id")).thenReturn(id1 + "," + id2);
+            claims.put("company_store_id", id1 + "," + id2);
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1160,7 +1211,7 @@ class CurrentUserContextTest {
         @DisplayName("should deduplicate repeated UUIDs")
         void deduplicates() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_store_id")).thenReturn(id + "," + id);
+            claims.put("company_store_id", id + "," + id);
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1172,7 +1223,7 @@ class CurrentUserContextTest {
         @DisplayName("should handle whitespace-padded UUIDs")
         void whitespacePadded() {
             UUID id = UUID.randomUUID();
-            when(jwt.getClaim("company_store_id")).thenReturn(" " + id + " , " + id);
+            claims.put("company_store_id", " " + id + " , " + id);
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1183,7 +1234,7 @@ class CurrentUserContextTest {
         @DisplayName("should silently skip malformed UUIDs")
         void malformedUuids() {
             UUID validId = UUID.randomUUID();
-            when(jwt.getClaim("company_store_id")).thenReturn("not-a-uuid," + validId);
+            claims.put("company_store_id", "not-a-uuid," + validId);
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1193,7 +1244,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("all-malformed returns empty set")
         void allMalformed() {
-            when(jwt.getClaim("company_store_id")).thenReturn("not-a-uuid,also-bad");
+            claims.put("company_store_id", "not-a-uuid,also-bad");
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1203,7 +1254,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is missing")
         void missingClaim() {
-            when(jwt.getClaim("company_store_id")).thenReturn(null);
+            claims.put("company_store_id", null);
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1213,7 +1264,7 @@ class CurrentUserContextTest {
         @Test
         @DisplayName("should return empty set when claim is blank")
         void blankClaim() {
-            when(jwt.getClaim("company_store_id")).thenReturn("   ");
+            claims.put("company_store_id", "   ");
 
             Set<UUID> result = currentUserContext.getCompanyStoreIds();
 
@@ -1249,7 +1300,7 @@ class CurrentUserContextTest {
         void lcCompanyCanAccessAssignedCompany() {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID companyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
+            claims.put("company_id", companyId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyStoreAccess(companyId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1261,7 +1312,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company"));
             UUID assignedId = UUID.randomUUID();
             UUID otherId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedId.toString());
+            claims.put("company_id", assignedId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(otherId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1275,8 +1326,8 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-country"));
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyStoreAccess(companyId, countryId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1289,8 +1340,8 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID assignedCountryId = UUID.randomUUID();
             UUID otherCountryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(assignedCountryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", assignedCountryId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(companyId, otherCountryId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1305,9 +1356,9 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, UUID.randomUUID(), UUID.randomUUID()));
@@ -1321,9 +1372,9 @@ class CurrentUserContextTest {
             UUID countryId = UUID.randomUUID();
             UUID assignedRegionId = UUID.randomUUID();
             UUID otherRegionId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(assignedRegionId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", assignedRegionId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(companyId, countryId, otherRegionId, UUID.randomUUID(), UUID.randomUUID()));
@@ -1339,10 +1390,10 @@ class CurrentUserContextTest {
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
             UUID zoneId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(zoneId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", zoneId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, zoneId, UUID.randomUUID()));
@@ -1357,10 +1408,10 @@ class CurrentUserContextTest {
             UUID regionId = UUID.randomUUID();
             UUID assignedZoneId = UUID.randomUUID();
             UUID otherZoneId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(assignedZoneId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", assignedZoneId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, otherZoneId, UUID.randomUUID()));
@@ -1377,11 +1428,11 @@ class CurrentUserContextTest {
             UUID regionId = UUID.randomUUID();
             UUID zoneId = UUID.randomUUID();
             UUID storeId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(zoneId.toString());
-            when(jwt.getClaim("company_store_id")).thenReturn(storeId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", zoneId.toString());
+            claims.put("company_store_id", storeId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, zoneId, storeId));
@@ -1397,11 +1448,11 @@ class CurrentUserContextTest {
             UUID zoneId = UUID.randomUUID();
             UUID assignedStoreId = UUID.randomUUID();
             UUID otherStoreId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(zoneId.toString());
-            when(jwt.getClaim("company_store_id")).thenReturn(assignedStoreId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", zoneId.toString());
+            claims.put("company_store_id", assignedStoreId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, zoneId, otherStoreId));
@@ -1415,10 +1466,10 @@ class CurrentUserContextTest {
             UUID countryId = UUID.randomUUID();
             UUID regionId = UUID.randomUUID();
             UUID zoneId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(zoneId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", zoneId.toString());
 
             assertDoesNotThrow(() ->
                     currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, zoneId, null));
@@ -1430,7 +1481,7 @@ class CurrentUserContextTest {
             mockAuthorities(List.of((GrantedAuthority) () -> "ROLE_lc-company-store"));
             UUID assignedCompanyId = UUID.randomUUID();
             UUID otherCompanyId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(assignedCompanyId.toString());
+            claims.put("company_id", assignedCompanyId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(otherCompanyId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1443,8 +1494,8 @@ class CurrentUserContextTest {
             UUID companyId = UUID.randomUUID();
             UUID assignedCountryId = UUID.randomUUID();
             UUID otherCountryId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(assignedCountryId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", assignedCountryId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(companyId, otherCountryId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
@@ -1459,10 +1510,10 @@ class CurrentUserContextTest {
             UUID regionId = UUID.randomUUID();
             UUID assignedZoneId = UUID.randomUUID();
             UUID otherZoneId = UUID.randomUUID();
-            when(jwt.getClaim("company_id")).thenReturn(companyId.toString());
-            when(jwt.getClaim("company_country_id")).thenReturn(countryId.toString());
-            when(jwt.getClaim("company_region_id")).thenReturn(regionId.toString());
-            when(jwt.getClaim("company_zone_id")).thenReturn(assignedZoneId.toString());
+            claims.put("company_id", companyId.toString());
+            claims.put("company_country_id", countryId.toString());
+            claims.put("company_region_id", regionId.toString());
+            claims.put("company_zone_id", assignedZoneId.toString());
 
             assertThrows(AccessDeniedException.class,
                     () -> currentUserContext.verifyCompanyStoreAccess(companyId, countryId, regionId, otherZoneId, UUID.randomUUID()));
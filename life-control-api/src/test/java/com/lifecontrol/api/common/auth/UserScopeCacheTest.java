@@ -0,0 +1,115 @@
+package com.lifecontrol.api.common.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserScopeCache Tests")
+class UserScopeCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserScopeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserScopeCache(meterRegistry, 2, Duration.ofMinutes(15));
+    }
+
+    private static JwtAuthenticationToken token(String jti, String tokenValue, Instant expiresAt) {
+        var builder = Jwt.withTokenValue(tokenValue)
+                .header("alg", "none")
+                .subject("user-1")
+                .claim("company_store_id", UUID.randomUUID().toString())
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(expiresAt);
+        if (jti != null) {
+            builder.jti(jti);
+        }
+        return new JwtAuthenticationToken(builder.build(),
+                List.of(new SimpleGrantedAuthority(CurrentUserContext.ROLE_LC_COMPANY_STORE)));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("auth.scope.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("should compile a token once and serve later requests from the cache")
+    void sameToken_Hit() {
+        var expiresAt = Instant.now().plusSeconds(300);
+
+        var first = cache.resolve(token("jti-1", "token-a", expiresAt));
+        var second = cache.resolve(token("jti-1", "token-a", expiresAt));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.hasAnyRole(UserScope.COMPANY_STORE)).isTrue();
+        assertThat(requests("hit")).isEqualTo(1.0);
+        assertThat(requests("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should key tokens without a jti by their hash")
+    void noJti_KeyedByTokenHash() {
+        var expiresAt = Instant.now().plusSeconds(300);
+
+        var first = cache.resolve(token(null, "token-a", expiresAt));
+        var other = cache.resolve(token(null, "token-b", expiresAt));
+        var again = cache.resolve(token(null, "token-a", expiresAt));
+
+        assertThat(again).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("should not cache a token that has already expired")
+    void expiredToken_NotCached() {
+        var expiresAt = Instant.now().minusSeconds(1);
+
+        cache.resolve(token("jti-1", "token-a", expiresAt));
+        cache.resolve(token("jti-1", "token-a", expiresAt));
+
+        assertThat(requests("hit")).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used token beyond the maximum size")
+    void evictsLeastRecentlyUsed() {
+        var expiresAt = Instant.now().plusSeconds(300);
+        var first = cache.resolve(token("jti-1", "a", expiresAt));
+        cache.resolve(token("jti-2", "b", expiresAt));
+        cache.resolve(token("jti-1", "a", expiresAt));
+
+        cache.resolve(token("jti-3", "c", expiresAt));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.resolve(token("jti-1", "a", expiresAt))).isSameAs(first);
+        assertThat(meterRegistry.get("auth.scope.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should drop expired tokens before evicting live ones when full")
+    void dropsExpiredBeforeEvictingLive() throws InterruptedException {
+        var live = Instant.now().plusSeconds(300);
+        cache.resolve(token("jti-1", "a", Instant.now().plusMillis(50)));
+        var second = cache.resolve(token("jti-2", "b", live));
+
+        Thread.sleep(100);
+        cache.resolve(token("jti-3", "c", live));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.resolve(token("jti-2", "b", live))).isSameAs(second);
+    }
+}
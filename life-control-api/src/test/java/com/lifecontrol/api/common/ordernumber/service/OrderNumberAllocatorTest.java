@@ -0,0 +1,168 @@
+package com.lifecontrol.api.common.ordernumber.service;
+
+import com.lifecontrol.api.common.ordernumber.repository.OrderNumberCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderNumberAllocator Tests")
+class OrderNumberAllocatorTest {
+
+    private static final String PREFIX = "SO-20260610-";
+
+    @Mock
+    private OrderNumberCounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new OrderNumberAllocator(counterRepository, transactionManager, 3);
+    }
+
+    /**
+     * Backs the repository with an in-memory counter row. The value read back after
+     * {@code advance} is the one this thread's update produced, as the row lock ensures in the
+     * database.
+     */
+    private AtomicLong givenCounter(String prefix, long nextValue) {
+        var counter = new AtomicLong(nextValue);
+        var updated = new ThreadLocal<Long>();
+        when(counterRepository.advance(eq(prefix), anyLong())).thenAnswer(invocation -> {
+            updated.set(counter.addAndGet(invocation.getArgument(1, Long.class)));
+            return 1;
+        });
+        when(counterRepository.findNextValue(prefix)).thenAnswer(invocation -> Optional.of(updated.get()));
+        return counter;
+    }
+
+    @Test
+    @DisplayName("should reserve a block once and serve following numbers from memory")
+    void next_ServesBlockFromMemory() {
+        var counter = givenCounter(PREFIX, 1L);
+
+        assertThat(allocator.next(PREFIX, () -> 0)).isEqualTo(1);
+        assertThat(allocator.next(PREFIX, () -> 0)).isEqualTo(2);
+        assertThat(allocator.next(PREFIX, () -> 0)).isEqualTo(3);
+
+        verify(counterRepository, times(1)).advance(PREFIX, 3);
+        assertThat(counter.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should reserve the next block when the current one is used up")
+    void next_ExhaustedBlock_ReservesNext() {
+        var counter = givenCounter(PREFIX, 1L);
+
+        for (int i = 0; i < 3; i++) {
+            allocator.next(PREFIX, () -> 0);
+        }
+        var fourth = allocator.next(PREFIX, () -> 0);
+
+        assertThat(fourth).isEqualTo(4);
+        verify(counterRepository, times(2)).advance(PREFIX, 3);
+        assertThat(counter.get()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("should seed a new prefix from the highest number already issued, first block included")
+    void next_NewPrefix_SeedsFromHighestIssued() {
+        when(counterRepository.advance(PREFIX, 3)).thenReturn(0);
+
+        var result = allocator.next(PREFIX, () -> 42);
+
+        assertThat(result).isEqualTo(43);
+        verify(counterRepository).insert(PREFIX, 46);
+        verify(counterRepository, times(1)).advance(PREFIX, 3);
+    }
+
+    @Test
+    @DisplayName("should use the counter created by another node when the insert conflicts")
+    void next_ConcurrentInsert_UsesExistingCounter() {
+        when(counterRepository.advance(PREFIX, 3)).thenReturn(0).thenReturn(1);
+        when(counterRepository.findNextValue(PREFIX)).thenReturn(Optional.of(13L));
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(counterRepository).insert(PREFIX, 4);
+
+        var result = allocator.next(PREFIX, () -> 0);
+
+        assertThat(result).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("should hand out distinct numbers to concurrent callers")
+    void next_Concurrent_DistinctNumbers() throws Exception {
+        givenCounter(PREFIX, 1L);
+        var issued = ConcurrentHashMap.<Long>newKeySet();
+        var pool = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        assertThat(issued.add(allocator.next(PREFIX, () -> 0))).isTrue();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(issued).hasSize(800);
+    }
+
+    @Test
+    @DisplayName("should not make other prefixes wait for a block being reserved")
+    void next_Reserving_DoesNotBlockOtherPrefixes() throws Exception {
+        var slowPrefix = "PO-20260610-";
+        var reserving = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(counterRepository.advance(slowPrefix, 3)).thenAnswer(invocation -> {
+            reserving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        when(counterRepository.findNextValue(slowPrefix)).thenReturn(Optional.of(4L));
+        givenCounter(PREFIX, 1L);
+
+        var pool = Executors.newSingleThreadExecutor();
+        try {
+            var slow = pool.submit(() -> allocator.next(slowPrefix, () -> 0));
+            assertThat(reserving.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(allocator.next(PREFIX, () -> 0)).isEqualTo(1);
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+}
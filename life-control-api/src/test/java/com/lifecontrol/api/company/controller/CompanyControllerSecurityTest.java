@@ -5,6 +5,7 @@ import com.lifecontrol.api.common.address.dto.AddressResponse;
 import com.lifecontrol.api.company.dto.CompanyRequest;
 import com.lifecontrol.api.company.dto.CompanyResponse;
 import com.lifecontrol.api.company.service.CompanyService;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -77,6 +78,9 @@ class CompanyControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private CompanyRequest buildCompanyRequest() {
         return new CompanyRequest(
                 "1", "Test Company", 1, "Razon Social",
@@ -3,6 +3,7 @@ package com.lifecontrol.api.company.controller;
 import com.lifecontrol.api.company.dto.CompanyCountryRequest;
 import com.lifecontrol.api.company.dto.CompanyCountryResponse;
 import com.lifecontrol.api.company.service.CompanyCountryService;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -67,6 +68,9 @@ class CompanyCountryControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private final UUID companyId = UUID.randomUUID();
     private final UUID countryRelationId = UUID.randomUUID();
     private static final String BASE_URL = "/api/companies/{companyId}/countries";
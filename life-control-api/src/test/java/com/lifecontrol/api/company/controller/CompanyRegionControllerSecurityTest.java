@@ -4,6 +4,7 @@ import com.lifecontrol.api.company.dto.CompanyRegionResponse;
 import com.lifecontrol.api.company.dto.CreateCompanyRegionRequest;
 import com.lifecontrol.api.company.dto.UpdateCompanyRegionRequest;
 import com.lifecontrol.api.company.service.CompanyRegionService;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -68,6 +69,9 @@ class CompanyRegionControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private final UUID companyId = UUID.randomUUID();
     private final UUID companyCountryId = UUID.randomUUID();
     private final UUID regionId = UUID.randomUUID();
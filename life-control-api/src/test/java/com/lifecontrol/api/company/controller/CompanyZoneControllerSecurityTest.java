@@ -4,6 +4,7 @@ import com.lifecontrol.api.company.dto.CompanyZoneResponse;
 import com.lifecontrol.api.company.dto.CreateCompanyZoneRequest;
 import com.lifecontrol.api.company.dto.UpdateCompanyZoneRequest;
 import com.lifecontrol.api.company.service.CompanyZoneService;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.lifecontrol.api.exception.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -69,6 +70,9 @@ class CompanyZoneControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private final UUID companyId = UUID.randomUUID();
     private final UUID companyCountryId = UUID.randomUUID();
     private final UUID regionId = UUID.randomUUID();
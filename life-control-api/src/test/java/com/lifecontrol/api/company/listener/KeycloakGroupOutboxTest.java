@@ -0,0 +1,191 @@
+package com.lifecontrol.api.company.listener;
+
+import com.lifecontrol.api.company.model.KeycloakGroupOutboxEntry;
+import com.lifecontrol.api.company.model.KeycloakGroupOutboxEntry.Status;
+import com.lifecontrol.api.company.repository.KeycloakGroupOutboxRepository;
+import com.lifecontrol.api.usersadmin.identity.IdentityProvider;
+import com.lifecontrol.api.usersadmin.identity.IdentityProviderConnectionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakGroupOutbox Tests")
+class KeycloakGroupOutboxTest {
+
+    private static final Map<String, List<String>> ATTRS = Map.of("company_id", List.of("id"));
+
+    @Mock
+    private KeycloakGroupOutboxRepository repository;
+
+    @Mock
+    private KeycloakGroupProvisioner provisioner;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KeycloakGroupOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = new KeycloakGroupOutbox(repository, provisioner, meterRegistry,
+                100, 2, 5, Duration.ofSeconds(5), Duration.ofSeconds(12), Duration.ofMinutes(5));
+    }
+
+    private static KeycloakGroupOutboxEntry entry(String name, int attempts) {
+        var entry = new KeycloakGroupOutboxEntry(new GroupProvisioningRequest(name, ATTRS, null));
+        ReflectionTestUtils.setField(entry, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(entry, "attempts", attempts);
+        return entry;
+    }
+
+    /** Makes {@code entries} due and lets the relay claim all of them. */
+    private void givenDue(KeycloakGroupOutboxEntry... entries) {
+        var ids = Arrays.stream(entries).map(KeycloakGroupOutboxEntry::getId).toList();
+        when(repository.findDueIds(eq(Status.PENDING), any(), any())).thenReturn(ids);
+        when(repository.claim(eq(ids), eq(Status.PENDING), any(), any(), any())).thenReturn(ids.size());
+        when(repository.findByClaimTokenOrderByCreatedAtAsc(any())).thenReturn(List.of(entries));
+    }
+
+    @Test
+    @DisplayName("should delete entries whose groups were created")
+    void shouldDeleteCreated() {
+        var acme = entry("lc-company-acme", 0);
+        givenDue(acme);
+        when(provisioner.provisionBatch(List.of(acme.toRequest()))).thenReturn(Map.of());
+
+        assertThat(outbox.relayBatch()).isEqualTo(1);
+
+        verify(repository).deleteAllByIdInBatch(List.of(acme.getId()));
+        verify(repository).saveAll(List.of());
+    }
+
+    @Test
+    @DisplayName("should reschedule failed entries with exponential backoff capped at max-backoff")
+    void shouldRescheduleWithBackoff() {
+        var first = entry("lc-company-first", 0);
+        var second = entry("lc-company-second", 1);
+        var third = entry("lc-company-third", 2);
+        givenDue(first, second, third);
+        when(provisioner.provisionBatch(anyList())).thenReturn(Map.of(
+                "lc-company-first", "Keycloak down",
+                "lc-company-second", "Keycloak down",
+                "lc-company-third", "Keycloak down"));
+
+        outbox.relayBatch();
+
+        var now = LocalDateTime.now();
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(first.getLastError()).isEqualTo("Keycloak down");
+        assertThat(first.getNextAttemptAt()).isCloseTo(now.plusSeconds(5), within(1, ChronoUnit.SECONDS));
+        assertThat(second.getNextAttemptAt()).isCloseTo(now.plusSeconds(10), within(1, ChronoUnit.SECONDS));
+        // 20s after the third failure, capped at 12s
+        assertThat(third.getNextAttemptAt()).isCloseTo(now.plusSeconds(12), within(1, ChronoUnit.SECONDS));
+        verify(repository).deleteAllByIdInBatch(List.of());
+        verify(repository).saveAll(List.of(first, second, third));
+    }
+
+    @Test
+    @DisplayName("should reschedule, not delete, an entry whose group Keycloak refused to create")
+    void shouldRescheduleWhenKeycloakAnswersWithError() {
+        var identityProvider = mock(IdentityProvider.class);
+        when(identityProvider.createGroup(eq("lc-company-acme"), any(), any()))
+                .thenThrow(new IdentityProviderConnectionException(
+                        "Unexpected response 500 creating group: lc-company-acme"));
+        var realProvisioner = new KeycloakGroupProvisioner(identityProvider, meterRegistry, 1);
+        realProvisioner.start();
+        try {
+            outbox = new KeycloakGroupOutbox(repository, realProvisioner, meterRegistry,
+                    100, 2, 5, Duration.ofSeconds(5), Duration.ofSeconds(12), Duration.ofMinutes(5));
+            var acme = entry("lc-company-acme", 0);
+            givenDue(acme);
+
+            outbox.relayBatch();
+
+            assertThat(acme.getStatus()).isEqualTo(Status.PENDING);
+            assertThat(acme.getAttempts()).isEqualTo(1);
+            assertThat(acme.getLastError()).contains("500");
+            verify(repository).deleteAllByIdInBatch(List.of());
+            verify(repository).saveAll(List.of(acme));
+        } finally {
+            realProvisioner.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("should keep an entry as FAILED once it runs out of attempts")
+    void shouldDeadLetterAfterMaxAttempts() {
+        var acme = entry("lc-company-acme", 4);
+        givenDue(acme);
+        when(provisioner.provisionBatch(anyList())).thenReturn(Map.of("lc-company-acme", "Keycloak down"));
+
+        outbox.relayBatch();
+
+        assertThat(acme.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(acme.getAttempts()).isEqualTo(5);
+        assertThat(meterRegistry.get("keycloak.group.outbox.dead").counter().count()).isEqualTo(1.0);
+        verify(repository).saveAll(List.of(acme));
+    }
+
+    @Test
+    @DisplayName("should do nothing when no entry is due")
+    void shouldDoNothingWhenNothingDue() {
+        when(repository.findDueIds(eq(Status.PENDING), any(), any())).thenReturn(List.of());
+
+        assertThat(outbox.relayBatch()).isZero();
+
+        verify(repository, never()).claim(any(), any(), any(), any(), any());
+        verifyNoInteractions(provisioner);
+    }
+
+    @Test
+    @DisplayName("should skip entries another node claimed first")
+    void shouldSkipEntriesClaimedElsewhere() {
+        var ids = List.of(UUID.randomUUID());
+        when(repository.findDueIds(eq(Status.PENDING), any(), any())).thenReturn(ids);
+        when(repository.claim(eq(ids), eq(Status.PENDING), any(), any(), any())).thenReturn(0);
+
+        assertThat(outbox.relayBatch()).isZero();
+
+        verifyNoInteractions(provisioner);
+    }
+
+    @Test
+    @DisplayName("should stop a poll after max-batches-per-poll full batches")
+    void shouldCapBatchesPerPoll() {
+        outbox = new KeycloakGroupOutbox(repository, provisioner, meterRegistry,
+                1, 2, 5, Duration.ofSeconds(5), Duration.ofSeconds(12), Duration.ofMinutes(5));
+        givenDue(entry("lc-company-acme", 0));
+        when(provisioner.provisionBatch(anyList())).thenReturn(Map.of());
+
+        outbox.relay();
+
+        // Each due batch is full, but the poll gives up after two
+        verify(repository, times(2)).findDueIds(eq(Status.PENDING), any(), any());
+    }
+}
@@ -0,0 +1,163 @@
+package com.lifecontrol.api.company.listener;
+
+import com.lifecontrol.api.usersadmin.identity.IdentityProvider;
+import com.lifecontrol.api.usersadmin.identity.IdentityProviderConflictException;
+import com.lifecontrol.api.usersadmin.identity.IdentityProviderConnectionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakGroupProvisioner Tests")
+class KeycloakGroupProvisionerTest {
+
+    private static final Map<String, List<String>> ATTRS = Map.of("company_store_id", List.of("id"));
+
+    @Mock
+    private IdentityProvider identityProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KeycloakGroupProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        provisioner = new KeycloakGroupProvisioner(identityProvider, meterRegistry, 4);
+        provisioner.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        provisioner.stop();
+    }
+
+    private static GroupProvisioningRequest request(String name, String parentName) {
+        return new GroupProvisioningRequest(name, ATTRS, parentName);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("should create a batch parents first and look up an existing parent only once")
+    void shouldCreateParentsFirst() {
+        when(identityProvider.findGroupIdByName("lc-company-region-north")).thenReturn(Optional.of("region-id"));
+        when(identityProvider.createGroup("lc-company-zone-downtown", ATTRS, Optional.of("region-id")))
+                .thenReturn(Optional.of("zone-id"));
+        when(identityProvider.createGroup(eq("lc-company-store-a"), anyMap(), eq(Optional.of("zone-id"))))
+                .thenReturn(Optional.of("store-a-id"));
+        when(identityProvider.createGroup(eq("lc-company-store-b"), anyMap(), eq(Optional.of("zone-id"))))
+                .thenReturn(Optional.of("store-b-id"));
+
+        var failures = provisioner.provisionBatch(List.of(
+                request("lc-company-store-a", "lc-company-zone-downtown"),
+                request("lc-company-zone-downtown", "lc-company-region-north"),
+                request("lc-company-store-b", "lc-company-zone-downtown")));
+
+        assertThat(failures).isEmpty();
+        verify(identityProvider, times(1)).findGroupIdByName("lc-company-region-north");
+        verify(identityProvider, never()).findGroupIdByName("lc-company-zone-downtown");
+        assertThat(counter("keycloak.group.provisioning.created")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("should treat an existing group as created and attach its children to it")
+    void shouldTreatConflictAsCreated() {
+        when(identityProvider.createGroup("lc-company-acme", ATTRS, Optional.empty()))
+                .thenThrow(new IdentityProviderConflictException("Group already exists"));
+        when(identityProvider.findGroupIdByName("lc-company-acme")).thenReturn(Optional.of("acme-id"));
+        when(identityProvider.createGroup("lc-company-country-mexico", ATTRS, Optional.of("acme-id")))
+                .thenReturn(Optional.of("mexico-id"));
+
+        var failures = provisioner.provisionBatch(List.of(
+                request("lc-company-acme", null),
+                request("lc-company-country-mexico", "lc-company-acme")));
+
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should report a failed group and the children waiting for it")
+    void shouldReportFailedParentAndChildren() {
+        when(identityProvider.createGroup("lc-company-acme", ATTRS, Optional.empty()))
+                .thenThrow(new IdentityProviderConnectionException("Keycloak down", new RuntimeException()));
+
+        var failures = provisioner.provisionBatch(List.of(
+                request("lc-company-acme", null),
+                request("lc-company-country-mexico", "lc-company-acme")));
+
+        assertThat(failures).containsOnlyKeys("lc-company-acme", "lc-company-country-mexico");
+        assertThat(failures.get("lc-company-country-mexico")).contains("lc-company-acme");
+        verify(identityProvider, never()).createGroup(eq("lc-company-country-mexico"), anyMap(), any());
+        assertThat(counter("keycloak.group.provisioning.failed")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should report a created group that cannot be found, and the children waiting for it")
+    void shouldReportCreatedGroupThatCannotBeFound() {
+        when(identityProvider.createGroup("lc-company-acme", ATTRS, Optional.empty())).thenReturn(Optional.empty());
+        when(identityProvider.findGroupIdByName("lc-company-acme")).thenReturn(Optional.empty());
+
+        var failures = provisioner.provisionBatch(List.of(
+                request("lc-company-acme", null),
+                request("lc-company-country-mexico", "lc-company-acme")));
+
+        assertThat(failures).containsOnlyKeys("lc-company-acme", "lc-company-country-mexico");
+        assertThat(failures.get("lc-company-acme")).contains("not found");
+        verify(identityProvider, never()).createGroup(eq("lc-company-country-mexico"), anyMap(), any());
+        assertThat(counter("keycloak.group.provisioning.created")).isZero();
+    }
+
+    @Test
+    @DisplayName("should report an existing group that cannot be found")
+    void shouldReportConflictingGroupThatCannotBeFound() {
+        when(identityProvider.createGroup("lc-company-acme", ATTRS, Optional.empty()))
+                .thenThrow(new IdentityProviderConflictException("Group already exists"));
+        when(identityProvider.findGroupIdByName("lc-company-acme")).thenReturn(Optional.empty());
+
+        var failures = provisioner.provisionBatch(List.of(request("lc-company-acme", null)));
+
+        assertThat(failures).containsOnlyKeys("lc-company-acme");
+    }
+
+    @Test
+    @DisplayName("should report a group whose parent does not exist yet instead of creating it at top level")
+    void shouldReportMissingParent() {
+        when(identityProvider.findGroupIdByName("lc-company-acme")).thenReturn(Optional.empty());
+
+        var failures = provisioner.provisionBatch(List.of(request("lc-company-country-mexico", "lc-company-acme")));
+
+        assertThat(failures).containsOnlyKeys("lc-company-country-mexico");
+        assertThat(failures.get("lc-company-country-mexico")).contains("lc-company-acme not found");
+        verify(identityProvider, never()).createGroup(any(), anyMap(), any());
+    }
+
+    @Test
+    @DisplayName("should refuse batches while stopped")
+    void shouldRefuseWhenStopped() {
+        provisioner.stop();
+
+        assertThatThrownBy(() -> provisioner.provisionBatch(List.of(request("lc-company-acme", null))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
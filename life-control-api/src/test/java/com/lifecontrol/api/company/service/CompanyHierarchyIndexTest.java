@@ -0,0 +1,161 @@
+package com.lifecontrol.api.company.service;
+
+import com.lifecontrol.api.company.dto.HierarchyLink;
+import com.lifecontrol.api.company.event.CompanyZoneCreatedEvent;
+import com.lifecontrol.api.company.repository.CompanyCountryRepository;
+import com.lifecontrol.api.company.repository.CompanyRegionRepository;
+import com.lifecontrol.api.company.repository.CompanyZoneRepository;
+import com.lifecontrol.api.store.repository.CompanyStoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CompanyHierarchyIndex Tests")
+class CompanyHierarchyIndexTest {
+
+    @Mock
+    private CompanyCountryRepository companyCountryRepository;
+    @Mock
+    private CompanyRegionRepository companyRegionRepository;
+    @Mock
+    private CompanyZoneRepository companyZoneRepository;
+    @Mock
+    private CompanyStoreRepository companyStoreRepository;
+
+    private CompanyHierarchyIndex hierarchyIndex;
+
+    private final UUID companyId = UUID.randomUUID();
+    private final UUID companyCountryId = UUID.randomUUID();
+    private final UUID regionId = UUID.randomUUID();
+    private final UUID otherRegionId = UUID.randomUUID();
+    private final UUID zoneId = UUID.randomUUID();
+    private final UUID otherZoneId = UUID.randomUUID();
+    private final UUID storeId = UUID.randomUUID();
+    private final UUID otherStoreId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        hierarchyIndex = new CompanyHierarchyIndex(companyCountryRepository, companyRegionRepository,
+                companyZoneRepository, companyStoreRepository, Duration.ofMinutes(10));
+    }
+
+    private void mockHierarchy() {
+        when(companyCountryRepository.findAllHierarchyLinks())
+                .thenReturn(List.of(new HierarchyLink(companyCountryId, companyId)));
+        when(companyRegionRepository.findAllHierarchyLinks()).thenReturn(List.of(
+                new HierarchyLink(regionId, companyCountryId),
+                new HierarchyLink(otherRegionId, companyCountryId)));
+        when(companyZoneRepository.findAllHierarchyLinks()).thenReturn(List.of(
+                new HierarchyLink(zoneId, regionId),
+                new HierarchyLink(otherZoneId, otherRegionId)));
+        when(companyStoreRepository.findAllHierarchyLinks()).thenReturn(List.of(
+                new HierarchyLink(storeId, zoneId),
+                new HierarchyLink(otherStoreId, otherZoneId)));
+    }
+
+    @Nested
+    @DisplayName("parent path validation")
+    class PathTests {
+
+        @Test
+        @DisplayName("should accept a full path that matches the hierarchy")
+        void containsZone_ValidPath_ReturnsTrue() {
+            mockHierarchy();
+
+            assertThat(hierarchyIndex.containsCountry(companyId, companyCountryId)).isTrue();
+            assertThat(hierarchyIndex.containsRegion(companyId, companyCountryId, regionId)).isTrue();
+            assertThat(hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reject a path with a mismatched or unknown ancestor")
+        void containsZone_MismatchedPath_ReturnsFalse() {
+            mockHierarchy();
+
+            assertThat(hierarchyIndex.containsZone(companyId, companyCountryId, otherRegionId, zoneId)).isFalse();
+            assertThat(hierarchyIndex.containsZone(UUID.randomUUID(), companyCountryId, regionId, zoneId)).isFalse();
+            assertThat(hierarchyIndex.containsRegion(companyId, companyCountryId, UUID.randomUUID())).isFalse();
+            assertThat(hierarchyIndex.containsCountry(companyId, null)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("allowed descendants")
+    class AllowedTests {
+
+        @Test
+        @DisplayName("should narrow allowed IDs to the children of the parent")
+        void allowed_KnownIds_NarrowsToParent() {
+            mockHierarchy();
+
+            assertThat(hierarchyIndex.allowedRegions(Set.of(regionId, otherRegionId), companyCountryId))
+                    .contains(Set.of(regionId, otherRegionId));
+            assertThat(hierarchyIndex.allowedZones(Set.of(zoneId, otherZoneId), regionId))
+                    .contains(Set.of(zoneId));
+            assertThat(hierarchyIndex.allowedStores(Set.of(otherStoreId), zoneId))
+                    .contains(Set.of());
+        }
+
+        @Test
+        @DisplayName("should report an unknown allowed ID so callers fall back to the database")
+        void allowed_UnknownId_ReturnsEmpty() {
+            mockHierarchy();
+
+            assertThat(hierarchyIndex.allowedStores(Set.of(storeId, UUID.randomUUID()), zoneId)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("loading")
+    class LoadingTests {
+
+        @Test
+        @DisplayName("should load the hierarchy once and serve repeated lookups from memory")
+        void lookups_LoadOnce() {
+            mockHierarchy();
+
+            hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId);
+            hierarchyIndex.allowedStores(Set.of(storeId), zoneId);
+
+            verify(companyStoreRepository, times(1)).findAllHierarchyLinks();
+        }
+
+        @Test
+        @DisplayName("should reload after a hierarchy node is created")
+        void created_Invalidates() {
+            mockHierarchy();
+            hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId);
+
+            hierarchyIndex.onCompanyZoneCreated(mock(CompanyZoneCreatedEvent.class));
+            hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId);
+
+            verify(companyZoneRepository, times(2)).findAllHierarchyLinks();
+        }
+
+        @Test
+        @DisplayName("should reload on every lookup when the TTL is zero")
+        void zeroTtl_ReloadsEveryLookup() {
+            hierarchyIndex = new CompanyHierarchyIndex(companyCountryRepository, companyRegionRepository,
+                    companyZoneRepository, companyStoreRepository, Duration.ZERO);
+            mockHierarchy();
+
+            hierarchyIndex.containsCountry(companyId, companyCountryId);
+            hierarchyIndex.containsCountry(companyId, companyCountryId);
+
+            verify(companyCountryRepository, times(2)).findAllHierarchyLinks();
+        }
+    }
+}
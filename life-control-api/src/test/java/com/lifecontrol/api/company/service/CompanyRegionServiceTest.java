@@ -49,6 +49,8 @@ class CompanyRegionServiceTest {
     @Mock
     private CurrentUserContext currentUserContext;
     @Mock
+    private CompanyHierarchyIndex hierarchyIndex;
+    @Mock
     private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
@@ -197,6 +199,25 @@ class CompanyRegionServiceTest {
             assertThatThrownBy(() -> companyRegionService.getAllRegions(companyId, companyCountryId, false))
                     .isInstanceOf(com.lifecontrol.api.company.exception.CompanyCountryNotFoundException.class);
         }
+
+        @Test
+        @DisplayName("should return empty without querying when no assigned region is under the company country")
+        void getAllRegions_RegionRole_NoAssignedRegionInCountry_ReturnsEmpty() {
+            // Arrange
+            UUID otherRegionId = UUID.randomUUID();
+            when(hierarchyIndex.containsCountry(companyId, companyCountryId)).thenReturn(true);
+            when(currentUserContext.hasCompanyRegionRole()).thenReturn(true);
+            when(currentUserContext.getCompanyRegionIds()).thenReturn(Set.of(otherRegionId));
+            when(hierarchyIndex.allowedRegions(Set.of(otherRegionId), companyCountryId))
+                    .thenReturn(Optional.of(Set.of()));
+
+            // Act
+            List<CompanyRegionResponse> result = companyRegionService.getAllRegions(companyId, companyCountryId, false);
+
+            // Assert
+            assertThat(result).isEmpty();
+            verifyNoInteractions(companyCountryRepository, companyRegionRepository);
+        }
     }
 
     @Nested
@@ -56,6 +56,8 @@ class CompanyZoneServiceTest {
     @Mock
     private CurrentUserContext currentUserContext;
     @Mock
+    private CompanyHierarchyIndex hierarchyIndex;
+    @Mock
     private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
@@ -223,6 +225,43 @@ class CompanyZoneServiceTest {
             assertThatThrownBy(() -> companyZoneService.getAllZones(companyId, companyCountryId, regionId, false))
                     .isInstanceOf(CompanyRegionNotFoundException.class);
         }
+
+        @Test
+        @DisplayName("should skip the parent lookups when the hierarchy index knows the region path")
+        void getAllZones_IndexedPath_SkipsParentLookups() {
+            // Arrange
+            when(hierarchyIndex.containsRegion(companyId, companyCountryId, regionId)).thenReturn(true);
+            when(companyZoneRepository.findByCompanyRegionIdOrderByZoneNameAsc(regionId))
+                    .thenReturn(List.of(testZone));
+
+            // Act
+            List<CompanyZoneResponse> result = companyZoneService.getAllZones(companyId, companyCountryId, regionId, false);
+
+            // Assert
+            assertThat(result).hasSize(1);
+            verifyNoInteractions(companyCountryRepository, companyRegionRepository);
+        }
+
+        @Test
+        @DisplayName("should query only the assigned zones the hierarchy index places under the region")
+        void getAllZones_ZoneRole_NarrowsAssignedZonesByIndex() {
+            // Arrange
+            UUID otherZoneId = UUID.randomUUID();
+            when(hierarchyIndex.containsRegion(companyId, companyCountryId, regionId)).thenReturn(true);
+            when(currentUserContext.hasCompanyZoneRole()).thenReturn(true);
+            when(currentUserContext.getCompanyZoneIds()).thenReturn(Set.of(zoneId, otherZoneId));
+            when(hierarchyIndex.allowedZones(Set.of(zoneId, otherZoneId), regionId))
+                    .thenReturn(Optional.of(Set.of(zoneId)));
+            when(companyZoneRepository.findByIdInAndCompanyRegionId(Set.of(zoneId), regionId))
+                    .thenReturn(List.of(testZone));
+
+            // Act
+            List<CompanyZoneResponse> result = companyZoneService.getAllZones(companyId, companyCountryId, regionId, false);
+
+            // Assert
+            assertThat(result).extracting(CompanyZoneResponse::id).containsExactly(zoneId);
+            verify(companyZoneRepository).findByIdInAndCompanyRegionId(Set.of(zoneId), regionId);
+        }
     }
 
     @Nested
@@ -0,0 +1,86 @@
+package com.lifecontrol.api.config.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContentCachingFilter Tests")
+class ContentCachingFilterTest {
+
+    private ContentCachingFilter filter;
+    private MockFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ContentCachingFilter(DataSize.ofBytes(8));
+        chain = new MockFilterChain();
+    }
+
+    private MockHttpServletRequest request(String method, String path, String contentType, String body) {
+        var request = new MockHttpServletRequest(method, path);
+        request.setContentType(contentType);
+        if (body != null) {
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("should wrap JSON mutations and cap the cached copy, not the body")
+    void wrapsJsonMutations() throws Exception {
+        var body = "{\"name\":\"long company name\"}";
+        filter.doFilter(request("POST", "/api/companies", "application/json", body),
+                new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isInstanceOf(ContentCachingRequestWrapper.class);
+        var wrapper = (ContentCachingRequestWrapper) chain.getRequest();
+        assertThat(StreamUtils.copyToString(wrapper.getInputStream(), StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(wrapper.getContentAsByteArray()).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("should wrap structured JSON media types")
+    void wrapsJsonSuffixTypes() throws Exception {
+        filter.doFilter(request("PATCH", "/api/companies/1", "application/merge-patch+json; charset=UTF-8", "{}"),
+                new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isInstanceOf(ContentCachingRequestWrapper.class);
+    }
+
+    @Test
+    @DisplayName("should not wrap reads")
+    void skipsReads() throws Exception {
+        filter.doFilter(request("GET", "/api/companies", "application/json", null),
+                new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotInstanceOf(ContentCachingRequestWrapper.class);
+    }
+
+    @Test
+    @DisplayName("should not wrap multipart or other non-JSON bodies")
+    void skipsNonJsonBodies() throws Exception {
+        filter.doFilter(request("POST", "/api/products/import", "multipart/form-data; boundary=x", "--x--"),
+                new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotInstanceOf(ContentCachingRequestWrapper.class);
+    }
+
+    @Test
+    @DisplayName("should not wrap paths the activity log never audits")
+    void skipsUnauditedPaths() throws Exception {
+        filter.doFilter(request("POST", "/actuator/loggers/root", "application/json", "{}"),
+                new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotInstanceOf(ContentCachingRequestWrapper.class);
+    }
+}
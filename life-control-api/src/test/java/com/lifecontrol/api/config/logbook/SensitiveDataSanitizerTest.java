@@ -1,5 +1,6 @@
 package com.lifecontrol.api.config.logbook;
 
+import com.lifecontrol.api.activity.util.PayloadSanitizer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -136,6 +137,18 @@ class SensitiveDataSanitizerTest {
             assertThat(result).contains("\"api_key\":\"[REDACTED]\"");
         }
 
+        @Test
+        @DisplayName("should redact nested and non-string sensitive values")
+        void shouldRedactNestedAndNonStringValues() {
+            var contentType = "application/json";
+            var body = "{\"user\":{\"name\":\"john\",\"Password\":12345},\"token\":{\"value\":\"abc\"}}";
+
+            var result = sanitizer.bodyFilter().filter(contentType, body);
+
+            assertThat(result).isEqualTo(
+                    "{\"user\":{\"name\":\"john\",\"Password\":\"[REDACTED]\"},\"token\":\"[REDACTED]\"}");
+        }
+
         @Test
         @DisplayName("should leave non-sensitive JSON fields unchanged")
         void shouldKeepNonSensitiveFields() {
@@ -158,5 +171,17 @@ class SensitiveDataSanitizerTest {
 
             assertThat(result).isEqualTo("plain text content");
         }
+
+        @Test
+        @DisplayName("should log large JSON bodies in full, beyond the audit payload cap")
+        void shouldNotTruncateLargeJsonBodies() {
+            var body = "{\"items\":[" + "\"x\",".repeat(10_000) + "\"last\"],\"password\":\"secret\"}";
+
+            var result = sanitizer.bodyFilter().filter("application/json", body);
+
+            assertThat(result)
+                    .endsWith("\"last\"],\"password\":\"[REDACTED]\"}")
+                    .doesNotContain(PayloadSanitizer.TRUNCATED_MARKER);
+        }
     }
 }
@@ -0,0 +1,101 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BoundedBucketMap Tests")
+class BoundedBucketMapTest {
+
+    private static BucketConfiguration refillEvery(Duration period) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder().capacity(10).refillIntervally(10, period).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("should return the same bucket for a key while it is live")
+    void getOrCreate_ReusesLiveBucket() {
+        var map = new BoundedBucketMap<Object>(10);
+        var configuration = refillEvery(Duration.ofMinutes(1));
+
+        var first = map.getOrCreate("a", configuration, Object::new);
+        var second = map.getOrCreate("a", configuration, Object::new);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used key beyond the maximum")
+    void getOrCreate_EvictsLeastRecentlyUsed() {
+        var map = new BoundedBucketMap<Object>(2);
+        var configuration = refillEvery(Duration.ofMinutes(1));
+        var a = map.getOrCreate("a", configuration, Object::new);
+        map.getOrCreate("b", configuration, Object::new);
+        map.getOrCreate("a", configuration, Object::new);
+
+        map.getOrCreate("c", configuration, Object::new);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.getOrCreate("a", configuration, Object::new)).isSameAs(a);
+    }
+
+    @Test
+    @DisplayName("should drop expired keys before evicting live ones when full")
+    void getOrCreate_DropsExpiredBeforeEvictingLive() throws InterruptedException {
+        var map = new BoundedBucketMap<Object>(2);
+        var live = refillEvery(Duration.ofMinutes(1));
+        map.getOrCreate("expiring", refillEvery(Duration.ofMillis(1)), Object::new);
+        var b = map.getOrCreate("b", live, Object::new);
+
+        Thread.sleep(5);
+        map.getOrCreate("c", live, Object::new);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.getOrCreate("b", live, Object::new)).isSameAs(b);
+    }
+
+    @Test
+    @DisplayName("should hand out one bucket per key under concurrent first access")
+    void getOrCreate_CreatesOnceUnderContention() throws InterruptedException {
+        var map = new BoundedBucketMap<Object>(100);
+        var configuration = refillEvery(Duration.ofMinutes(1));
+        var created = new AtomicInteger();
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (var j = 0; j < 1_000; j++) {
+                    map.getOrCreate("key-" + (j % 50), configuration, () -> {
+                        created.incrementAndGet();
+                        return new Object();
+                    });
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(created).hasValue(50);
+        assertThat(map.size()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should replace a bucket once it has been idle for its full refill time")
+    void getOrCreate_ExpiresIdleBucket() throws InterruptedException {
+        var map = new BoundedBucketMap<Object>(10);
+        var configuration = refillEvery(Duration.ofMillis(1));
+        var first = map.getOrCreate("a", configuration, Object::new);
+
+        Thread.sleep(5);
+
+        assertThat(map.getOrCreate("a", configuration, Object::new)).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,87 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IpWhitelist Tests")
+class IpWhitelistTest {
+
+    @Nested
+    @DisplayName("IPv4")
+    class Ipv4Tests {
+
+        private final IpWhitelist whitelist = IpWhitelist.compile(List.of("127.0.0.1", "10.0.0.0/8", "192.168.1.128/25"));
+
+        @Test
+        @DisplayName("should match single addresses and CIDR blocks")
+        void contains_MatchesRules() {
+            assertThat(whitelist.contains("127.0.0.1")).isTrue();
+            assertThat(whitelist.contains("10.255.3.4")).isTrue();
+            assertThat(whitelist.contains("192.168.1.200")).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reject addresses outside every rule")
+        void contains_RejectsOthers() {
+            assertThat(whitelist.contains("127.0.0.2")).isFalse();
+            assertThat(whitelist.contains("11.0.0.1")).isFalse();
+            assertThat(whitelist.contains("192.168.1.127")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should match an address inside a larger string without copying it")
+        void contains_Region() {
+            var header = "10.1.2.3, 172.16.0.1";
+
+            assertThat(whitelist.contains(header, 0, 8)).isTrue();
+            assertThat(whitelist.contains(header, 10, header.length())).isFalse();
+        }
+
+        @Test
+        @DisplayName("should reject malformed addresses and host names")
+        void contains_Malformed() {
+            assertThat(whitelist.contains("10.0.0")).isFalse();
+            assertThat(whitelist.contains("10.0.0.256")).isFalse();
+            assertThat(whitelist.contains("localhost")).isFalse();
+            assertThat(whitelist.contains((String) null)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("IPv6 and invalid entries")
+    class Ipv6Tests {
+
+        @Test
+        @DisplayName("should match IPv6 addresses in any notation")
+        void contains_Ipv6() {
+            var whitelist = IpWhitelist.compile(List.of("::1", "fd00::/8"));
+
+            assertThat(whitelist.contains("0:0:0:0:0:0:0:1")).isTrue();
+            assertThat(whitelist.contains("fd12:3456::1")).isTrue();
+            assertThat(whitelist.contains("fe80::1")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should match IPv4-mapped IPv6 addresses against IPv4 rules")
+        void contains_Ipv4Mapped() {
+            var whitelist = IpWhitelist.compile(List.of("10.0.0.0/8"));
+
+            assertThat(whitelist.contains("::ffff:10.1.2.3")).isTrue();
+        }
+
+        @Test
+        @DisplayName("should ignore invalid entries and keep the valid ones")
+        void compile_IgnoresInvalidEntries() {
+            var whitelist = IpWhitelist.compile(List.of("not-an-ip", "10.0.0.0/33", "127.0.0.1"));
+
+            assertThat(whitelist.isEmpty()).isFalse();
+            assertThat(whitelist.contains("127.0.0.1")).isTrue();
+            assertThat(whitelist.contains("10.0.0.1")).isFalse();
+        }
+    }
+}
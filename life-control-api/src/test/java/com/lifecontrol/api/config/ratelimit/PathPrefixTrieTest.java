@@ -0,0 +1,39 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PathPrefixTrie Tests")
+class PathPrefixTrieTest {
+
+    private final PathPrefixTrie<String> trie = PathPrefixTrie.of(Map.of(
+            "/api/users-admin/users", "users",
+            "/api/users-admin/users/bulk", "bulk",
+            "/api/users-admin/roles", "roles"));
+
+    @Test
+    @DisplayName("should return the value of the longest matching prefix")
+    void longestPrefixMatch_PrefersLongestPrefix() {
+        assertThat(trie.longestPrefixMatch("/api/users-admin/users/123")).isEqualTo("users");
+        assertThat(trie.longestPrefixMatch("/api/users-admin/users/bulk/import")).isEqualTo("bulk");
+        assertThat(trie.longestPrefixMatch("/api/users-admin/roles")).isEqualTo("roles");
+    }
+
+    @Test
+    @DisplayName("should match by plain string prefix, like startsWith")
+    void longestPrefixMatch_PlainStringPrefix() {
+        assertThat(trie.longestPrefixMatch("/api/users-admin/usersX")).isEqualTo("users");
+    }
+
+    @Test
+    @DisplayName("should return null when no prefix matches")
+    void longestPrefixMatch_NoMatch() {
+        assertThat(trie.longestPrefixMatch("/api/users-admin/us")).isNull();
+        assertThat(trie.longestPrefixMatch("/api/companies")).isNull();
+        assertThat(trie.longestPrefixMatch("")).isNull();
+    }
+}
@@ -1,7 +1,9 @@
 package com.lifecontrol.api.config.ratelimit;
 
+import com.lifecontrol.api.config.ratelimit.RateLimitFilter.Stage;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties.EndpointLimit;
 import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,8 +12,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,7 +41,7 @@ class RateLimitFilterTest {
         @BeforeEach
         void setUp() {
             properties = new RateLimitProperties();
-            filter = new RateLimitFilter(properties);
+            filter = new RateLimitFilter(properties, new LocalBucketStore(), Stage.PRE_AUTHENTICATION);
         }
 
         @Test
@@ -59,6 +66,17 @@ class RateLimitFilterTest {
             assertThat(result).isTrue();
         }
 
+        @Test
+        @DisplayName("should filter every route under a widened path prefix")
+        void shouldNotFilter_WidenedPathPrefix() {
+            properties.setPathPrefix("/api/");
+            var request = new MockHttpServletRequest("GET", "/api/companies");
+
+            var result = filter.shouldNotFilter(request);
+
+            assertThat(result).isFalse();
+        }
+
         @Test
         @DisplayName("should return false for admin paths when enabled")
         void shouldNotFilter_AdminPath_WhenEnabled() {
@@ -87,7 +105,7 @@ class RateLimitFilterTest {
             endpoints.put("/api/users-admin/users", new EndpointLimit(1, Duration.ofMinutes(1)));
             properties.setEndpoints(endpoints);
 
-            filter = new RateLimitFilter(properties);
+            filter = new RateLimitFilter(properties, new LocalBucketStore(), Stage.PRE_AUTHENTICATION);
         }
 
         @Test
@@ -154,4 +172,129 @@ class RateLimitFilterTest {
             assertThat(secondResponse.getContentAsString()).contains("\"message\"");
         }
     }
+
+    @Nested
+    @DisplayName("key dimensions")
+    class KeyDimensionTests {
+
+        private RateLimitProperties properties;
+        private RateLimitFilter preAuthentication;
+        private RateLimitFilter postAuthentication;
+
+        @BeforeEach
+        void setUp() {
+            properties = new RateLimitProperties();
+            properties.setEnabled(true);
+            properties.setInternalIpWhitelist(List.of());
+            var endpoints = new ConcurrentHashMap<String, EndpointLimit>();
+            endpoints.put("/api/users-admin/users", new EndpointLimit(1, Duration.ofMinutes(1)));
+            endpoints.put("/api/users-admin/login",
+                    new EndpointLimit(1, Duration.ofMinutes(1), RateLimitProperties.KeyDimension.IP));
+            properties.setEndpoints(endpoints);
+            properties.setKeyBy(RateLimitProperties.KeyDimension.SUBJECT);
+            createFilters();
+        }
+
+        @AfterEach
+        void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+
+        private void createFilters() {
+            var bucketStore = new LocalBucketStore();
+            preAuthentication = new RateLimitFilter(properties, bucketStore, Stage.PRE_AUTHENTICATION);
+            postAuthentication = new RateLimitFilter(properties, bucketStore, Stage.POST_AUTHENTICATION);
+        }
+
+        private MockHttpServletRequest request(String path, String remoteAddr) {
+            var request = new MockHttpServletRequest("GET", path);
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        }
+
+        /**
+         * Runs the request through both stages, authenticated with a validated JWT carrying
+         * {@code claims} (or anonymously when {@code null}), as the servlet filter chain would.
+         */
+        private int status(MockHttpServletRequest request, Map<String, Object> claims) throws Exception {
+            SecurityContextHolder.clearContext();
+            if (claims != null) {
+                var jwt = Jwt.withTokenValue("token").header("alg", "RS256").claims(c -> c.putAll(claims)).build();
+                SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+            }
+            var response = new MockHttpServletResponse();
+            preAuthentication.doFilterInternal(request, response,
+                    (req, res) -> postAuthentication.doFilter(req, res, mock(FilterChain.class)));
+            return response.getStatus();
+        }
+
+        @Test
+        @DisplayName("should give each authenticated JWT subject its own bucket")
+        void subject_SeparateBucketsPerUser() throws Exception {
+            assertThat(status(request("/api/users-admin/users", "10.1.1.1"), Map.of("sub", "user-a"))).isEqualTo(200);
+            assertThat(status(request("/api/users-admin/users", "10.1.1.1"), Map.of("sub", "user-b"))).isEqualTo(200);
+            assertThat(status(request("/api/users-admin/users", "10.1.1.2"), Map.of("sub", "user-a"))).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("should key unauthenticated requests by client IP, ignoring unvalidated bearer claims")
+        void subject_Unauthenticated_KeyedByIp() throws Exception {
+            var encoder = Base64.getUrlEncoder().withoutPadding();
+            var forged = request("/api/users-admin/users", "10.1.1.1");
+            forged.addHeader("Authorization", "Bearer "
+                    + encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                    + encoder.encodeToString("{\"sub\":\"victim\"}".getBytes(StandardCharsets.UTF_8)) + ".sig");
+
+            assertThat(status(forged, null)).isEqualTo(200);
+            // The victim's own bucket is untouched
+            assertThat(status(request("/api/users-admin/users", "10.9.9.9"), Map.of("sub", "victim"))).isEqualTo(200);
+            assertThat(status(request("/api/users-admin/users", "10.1.1.2"), null)).isEqualTo(200);
+            assertThat(status(request("/api/users-admin/users", "10.1.1.1"), null)).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("should honour a per-endpoint key-by override")
+        void endpointOverride_KeysByIp() throws Exception {
+            assertThat(status(request("/api/users-admin/login", "10.1.1.1"), Map.of("sub", "user-a"))).isEqualTo(200);
+            assertThat(status(request("/api/users-admin/login", "10.1.1.1"), Map.of("sub", "user-b"))).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("should not give a spoofed X-Forwarded-For its own bucket")
+        void ip_SpoofedForwardedFor_SharesBucket() throws Exception {
+            var first = request("/api/users-admin/login", "10.1.1.1");
+            first.addHeader("X-Forwarded-For", "203.0.113.1");
+            var second = request("/api/users-admin/login", "10.1.1.1");
+            second.addHeader("X-Forwarded-For", "203.0.113.2");
+
+            assertThat(status(first, null)).isEqualTo(200);
+            assertThat(status(second, null)).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("should give each API client its own bucket")
+        void client_SeparateBucketsPerAuthorizedParty() throws Exception {
+            properties.setKeyBy(RateLimitProperties.KeyDimension.CLIENT);
+            createFilters();
+
+            assertThat(status(request("/api/users-admin/users", "10.1.1.1"), Map.of("sub", "u1", "azp", "pos-app")))
+                    .isEqualTo(200);
+            assertThat(status(request("/api/users-admin/users", "10.1.1.1"), Map.of("sub", "u2", "azp", "backoffice")))
+                    .isEqualTo(200);
+            assertThat(status(request("/api/users-admin/users", "10.1.1.2"), Map.of("sub", "u3", "azp", "pos-app")))
+                    .isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("should limit each endpoint in exactly one stage")
+        void stages_LimitEachEndpointOnce() throws Exception {
+            var chain = mock(FilterChain.class);
+            var response = new MockHttpServletResponse();
+
+            preAuthentication.doFilterInternal(request("/api/users-admin/users", "10.1.1.1"), response, chain);
+
+            assertThat(response.getHeader("X-RateLimit-Limit")).isNull();
+            assertThat(status(request("/api/users-admin/users", "10.1.1.1"), Map.of("sub", "user-a"))).isEqualTo(200);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.lifecontrol.api.config.ratelimit;
 
+import com.lifecontrol.api.config.ratelimit.RateLimitFilter.Stage;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties.EndpointLimit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -65,7 +66,7 @@ class RateLimitIntegrationTest {
         endpoints.put("/api/users-admin/roles", new EndpointLimit(5, Duration.ofMinutes(1)));
         properties.setEndpoints(endpoints);
 
-        rateLimitFilter = new RateLimitFilter(properties);
+        rateLimitFilter = new RateLimitFilter(properties, new LocalBucketStore(), Stage.PRE_AUTHENTICATION);
 
         // Use a fresh filter and properties for each test to ensure isolated bucket state
         mockMvc = MockMvcBuilders.standaloneSetup(new AdminTestController())
@@ -143,6 +144,8 @@ class RateLimitIntegrationTest {
         @BeforeEach
         void setUpWithWhitelist() {
             properties.setInternalIpWhitelist(new java.util.ArrayList<>(List.of("10.0.0.1")));
+            // The whitelist is compiled when the filter is created
+            rateLimitFilter = new RateLimitFilter(properties, new LocalBucketStore(), Stage.PRE_AUTHENTICATION);
         }
 
         @Test
@@ -157,5 +160,19 @@ class RateLimitIntegrationTest {
 
             assertThat(response.getStatus()).isEqualTo(200);
         }
+
+        @Test
+        @DisplayName("should not bypass rate limiting for a whitelisted IP in X-Forwarded-For")
+        void forwardedWhitelistedIpIsRateLimited() throws Exception {
+            for (var i = 0; i < 3; i++) {
+                var request = new MockHttpServletRequest("GET", "/api/users-admin/users");
+                request.setRemoteAddr("203.0.113.7");
+                request.addHeader("X-Forwarded-For", "10.0.0.1");
+                var response = new MockHttpServletResponse();
+                rateLimitFilter.doFilterInternal(request, response, (req, res) -> {});
+
+                assertThat(response.getStatus()).isEqualTo(i < 2 ? 200 : 429);
+            }
+        }
     }
 }
@@ -0,0 +1,145 @@
+package com.lifecontrol.api.config.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.lettuce.core.RedisConnectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisBucketStore Tests")
+class RedisBucketStoreTest {
+
+    private static final String KEY = "/api/users-admin/users";
+
+    @Mock
+    private ProxyManager<String> proxyManager;
+    @Mock
+    private RemoteBucketBuilder<String> bucketBuilder;
+    @Mock
+    private BucketProxy remoteBucket;
+
+    private RateLimitProperties.Redis settings;
+    private BucketConfiguration configuration;
+    private AtomicInteger connectAttempts;
+
+    @BeforeEach
+    void setUp() {
+        settings = new RateLimitProperties.Redis();
+        configuration = BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder().capacity(3).refillIntervally(3, Duration.ofMinutes(1)).build())
+                .build();
+        connectAttempts = new AtomicInteger();
+    }
+
+    private static Supplier<BucketConfiguration> anyConfigurationSupplier() {
+        return any();
+    }
+
+    private RedisBucketStore storeConnectingTo(Supplier<ProxyManager<String>> connector) {
+        return new RedisBucketStore(() -> {
+            connectAttempts.incrementAndGet();
+            return connector.get();
+        }, settings, RateLimitProperties.DEFAULT_MAX_KEYS, new LocalBucketStore());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockRemoteBucket() {
+        when(proxyManager.builder()).thenReturn(bucketBuilder);
+        when(bucketBuilder.withOptimization(any())).thenReturn(bucketBuilder);
+        when(bucketBuilder.build(eq(KEY), anyConfigurationSupplier())).thenReturn(remoteBucket);
+    }
+
+    @Nested
+    @DisplayName("when Redis is reachable")
+    class ReachableTests {
+
+        @Test
+        @DisplayName("should consume from the remote bucket and reuse its proxy")
+        void tryConsume_UsesRemoteBucket() {
+            mockRemoteBucket();
+            when(remoteBucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.consumed(41, 0));
+            var store = storeConnectingTo(() -> proxyManager);
+
+            store.tryConsume(KEY, configuration);
+            var probe = store.tryConsume(KEY, configuration);
+
+            assertThat(probe.isConsumed()).isTrue();
+            assertThat(probe.getRemainingTokens()).isEqualTo(41);
+            assertThat(connectAttempts).hasValue(1);
+            verify(bucketBuilder, times(1)).build(eq(KEY), anyConfigurationSupplier());
+        }
+    }
+
+    @Nested
+    @DisplayName("when Redis is unreachable")
+    class UnreachableTests {
+
+        @Test
+        @DisplayName("should fall back to in-memory buckets and not reconnect before the retry interval")
+        void connectFailure_FallsBackLocally() {
+            var store = storeConnectingTo(() -> {
+                throw new RedisConnectionException("connection refused");
+            });
+
+            var first = store.tryConsume(KEY, configuration);
+            var second = store.tryConsume(KEY, configuration);
+
+            assertThat(first.isConsumed()).isTrue();
+            assertThat(second.getRemainingTokens()).isEqualTo(1);
+            assertThat(connectAttempts).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("should fall back when a remote consume fails")
+        void consumeFailure_FallsBackLocally() {
+            mockRemoteBucket();
+            when(remoteBucket.tryConsumeAndReturnRemaining(1)).thenThrow(new RedisConnectionException("reset"));
+            var store = storeConnectingTo(() -> proxyManager);
+
+            var probe = store.tryConsume(KEY, configuration);
+
+            assertThat(probe.isConsumed()).isTrue();
+            assertThat(probe.getRemainingTokens()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should return to Redis once it is reachable again after the retry interval")
+        void recovery_UsesRemoteBucketAgain() {
+            settings.setFallbackRetryInterval(Duration.ZERO);
+            var attempts = new AtomicInteger();
+            var store = storeConnectingTo(() -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new RedisConnectionException("connection refused");
+                }
+                return proxyManager;
+            });
+            mockRemoteBucket();
+            when(remoteBucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.consumed(41, 0));
+
+            store.tryConsume(KEY, configuration);
+            var probe = store.tryConsume(KEY, configuration);
+
+            assertThat(probe.getRemainingTokens()).isEqualTo(41);
+            assertThat(connectAttempts).hasValue(2);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.lifecontrol.api.product.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.lifecontrol.api.product.service.ProductService;
 import com.lifecontrol.api.product.supplier.dto.ProductSupplierRequest;
@@ -77,6 +78,9 @@ class ProductSupplierControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private final UUID productId = UUID.randomUUID();
     private final UUID relationId = UUID.randomUUID();
     private final UUID supplierId = UUID.randomUUID();
@@ -1,5 +1,6 @@
 package com.lifecontrol.api.purchaseorder.service;
 
+import com.lifecontrol.api.common.ordernumber.service.OrderNumberAllocator;
 import com.lifecontrol.api.company.model.Company;
 import com.lifecontrol.api.company.model.CompanyCountry;
 import com.lifecontrol.api.company.model.CompanyRegion;
@@ -25,6 +26,7 @@ import com.lifecontrol.api.status.model.Status;
 import com.lifecontrol.api.status.model.StatusType;
 import com.lifecontrol.api.status.repository.StatusRepository;
 import com.lifecontrol.api.status.repository.StatusTypeRepository;
+import com.lifecontrol.api.status.service.StatusCatalog;
 import com.lifecontrol.api.store.exception.CompanyStoreNotFoundException;
 import com.lifecontrol.api.store.model.CompanyStore;
 import com.lifecontrol.api.store.repository.CompanyStoreRepository;
@@ -37,7 +39,6 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -45,6 +46,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -55,6 +57,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,8 +73,8 @@ class PurchaseOrderServiceTest {
     @Mock private PaymentMethodRepository paymentMethodRepository;
     @Mock private StatusRepository statusRepository;
     @Mock private StatusTypeRepository statusTypeRepository;
+    @Mock private OrderNumberAllocator orderNumberAllocator;
 
-    @InjectMocks
     private PurchaseOrderService service;
 
     private UUID poId, detailId, supplierId, storeId, pmId, productId, statusId, draftStatusId;
@@ -191,6 +194,25 @@ class PurchaseOrderServiceTest {
                 .status(pendingStatus)
                 .enabled(true)
                 .build();
+
+        registerStatuses();
+        service = new PurchaseOrderService(purchaseOrderRepository, detailRepository, supplierRepository,
+                companyStoreRepository, productRepository, paymentMethodRepository, statusRepository,
+                new StatusCatalog(statusRepository, Duration.ofMinutes(5), Duration.ofSeconds(1)), orderNumberAllocator);
+    }
+
+    /**
+     * Seeds the status catalog with the fixture statuses (plus any extras) and resolves
+     * entity references for them the way {@code getReferenceById} would.
+     */
+    private void registerStatuses(Status... extraStatuses) {
+        var statuses = new ArrayList<>(List.of(draftStatus, sentStatus, pendingStatus, inProcessStatus));
+        statuses.addAll(List.of(extraStatuses));
+        lenient().when(statusRepository.findAllWithStatusType()).thenReturn(statuses);
+        lenient().when(statusRepository.getReferenceById(any(UUID.class))).thenAnswer(inv -> statuses.stream()
+                .filter(s -> s.getId().equals(inv.getArgument(0)))
+                .findFirst()
+                .orElseThrow());
     }
 
     // ─── getAllPurchaseOrders ────────────────────────────────────────────
@@ -278,9 +300,7 @@ class PurchaseOrderServiceTest {
             when(supplierRepository.findById(supplierId)).thenReturn(Optional.of(supplier));
             when(companyStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
             when(paymentMethodRepository.findById(pmId)).thenReturn(Optional.of(paymentMethod));
-            when(statusRepository.findById(draftStatusId)).thenReturn(Optional.of(draftStatus));
-            when(purchaseOrderRepository.findTopByOrderNumberStartingWithOrderByOrderNumberDesc(anyString()))
-                    .thenReturn(Optional.empty());
+            when(orderNumberAllocator.next(anyString(), any())).thenReturn(1L);
             when(purchaseOrderRepository.save(any(PurchaseOrder.class))).thenAnswer(inv -> {
                 var po = inv.getArgument(0, PurchaseOrder.class);
                 po.setId(poId);
@@ -308,11 +328,8 @@ class PurchaseOrderServiceTest {
             when(supplierRepository.findById(supplierId)).thenReturn(Optional.of(supplier));
             when(companyStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
             when(paymentMethodRepository.findById(pmId)).thenReturn(Optional.of(paymentMethod));
-            when(statusRepository.findById(draftStatusId)).thenReturn(Optional.of(draftStatus));
-            when(statusRepository.findById(pendingStatus.getId())).thenReturn(Optional.of(pendingStatus));
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(purchaseOrderRepository.findTopByOrderNumberStartingWithOrderByOrderNumberDesc(anyString()))
-                    .thenReturn(Optional.empty());
+            when(orderNumberAllocator.next(anyString(), any())).thenReturn(1L);
 
             var captor = ArgumentCaptor.forClass(PurchaseOrder.class);
             when(purchaseOrderRepository.save(captor.capture())).thenAnswer(inv -> {
@@ -371,12 +388,11 @@ class PurchaseOrderServiceTest {
         @DisplayName("should throw StatusNotFoundException when status missing")
         void throwsWhenStatusMissing() {
             var request = new PurchaseOrderRequest(
-                    supplierId, storeId, pmId, draftStatusId, null, List.of()
+                    supplierId, storeId, pmId, UUID.randomUUID(), null, List.of()
             );
             when(supplierRepository.findById(supplierId)).thenReturn(Optional.of(supplier));
             when(companyStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
             when(paymentMethodRepository.findById(pmId)).thenReturn(Optional.of(paymentMethod));
-            when(statusRepository.findById(draftStatusId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.createPurchaseOrder(request))
                     .isInstanceOf(StatusNotFoundException.class);
@@ -391,7 +407,6 @@ class PurchaseOrderServiceTest {
             when(supplierRepository.findById(supplierId)).thenReturn(Optional.of(supplier));
             when(companyStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
             when(paymentMethodRepository.findById(pmId)).thenReturn(Optional.of(paymentMethod));
-            when(statusRepository.findById(pendingStatus.getId())).thenReturn(Optional.of(pendingStatus));
 
             assertThatThrownBy(() -> service.createPurchaseOrder(request))
                     .isInstanceOf(IllegalArgumentException.class)
@@ -415,7 +430,6 @@ class PurchaseOrderServiceTest {
             when(supplierRepository.findById(supplierId)).thenReturn(Optional.of(supplier));
             when(companyStoreRepository.findById(storeId)).thenReturn(Optional.of(store));
             when(paymentMethodRepository.findById(pmId)).thenReturn(Optional.of(paymentMethod));
-            when(statusRepository.findById(draftStatusId)).thenReturn(Optional.of(draftStatus));
             when(purchaseOrderRepository.save(any(PurchaseOrder.class))).thenReturn(purchaseOrder);
 
             var result = service.updatePurchaseOrder(poId, request);
@@ -449,7 +463,6 @@ class PurchaseOrderServiceTest {
         void validTransitionSucceeds() {
             var request = new UpdatePurchaseOrderStatusRequest(sentStatus.getId());
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
-            when(statusRepository.findById(sentStatus.getId())).thenReturn(Optional.of(sentStatus));
             when(purchaseOrderRepository.save(any(PurchaseOrder.class))).thenReturn(purchaseOrder);
 
             var result = service.updatePurchaseOrderStatus(poId, request);
@@ -467,7 +480,6 @@ class PurchaseOrderServiceTest {
 
             var request = new UpdatePurchaseOrderStatusRequest(draftStatusId);
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(alreadySent));
-            when(statusRepository.findById(draftStatusId)).thenReturn(Optional.of(draftStatus));
 
             assertThatThrownBy(() -> service.updatePurchaseOrderStatus(poId, request))
                     .isInstanceOf(InvalidStatusTransitionException.class)
@@ -479,7 +491,6 @@ class PurchaseOrderServiceTest {
         void wrongStatusTypeThrows() {
             var request = new UpdatePurchaseOrderStatusRequest(pendingStatus.getId());
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
-            when(statusRepository.findById(pendingStatus.getId())).thenReturn(Optional.of(pendingStatus));
 
             assertThatThrownBy(() -> service.updatePurchaseOrderStatus(poId, request))
                     .isInstanceOf(IllegalArgumentException.class);
@@ -547,7 +558,6 @@ class PurchaseOrderServiceTest {
 
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(statusRepository.findById(pendingStatus.getId())).thenReturn(Optional.of(pendingStatus));
             when(detailRepository.save(any(PurchaseOrderDetail.class))).thenAnswer(inv -> {
                 var d = inv.getArgument(0, PurchaseOrderDetail.class);
                 d.setId(detailId);
@@ -588,7 +598,6 @@ class PurchaseOrderServiceTest {
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
             when(detailRepository.findById(detailId)).thenReturn(Optional.of(detail));
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(statusRepository.findById(pendingStatus.getId())).thenReturn(Optional.of(pendingStatus));
             when(detailRepository.save(any(PurchaseOrderDetail.class))).thenReturn(detail);
 
             var result = service.updatePurchaseOrderDetail(poId, detailId, updatedReq);
@@ -652,7 +661,6 @@ class PurchaseOrderServiceTest {
 
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
             when(detailRepository.findById(detailId)).thenReturn(Optional.of(detail));
-            when(statusRepository.findById(inProcessStatus.getId())).thenReturn(Optional.of(inProcessStatus));
             when(detailRepository.save(any(PurchaseOrderDetail.class))).thenReturn(detail);
 
             var result = service.updatePurchaseOrderDetailStatus(poId, detailId, request);
@@ -672,7 +680,7 @@ class PurchaseOrderServiceTest {
             var request = new UpdatePurchaseOrderStatusRequest(backToPending.getId());
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
             when(detailRepository.findById(detailId)).thenReturn(Optional.of(detail));
-            when(statusRepository.findById(backToPending.getId())).thenReturn(Optional.of(backToPending));
+            registerStatuses(backToPending);
 
             assertThatThrownBy(() -> service.updatePurchaseOrderDetailStatus(poId, detailId, request))
                     .isInstanceOf(InvalidStatusTransitionException.class);
@@ -685,7 +693,6 @@ class PurchaseOrderServiceTest {
 
             when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(purchaseOrder));
             when(detailRepository.findById(detailId)).thenReturn(Optional.of(detail));
-            when(statusRepository.findById(draftStatusId)).thenReturn(Optional.of(draftStatus));
 
             assertThatThrownBy(() -> service.updatePurchaseOrderDetailStatus(poId, detailId, request))
                     .isInstanceOf(IllegalArgumentException.class)
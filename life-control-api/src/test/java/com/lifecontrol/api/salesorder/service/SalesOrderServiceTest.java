@@ -1,5 +1,6 @@
 package com.lifecontrol.api.salesorder.service;
 
+import com.lifecontrol.api.common.ordernumber.service.OrderNumberAllocator;
 import com.lifecontrol.api.customer.exception.CustomerNotFoundException;
 import com.lifecontrol.api.customer.repository.CustomerRepository;
 import com.lifecontrol.api.product.exception.ProductVariantNotFoundException;
@@ -29,6 +30,7 @@ import com.lifecontrol.api.status.exception.StatusNotFoundException;
 import com.lifecontrol.api.status.model.Status;
 import com.lifecontrol.api.status.model.StatusType;
 import com.lifecontrol.api.status.repository.StatusRepository;
+import com.lifecontrol.api.status.service.StatusCatalog;
 import com.lifecontrol.api.store.exception.CompanyStoreNotFoundException;
 import com.lifecontrol.api.store.repository.CompanyStoreRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,7 +38,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -45,6 +46,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -55,12 +57,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SalesOrderService Tests")
@@ -90,7 +94,11 @@ class SalesOrderServiceTest {
     @Mock
     private PaymentMethodRepository paymentMethodRepository;
 
-    @InjectMocks
+    @Mock
+    private OrderNumberAllocator orderNumberAllocator;
+
+    private StatusCatalog statusCatalog;
+
     private SalesOrderService salesOrderService;
 
     private UUID orderId;
@@ -195,6 +203,13 @@ class SalesOrderServiceTest {
                 .enabled(true)
                 .build();
 
+        // Status lookups resolve through an in-memory catalog loaded from these fixtures
+        registerStatuses();
+        statusCatalog = new StatusCatalog(statusRepository, Duration.ofMinutes(5), Duration.ofSeconds(1));
+        salesOrderService = new SalesOrderService(salesOrderRepository, itemRepository, customerRepository,
+                companyStoreRepository, shiftRepository, productVariantRepository, statusCatalog,
+                paymentMethodRepository, orderNumberAllocator, false);
+
         var now = LocalDateTime.now();
 
         testOrder = SalesOrder.builder()
@@ -248,6 +263,39 @@ class SalesOrderServiceTest {
         testVariant.setStock(new BigDecimal("100.00"));
     }
 
+    /**
+     * Stubs the bulk {@code SELECT ... FOR UPDATE} to return whichever of the given variants were requested.
+     */
+    private void stubLockedVariants(ProductVariant... variants) {
+        when(productVariantRepository.findAllByIdForUpdate(any())).thenAnswer(inv -> {
+            java.util.Collection<UUID> ids = inv.getArgument(0);
+            return java.util.Arrays.stream(variants).filter(v -> ids.contains(v.getId())).toList();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyStockSaved(ProductVariant... variants) {
+        ArgumentCaptor<Iterable<ProductVariant>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(productVariantRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(variants);
+    }
+
+    /**
+     * Verifies that one {@code saveAll} batch contained an item matching the given condition.
+     */
+    private void verifyItemSavedInBatch(java.util.function.Predicate<SalesOrderItem> expected) {
+        verify(itemRepository).saveAll(ArgumentMatchers.<Iterable<SalesOrderItem>>argThat(items ->
+                java.util.stream.StreamSupport.stream(items.spliterator(), false).anyMatch(expected)));
+    }
+
+    private void registerStatuses(Status... extraStatuses) {
+        var statuses = new java.util.ArrayList<>(List.of(
+                borradorStatus, activoStatus, enviadaStatus, canceladaStatus, cerradaStatus,
+                pendienteItemStatus, agregadoItemStatus, canceladoItemStatus));
+        statuses.addAll(List.of(extraStatuses));
+        lenient().when(statusRepository.findAllWithStatusType()).thenReturn(statuses);
+    }
+
     // ─────────────────────────────────────────────
     // getAllSalesOrders
     // ─────────────────────────────────────────────
@@ -263,8 +311,7 @@ class SalesOrderServiceTest {
             var expectedPage = new PageImpl<>(orders, pageable, 1);
 
             when(salesOrderRepository.findByEnabledTrueOrderByCreatedAtDesc(pageable)).thenReturn(expectedPage);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(itemRepository.findBySalesOrderIdInAndEnabledTrue(List.of(orderId))).thenReturn(List.of());
 
             Page<SalesOrderResponse> result = salesOrderService.getAllSalesOrders(pageable, null);
 
@@ -288,8 +335,7 @@ class SalesOrderServiceTest {
             var searchTerm = "SO-20260610";
 
             when(salesOrderRepository.findBySearchTerm(searchTerm, pageable)).thenReturn(expectedPage);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(itemRepository.findBySalesOrderIdInAndEnabledTrue(List.of(orderId))).thenReturn(List.of());
 
             Page<SalesOrderResponse> result = salesOrderService.getAllSalesOrders(pageable, searchTerm);
 
@@ -299,6 +345,49 @@ class SalesOrderServiceTest {
             verify(salesOrderRepository).findBySearchTerm(searchTerm, pageable);
         }
 
+        @Test
+        @DisplayName("should load items and statuses for the whole page in bulk")
+        void getAllSalesOrders_BulkLoadsItemsAndStatuses() {
+            var pageable = PageRequest.of(0, 12);
+            var secondOrderId = UUID.randomUUID();
+            var secondOrder = SalesOrder.builder()
+                    .id(secondOrderId)
+                    .orderNumber("SO-20260610-00002")
+                    .customerId(customerId)
+                    .companyStoreId(companyStoreId)
+                    .orderDate(LocalDateTime.now())
+                    .statusId(activoStatus.getId())
+                    .totalAmount(new BigDecimal("90.00"))
+                    .enabled(true)
+                    .build();
+            var secondItem = SalesOrderItem.builder()
+                    .id(UUID.randomUUID())
+                    .salesOrderId(secondOrderId)
+                    .productVariantId(variantId)
+                    .quantity(BigDecimal.ONE)
+                    .listPrice(new BigDecimal("90.00"))
+                    .finalPrice(new BigDecimal("90.00"))
+                    .statusId(pendienteItemStatus.getId())
+                    .enabled(true)
+                    .build();
+            var expectedPage = new PageImpl<>(List.of(testOrder, secondOrder), pageable, 2);
+
+            when(salesOrderRepository.findByEnabledTrueOrderByCreatedAtDesc(pageable)).thenReturn(expectedPage);
+            when(itemRepository.findBySalesOrderIdInAndEnabledTrue(List.of(orderId, secondOrderId)))
+                    .thenReturn(List.of(testItem, secondItem));
+
+            Page<SalesOrderResponse> result = salesOrderService.getAllSalesOrders(pageable, null);
+
+            assertThat(result.getContent()).hasSize(2);
+            assertThat(result.getContent().get(0).statusName()).isEqualTo("Draft");
+            assertThat(result.getContent().get(0).items()).extracting(SalesOrderItemResponse::id).containsExactly(itemId);
+            assertThat(result.getContent().get(1).statusName()).isEqualTo("Active");
+            assertThat(result.getContent().get(1).items()).hasSize(1);
+            assertThat(result.getContent().get(1).items().get(0).statusName()).isEqualTo("Pending");
+            verify(itemRepository, never()).findBySalesOrderIdAndEnabledTrue(any());
+            verify(statusRepository, times(1)).findAllWithStatusType();
+        }
+
         @Test
         @DisplayName("should return empty page when no sales orders exist")
         void getAllSalesOrders_EmptyPage() {
@@ -327,7 +416,6 @@ class SalesOrderServiceTest {
         void getSalesOrderById_Found() {
             when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
 
             SalesOrderResponse result = salesOrderService.getSalesOrderById(orderId);
 
@@ -364,13 +452,9 @@ class SalesOrderServiceTest {
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Draft"))
-                    .thenReturn(Optional.of(borradorStatus));
-            when(salesOrderRepository.findTopByOrderNumberStartingWithOrderByOrderNumberDesc(any()))
-                    .thenReturn(Optional.empty());
+            when(orderNumberAllocator.next(any(), any())).thenReturn(1L);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
 
             SalesOrderResponse result = salesOrderService.createSalesOrder(testOrderRequest);
 
@@ -434,13 +518,12 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should update sales order fields and return response")
         void updateSalesOrder_Success() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
 
             SalesOrderResponse result = salesOrderService.updateSalesOrder(orderId, testOrderRequest);
 
@@ -454,7 +537,7 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should throw SalesOrderNotFoundException when order not found")
         void updateSalesOrder_NotFound_ThrowsException() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrder(orderId, testOrderRequest))
                     .isInstanceOf(SalesOrderNotFoundException.class)
@@ -490,20 +573,18 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem, item2));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(productVariantRepository.findByIdForUpdate(variantId2)).thenReturn(Optional.of(testVariant2));
+            stubLockedVariants(testVariant, testVariant2);
 
             salesOrderService.deleteSalesOrder(orderId);
 
-            verify(salesOrderRepository).findById(orderId);
+            verify(salesOrderRepository).findByIdForUpdate(orderId);
             verify(salesOrderRepository).save(any(SalesOrder.class));
             verify(itemRepository).findBySalesOrderId(orderId);
             verify(itemRepository, times(2)).save(any(SalesOrderItem.class));
             // Verify stock restored: variant1: 100 + 2.00 = 102.00, variant2: 200 + 3.00 = 203.00
-            verify(productVariantRepository).save(testVariant);
-            verify(productVariantRepository).save(testVariant2);
+            verifyStockSaved(testVariant, testVariant2);
             assertThat(testVariant.getStock()).isEqualByComparingTo(new BigDecimal("102.00"));
             assertThat(testVariant2.getStock()).isEqualByComparingTo(new BigDecimal("203.00"));
         }
@@ -511,7 +592,7 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should throw SalesOrderNotFoundException when order not found")
         void deleteSalesOrder_NotFound_ThrowsException() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> salesOrderService.deleteSalesOrder(orderId))
                     .isInstanceOf(SalesOrderNotFoundException.class)
@@ -544,10 +625,9 @@ class SalesOrderServiceTest {
                     .enabled(false)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(disabledOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(disabledOrder));
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
 
             SalesOrderResponse result = salesOrderService.enableSalesOrder(orderId);
 
@@ -570,9 +650,7 @@ class SalesOrderServiceTest {
         void updateStatus_DraftToActive_Success() {
             var statusRequest = new UpdateSalesOrderStatusRequest(activoStatus.getId());
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
 
             var updatedOrder = SalesOrder.builder()
                     .id(orderId)
@@ -591,8 +669,6 @@ class SalesOrderServiceTest {
 
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(updatedOrder);
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            // toResponse will query the NEW status (activoStatus)
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
 
             SalesOrderResponse result = salesOrderService.updateSalesOrderStatus(orderId, statusRequest);
 
@@ -606,9 +682,7 @@ class SalesOrderServiceTest {
         void updateStatus_DraftToCancelled_Success() {
             var statusRequest = new UpdateSalesOrderStatusRequest(canceladaStatus.getId());
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findById(canceladaStatus.getId())).thenReturn(Optional.of(canceladaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
 
             var updatedOrder = SalesOrder.builder()
                     .id(orderId)
@@ -628,15 +702,14 @@ class SalesOrderServiceTest {
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(updatedOrder);
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(statusRepository.findById(canceladaStatus.getId())).thenReturn(Optional.of(canceladaStatus));
+            stubLockedVariants(testVariant);
 
             SalesOrderResponse result = salesOrderService.updateSalesOrderStatus(orderId, statusRequest);
 
             assertThat(result).isNotNull();
             assertThat(result.statusName()).isEqualTo("Cancelled");
             // Verify stock restored: 100.00 + 2.00 = 102.00
-            verify(productVariantRepository).save(testVariant);
+            verifyStockSaved(testVariant);
             assertThat(testVariant.getStock()).isEqualByComparingTo(new BigDecimal("102.00"));
         }
 
@@ -645,9 +718,7 @@ class SalesOrderServiceTest {
         void updateStatus_DraftToCompleted_ThrowsInvalidTransition() {
             var statusRequest = new UpdateSalesOrderStatusRequest(cerradaStatus.getId());
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrderStatus(orderId, statusRequest))
                     .isInstanceOf(InvalidStatusTransitionException.class)
@@ -670,10 +741,9 @@ class SalesOrderServiceTest {
                     .build();
 
             var statusRequest = new UpdateSalesOrderStatusRequest(wrongTypeStatus.getId());
+            registerStatuses(wrongTypeStatus);
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findById(wrongTypeStatus.getId())).thenReturn(Optional.of(wrongTypeStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrderStatus(orderId, statusRequest))
                     .isInstanceOf(IllegalArgumentException.class)
@@ -686,7 +756,7 @@ class SalesOrderServiceTest {
         @DisplayName("should throw SalesOrderNotFoundException when order not found")
         void updateStatus_OrderNotFound_ThrowsException() {
             var statusRequest = new UpdateSalesOrderStatusRequest(enviadaStatus.getId());
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrderStatus(orderId, statusRequest))
                     .isInstanceOf(SalesOrderNotFoundException.class)
@@ -711,9 +781,7 @@ class SalesOrderServiceTest {
 
             var statusRequest = new UpdateSalesOrderStatusRequest(canceladaStatus.getId());
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findById(canceladaStatus.getId())).thenReturn(Optional.of(canceladaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
 
             var updatedOrder = SalesOrder.builder()
                     .id(orderId)
@@ -735,15 +803,14 @@ class SalesOrderServiceTest {
             when(itemRepository.findBySalesOrderId(orderId))
                     .thenReturn(List.of(testItem, softDeletedItem));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(statusRepository.findById(canceladaStatus.getId())).thenReturn(Optional.of(canceladaStatus));
+            stubLockedVariants(testVariant);
 
             SalesOrderResponse result = salesOrderService.updateSalesOrderStatus(orderId, statusRequest);
 
             assertThat(result).isNotNull();
             assertThat(result.statusName()).isEqualTo("Cancelled");
             // Stock restored: 100.00 + 2.00 (testItem) + 3.00 (softDeleted) = 105.00
-            verify(productVariantRepository).save(testVariant);
+            verifyStockSaved(testVariant);
             assertThat(testVariant.getStock()).isEqualByComparingTo(new BigDecimal("105.00"));
         }
     }
@@ -760,7 +827,6 @@ class SalesOrderServiceTest {
         void getSalesOrderItems_ReturnsItems() {
             when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             List<SalesOrderItemResponse> result = salesOrderService.getSalesOrderItems(orderId);
 
@@ -793,15 +859,11 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should add item with finalPrice = listPrice - discountApplied")
         void addSalesOrderItem_Success() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
+            stubLockedVariants(testVariant);
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.addSalesOrderItem(orderId, testItemRequest);
 
@@ -813,24 +875,21 @@ class SalesOrderServiceTest {
             assertThat(result.statusName()).isEqualTo("Pending");
             verify(itemRepository).save(any(SalesOrderItem.class));
             // Verify stock was deducted
-            verify(productVariantRepository).save(any(ProductVariant.class));
+            verify(productVariantRepository).saveAll(any());
             assertThat(testVariant.getStock()).isEqualByComparingTo(new BigDecimal("98.00"));
-            // Verify totalAmount was recalculated (findById called in loadAndValidateModifiableSO + recalculateTotalAmount)
-            verify(salesOrderRepository, times(2)).findById(orderId);
+            // Verify totalAmount was adjusted by the new item's finalPrice without reloading the order
+            verify(salesOrderRepository, times(1)).findByIdForUpdate(orderId);
+            assertThat(testOrder.getTotalAmount()).isEqualByComparingTo(new BigDecimal("90.00"));
         }
 
         @Test
         @DisplayName("should recalculate totalAmount after adding item")
         void addSalesOrderItem_RecalculatesTotalAmount() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
+            stubLockedVariants(testVariant);
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             salesOrderService.addSalesOrderItem(orderId, testItemRequest);
 
@@ -854,8 +913,7 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(cerradaOrder));
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(cerradaOrder));
 
             assertThatThrownBy(() -> salesOrderService.addSalesOrderItem(orderId, testItemRequest))
                     .isInstanceOf(SalesOrderAlreadyFinalizedException.class)
@@ -881,16 +939,12 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(activeOrder));
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(activeOrder));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
+            stubLockedVariants(testVariant);
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
             // Not first item — item already exists
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.addSalesOrderItem(orderId, testItemRequest);
 
@@ -899,19 +953,16 @@ class SalesOrderServiceTest {
             assertThat(result.finalPrice()).isEqualByComparingTo(new BigDecimal("90.00"));
             assertThat(result.statusName()).isEqualTo("Pending");
             verify(itemRepository).save(any(SalesOrderItem.class));
-            verify(productVariantRepository).save(any(ProductVariant.class));
+            verify(productVariantRepository).saveAll(any());
             assertThat(testVariant.getStock()).isEqualByComparingTo(new BigDecimal("98.00"));
         }
 
         @Test
         @DisplayName("should auto-transition Draft → Active when first item is added")
         void addSalesOrderItem_FirstItem_AutoTransitionsToActive() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
+            stubLockedVariants(testVariant);
             var savedItem = SalesOrderItem.builder()
                     .id(itemId)
                     .salesOrderId(orderId)
@@ -928,11 +979,7 @@ class SalesOrderServiceTest {
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId))
                     .thenReturn(List.of())
                     .thenReturn(List.of(savedItem));
-            // Auto-transition mocks
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Active"))
-                    .thenReturn(Optional.of(activoStatus));
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.addSalesOrderItem(orderId, testItemRequest);
 
@@ -946,7 +993,7 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should throw SalesOrderNotFoundException when order not found")
         void addSalesOrderItem_OrderNotFound_ThrowsException() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> salesOrderService.addSalesOrderItem(orderId, testItemRequest))
                     .isInstanceOf(SalesOrderNotFoundException.class)
@@ -956,8 +1003,7 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should throw ProductVariantNotFoundException when variant not found")
         void addSalesOrderItem_VariantNotFound_ThrowsException() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(productVariantRepository.existsById(variantId)).thenReturn(false);
 
             assertThatThrownBy(() -> salesOrderService.addSalesOrderItem(orderId, testItemRequest))
@@ -976,15 +1022,12 @@ class SalesOrderServiceTest {
     class UpdateSalesOrderItemTests {
 
         @Test
-        @DisplayName("should update item and recalculate total")
+        @DisplayName("should update item and leave total untouched when finalPrice is unchanged")
         void updateSalesOrderItem_Success() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.updateSalesOrderItem(orderId, itemId, testItemRequest);
 
@@ -992,7 +1035,28 @@ class SalesOrderServiceTest {
             assertThat(result.id()).isEqualTo(itemId);
             assertThat(result.finalPrice()).isEqualByComparingTo(new BigDecimal("90.00"));
             verify(itemRepository).save(any(SalesOrderItem.class));
-            verify(salesOrderRepository).save(any(SalesOrder.class));
+            verify(salesOrderRepository, never()).save(any(SalesOrder.class));
+        }
+
+        @Test
+        @DisplayName("should adjust total by the finalPrice difference")
+        void updateSalesOrderItem_PriceChange_AdjustsTotal() {
+            testOrder.setTotalAmount(new BigDecimal("150.00"));
+            var request = new SalesOrderItemRequest(
+                    itemId, variantId,
+                    new BigDecimal("2.00"), new BigDecimal("120.00"), BigDecimal.ZERO, null);
+
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
+            when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
+            when(productVariantRepository.existsById(variantId)).thenReturn(true);
+            when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
+
+            salesOrderService.updateSalesOrderItem(orderId, itemId, request);
+
+            // 150.00 - 90.00 (old finalPrice) + 120.00 (new finalPrice) = 180.00
+            assertThat(testOrder.getTotalAmount()).isEqualByComparingTo(new BigDecimal("180.00"));
+            verify(salesOrderRepository).save(testOrder);
+            verify(itemRepository, never()).findBySalesOrderIdAndEnabledTrue(orderId);
         }
 
         @Test
@@ -1002,14 +1066,11 @@ class SalesOrderServiceTest {
                     itemId, variantId,
                     new BigDecimal("5.00"), new BigDecimal("100.00"), BigDecimal.ZERO, null);
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
             when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             salesOrderService.updateSalesOrderItem(orderId, itemId, request);
 
@@ -1025,14 +1086,11 @@ class SalesOrderServiceTest {
                     itemId, variantId,
                     new BigDecimal("1.00"), new BigDecimal("100.00"), BigDecimal.ZERO, null);
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
             when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             salesOrderService.updateSalesOrderItem(orderId, itemId, request);
 
@@ -1045,13 +1103,10 @@ class SalesOrderServiceTest {
         @DisplayName("should not change stock when quantity unchanged")
         void updateSalesOrderItem_SameQuantity_NoStockChange() {
             // testItemRequest has qty 2.00, testItem has qty 2.00 → diff = 0 → no stock change
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             salesOrderService.updateSalesOrderItem(orderId, itemId, testItemRequest);
 
@@ -1068,8 +1123,7 @@ class SalesOrderServiceTest {
                     itemId, variantId,
                     new BigDecimal("10.00"), new BigDecimal("100.00"), BigDecimal.ZERO, null);
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
             when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
@@ -1085,8 +1139,7 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should throw SalesOrderItemNotFoundException when item not found")
         void updateSalesOrderItem_ItemNotFound_ThrowsException() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrderItem(orderId, itemId, testItemRequest))
@@ -1112,8 +1165,7 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(cerradaOrder));
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(cerradaOrder));
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrderItem(orderId, itemId, testItemRequest))
                     .isInstanceOf(SalesOrderAlreadyFinalizedException.class)
@@ -1139,13 +1191,10 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(activeOrder));
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(activeOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.existsById(variantId)).thenReturn(true);
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.updateSalesOrderItem(orderId, itemId, testItemRequest);
 
@@ -1153,7 +1202,7 @@ class SalesOrderServiceTest {
             assertThat(result.id()).isEqualTo(itemId);
             assertThat(result.finalPrice()).isEqualByComparingTo(new BigDecimal("90.00"));
             verify(itemRepository).save(any(SalesOrderItem.class));
-            verify(salesOrderRepository).save(any(SalesOrder.class));
+            verify(salesOrderRepository, never()).save(any(SalesOrder.class));
         }
     }
 
@@ -1167,11 +1216,9 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should soft-delete item with stock restoration and recalculate total")
         void deleteSalesOrderItem_Success() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
 
             salesOrderService.deleteSalesOrderItem(orderId, itemId);
@@ -1186,8 +1233,7 @@ class SalesOrderServiceTest {
         @Test
         @DisplayName("should throw SalesOrderItemNotFoundException when item not found")
         void deleteSalesOrderItem_ItemNotFound_ThrowsException() {
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> salesOrderService.deleteSalesOrderItem(orderId, itemId))
@@ -1211,11 +1257,9 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(activeOrder));
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(activeOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
             when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
 
             salesOrderService.deleteSalesOrderItem(orderId, itemId);
@@ -1241,8 +1285,6 @@ class SalesOrderServiceTest {
 
             when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
-            when(statusRepository.findById(agregadoItemStatus.getId())).thenReturn(Optional.of(agregadoItemStatus));
 
             var updatedItem = SalesOrderItem.builder()
                     .id(itemId)
@@ -1257,7 +1299,6 @@ class SalesOrderServiceTest {
                     .build();
 
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(updatedItem);
-            when(statusRepository.findById(agregadoItemStatus.getId())).thenReturn(Optional.of(agregadoItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.updateSalesOrderItemStatus(
                     orderId, itemId, statusRequest);
@@ -1275,8 +1316,6 @@ class SalesOrderServiceTest {
 
             when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
-            when(statusRepository.findById(canceladoItemStatus.getId())).thenReturn(Optional.of(canceladoItemStatus));
 
             var updatedItem = SalesOrderItem.builder()
                     .id(itemId)
@@ -1291,7 +1330,6 @@ class SalesOrderServiceTest {
                     .build();
 
             when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(updatedItem);
-            when(statusRepository.findById(canceladoItemStatus.getId())).thenReturn(Optional.of(canceladoItemStatus));
 
             SalesOrderItemResponse result = salesOrderService.updateSalesOrderItemStatus(
                     orderId, itemId, statusRequest);
@@ -1312,11 +1350,10 @@ class SalesOrderServiceTest {
                     .build();
 
             var statusRequest = new UpdateSalesOrderStatusRequest(invalidTransitionStatus.getId());
+            registerStatuses(invalidTransitionStatus);
 
             when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
-            when(statusRepository.findById(pendienteItemStatus.getId())).thenReturn(Optional.of(pendienteItemStatus));
-            when(statusRepository.findById(invalidTransitionStatus.getId())).thenReturn(Optional.of(invalidTransitionStatus));
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrderItemStatus(orderId, itemId, statusRequest))
                     .isInstanceOf(InvalidStatusTransitionException.class)
@@ -1398,31 +1435,25 @@ class SalesOrderServiceTest {
                     .updatedAt(testOrder.getUpdatedAt())
                     .build();
 
-            when(salesOrderRepository.findById(orderId))
-                    .thenReturn(Optional.of(pendingOrder))
-                    .thenReturn(Optional.of(savedOrder));
-            when(statusRepository.findById(enviadaStatus.getId())).thenReturn(Optional.of(enviadaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(pendingOrder));
+            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(savedOrder));
             when(paymentMethodRepository.existsById(paymentMethodId)).thenReturn(true);
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Completed"))
-                    .thenReturn(Optional.of(cerradaStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Added"))
-                    .thenReturn(Optional.of(agregadoItemStatus));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(item1, item2));
-            // Item status lookups (Pending → check not Cancelled)
-            when(statusRepository.findById(pendienteItemStatus.getId()))
-                    .thenReturn(Optional.of(pendienteItemStatus));
             // toResponse mocks
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
+
+            // Stored total (0.00) is out of step with the items; charge must use the item sum
+            when(itemRepository.sumFinalPriceBySalesOrderId(orderId)).thenReturn(new BigDecimal("190.00"));
 
             SalesOrderResponse result = salesOrderService.chargeSalesOrder(orderId, request);
 
             assertThat(result).isNotNull();
             assertThat(result.statusName()).isEqualTo("Completed");
-            // Verify header saved with Completed status + payment method
+            // Verify header saved with Completed status + payment method + reconciled total
             verify(salesOrderRepository).save(argThat(so ->
                     so.getStatusId().equals(cerradaStatus.getId())
-                            && paymentMethodId.equals(so.getPaymentMethodId())));
+                            && paymentMethodId.equals(so.getPaymentMethodId())
+                            && so.getTotalAmount().compareTo(new BigDecimal("190.00")) == 0));
             // Verify both items saved with Added status
             verify(itemRepository, times(2)).save(argThat(item ->
                     agregadoItemStatus.getId().equals(((SalesOrderItem) item).getStatusId())));
@@ -1435,8 +1466,7 @@ class SalesOrderServiceTest {
             var request = new ChargeSalesOrderRequest(paymentMethodId);
 
             // testOrder is Draft by default — Draft is neither Pending nor Active
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
 
             assertThatThrownBy(() -> salesOrderService.chargeSalesOrder(orderId, request))
                     .isInstanceOf(InvalidSalesOrderChargeException.class)
@@ -1466,8 +1496,7 @@ class SalesOrderServiceTest {
                     .enabled(true)
                     .build();
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(pendingOrder));
-            when(statusRepository.findById(enviadaStatus.getId())).thenReturn(Optional.of(enviadaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(pendingOrder));
             when(paymentMethodRepository.existsById(paymentMethodId)).thenReturn(false);
 
             assertThatThrownBy(() -> salesOrderService.chargeSalesOrder(orderId, request))
@@ -1545,25 +1574,15 @@ class SalesOrderServiceTest {
                     .updatedAt(testOrder.getUpdatedAt())
                     .build();
 
-            when(salesOrderRepository.findById(orderId))
-                    .thenReturn(Optional.of(pendingOrder))
-                    .thenReturn(Optional.of(savedOrder));
-            when(statusRepository.findById(enviadaStatus.getId())).thenReturn(Optional.of(enviadaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(pendingOrder));
+            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(savedOrder));
             when(paymentMethodRepository.existsById(paymentMethodId)).thenReturn(true);
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Completed"))
-                    .thenReturn(Optional.of(cerradaStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Added"))
-                    .thenReturn(Optional.of(agregadoItemStatus));
             when(itemRepository.findBySalesOrderId(orderId))
                     .thenReturn(List.of(itemPending1, itemPending2, itemCancelled));
-            // Item status lookups: Pending (twice), Cancelled (once)
-            when(statusRepository.findById(pendienteItemStatus.getId()))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(statusRepository.findById(canceladoItemStatus.getId()))
-                    .thenReturn(Optional.of(canceladoItemStatus));
             // toResponse mocks
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
+
+            when(itemRepository.sumFinalPriceBySalesOrderId(orderId)).thenReturn(BigDecimal.ZERO);
 
             SalesOrderResponse result = salesOrderService.chargeSalesOrder(orderId, request);
 
@@ -1642,26 +1661,14 @@ class SalesOrderServiceTest {
                     .updatedAt(testOrder.getUpdatedAt())
                     .build();
 
-            when(salesOrderRepository.findById(orderId))
-                    .thenReturn(Optional.of(activeOrder))
-                    .thenReturn(Optional.of(savedOrder));
-            // ensureOrderIsPending: lookup Active status
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
-            // ensureOrderIsPending: find Pending status for promotion
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Pending"))
-                    .thenReturn(Optional.of(enviadaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(activeOrder));
+            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(savedOrder));
             when(paymentMethodRepository.existsById(paymentMethodId)).thenReturn(true);
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Completed"))
-                    .thenReturn(Optional.of(cerradaStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Added"))
-                    .thenReturn(Optional.of(agregadoItemStatus));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(item1, item2));
-            // Item status lookups (Pending → check not Cancelled)
-            when(statusRepository.findById(pendienteItemStatus.getId()))
-                    .thenReturn(Optional.of(pendienteItemStatus));
             // toResponse mocks — items have been transitioned to Added
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
+
+            when(itemRepository.sumFinalPriceBySalesOrderId(orderId)).thenReturn(BigDecimal.ZERO);
 
             SalesOrderResponse result = salesOrderService.chargeSalesOrder(orderId, request);
 
@@ -1738,23 +1745,10 @@ class SalesOrderServiceTest {
                     .updatedAt(testOrder.getUpdatedAt())
                     .build();
 
-            when(salesOrderRepository.findById(orderId))
-                    .thenReturn(Optional.of(activeOrder))
-                    .thenReturn(Optional.of(savedOrder));
-            // ensureOrderIsPending: lookup Active status
-            when(statusRepository.findById(activoStatus.getId())).thenReturn(Optional.of(activoStatus));
-            // ensureOrderIsPending: find Pending status for promotion
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Pending"))
-                    .thenReturn(Optional.of(enviadaStatus));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(activeOrder));
+            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(savedOrder));
             when(paymentMethodRepository.existsById(paymentMethodId)).thenReturn(true);
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER", "Completed"))
-                    .thenReturn(Optional.of(cerradaStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Added"))
-                    .thenReturn(Optional.of(agregadoItemStatus));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(item1, item2));
-            // Item status lookups (Pending → check not Cancelled)
-            when(statusRepository.findById(pendienteItemStatus.getId()))
-                    .thenReturn(Optional.of(pendienteItemStatus));
             // toResponse mocks
             // toResponse mocks — use fresh item copies since the originals were mutated in place
             var item1AfterCharge = SalesOrderItem.builder()
@@ -1781,9 +1775,8 @@ class SalesOrderServiceTest {
                     .build();
 
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(item1AfterCharge, item2AfterCharge));
-            when(statusRepository.findById(cerradaStatus.getId())).thenReturn(Optional.of(cerradaStatus));
-            when(statusRepository.findById(agregadoItemStatus.getId()))
-                    .thenReturn(Optional.of(agregadoItemStatus));
+
+            when(itemRepository.sumFinalPriceBySalesOrderId(orderId)).thenReturn(BigDecimal.ZERO);
 
             SalesOrderResponse result = salesOrderService.chargeSalesOrder(orderId, request);
 
@@ -1844,30 +1837,22 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem1, reqItem2));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderId(orderId))
                     .thenReturn(List.of(existingItem1, existingItem2, existingItem3));
-            when(itemRepository.findById(existingItem1.getId())).thenReturn(Optional.of(existingItem1));
-            when(itemRepository.findById(existingItem2.getId())).thenReturn(Optional.of(existingItem2));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
             // Stock mocks: variantId (item1 kept, qty 1 → no delta), vid2 (item2 kept, qty 1 → no delta),
             // vid3 (deleted item3 → restore 5.00)
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(productVariantRepository.findByIdForUpdate(vid2)).thenReturn(Optional.of(testVariant2));
-            when(productVariantRepository.findByIdForUpdate(vid3)).thenReturn(Optional.of(testVariant3));
+            stubLockedVariants(testVariant, testVariant2, testVariant3);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
-            verify(itemRepository).save(argThat(item ->
-                    item.getId().equals(existingItem3.getId()) && !item.getEnabled()));
+            verifyItemSavedInBatch(item ->
+                    item.getId().equals(existingItem3.getId()) && !item.getEnabled());
             // Verify stock restored for deleted item3: 30.00 + 5.00 = 35.00
             assertThat(testVariant3.getStock()).isEqualByComparingTo(new BigDecimal("35.00"));
             // Variant1 and variant2 should be unchanged (items kept, same qty)
@@ -1888,31 +1873,26 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem));
-            when(itemRepository.findById(testItem.getId())).thenReturn(Optional.of(testItem));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(any())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
             // Stock: qty increase from 2 to 5 → delta +3 → deduct from 100
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
+            stubLockedVariants(testVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
-            verify(itemRepository).save(argThat(item ->
+            verifyItemSavedInBatch(item ->
                     item.getId().equals(testItem.getId())
                             && item.getQuantity().compareTo(newQty) == 0
                             && item.getListPrice().compareTo(newPrice) == 0
                             && item.getDiscountApplied().compareTo(newDiscount) == 0
-                            && item.getEnabled()));
+                            && item.getEnabled());
             // Verify stock deducted: 100.00 - 3.00 = 97.00
-            verify(productVariantRepository).save(testVariant);
+            verifyStockSaved(testVariant);
             assertThat(testVariant.getStock()).isEqualByComparingTo(new BigDecimal("97.00"));
         }
 
@@ -1930,42 +1910,61 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of());
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(productVariantRepository.findByIdForUpdate(newVariantId)).thenReturn(Optional.of(newVariant));
+            stubLockedVariants(newVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
-            verify(itemRepository).save(argThat(item ->
+            verifyItemSavedInBatch(item ->
                     item.getId() == null
                             && item.getSalesOrderId().equals(orderId)
                             && item.getProductVariantId().equals(newVariantId)
-                            && item.getQuantity().compareTo(new BigDecimal("3.00")) == 0));
+                            && item.getQuantity().compareTo(new BigDecimal("3.00")) == 0);
             // Verify stock deducted: 50.00 - 3.00 = 47.00
             assertThat(newVariant.getStock()).isEqualByComparingTo(new BigDecimal("47.00"));
         }
 
+        @Test
+        @DisplayName("should reject item IDs that do not belong to the order before touching stock")
+        void updateSalesOrder_ForeignItemId_ThrowsException() {
+            var foreignItemId = UUID.randomUUID();
+            var reqItem = new SalesOrderItemRequest(
+                    foreignItemId, variantId,
+                    BigDecimal.ONE, new BigDecimal("100.00"), BigDecimal.ZERO, null);
+            var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
+                    List.of(reqItem));
+
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
+            when(customerRepository.existsById(customerId)).thenReturn(true);
+            when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
+            when(shiftRepository.existsById(shiftId)).thenReturn(true);
+            when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
+            when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem));
+
+            assertThatThrownBy(() -> salesOrderService.updateSalesOrder(orderId, request))
+                    .isInstanceOf(SalesOrderItemNotFoundException.class);
+
+            verify(productVariantRepository, never()).findAllByIdForUpdate(any());
+            verify(itemRepository, never()).saveAll(any());
+        }
+
         @Test
         @DisplayName("should skip item diff when items list is null")
         void updateSalesOrder_NullItemsSkipsDiff() {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123", null);
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -1982,18 +1981,14 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of());
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
+            stubLockedVariants(testVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -2022,18 +2017,14 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of());
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(productVariantRepository.findByIdForUpdate(newVariantId)).thenReturn(Optional.of(newVariant));
+            stubLockedVariants(newVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -2065,21 +2056,15 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(testOrder);
             when(itemRepository.findBySalesOrderId(orderId))
                     .thenReturn(List.of(existingKept, existingToDelete));
-            when(itemRepository.findById(existingKept.getId())).thenReturn(Optional.of(existingKept));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(borradorStatus.getId())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(productVariantRepository.findByIdForUpdate(vid2)).thenReturn(Optional.of(testVariant2));
+            stubLockedVariants(testVariant, testVariant2);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -2098,19 +2083,14 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem));
-            when(itemRepository.findById(testItem.getId())).thenReturn(Optional.of(testItem));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(any())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
+            stubLockedVariants(testVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -2127,19 +2107,14 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem));
-            when(itemRepository.findById(testItem.getId())).thenReturn(Optional.of(testItem));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
-            when(statusRepository.findById(any())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
+            stubLockedVariants(testVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -2174,22 +2149,15 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItemModify, reqItemNew));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderId(orderId))
                     .thenReturn(List.of(testItem, existingToDelete));
-            when(itemRepository.findById(testItem.getId())).thenReturn(Optional.of(testItem));
-            when(itemRepository.save(any(SalesOrderItem.class))).thenAnswer(inv -> inv.getArgument(0));
             when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
-            when(statusRepository.findById(any())).thenReturn(Optional.of(borradorStatus));
-            when(statusRepository.findByTypeNameAndStatusName("SALES_ORDER_ITEM", "Pending"))
-                    .thenReturn(Optional.of(pendienteItemStatus));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
-            when(productVariantRepository.findByIdForUpdate(vidNew)).thenReturn(Optional.of(newVariant));
-            when(productVariantRepository.findByIdForUpdate(vidOld)).thenReturn(Optional.of(oldVariant));
+            stubLockedVariants(testVariant, newVariant, oldVariant);
 
             salesOrderService.updateSalesOrder(orderId, request);
 
@@ -2212,12 +2180,12 @@ class SalesOrderServiceTest {
             var request = new SalesOrderRequest(customerId, companyStoreId, shiftId, "user123",
                     List.of(reqItem));
 
-            when(salesOrderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
             when(customerRepository.existsById(customerId)).thenReturn(true);
             when(companyStoreRepository.existsById(companyStoreId)).thenReturn(true);
             when(shiftRepository.existsById(shiftId)).thenReturn(true);
             when(itemRepository.findBySalesOrderId(orderId)).thenReturn(List.of(testItem));
-            when(productVariantRepository.findByIdForUpdate(variantId)).thenReturn(Optional.of(testVariant));
+            stubLockedVariants(testVariant);
 
             assertThatThrownBy(() -> salesOrderService.updateSalesOrder(orderId, request))
                     .isInstanceOf(InsufficientStockException.class)
@@ -2229,6 +2197,69 @@ class SalesOrderServiceTest {
         }
     }
 
+    // ─────────────────────────────────────────────
+    // Conditional stock updates
+    // ─────────────────────────────────────────────
+    @Nested
+    @DisplayName("Conditional stock updates (app.stock.conditional-updates=true)")
+    class ConditionalStockUpdateTests {
+
+        private SalesOrderService conditionalService;
+
+        @BeforeEach
+        void setUp() {
+            conditionalService = new SalesOrderService(salesOrderRepository, itemRepository, customerRepository,
+                    companyStoreRepository, shiftRepository, productVariantRepository, statusCatalog,
+                    paymentMethodRepository, orderNumberAllocator, true);
+        }
+
+        @Test
+        @DisplayName("should deduct stock with one conditional update and no row lock when adding an item")
+        void addSalesOrderItem_DeductsWithoutLock() {
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
+            when(productVariantRepository.existsById(variantId)).thenReturn(true);
+            when(productVariantRepository.decrementStockIfAvailable(variantId, new BigDecimal("2.00"))).thenReturn(1);
+            when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
+            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of(testItem));
+
+            conditionalService.addSalesOrderItem(orderId, testItemRequest);
+
+            verify(productVariantRepository).decrementStockIfAvailable(variantId, new BigDecimal("2.00"));
+            verify(productVariantRepository, never()).findAllByIdForUpdate(any());
+            verify(productVariantRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("should throw InsufficientStockException when the conditional update affects no rows")
+        void addSalesOrderItem_NoRowsUpdated_Throws409() {
+            testVariant.setStock(new BigDecimal("1.00"));
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
+            when(productVariantRepository.existsById(variantId)).thenReturn(true);
+            when(itemRepository.findBySalesOrderIdAndEnabledTrue(orderId)).thenReturn(List.of());
+            when(itemRepository.save(any(SalesOrderItem.class))).thenReturn(testItem);
+            when(productVariantRepository.decrementStockIfAvailable(variantId, new BigDecimal("2.00"))).thenReturn(0);
+            when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(testVariant));
+
+            assertThatThrownBy(() -> conditionalService.addSalesOrderItem(orderId, testItemRequest))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available 1.00");
+        }
+
+        @Test
+        @DisplayName("should restore stock with one conditional update when deleting an item")
+        void deleteSalesOrderItem_RestoresWithoutLock() {
+            when(salesOrderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(testOrder));
+            when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
+            when(productVariantRepository.incrementStock(variantId, new BigDecimal("2.00"))).thenReturn(1);
+            when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            conditionalService.deleteSalesOrderItem(orderId, itemId);
+
+            verify(productVariantRepository).incrementStock(variantId, new BigDecimal("2.00"));
+            verify(productVariantRepository, never()).findByIdForUpdate(any());
+        }
+    }
+
     // ─────────────────────────────────────────────
     // InsufficientStockException
     // ─────────────────────────────────────────────
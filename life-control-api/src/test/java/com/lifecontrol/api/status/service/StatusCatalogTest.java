@@ -0,0 +1,136 @@
+package com.lifecontrol.api.status.service;
+
+import com.lifecontrol.api.status.exception.StatusNotFoundException;
+import com.lifecontrol.api.status.model.Status;
+import com.lifecontrol.api.status.model.StatusType;
+import com.lifecontrol.api.status.repository.StatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatusCatalog Tests")
+class StatusCatalogTest {
+
+    @Mock
+    private StatusRepository statusRepository;
+
+    private StatusCatalog statusCatalog;
+    private StatusType salesOrderType;
+    private Status draftStatus;
+
+    @BeforeEach
+    void setUp() {
+        statusCatalog = new StatusCatalog(statusRepository, Duration.ofMinutes(5), Duration.ZERO);
+
+        salesOrderType = StatusType.builder()
+                .id(UUID.randomUUID())
+                .statusTypeName("SALES_ORDER")
+                .enabled(true)
+                .build();
+
+        draftStatus = Status.builder()
+                .id(UUID.randomUUID())
+                .statusName("Borrador")
+                .statusType(salesOrderType)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should load statuses once and serve repeated lookups from memory")
+    void lookups_LoadOnce() {
+        when(statusRepository.findAllWithStatusType()).thenReturn(List.of(draftStatus));
+
+        var byId = statusCatalog.getById(draftStatus.getId());
+        var byName = statusCatalog.getByTypeNameAndStatusName("sales_order", "BORRADOR");
+
+        assertThat(byId.statusName()).isEqualTo("Borrador");
+        assertThat(byId.statusTypeName()).isEqualTo("SALES_ORDER");
+        assertThat(byName).isEqualTo(byId);
+        verify(statusRepository, times(1)).findAllWithStatusType();
+    }
+
+    @Test
+    @DisplayName("should reload once on a miss to pick up statuses created elsewhere")
+    void lookup_Miss_ReloadsOnce() {
+        var newStatus = Status.builder()
+                .id(UUID.randomUUID())
+                .statusName("Activo")
+                .statusType(salesOrderType)
+                .enabled(true)
+                .build();
+        when(statusRepository.findAllWithStatusType())
+                .thenReturn(List.of(draftStatus))
+                .thenReturn(List.of(draftStatus, newStatus));
+
+        statusCatalog.getById(draftStatus.getId());
+        var result = statusCatalog.getById(newStatus.getId());
+
+        assertThat(result.statusName()).isEqualTo("Activo");
+        verify(statusRepository, times(2)).findAllWithStatusType();
+    }
+
+    @Test
+    @DisplayName("should throw StatusNotFoundException when status is unknown after reload")
+    void getById_Unknown_ThrowsException() {
+        when(statusRepository.findAllWithStatusType()).thenReturn(List.of(draftStatus));
+        var unknownId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> statusCatalog.getById(unknownId))
+                .isInstanceOf(StatusNotFoundException.class);
+        assertThat(statusCatalog.getStatusName(unknownId)).isNull();
+    }
+
+    @Test
+    @DisplayName("should reload at most once per miss-reload interval for unknown IDs")
+    void lookup_RepeatedMisses_RateLimited() {
+        statusCatalog = new StatusCatalog(statusRepository, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        when(statusRepository.findAllWithStatusType()).thenReturn(List.of(draftStatus));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(statusCatalog.findById(UUID.randomUUID())).isEmpty();
+        }
+
+        verify(statusRepository, times(1)).findAllWithStatusType();
+    }
+
+    @Test
+    @DisplayName("should not reload again for threads that waited on a reload in progress")
+    void lookup_ConcurrentStale_ReloadsOnce() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(statusRepository.findAllWithStatusType()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(draftStatus);
+        });
+
+        var first = new Thread(() -> statusCatalog.getById(draftStatus.getId()));
+        var second = new Thread(() -> statusCatalog.getById(draftStatus.getId()));
+        first.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        verify(statusRepository, times(1)).findAllWithStatusType();
+    }
+}
@@ -2,6 +2,7 @@ package com.lifecontrol.api.status.service;
 
 import com.lifecontrol.api.status.dto.StatusRequest;
 import com.lifecontrol.api.status.dto.StatusResponse;
+import com.lifecontrol.api.status.event.StatusCatalogChangedEvent;
 import com.lifecontrol.api.status.exception.DuplicateStatusException;
 import com.lifecontrol.api.status.exception.StatusNotFoundException;
 import com.lifecontrol.api.status.exception.StatusTypeNotFoundException;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +39,9 @@ class StatusServiceTest {
     @Mock
     private StatusTypeRepository statusTypeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StatusService statusService;
 
@@ -186,6 +191,7 @@ class StatusServiceTest {
             assertThat(result.statusName()).isEqualTo("PENDING");
             assertThat(result.enabled()).isTrue();
             verify(statusRepository).save(any(Status.class));
+            verify(eventPublisher).publishEvent(any(StatusCatalogChangedEvent.class));
         }
 
         @Test
@@ -281,6 +287,7 @@ class StatusServiceTest {
 
             verify(statusRepository).findById(testStatusId);
             verify(statusRepository).save(any(Status.class));
+            verify(eventPublisher).publishEvent(any(StatusCatalogChangedEvent.class));
         }
 
         @Test
@@ -1,5 +1,6 @@
 package com.lifecontrol.api.store.controller;
 
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.lifecontrol.api.exception.GlobalExceptionHandler;
 import com.lifecontrol.api.store.dto.CompanyStoreResponse;
@@ -69,6 +70,9 @@ class CompanyStoreControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private final UUID companyId = UUID.randomUUID();
     private final UUID companyCountryId = UUID.randomUUID();
     private final UUID regionId = UUID.randomUUID();
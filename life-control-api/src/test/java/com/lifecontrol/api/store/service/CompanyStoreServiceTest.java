@@ -16,6 +16,7 @@ import com.lifecontrol.api.company.repository.CompanyCountryRepository;
 import com.lifecontrol.api.company.repository.CompanyRegionRepository;
 import com.lifecontrol.api.company.repository.CompanyRepository;
 import com.lifecontrol.api.company.repository.CompanyZoneRepository;
+import com.lifecontrol.api.company.service.CompanyHierarchyIndex;
 import com.lifecontrol.api.country.model.Country;
 import com.lifecontrol.api.country.repository.CountryRepository;
 import com.lifecontrol.api.store.dto.CompanyStoreResponse;
@@ -68,6 +69,8 @@ class CompanyStoreServiceTest {
     @Mock
     private CurrentUserContext currentUserContext;
     @Mock
+    private CompanyHierarchyIndex hierarchyIndex;
+    @Mock
     private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
@@ -327,6 +330,50 @@ class CompanyStoreServiceTest {
             assertThat(result.get(0).storeName()).isEqualTo("Tienda Zona");
             verify(companyStoreRepository).findByCompanyZoneIdAndEnabledTrue(zoneId);
         }
+
+        @Test
+        @DisplayName("should skip the parent lookups when the hierarchy index knows the zone path")
+        void getAllStores_IndexedPath_SkipsParentLookups() {
+            // Arrange
+            when(hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId)).thenReturn(true);
+            var store = CompanyStore.builder()
+                    .id(storeId)
+                    .companyZone(testZone)
+                    .storeName("Tienda Principal")
+                    .enabled(true)
+                    .build();
+            when(companyStoreRepository.findByCompanyZoneIdAndEnabledTrue(zoneId))
+                    .thenReturn(List.of(store));
+
+            // Act
+            List<CompanyStoreResponse> result = companyStoreService.getAllStores(
+                    companyId, companyCountryId, regionId, zoneId, false);
+
+            // Assert
+            assertThat(result).hasSize(1);
+            verify(currentUserContext).verifyCompanyStoreAccess(companyId, companyCountryId, regionId, zoneId, null);
+            verifyNoInteractions(companyRepository, companyCountryRepository,
+                    companyRegionRepository, companyZoneRepository);
+        }
+
+        @Test
+        @DisplayName("should return empty without querying when no assigned store is under the zone")
+        void getAllStores_StoreRole_NoAssignedStoreInZone_ReturnsEmpty() {
+            // Arrange
+            UUID otherStoreId = UUID.randomUUID();
+            when(hierarchyIndex.containsZone(companyId, companyCountryId, regionId, zoneId)).thenReturn(true);
+            when(currentUserContext.hasCompanyStoreRole()).thenReturn(true);
+            when(currentUserContext.getCompanyStoreIds()).thenReturn(Set.of(otherStoreId));
+            when(hierarchyIndex.allowedStores(Set.of(otherStoreId), zoneId)).thenReturn(Optional.of(Set.of()));
+
+            // Act
+            List<CompanyStoreResponse> result = companyStoreService.getAllStores(
+                    companyId, companyCountryId, regionId, zoneId, false);
+
+            // Assert
+            assertThat(result).isEmpty();
+            verifyNoInteractions(companyStoreRepository);
+        }
     }
 
     @Nested
@@ -3,6 +3,7 @@ package com.lifecontrol.api.supplier.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lifecontrol.api.common.address.dto.AddressRequest;
 import com.lifecontrol.api.common.address.dto.AddressResponse;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.lifecontrol.api.supplier.dto.SupplierRequest;
 import com.lifecontrol.api.supplier.dto.SupplierResponse;
@@ -77,6 +78,9 @@ class SupplierControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     private SupplierRequest buildSupplierRequest() {
         return new SupplierRequest(
                 "Test Supplier", "Razon Social", "XAXX010101000",
@@ -1,6 +1,7 @@
 package com.lifecontrol.api.usersadmin.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifecontrol.api.config.ratelimit.RateLimitBucketStore;
 import com.lifecontrol.api.config.ratelimit.RateLimitProperties;
 import com.lifecontrol.api.usersadmin.dto.CreateUserRequest;
 import com.lifecontrol.api.usersadmin.dto.CreateUserResponse;
@@ -64,6 +65,9 @@ class UsersAdminControllerSecurityTest {
     @MockitoBean
     private RateLimitProperties rateLimitProperties;
 
+    @MockitoBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
     @MockitoBean
     private Keycloak keycloak;
 
@@ -3,6 +3,7 @@ package com.lifecontrol.api.usersadmin.identity.keycloak;
 import com.lifecontrol.api.usersadmin.identity.IdentityProviderConflictException;
 import com.lifecontrol.api.usersadmin.identity.IdentityProviderConnectionException;
 import com.lifecontrol.api.usersadmin.identity.IdentityProviderNotFoundException;
+import com.lifecontrol.api.usersadmin.identity.RoleScope;
 import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.ProcessingException;
@@ -13,19 +14,28 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.ClientResource;
+import org.keycloak.admin.client.resource.ClientsResource;
 import org.keycloak.admin.client.resource.GroupResource;
 import org.keycloak.admin.client.resource.GroupsResource;
 import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleMappingResource;
+import org.keycloak.admin.client.resource.RoleResource;
+import org.keycloak.admin.client.resource.RoleScopeResource;
+import org.keycloak.admin.client.resource.RolesResource;
 import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.GroupRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,9 +43,14 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -65,13 +80,27 @@ class KeycloakIdentityProviderTest {
     @BeforeEach
     void setUp() {
         properties = new KeycloakAdminProperties("http://localhost:8080", REALM, "life-control-client", "secret");
-        provider = new KeycloakIdentityProvider(keycloak, properties);
+        provider = new KeycloakIdentityProvider(keycloak, properties,
+                new KeycloakLookupCache(Duration.ofMinutes(5), 100));
 
         lenient().when(keycloak.realm(REALM)).thenReturn(realmResource);
     }
 
     private void stubGroupCreation() throws Exception {
         lenient().when(realmResource.groups()).thenReturn(groupsResource);
+        lenient().when(groupsResource.add(any(GroupRepresentation.class))).thenReturn(created(GROUP_ID));
+    }
+
+    private static Response created(String groupId) {
+        var response = status(201);
+        lenient().when(response.getLocation()).thenReturn(URI.create("http://kc/admin/realms/r/groups/" + groupId));
+        return response;
+    }
+
+    private static Response status(int status) {
+        var response = mock(Response.class);
+        lenient().when(response.getStatus()).thenReturn(status);
+        return response;
     }
 
     @Nested
@@ -160,11 +189,56 @@ class KeycloakIdentityProviderTest {
                     () -> provider.createGroup(GROUP_NAME, attrs, Optional.empty()));
         }
 
+        @Test
+        @DisplayName("should map a 409 response to IdentityProviderConflictException")
+        void shouldMapConflictResponseToConflictException() {
+            when(realmResource.groups()).thenReturn(groupsResource);
+            when(groupsResource.add(any(GroupRepresentation.class)))
+                    .thenReturn(status(409));
+
+            assertThatThrownBy(() -> provider.createGroup(GROUP_NAME, Map.of(), Optional.empty()))
+                    .isInstanceOf(IdentityProviderConflictException.class);
+        }
+
+        @Test
+        @DisplayName("should map a 500 response to IdentityProviderConnectionException")
+        void shouldMapServerErrorResponseToConnectionException() {
+            when(realmResource.groups()).thenReturn(groupsResource);
+            when(groupsResource.add(any(GroupRepresentation.class)))
+                    .thenReturn(status(500));
+
+            assertThatThrownBy(() -> provider.createGroup(GROUP_NAME, Map.of(), Optional.empty()))
+                    .isInstanceOf(IdentityProviderConnectionException.class)
+                    .hasMessageContaining("500");
+        }
+
+        @Test
+        @DisplayName("should forget the parent id when Keycloak answers 404 for it")
+        void shouldEvictParentOn404Response() {
+            when(realmResource.groups()).thenReturn(groupsResource);
+            when(groupsResource.group("parent-group-789")).thenReturn(groupResource);
+            when(groupResource.subGroup(any(GroupRepresentation.class)))
+                    .thenReturn(status(404));
+
+            var parent = new GroupRepresentation();
+            parent.setId("parent-group-789");
+            parent.setName("parent");
+            when(groupsResource.groups("parent", 0, Integer.MAX_VALUE)).thenReturn(List.of(parent));
+            assertThat(provider.findGroupIdByName("parent")).contains("parent-group-789");
+
+            assertThatThrownBy(() -> provider.createGroup(GROUP_NAME, Map.of(), Optional.of("parent-group-789")))
+                    .isInstanceOf(IdentityProviderConnectionException.class);
+
+            provider.findGroupIdByName("parent");
+            verify(groupsResource, times(2)).groups("parent", 0, Integer.MAX_VALUE);
+        }
+
         @Test
         @DisplayName("should use subGroup() when parentId is provided")
         void shouldSetParentIdWhenProvided() throws Exception {
             lenient().when(realmResource.groups()).thenReturn(groupsResource);
             lenient().when(groupsResource.group("parent-group-789")).thenReturn(groupResource);
+            when(groupResource.subGroup(any(GroupRepresentation.class))).thenReturn(created(GROUP_ID));
 
             var attrs = Map.of("company_country_id", List.of("uuid-123"));
             provider.createGroup(GROUP_NAME, attrs, Optional.of("parent-group-789"));
@@ -297,4 +371,162 @@ class KeycloakIdentityProviderTest {
                     .hasMessageContaining("Failed to update user");
         }
     }
+
+    @Nested
+    @DisplayName("searchUsers")
+    class SearchUsersTests {
+
+        @BeforeEach
+        void setUp() {
+            when(realmResource.users()).thenReturn(usersResource);
+        }
+
+        private UserRepresentation user(String id) {
+            var rep = new UserRepresentation();
+            rep.setId(id);
+            rep.setUsername("user-" + id);
+            rep.setEmail(id + "@example.com");
+            rep.setEnabled(true);
+            return rep;
+        }
+
+        @Test
+        @DisplayName("should fetch only the requested page and take the total from count")
+        void shouldPageOnServer() {
+            when(usersResource.count("john")).thenReturn(45);
+            when(usersResource.search("john", 40, 20, true)).thenReturn(List.of(user("1"), user("2")));
+
+            var result = provider.searchUsers("john", 2, 20);
+
+            assertThat(result.total()).isEqualTo(45);
+            assertThat(result.page()).isEqualTo(2);
+            assertThat(result.size()).isEqualTo(20);
+            assertThat(result.content()).extracting("id").containsExactly("1", "2");
+        }
+
+        @Test
+        @DisplayName("should not fetch users when the page is past the total")
+        void shouldSkipSearchPastLastPage() {
+            when(usersResource.count("john")).thenReturn(5);
+
+            var result = provider.searchUsers("john", 1, 20);
+
+            assertThat(result.content()).isEmpty();
+            assertThat(result.total()).isEqualTo(5);
+            verify(usersResource, never()).search(anyString(), anyInt(), anyInt(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("should map ProcessingException to IdentityProviderConnectionException")
+        void shouldMapProcessingException() {
+            when(usersResource.count("john")).thenThrow(new ProcessingException("Connection refused"));
+
+            assertThatThrownBy(() -> provider.searchUsers("john", 0, 20))
+                    .isInstanceOf(IdentityProviderConnectionException.class)
+                    .hasMessageContaining("Failed to search users");
+        }
+    }
+
+    @Nested
+    @DisplayName("lookup cache")
+    class LookupCacheTests {
+
+        @Test
+        @DisplayName("should walk the group tree once for repeated lookups of the same name")
+        void findGroupIdByName_CachesFoundId() {
+            var groupRep = new GroupRepresentation();
+            groupRep.setId(GROUP_ID);
+            groupRep.setName(GROUP_NAME);
+            when(realmResource.groups()).thenReturn(groupsResource);
+            when(groupsResource.groups(GROUP_NAME, 0, Integer.MAX_VALUE)).thenReturn(List.of(groupRep));
+
+            provider.findGroupIdByName(GROUP_NAME);
+            var result = provider.findGroupIdByName(GROUP_NAME);
+
+            assertThat(result).contains(GROUP_ID);
+            verify(groupsResource, times(1)).groups(GROUP_NAME, 0, Integer.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("should not cache a group that was not found")
+        void findGroupIdByName_DoesNotCacheMissing() {
+            when(realmResource.groups()).thenReturn(groupsResource);
+            when(groupsResource.groups(GROUP_NAME, 0, Integer.MAX_VALUE)).thenReturn(List.of());
+
+            provider.findGroupIdByName(GROUP_NAME);
+            provider.findGroupIdByName(GROUP_NAME);
+
+            verify(groupsResource, times(2)).groups(GROUP_NAME, 0, Integer.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("should remember the id of a created group from the Location header")
+        void createGroup_CachesCreatedId() {
+            var response = mock(Response.class);
+            when(response.getStatus()).thenReturn(201);
+            when(response.getLocation()).thenReturn(URI.create("http://kc/admin/realms/r/groups/" + GROUP_ID));
+            when(realmResource.groups()).thenReturn(groupsResource);
+            when(groupsResource.add(any(GroupRepresentation.class))).thenReturn(response);
+
+            provider.createGroup(GROUP_NAME, Map.of(), Optional.empty());
+            var result = provider.findGroupIdByName(GROUP_NAME);
+
+            assertThat(result).contains(GROUP_ID);
+            verify(groupsResource, never()).groups(anyString(), anyInt(), anyInt());
+            verify(response).close();
+        }
+
+        @Test
+        @DisplayName("should resolve a client role and its client once for repeated assignments")
+        void assignClientRole_CachesClientAndRole() {
+            var clientsResource = mock(ClientsResource.class);
+            var clientResource = mock(ClientResource.class);
+            var rolesResource = mock(RolesResource.class);
+            var roleResource = mock(RoleResource.class);
+            var userResource = mock(UserResource.class);
+            var roleMappingResource = mock(RoleMappingResource.class);
+            var roleScopeResource = mock(RoleScopeResource.class);
+            var client = new ClientRepresentation();
+            client.setId("client-uuid");
+            var role = new RoleRepresentation();
+            role.setName("cashier");
+            when(realmResource.users()).thenReturn(usersResource);
+            when(usersResource.get(USER_ID)).thenReturn(userResource);
+            when(userResource.roles()).thenReturn(roleMappingResource);
+            when(roleMappingResource.clientLevel("client-uuid")).thenReturn(roleScopeResource);
+            when(realmResource.clients()).thenReturn(clientsResource);
+            when(clientsResource.findByClientId("pos-client")).thenReturn(List.of(client));
+            when(clientsResource.get("client-uuid")).thenReturn(clientResource);
+            when(clientResource.roles()).thenReturn(rolesResource);
+            when(rolesResource.get("cashier")).thenReturn(roleResource);
+            when(roleResource.toRepresentation()).thenReturn(role);
+
+            provider.assignRoleToUser(USER_ID, "cashier", RoleScope.CLIENT, "pos-client");
+            provider.assignRoleToUser(USER_ID, "cashier", RoleScope.CLIENT, "pos-client");
+
+            verify(roleScopeResource, times(2)).add(List.of(role));
+            verify(clientsResource, times(1)).findByClientId("pos-client");
+            verify(roleResource, times(1)).toRepresentation();
+        }
+
+        @Test
+        @DisplayName("should reload a realm role after deleting it")
+        void deleteRealmRole_EvictsRole() {
+            var rolesResource = mock(RolesResource.class);
+            var roleResource = mock(RoleResource.class);
+            var parentResource = mock(RoleResource.class);
+            var role = new RoleRepresentation();
+            role.setName("cashier");
+            when(realmResource.roles()).thenReturn(rolesResource);
+            when(rolesResource.get("supervisor")).thenReturn(parentResource);
+            when(rolesResource.get("cashier")).thenReturn(roleResource);
+            when(roleResource.toRepresentation()).thenReturn(role);
+
+            provider.addChildRole("supervisor", "cashier", RoleScope.REALM, null);
+            provider.deleteRealmRole("cashier");
+            provider.addChildRole("supervisor", "cashier", RoleScope.REALM, null);
+
+            verify(roleResource, times(2)).toRepresentation();
+        }
+    }
 }
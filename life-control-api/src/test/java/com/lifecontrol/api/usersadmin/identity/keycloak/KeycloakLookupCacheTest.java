@@ -0,0 +1,89 @@
+package com.lifecontrol.api.usersadmin.identity.keycloak;
+
+import com.lifecontrol.api.usersadmin.identity.RoleScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.RoleRepresentation;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeycloakLookupCache Tests")
+class KeycloakLookupCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    @Test
+    @DisplayName("should load a value once and serve later lookups from memory")
+    void clientUuid_LoadsOnce() {
+        var cache = new KeycloakLookupCache(Duration.ofMinutes(5), 10);
+
+        cache.clientUuid("pos-client", () -> load("uuid-1"));
+        var result = cache.clientUuid("pos-client", () -> load("uuid-2"));
+
+        assertThat(result).isEqualTo("uuid-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should load on every lookup when the TTL is zero")
+    void zeroTtl_DisablesCaching() {
+        var cache = new KeycloakLookupCache(Duration.ZERO, 10);
+
+        cache.clientUuid("pos-client", () -> load("uuid-1"));
+        cache.clientUuid("pos-client", () -> load("uuid-1"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should keep at most max-size entries, dropping the least recently used")
+    void maxSize_EvictsEldest() {
+        var cache = new KeycloakLookupCache(Duration.ofMinutes(5), 2);
+
+        cache.clientUuid("a", () -> load("1"));
+        cache.clientUuid("b", () -> load("2"));
+        cache.clientUuid("a", () -> load("1"));
+        cache.clientUuid("c", () -> load("3"));
+        cache.clientUuid("a", () -> load("1"));
+        cache.clientUuid("b", () -> load("2"));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("should key realm and client roles separately and evict them individually")
+    void roles_KeyedByScope() {
+        var realmRole = new RoleRepresentation();
+        var clientRole = new RoleRepresentation();
+        var cache = new KeycloakLookupCache(Duration.ofMinutes(5), 10);
+
+        cache.role(RoleScope.REALM, null, "cashier", () -> realmRole);
+        cache.role(RoleScope.CLIENT, "pos-client", "cashier", () -> clientRole);
+        cache.evictRole(RoleScope.REALM, null, "cashier");
+
+        assertThat(cache.role(RoleScope.CLIENT, "pos-client", "cashier", RoleRepresentation::new)).isSameAs(clientRole);
+        assertThat(cache.role(RoleScope.REALM, null, "cashier", RoleRepresentation::new)).isNotSameAs(realmRole);
+    }
+
+    @Test
+    @DisplayName("should evict every group name mapped to a removed group id")
+    void evictGroupId_RemovesMappings() {
+        var cache = new KeycloakLookupCache(Duration.ofMinutes(5), 10);
+        cache.putGroupId("lc-company-acme", "group-1");
+        cache.putGroupId("lc-company-other", "group-2");
+
+        cache.evictGroupId("group-1");
+
+        assertThat(cache.groupId("lc-company-acme", Optional::empty)).isEmpty();
+        assertThat(cache.groupId("lc-company-other", Optional::empty)).contains("group-2");
+    }
+}